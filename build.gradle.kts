@@ -20,13 +20,131 @@ repositories {
     mavenCentral()
 }
 
+// Fast-startup build: `./gradlew bootJar -PfastStartup` adds Spring AOT processing, so bean
+// definitions are generated at build time instead of being derived by reflection at startup.
+// Run the jar with -Dspring.aot.enabled=true; the Dockerfile also trains a JVM AOT cache on it.
+// Conditions are evaluated during processAot, so the app selects profiles and feature switches
+// at runtime rather than with @Profile/@Conditional (see AppConfig).
+val fastStartup = providers.gradleProperty("fastStartup").isPresent
+if (fastStartup) {
+    apply(plugin = "org.springframework.boot.aot")
+}
+
+// JMH benchmarks live in src/jmh and see main classes; run with `./gradlew jmh`
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+// End-to-end load tests live in src/loadTest and boot the app with synthetic data; run with `./gradlew loadTest`
+val loadTest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[loadTest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadTest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+val jmhVersion = "1.37"
+
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-restclient")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("tools.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("tools.jackson.dataformat:jackson-dataformat-smile")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:$jmhVersion")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
+
+    "loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// Results are written as JSON so runs can be diffed over time, e.g.:
+//   ./gradlew jmh -Pjmh.includes=SmaCalculator -Pjmh.results=build/reports/jmh/before.json
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks with the GC/allocation profiler."
+    classpath = jmh.runtimeClasspath
+    mainClass = "org.openjdk.jmh.Main"
+
+    val resultsFile = providers.gradleProperty("jmh.results")
+        .map { file(it) }
+        .orElse(layout.buildDirectory.file("reports/jmh/results.json").map { it.asFile })
+    val includes = providers.gradleProperty("jmh.includes").orElse(".*")
+
+    doFirst {
+        resultsFile.get().parentFile.mkdirs()
+    }
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(
+            "-prof", "gc",
+            "-rf", "json",
+            "-rff", resultsFile.get().absolutePath,
+            includes.get()
+        )
+    })
+}
+
+// Options are passed through, e.g.:
+//   ./gradlew loadTest -PloadTest.args="--rate=20 --ramp-to=200 --duration=120s --results=build/reports/load/ramp.json"
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Drives /api/backtest at a fixed or ramping rate and reports throughput, latency and GC."
+    classpath = loadTest.runtimeClasspath
+    mainClass = "com.github.mezink.strategylab.loadtest.LoadTest"
+    jvmArgs("-XX:+UseG1GC", "-Xms1g", "-Xmx1g")
+
+    val loadTestArgs = providers.gradleProperty("loadTest.args").orElse("")
+    argumentProviders.add(CommandLineArgumentProvider {
+        loadTestArgs.get().split(" ").filter { it.isNotBlank() }
+    })
+}
+
+// Time to first successful backtest, plain JVM vs Spring AOT + JVM AOT cache. Needs the
+// fast-startup jar; the cache is trained on first use:
+//   ./gradlew startupBenchmark -PfastStartup -PstartupBenchmark.runs=5
+val extractBootJar by tasks.registering(Exec::class) {
+    group = "build"
+    description = "Extracts the boot jar into build/startup/application for CDS/AOT cache use."
+    val bootJar = tasks.named<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar")
+    dependsOn(bootJar)
+    val destination = layout.buildDirectory.dir("startup/application")
+    val java = javaToolchains.launcherFor { languageVersion = JavaLanguageVersion.of(25) }
+    doFirst { delete(destination) }
+    commandLine(
+        java.get().executablePath.asFile.absolutePath, "-Djarmode=tools",
+        "-jar", bootJar.get().archiveFile.get().asFile.absolutePath,
+        "extract", "--destination", destination.get().asFile.absolutePath
+    )
+}
+
+tasks.register<JavaExec>("startupBenchmark") {
+    group = "benchmark"
+    description = "Measures time to first successful backtest with and without the fast-startup build."
+    dependsOn(extractBootJar)
+    classpath = loadTest.runtimeClasspath
+    mainClass = "com.github.mezink.strategylab.loadtest.StartupBenchmark"
+    val java = javaToolchains.launcherFor { languageVersion = JavaLanguageVersion.of(25) }
+    val runs = providers.gradleProperty("startupBenchmark.runs").orElse("5")
+    val application = layout.buildDirectory.dir("startup/application")
+    doFirst {
+        if (!fastStartup) throw GradleException("startupBenchmark needs -PfastStartup")
+    }
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(
+            "--java=" + java.get().executablePath.asFile.absolutePath,
+            "--application=" + application.get().asFile.absolutePath,
+            "--runs=" + runs.get()
+        )
+    })
+}
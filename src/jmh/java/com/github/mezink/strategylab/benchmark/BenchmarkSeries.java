@@ -0,0 +1,62 @@
+package com.github.mezink.strategylab.benchmark;
+
+import com.github.mezink.strategylab.domain.model.Candle;
+import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.strategy.Strategy;
+import com.github.mezink.strategylab.domain.strategy.StrategyId;
+import com.github.mezink.strategylab.domain.strategy.StrategyParameterDescriptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic inputs shared by the benchmarks.
+ */
+public final class BenchmarkSeries {
+
+    public static final LocalDate START = LocalDate.of(1900, 1, 1);
+    private static final long SEED = 42L;
+
+    private BenchmarkSeries() {
+    }
+
+    /**
+     * A seeded random walk of {@code size} daily candles starting at {@link #START}.
+     */
+    public static TimeSeries randomWalk(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Candle> candles = new ArrayList<>(size);
+        double price = 100.0;
+        LocalDate date = START;
+        for (int i = 0; i < size; i++) {
+            double open = price;
+            price = Math.max(1.0, price * (1.0 + (random.nextDouble() - 0.495) * 0.02));
+            double high = Math.max(open, price) * 1.005;
+            double low = Math.min(open, price) * 0.995;
+            candles.add(new Candle(date, bd(open), bd(high), bd(low), bd(price), 1_000_000L + random.nextInt(1_000_000)));
+            date = date.plusDays(1);
+        }
+        return new TimeSeries(new Instrument("BENCH", "Benchmark", "EQUITY"), candles);
+    }
+
+    /**
+     * A strategy configured with the defaults advertised by its parameter descriptors.
+     */
+    public static Strategy defaultStrategy(StrategyId id) {
+        Map<String, String> params = new HashMap<>();
+        for (StrategyParameterDescriptor descriptor : id.parameterDescriptors()) {
+            params.put(descriptor.name(), descriptor.defaultValue());
+        }
+        return id.createStrategy(params);
+    }
+
+    private static BigDecimal bd(double value) {
+        return BigDecimal.valueOf(Math.round(value * 10_000) / 10_000.0);
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.mezink.strategylab.domain.engine;
+
+import com.github.mezink.strategylab.benchmark.BenchmarkSeries;
+import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import com.github.mezink.strategylab.domain.model.BacktestResult;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.strategy.StrategyId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end engine run: strategy execution plus metrics, as served by {@code /api/backtest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BacktestEngineBenchmark {
+
+    @Param({"1000", "10000", "1000000"})
+    int size;
+
+    @Param({"BUY_AND_HOLD", "DCA", "MA_CROSSOVER", "RULE"})
+    StrategyId strategyId;
+
+    private final BacktestEngine engine = new BacktestEngine();
+    private TimeSeries series;
+    private BacktestConfig config;
+
+    @Setup
+    public void setUp() {
+        series = BenchmarkSeries.randomWalk(size);
+        config = new BacktestConfig(series.instrument().symbol(), series.startDate(), series.endDate(),
+                BigDecimal.valueOf(10_000), BenchmarkSeries.defaultStrategy(strategyId));
+    }
+
+    @Benchmark
+    public BacktestResult run() {
+        return engine.run(series, config);
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.mezink.strategylab.domain.engine;
+
+import com.github.mezink.strategylab.benchmark.BenchmarkSeries;
+import com.github.mezink.strategylab.domain.model.BacktestMetrics;
+import com.github.mezink.strategylab.domain.model.EquityCurve;
+import com.github.mezink.strategylab.domain.strategy.StrategyId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MetricsCalculatorBenchmark {
+
+    private static final BigDecimal CAPITAL = BigDecimal.valueOf(10_000);
+
+    @Param({"1000", "10000", "1000000"})
+    int size;
+
+    private EquityCurve equityCurve;
+
+    @Setup
+    public void setUp() {
+        equityCurve = BenchmarkSeries.defaultStrategy(StrategyId.BUY_AND_HOLD)
+                .execute(BenchmarkSeries.randomWalk(size), CAPITAL)
+                .curve();
+    }
+
+    @Benchmark
+    public BacktestMetrics compute() {
+        return MetricsCalculator.compute(equityCurve, CAPITAL, 1, 252);
+    }
+}
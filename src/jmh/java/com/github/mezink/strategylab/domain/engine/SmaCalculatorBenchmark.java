@@ -0,0 +1,53 @@
+package com.github.mezink.strategylab.domain.engine;
+
+import com.github.mezink.strategylab.benchmark.BenchmarkSeries;
+import com.github.mezink.strategylab.domain.model.Candle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SmaCalculatorBenchmark {
+
+    @Param({"1000", "10000", "1000000"})
+    int size;
+
+    @Param({"50"})
+    int window;
+
+    private List<BigDecimal> closes;
+    private double[] primitiveCloses;
+
+    @Setup
+    public void setUp() {
+        closes = BenchmarkSeries.randomWalk(size).candles().stream().map(Candle::close).toList();
+        primitiveCloses = closes.stream().mapToDouble(BigDecimal::doubleValue).toArray();
+    }
+
+    @Benchmark
+    public List<BigDecimal> bigDecimal() {
+        return SmaCalculator.compute(closes, window);
+    }
+
+    @Benchmark
+    public double[] primitive() {
+        return SmaCalculator.compute(primitiveCloses, window);
+    }
+}
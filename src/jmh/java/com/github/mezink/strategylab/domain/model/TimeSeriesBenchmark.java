@@ -0,0 +1,46 @@
+package com.github.mezink.strategylab.domain.model;
+
+import com.github.mezink.strategylab.benchmark.BenchmarkSeries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TimeSeriesBenchmark {
+
+    @Param({"1000", "10000", "1000000"})
+    int size;
+
+    private TimeSeries series;
+    private LocalDate sliceStart;
+    private LocalDate sliceEnd;
+
+    @Setup
+    public void setUp() {
+        series = BenchmarkSeries.randomWalk(size);
+        // The middle half of the series
+        sliceStart = series.candles().get(size / 4).date();
+        sliceEnd = series.candles().get(size * 3 / 4).date();
+    }
+
+    @Benchmark
+    public TimeSeries slice() {
+        return series.slice(sliceStart, sliceEnd);
+    }
+}
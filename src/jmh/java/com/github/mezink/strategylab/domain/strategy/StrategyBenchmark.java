@@ -0,0 +1,53 @@
+package com.github.mezink.strategylab.domain.strategy;
+
+import com.github.mezink.strategylab.benchmark.BenchmarkSeries;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Strategy execution alone (equity curve + trades, no metrics), configured with
+ * each strategy's advertised default parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StrategyBenchmark {
+
+    private static final BigDecimal CAPITAL = BigDecimal.valueOf(10_000);
+
+    @Param({"1000", "10000", "1000000"})
+    int size;
+
+    @Param({"BUY_AND_HOLD", "DCA", "MA_CROSSOVER", "RULE"})
+    StrategyId strategyId;
+
+    private TimeSeries series;
+    private Strategy strategy;
+
+    @Setup
+    public void setUp() {
+        series = BenchmarkSeries.randomWalk(size);
+        strategy = BenchmarkSeries.defaultStrategy(strategyId);
+    }
+
+    @Benchmark
+    public StrategyExecution execute() {
+        return strategy.execute(series, CAPITAL);
+    }
+}
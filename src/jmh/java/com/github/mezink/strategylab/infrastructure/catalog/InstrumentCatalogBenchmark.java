@@ -0,0 +1,74 @@
+package com.github.mezink.strategylab.infrastructure.catalog;
+
+import com.github.mezink.strategylab.domain.model.Instrument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete lookups against catalogs of synthetic tickers: a prefix hit, a name-word
+ * hit, and a typo that falls through to the fuzzy scan (the slowest path).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentCatalogBenchmark {
+
+    private static final String[] WORDS = {
+            "Global", "Capital", "Energy", "Systems", "Holdings", "Technologies", "Financial",
+            "Industries", "Health", "Materials", "Pacific", "American", "Digital", "Resources"
+    };
+
+    @Param({"1000", "10000", "50000"})
+    public int size;
+
+    private InMemoryInstrumentCatalog catalog;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Instrument> instruments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            StringBuilder symbol = new StringBuilder();
+            int length = 2 + random.nextInt(4);
+            for (int c = 0; c < length; c++) {
+                symbol.append((char) ('A' + random.nextInt(26)));
+            }
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " Inc.";
+            instruments.add(new Instrument(symbol.toString(), name, "EQUITY"));
+        }
+        instruments.add(new Instrument("AAPL", "Apple Inc.", "EQUITY"));
+        catalog = new InMemoryInstrumentCatalog(instruments);
+    }
+
+    @Benchmark
+    public List<Instrument> symbolPrefix() {
+        return catalog.search("AA", 10);
+    }
+
+    @Benchmark
+    public List<Instrument> nameWordPrefix() {
+        return catalog.search("tech", 10);
+    }
+
+    @Benchmark
+    public List<Instrument> fuzzyTypo() {
+        return catalog.search("APPLQ", 10);
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.mezink.strategylab.infrastructure.synthetic;
+
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of generating one series. Every request walks the path from
+ * {@link SyntheticMarketDataProvider#ORIGIN}, so a short recent range is not much cheaper
+ * than a long one; divide the candle count by the score for candles per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SyntheticMarketDataProviderBenchmark {
+
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+
+    @Param({"1", "10", "50"})
+    public int years;
+
+    private SyntheticMarketDataProvider provider;
+    private LocalDate start;
+
+    @Setup
+    public void setUp() {
+        provider = new SyntheticMarketDataProvider(42);
+        start = END.minusYears(years);
+    }
+
+    @Benchmark
+    public TimeSeries generate() {
+        return provider.getDailySeries("SPY", start, END);
+    }
+}
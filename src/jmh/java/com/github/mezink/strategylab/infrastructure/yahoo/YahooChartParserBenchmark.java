@@ -0,0 +1,54 @@
+package com.github.mezink.strategylab.infrastructure.yahoo;
+
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a ten-year daily SPY chart payload in the Yahoo v8 format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YahooChartParserBenchmark {
+
+    private static final String PAYLOAD = "/yahoo/spy-chart-10y.json";
+
+    private final YahooChartParser parser = new YahooChartParser(new ObjectMapper());
+    private String json;
+
+    @Setup
+    public void setUp() {
+        try (InputStream in = YahooChartParserBenchmark.class.getResourceAsStream(PAYLOAD)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing benchmark payload " + PAYLOAD);
+            }
+            json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Benchmark
+    public TimeSeries parseSeries() {
+        return parser.parseSeries("SPY", json);
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.mezink.strategylab.interfaces.dto;
+
+import com.github.mezink.strategylab.benchmark.BenchmarkSeries;
+import com.github.mezink.strategylab.domain.engine.BacktestEngine;
+import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.strategy.Strategy;
+import com.github.mezink.strategylab.domain.strategy.StrategyId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes a 30-year, five-strategy {@link BacktestResponse} (about 7,560 trading days per
+ * equity curve) as JSON, CBOR and Smile, the formats negotiated by {@code /api/backtest}.
+ * The payload size of each format is printed during setup; run with {@code -prof gc} to
+ * compare allocation alongside CPU time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BacktestResponseEncodingBenchmark {
+
+    private static final int THIRTY_YEARS_OF_TRADING_DAYS = 30 * 252;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private BacktestResponse response;
+
+    @Setup
+    public void setUp() {
+        mapper = switch (format) {
+            case "json" -> JsonMapper.builder().build();
+            case "cbor" -> CBORMapper.builder().build();
+            case "smile" -> SmileMapper.builder().build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+
+        TimeSeries series = BenchmarkSeries.randomWalk(THIRTY_YEARS_OF_TRADING_DAYS);
+        List<Strategy> strategies = List.of(
+                BenchmarkSeries.defaultStrategy(StrategyId.BUY_AND_HOLD),
+                BenchmarkSeries.defaultStrategy(StrategyId.DCA),
+                BenchmarkSeries.defaultStrategy(StrategyId.MA_CROSSOVER),
+                StrategyId.MA_CROSSOVER.createStrategy(Map.of("shortWindow", "50", "longWindow", "200")),
+                BenchmarkSeries.defaultStrategy(StrategyId.RULE));
+        BacktestEngine engine = new BacktestEngine();
+        response = new BacktestResponse(strategies.stream()
+                .map(strategy -> engine.run(series, new BacktestConfig(series.instrument().symbol(),
+                        series.startDate(), series.endDate(), BigDecimal.valueOf(10_000), strategy)))
+                .map(BacktestResultDto::from)
+                .toList());
+
+        System.out.printf("%n%s payload: %,d bytes%n", format, serialize().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return mapper.writeValueAsBytes(response);
+    }
+}
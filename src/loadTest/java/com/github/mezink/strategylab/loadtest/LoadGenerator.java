@@ -0,0 +1,169 @@
+package com.github.mezink.strategylab.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Open-loop driver for {@code POST /api/backtest}: each request is sent on its own virtual
+ * thread at the time {@link RateSchedule} gives it, and its latency is recorded in
+ * microseconds from that time. Successful responses go into an HdrHistogram; non-200
+ * responses, timeouts and requests dropped at the outstanding limit are counted as errors.
+ */
+final class LoadGenerator {
+
+    private static final Duration INTERVAL = Duration.ofSeconds(1);
+
+    private final HttpClient client;
+    private final URI endpoint;
+    private final WorkloadMix mix;
+    private final int maxOutstanding;
+    private final Duration requestTimeout;
+
+    LoadGenerator(HttpClient client, URI target, WorkloadMix mix, int maxOutstanding, Duration requestTimeout) {
+        this.client = client;
+        this.endpoint = target.resolve("/api/backtest");
+        this.mix = mix;
+        this.maxOutstanding = maxOutstanding;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * One second of a run.
+     *
+     * @param elapsed    end of the interval, from the start of the phase
+     * @param targetRate scheduled requests per second at the end of the interval
+     * @param throughput successful responses per second
+     * @param errors     failed or dropped requests in the interval
+     * @param latency    latencies of the successful responses, in microseconds
+     */
+    record Interval(Duration elapsed, double targetRate, double throughput, long errors, Histogram latency) {
+    }
+
+    /**
+     * Totals for a whole phase.
+     *
+     * @param latency latencies of all successful responses, in microseconds
+     */
+    record Result(Duration elapsed, long sent, long ok, long errors, long dropped, Histogram latency,
+                  List<Interval> intervals) {
+    }
+
+    Result run(RateSchedule schedule, Consumer<Interval> onInterval) {
+        Recorder recorder = new Recorder(3);
+        Histogram total = new Histogram(3);
+        LongAdder ok = new LongAdder();
+        LongAdder errors = new LongAdder();
+        LongAdder dropped = new LongAdder();
+        AtomicInteger outstanding = new AtomicInteger();
+        List<Interval> intervals = new ArrayList<>();
+        long count = schedule.requestCount();
+        long start = System.nanoTime();
+
+        Thread reporter = Thread.ofVirtual().name("load-report").start(() -> {
+            Histogram interval = null;
+            long okBefore = 0;
+            long errorsBefore = 0;
+            long tick = start;
+            while (!Thread.currentThread().isInterrupted()) {
+                tick += INTERVAL.toNanos();
+                if (!sleepUntil(tick)) {
+                    break;
+                }
+                interval = recorder.getIntervalHistogram(interval);
+                total.add(interval);
+                long okNow = ok.sum();
+                long errorsNow = errors.sum() + dropped.sum();
+                Duration elapsed = Duration.ofNanos(tick - start);
+                Interval result = new Interval(elapsed, schedule.rateAt(elapsed),
+                        (okNow - okBefore) / (INTERVAL.toNanos() / 1e9), errorsNow - errorsBefore, interval.copy());
+                intervals.add(result);
+                onInterval.accept(result);
+                okBefore = okNow;
+                errorsBefore = errorsNow;
+            }
+        });
+
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long n = 0; n < count; n++) {
+                long due = start + schedule.offsetNanos(n);
+                sleepUntil(due);
+                if (outstanding.incrementAndGet() > maxOutstanding) {
+                    outstanding.decrementAndGet();
+                    dropped.increment();
+                    continue;
+                }
+                long index = n;
+                senders.execute(() -> {
+                    try {
+                        if (send(mix.body(index))) {
+                            recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due));
+                            ok.increment();
+                        } else {
+                            errors.increment();
+                        }
+                    } finally {
+                        outstanding.decrementAndGet();
+                    }
+                });
+            }
+        }
+        long end = System.nanoTime();
+        reporter.interrupt();
+        try {
+            reporter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        total.add(recorder.getIntervalHistogram());
+        return new Result(Duration.ofNanos(end - start), count, ok.sum(), errors.sum(), dropped.sum(), total,
+                List.copyOf(intervals));
+    }
+
+    private boolean send(byte[] body) {
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() == 200;
+        } catch (IOException _) {
+            return false;
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Parks until {@link System#nanoTime()} reaches {@code deadline}; false if interrupted first.
+     */
+    private static boolean sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.mezink.strategylab.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * Summary of a measured phase: throughput, latency percentiles from scheduled send time, and
+ * the server's GC pauses and allocation rate over the same window.
+ */
+record LoadReport(
+        double targetStartRate,
+        double targetEndRate,
+        double durationSeconds,
+        long sent,
+        long ok,
+        long errors,
+        long dropped,
+        double throughput,
+        double p50Millis,
+        double p90Millis,
+        double p99Millis,
+        double p999Millis,
+        double maxMillis,
+        long gcPauses,
+        double gcPauseMillis,
+        double gcPauseMaxMillis,
+        double gcTimePercent,
+        double allocationMbPerSecond
+) {
+
+    static LoadReport of(LoadTestOptions options, LoadGenerator.Result result,
+                         ServerMetrics.Snapshot before, ServerMetrics.Snapshot after) {
+        double seconds = result.elapsed().toNanos() / 1e9;
+        Histogram latency = result.latency();
+        double gcSeconds = after.gcPauseSeconds() - before.gcPauseSeconds();
+        return new LoadReport(
+                options.rate(),
+                options.rampTo(),
+                seconds,
+                result.sent(),
+                result.ok(),
+                result.errors(),
+                result.dropped(),
+                result.ok() / seconds,
+                millis(latency, 50),
+                millis(latency, 90),
+                millis(latency, 99),
+                millis(latency, 99.9),
+                latency.getMaxValue() / 1_000.0,
+                after.gcPauses() - before.gcPauses(),
+                gcSeconds * 1_000,
+                after.gcPauseMax() * 1_000,
+                100 * gcSeconds / seconds,
+                (after.allocatedBytes() - before.allocatedBytes()) / seconds / (1024 * 1024));
+    }
+
+    static void printInterval(PrintStream out, LoadGenerator.Interval interval) {
+        Histogram latency = interval.latency();
+        out.printf(Locale.ROOT, "%6.0fs  target %7.1f/s  ok %7.1f/s  errors %5d  p50 %8.1f ms  p99 %8.1f ms%n",
+                interval.elapsed().toNanos() / 1e9, interval.targetRate(), interval.throughput(), interval.errors(),
+                millis(latency, 50), millis(latency, 99));
+    }
+
+    void print(PrintStream out) {
+        out.println();
+        out.printf(Locale.ROOT, "Target rate   %.1f -> %.1f req/s over %.1f s%n", targetStartRate, targetEndRate,
+                durationSeconds);
+        out.printf(Locale.ROOT, "Requests      %d sent, %d ok, %d errors, %d dropped%n", sent, ok, errors, dropped);
+        out.printf(Locale.ROOT, "Throughput    %.1f req/s%n", throughput);
+        out.printf(Locale.ROOT, "Latency (ms)  p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f%n",
+                p50Millis, p90Millis, p99Millis, p999Millis, maxMillis);
+        out.printf(Locale.ROOT, "GC pauses     %d, %.1f ms total (%.2f%% of wall time), max %.1f ms%n",
+                gcPauses, gcPauseMillis, gcTimePercent, gcPauseMaxMillis);
+        out.printf(Locale.ROOT, "Allocation    %.1f MB/s%n", allocationMbPerSecond);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / 1_000.0;
+    }
+}
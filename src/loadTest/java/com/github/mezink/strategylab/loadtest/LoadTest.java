@@ -0,0 +1,83 @@
+package com.github.mezink.strategylab.loadtest;
+
+import com.github.mezink.strategylab.Application;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end load test for {@code POST /api/backtest}.
+ * <p>
+ * Without {@code --target} it boots the application in this JVM with the {@code synthetic}
+ * profile, so runs are offline and repeatable. The client shares that JVM; its allocation is
+ * small next to the backtests but shows up in the GC figures. Point {@code --target} at a
+ * separately started instance to exclude it.
+ * <p>
+ * A run warms up at {@code --rate}, then measures while the rate moves to {@code --ramp-to}
+ * (or stays fixed), printing one line per second. With a ramp the per-second lines show where
+ * p99 latency departs from the baseline; the summary gives the sustained throughput.
+ * See {@link LoadTestOptions} for all options.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ObjectMapper mapper = new ObjectMapper();
+        ConfigurableApplicationContext app = null;
+        URI target = options.target();
+        if (target == null) {
+            app = SpringApplication.run(Application.class,
+                    "--spring.profiles.active=synthetic",
+                    "--server.port=0",
+                    "--logging.level.com.github.mezink.strategylab=WARN");
+            target = URI.create("http://localhost:" + app.getEnvironment().getProperty("local.server.port"));
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        try {
+            LoadGenerator generator = new LoadGenerator(client, target, new WorkloadMix(options, mapper),
+                    options.maxOutstanding(), options.requestTimeout());
+            ServerMetrics metrics = new ServerMetrics(client, mapper, target);
+
+            if (!options.warmup().isZero()) {
+                System.out.printf("Warming up at %.1f req/s for %s against %s%n", options.rate(), options.warmup(), target);
+                generator.run(new RateSchedule(options.rate(), options.rate(), options.warmup()), _ -> { });
+            }
+
+            System.out.printf("Measuring for %s%n", options.duration());
+            ServerMetrics.Snapshot before = metrics.snapshot();
+            LoadGenerator.Result result = generator.run(
+                    new RateSchedule(options.rate(), options.rampTo(), options.duration()),
+                    interval -> LoadReport.printInterval(System.out, interval));
+            ServerMetrics.Snapshot after = metrics.snapshot();
+
+            LoadReport report = LoadReport.of(options, result, before, after);
+            report.print(System.out);
+            if (options.results() != null) {
+                Path parent = options.results().toAbsolutePath().getParent();
+                Files.createDirectories(parent);
+                mapper.writerWithDefaultPrettyPrinter().writeValue(options.results().toFile(), report);
+                System.out.println("Report written to " + options.results());
+            }
+        } finally {
+            client.close();
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+}
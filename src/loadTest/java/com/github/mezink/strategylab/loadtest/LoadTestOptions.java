@@ -0,0 +1,104 @@
+package com.github.mezink.strategylab.loadtest;
+
+import com.github.mezink.strategylab.domain.strategy.StrategyId;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Settings for one load-test run, parsed from {@code --name=value} arguments.
+ *
+ * @param target           base URL of a running instance, or {@code null} to boot one in-process
+ *                         with the synthetic profile
+ * @param rate             requests per second at the start of the measurement
+ * @param rampTo           requests per second at the end; equal to {@code rate} for a fixed rate
+ * @param warmup           time at {@code rate} before measuring, so the JIT and caches settle
+ * @param duration         measurement time
+ * @param strategies       strategies to pick from, uniformly
+ * @param maxSymbols       each request compares 1 to {@code maxSymbols} backtests
+ * @param rangeYears       date range lengths to pick from, uniformly
+ * @param symbolPool       number of distinct tickers; a small pool mostly hits the cache
+ * @param maxOutstanding   requests in flight before new ones are dropped and counted as errors
+ * @param requestTimeout   per-request timeout
+ * @param seed             seed for the workload mix
+ * @param results          optional JSON report file
+ */
+record LoadTestOptions(
+        URI target,
+        double rate,
+        double rampTo,
+        Duration warmup,
+        Duration duration,
+        List<StrategyId> strategies,
+        int maxSymbols,
+        List<Integer> rangeYears,
+        int symbolPool,
+        int maxOutstanding,
+        Duration requestTimeout,
+        long seed,
+        Path results
+) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        double rate = Double.parseDouble(values.getOrDefault("rate", "20"));
+        LoadTestOptions options = new LoadTestOptions(
+                values.containsKey("target") ? URI.create(values.get("target")) : null,
+                rate,
+                values.containsKey("ramp-to") ? Double.parseDouble(values.get("ramp-to")) : rate,
+                duration(values.getOrDefault("warmup", "15s")),
+                duration(values.getOrDefault("duration", "60s")),
+                Arrays.stream(values.getOrDefault("strategies", "BUY_AND_HOLD,DCA,MA_CROSSOVER,RULE").split(","))
+                        .map(s -> StrategyId.valueOf(s.trim().toUpperCase(Locale.ROOT)))
+                        .toList(),
+                Integer.parseInt(values.getOrDefault("max-symbols", "3")),
+                Arrays.stream(values.getOrDefault("range-years", "1,5,10").split(","))
+                        .map(s -> Integer.parseInt(s.trim()))
+                        .toList(),
+                Integer.parseInt(values.getOrDefault("symbol-pool", "20")),
+                Integer.parseInt(values.getOrDefault("max-outstanding", "2000")),
+                duration(values.getOrDefault("request-timeout", "30s")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                values.containsKey("results") ? Path.of(values.get("results")) : null
+        );
+        values.keySet().removeAll(List.of("target", "rate", "ramp-to", "warmup", "duration", "strategies",
+                "max-symbols", "range-years", "symbol-pool", "max-outstanding", "request-timeout", "seed", "results"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + values.keySet());
+        }
+        return options;
+    }
+
+    LoadTestOptions {
+        if (rate <= 0 || rampTo <= 0) throw new IllegalArgumentException("rates must be positive");
+        if (duration.isZero() || duration.isNegative()) throw new IllegalArgumentException("duration must be positive");
+        if (strategies.isEmpty()) throw new IllegalArgumentException("strategies must not be empty");
+        if (maxSymbols < 1) throw new IllegalArgumentException("max-symbols must be at least 1");
+        if (rangeYears.isEmpty()) throw new IllegalArgumentException("range-years must not be empty");
+        if (symbolPool < 1) throw new IllegalArgumentException("symbol-pool must be at least 1");
+    }
+
+    /**
+     * Parses {@code 500ms}, {@code 30s}, {@code 5m} or an ISO-8601 duration.
+     */
+    private static Duration duration(String value) {
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        if (v.endsWith("ms")) return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        if (v.endsWith("s")) return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        if (v.endsWith("m")) return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        return Duration.parse(value);
+    }
+}
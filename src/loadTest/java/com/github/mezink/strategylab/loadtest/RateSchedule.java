@@ -0,0 +1,42 @@
+package com.github.mezink.strategylab.loadtest;
+
+import java.time.Duration;
+
+/**
+ * When each request of an open-loop run is due. The rate changes linearly from
+ * {@code startRate} to {@code endRate} over the phase; equal rates give a fixed schedule.
+ * <p>
+ * Requests are sent at their scheduled time whether or not earlier ones have completed, and
+ * latency is measured from the scheduled time. A closed loop that waits for responses would
+ * slow down with the server and hide exactly the queueing this harness is meant to find.
+ */
+record RateSchedule(double startRate, double endRate, Duration length) {
+
+    /**
+     * Offset of the {@code n}-th request (0-based) from the start of the phase, in nanoseconds.
+     * Inverts the cumulative count {@code N(t) = r0 t + k t^2 / 2}, with {@code k} the rate slope.
+     */
+    long offsetNanos(long n) {
+        double seconds = length.toNanos() / 1e9;
+        double slope = (endRate - startRate) / seconds;
+        double t = Math.abs(slope) < 1e-12
+                ? n / startRate
+                : (-startRate + Math.sqrt(startRate * startRate + 2 * slope * n)) / slope;
+        return (long) (t * 1e9);
+    }
+
+    /**
+     * Target rate at {@code elapsed} into the phase.
+     */
+    double rateAt(Duration elapsed) {
+        double fraction = Math.min(1.0, (double) elapsed.toNanos() / length.toNanos());
+        return startRate + (endRate - startRate) * fraction;
+    }
+
+    /**
+     * Number of requests the phase sends.
+     */
+    long requestCount() {
+        return (long) (length.toNanos() / 1e9 * (startRate + endRate) / 2);
+    }
+}
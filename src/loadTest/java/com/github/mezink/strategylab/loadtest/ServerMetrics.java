@@ -0,0 +1,77 @@
+package com.github.mezink.strategylab.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Reads GC and allocation counters from the server's actuator, so the numbers are the
+ * server's own and also available when testing a remote instance.
+ */
+final class ServerMetrics {
+
+    private final HttpClient client;
+    private final ObjectMapper mapper;
+    private final URI target;
+
+    ServerMetrics(HttpClient client, ObjectMapper mapper, URI target) {
+        this.client = client;
+        this.mapper = mapper;
+        this.target = target;
+    }
+
+    /**
+     * Cumulative counters at one point in time.
+     *
+     * @param gcPauses       number of GC pauses
+     * @param gcPauseSeconds total time in GC pauses
+     * @param gcPauseMax     longest recent pause, in seconds (Micrometer's decaying max)
+     * @param allocatedBytes bytes allocated in the young generation
+     */
+    record Snapshot(long gcPauses, double gcPauseSeconds, double gcPauseMax, double allocatedBytes) {
+    }
+
+    Snapshot snapshot() {
+        JsonNode pause = metric("jvm.gc.pause");
+        return new Snapshot(
+                (long) statistic(pause, "COUNT"),
+                statistic(pause, "TOTAL_TIME"),
+                statistic(pause, "MAX"),
+                statistic(metric("jvm.gc.memory.allocated"), "COUNT"));
+    }
+
+    private JsonNode metric(String name) {
+        HttpRequest request = HttpRequest.newBuilder(target.resolve("/actuator/metrics/" + name))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            // 404 until the first GC has been recorded
+            return response.statusCode() == 200 ? mapper.readTree(response.body()) : null;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read %s from %s".formatted(name, target), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted reading " + name, e);
+        }
+    }
+
+    private static double statistic(JsonNode metric, String statistic) {
+        if (metric == null) {
+            return 0;
+        }
+        for (JsonNode measurement : metric.path("measurements")) {
+            if (statistic.equals(measurement.path("statistic").asString())) {
+                return measurement.path("value").asDouble();
+            }
+        }
+        return 0;
+    }
+}
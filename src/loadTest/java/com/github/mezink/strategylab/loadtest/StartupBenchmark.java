@@ -0,0 +1,135 @@
+package com.github.mezink.strategylab.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Time from process launch to the first {@code 200} from {@code POST /api/backtest}, for the
+ * plain JVM and for the fast-startup configuration (Spring AOT plus a JVM AOT cache). This
+ * covers JVM start, context refresh, cache warm-up and the first, cold backtest: what a
+ * freshly scaled-out instance pays before it is useful.
+ * <p>
+ * Expects an extracted fast-startup jar ({@code --application}, as produced by
+ * {@code ./gradlew extractBootJar -PfastStartup}). If {@code app.aot} is missing there it
+ * is trained first with the application's training run. Both modes use the
+ * {@code synthetic} profile.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final String BODY = """
+            {"backtests":[{"symbol":"SPY","startDate":"2016-01-01","endDate":"2025-12-31",
+            "initialCapital":10000,"strategyId":"MA_CROSSOVER","strategyParams":{}}]}""";
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        String java = options.getOrDefault("java", "java");
+        Path application = Path.of(options.get("application"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        Path jar = findJar(application);
+        Path cache = application.resolve("app.aot");
+
+        if (!Files.exists(cache)) {
+            System.out.println("Training " + cache);
+            List<String> training = List.of(java, "-XX:AOTCacheOutput=" + cache, "-Dspring.aot.enabled=true",
+                    "-jar", jar.toString(), "--spring.profiles.active=synthetic",
+                    "--strategylab.training.enabled=true", "--server.port=0");
+            Process process = new ProcessBuilder(training).directory(application.toFile()).inheritIO().start();
+            if (process.waitFor() != 0) {
+                throw new IllegalStateException("Training run failed with exit code " + process.exitValue());
+            }
+        }
+
+        List<String> plain = List.of(java, "-jar", jar.toString());
+        List<String> fast = List.of(java, "-XX:AOTCache=" + cache, "-Dspring.aot.enabled=true",
+                "-jar", jar.toString());
+        List<Long> plainMillis = new ArrayList<>();
+        List<Long> fastMillis = new ArrayList<>();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            for (int run = 0; run < runs; run++) {
+                // Alternate so drift in machine load affects both modes alike
+                plainMillis.add(timeToFirstBacktest(client, plain, application));
+                fastMillis.add(timeToFirstBacktest(client, fast, application));
+                System.out.printf("run %d: plain %d ms, fast %d ms%n", run + 1, plainMillis.getLast(),
+                        fastMillis.getLast());
+            }
+        }
+        System.out.println();
+        print("plain", plainMillis);
+        print("fast-startup", fastMillis);
+    }
+
+    private static long timeToFirstBacktest(HttpClient client, List<String> command, Path directory)
+            throws IOException, InterruptedException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> fullCommand = new ArrayList<>(command);
+        fullCommand.addAll(List.of("--spring.profiles.active=synthetic", "--server.port=" + port,
+                "--logging.level.root=WARN"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:%d/api/backtest".formatted(port)))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(BODY))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(fullCommand).directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with code " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+                    }
+                } catch (IOException _) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No successful backtest within " + STARTUP_TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static Path findJar(Path application) throws IOException {
+        try (Stream<Path> files = Files.list(application)) {
+            return files.filter(f -> f.toString().endsWith(".jar")).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("No jar in " + application));
+        }
+    }
+
+    private static void print(String mode, List<Long> millis) {
+        List<Long> sorted = millis.stream().sorted().toList();
+        System.out.printf(Locale.ROOT, "%-13s median %5d ms  min %5d ms  max %5d ms%n", mode,
+                sorted.get(sorted.size() / 2), sorted.getFirst(), sorted.getLast());
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.mezink.strategylab.loadtest;
+
+import com.github.mezink.strategylab.domain.strategy.StrategyId;
+import com.github.mezink.strategylab.domain.strategy.StrategyParameterDescriptor;
+import com.github.mezink.strategylab.interfaces.dto.BacktestRequest;
+import com.github.mezink.strategylab.interfaces.dto.BacktestRequestItem;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates {@code /api/backtest} request bodies from the configured mix of strategies,
+ * symbol counts and date ranges. Bodies are pre-rendered so the generator's own cost does
+ * not show up as server latency; with a fixed seed two runs send the same sequence.
+ */
+final class WorkloadMix {
+
+    private static final int DISTINCT_BODIES = 4_096;
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+    private static final BigDecimal CAPITAL = BigDecimal.valueOf(10_000);
+
+    private final byte[][] bodies;
+
+    WorkloadMix(LoadTestOptions options, ObjectMapper mapper) {
+        SplittableRandom random = new SplittableRandom(options.seed());
+        bodies = new byte[DISTINCT_BODIES][];
+        for (int i = 0; i < DISTINCT_BODIES; i++) {
+            int count = 1 + random.nextInt(options.maxSymbols());
+            List<BacktestRequestItem> items = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                StrategyId strategy = options.strategies().get(random.nextInt(options.strategies().size()));
+                int years = options.rangeYears().get(random.nextInt(options.rangeYears().size()));
+                String symbol = "SYN" + random.nextInt(options.symbolPool());
+                items.add(new BacktestRequestItem(symbol, END.minusYears(years), END, CAPITAL,
+                        strategy.name(), defaults(strategy)));
+            }
+            bodies[i] = mapper.writeValueAsBytes(new BacktestRequest(items));
+        }
+    }
+
+    /**
+     * Body for the {@code n}-th request.
+     */
+    byte[] body(long n) {
+        return bodies[(int) (n % DISTINCT_BODIES)];
+    }
+
+    private static Map<String, String> defaults(StrategyId strategy) {
+        Map<String, String> params = new HashMap<>();
+        for (StrategyParameterDescriptor descriptor : strategy.parameterDescriptors()) {
+            params.put(descriptor.name(), descriptor.defaultValue());
+        }
+        return params;
+    }
+}
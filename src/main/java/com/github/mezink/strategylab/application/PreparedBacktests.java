@@ -0,0 +1,138 @@
+package com.github.mezink.strategylab.application;
+
+import com.github.mezink.strategylab.application.admission.AdmissionControl;
+import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import com.github.mezink.strategylab.domain.model.CandleColumns;
+import com.github.mezink.strategylab.domain.model.Deadline;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.port.SeriesRequest;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Backtests whose market data has been fetched but which have not run yet.
+ * Produced by {@link RunBacktestUseCase#prepare} so callers can inspect the inputs, e.g.
+ * to answer a conditional request, before paying for the backtests themselves.
+ * <p>
+ * Holds the capacity reserved for the backtests and the references to their series until
+ * {@link #close() closed}.
+ */
+public final class PreparedBacktests implements AutoCloseable {
+
+    private final List<BacktestConfig> configs;
+    private final Map<SeriesRequest, TimeSeries> series;
+    private final Deadline deadline;
+    private final AdmissionControl.Permit permit;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * @param configs  backtests to run, in request order
+     * @param series   the series for each distinct symbol, date range and interval, each
+     *                 with a reference this takes over
+     * @param deadline the deadline the data was fetched under, which the backtests keep to
+     * @param permit   the capacity reserved for the backtests; {@code null} if none
+     */
+    public PreparedBacktests(List<BacktestConfig> configs, Map<SeriesRequest, TimeSeries> series, Deadline deadline,
+                             AdmissionControl.Permit permit) {
+        this.configs = List.copyOf(configs);
+        this.series = Map.copyOf(series);
+        this.deadline = deadline == null ? Deadline.NONE : deadline;
+        this.permit = permit;
+    }
+
+    public List<BacktestConfig> configs() {
+        return configs;
+    }
+
+    public Map<SeriesRequest, TimeSeries> series() {
+        return series;
+    }
+
+    public Deadline deadline() {
+        return deadline;
+    }
+
+    public AdmissionControl.Permit permit() {
+        return permit;
+    }
+
+    /**
+     * The series a config runs against.
+     */
+    public TimeSeries seriesFor(BacktestConfig config) {
+        TimeSeries result = series.get(requestFor(config));
+        if (result == null) {
+            throw new IllegalStateException("No series prepared for " + config.symbol());
+        }
+        return result;
+    }
+
+    /**
+     * A hash of every candle the backtests will read. It changes whenever the upstream data
+     * changes (a new trading day, a corrected or dividend-adjusted close), so together with
+     * the request it identifies the result. Hashing long intraday series takes a while, so
+     * this keeps to the {@link #deadline()} too.
+     *
+     * @return 32 hex characters
+     */
+    public String dataVersion() {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(6 * Long.BYTES);
+        Set<SeriesRequest> distinct = new LinkedHashSet<>();
+        for (BacktestConfig config : configs) {
+            distinct.add(requestFor(config));
+        }
+        for (SeriesRequest request : distinct) {
+            digest.update("%s|%s|%s|%s".formatted(request.symbol(), request.start(), request.end(), request.interval().code())
+                    .getBytes(StandardCharsets.UTF_8));
+            CandleColumns candles = series.get(request).columns();
+            for (int i = 0; i < candles.size(); i++) {
+                deadline.check(i);
+                buffer.clear();
+                buffer.putLong(candles.epochSecond(i))
+                        .putLong(Double.doubleToLongBits(candles.open(i)))
+                        .putLong(Double.doubleToLongBits(candles.high(i)))
+                        .putLong(Double.doubleToLongBits(candles.low(i)))
+                        .putLong(Double.doubleToLongBits(candles.close(i)))
+                        .putLong(candles.volume(i));
+                digest.update(buffer.array());
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
+    /**
+     * Release the series and the reserved capacity. Idempotent.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        series.values().forEach(TimeSeries::release);
+        if (permit != null) {
+            permit.close();
+        }
+    }
+
+    static SeriesRequest requestFor(BacktestConfig config) {
+        return new SeriesRequest(config.symbol(), config.startDate(), config.endDate(), config.interval());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
@@ -1,39 +1,253 @@
 package com.github.mezink.strategylab.application;
 
+import com.github.mezink.strategylab.application.admission.AdmissionControl;
+import com.github.mezink.strategylab.application.admission.CapacityExceededException;
+import com.github.mezink.strategylab.application.admission.CostLimitExceededException;
 import com.github.mezink.strategylab.domain.engine.BacktestEngine;
+import com.github.mezink.strategylab.domain.exception.DeadlineExceededException;
 import com.github.mezink.strategylab.domain.model.BacktestConfig;
 import com.github.mezink.strategylab.domain.model.BacktestResult;
+import com.github.mezink.strategylab.domain.model.Deadline;
 import com.github.mezink.strategylab.domain.model.TimeSeries;
 import com.github.mezink.strategylab.domain.port.MarketDataProvider;
+import com.github.mezink.strategylab.domain.port.SeriesRequest;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 /**
  * Use case: run one or more backtests (comparison mode).
- * Fetches data, runs each strategy, returns all results.
+ * Fetches all distinct series up front in one concurrent batch, then runs each
+ * strategy in order and returns all results.
+ * <p>
+ * Calls given a {@link Deadline} stop fetching and computing once it passes or is
+ * cancelled: waits for market data end at the deadline, fetches still running are
+ * cancelled and strategies give up within a few milliseconds.
+ * <p>
+ * Every call first reserves its estimated cost with {@link AdmissionControl}: calls with a
+ * deadline are interactive and may be rejected for their size or for lack of capacity,
+ * calls without one (background jobs) wait until capacity frees up.
  */
 public class RunBacktestUseCase {
 
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+    /** How often a wait for market data looks for cancellation. */
+    private static final Duration CANCELLATION_POLL = Duration.ofMillis(10);
+
     private final MarketDataProvider marketDataProvider;
     private final BacktestEngine engine;
+    private final Duration timeout;
+    private final AdmissionControl admission;
 
     public RunBacktestUseCase(MarketDataProvider marketDataProvider, BacktestEngine engine) {
+        this(marketDataProvider, engine, DEFAULT_TIMEOUT, AdmissionControl.unlimited());
+    }
+
+    /**
+     * @param timeout time a request gets from {@link #newDeadline()}
+     */
+    public RunBacktestUseCase(MarketDataProvider marketDataProvider, BacktestEngine engine, Duration timeout) {
+        this(marketDataProvider, engine, timeout, AdmissionControl.unlimited());
+    }
+
+    /**
+     * @param timeout   time a request gets from {@link #newDeadline()}
+     * @param admission capacity the backtests run within
+     */
+    public RunBacktestUseCase(MarketDataProvider marketDataProvider, BacktestEngine engine, Duration timeout,
+                              AdmissionControl admission) {
         this.marketDataProvider = marketDataProvider;
         this.engine = engine;
+        this.timeout = timeout;
+        this.admission = admission;
+    }
+
+    /**
+     * A deadline for one request, {@code timeout} from now.
+     */
+    public Deadline newDeadline() {
+        return Deadline.after(timeout);
     }
 
     public List<BacktestResult> execute(List<BacktestConfig> configs) {
+        return execute(configs, _ -> { });
+    }
+
+    /**
+     * Run the backtests in order, reporting each result as soon as it is available.
+     * There is no deadline, but an interrupt stops the work. Waits for capacity as long as
+     * it takes.
+     *
+     * @param configs  backtests to run
+     * @param onResult called with each result, in config order, before the next backtest starts
+     * @return all results, in config order
+     */
+    public List<BacktestResult> execute(List<BacktestConfig> configs, Consumer<BacktestResult> onResult) {
+        return execute(configs, onResult, Deadline.NONE);
+    }
+
+    /**
+     * Run the backtests in order within {@code deadline}, reporting each result as soon as
+     * it is available.
+     *
+     * @param configs  backtests to run
+     * @param onResult called with each result, in config order, before the next backtest starts
+     * @param deadline when to give up
+     * @return all results, in config order
+     * @throws CostLimitExceededException if the backtests are over the per-request budget
+     * @throws CapacityExceededException  if there was no capacity for them in time
+     * @throws DeadlineExceededException  if the deadline passes first
+     * @throws CancellationException      if the deadline is cancelled or the thread interrupted
+     */
+    public List<BacktestResult> execute(List<BacktestConfig> configs, Consumer<BacktestResult> onResult,
+                                        Deadline deadline) {
+        try (AdmissionControl.Permit permit = admission.admit(configs, deadline)) {
+            return execute(configs, onResult, deadline, permit);
+        }
+    }
+
+    private List<BacktestResult> execute(List<BacktestConfig> configs, Consumer<BacktestResult> onResult,
+                                         Deadline deadline, AdmissionControl.Permit permit) {
+        Map<SeriesRequest, CompletableFuture<TimeSeries>> prefetched = prefetch(configs, deadline);
         List<BacktestResult> results = new ArrayList<>();
 
-        for (BacktestConfig config : configs) {
-            TimeSeries series = marketDataProvider.getDailySeries(
-                    config.symbol(), config.startDate(), config.endDate());
+        try {
+            for (BacktestConfig config : configs) {
+                TimeSeries series = await(prefetched.get(PreparedBacktests.requestFor(config)), deadline);
+                permit.charge(config, series);
+
+                BacktestResult result = engine.run(series, config, deadline);
+                results.add(result);
+                onResult.accept(result);
+            }
+        } finally {
+            // Stops fetches nobody will wait for
+            releaseAll(prefetched.values());
+        }
+
+        return results;
+    }
+
+    /**
+     * Fetch the market data for a set of backtests without running them, waiting for
+     * capacity as long as it takes.
+     *
+     * @param configs backtests to prepare
+     * @return the configs with their series, ready for {@link #execute(PreparedBacktests)};
+     * to be closed once done with
+     */
+    public PreparedBacktests prepare(List<BacktestConfig> configs) {
+        return prepare(configs, Deadline.NONE);
+    }
 
-            BacktestResult result = engine.run(series, config);
-            results.add(result);
+    /**
+     * Fetch the market data for a set of backtests within {@code deadline}. The backtests
+     * keep to the same deadline when they run, and hold their share of capacity until the
+     * result is closed.
+     *
+     * @return the configs with their series; to be closed once done with
+     * @throws CostLimitExceededException if the backtests are over the per-request budget
+     * @throws CapacityExceededException  if there was no capacity for them in time
+     * @throws DeadlineExceededException  if the deadline passes first
+     * @throws CancellationException      if the deadline is cancelled or the thread interrupted
+     */
+    public PreparedBacktests prepare(List<BacktestConfig> configs, Deadline deadline) {
+        AdmissionControl.Permit permit = admission.admit(configs, deadline);
+        Map<SeriesRequest, CompletableFuture<TimeSeries>> prefetched = Map.of();
+        Map<SeriesRequest, TimeSeries> series = new LinkedHashMap<>();
+        try {
+            prefetched = prefetch(configs, deadline);
+            for (Map.Entry<SeriesRequest, CompletableFuture<TimeSeries>> entry : prefetched.entrySet()) {
+                series.put(entry.getKey(), await(entry.getValue(), deadline));
+            }
+            PreparedBacktests prepared = new PreparedBacktests(configs, series, deadline, permit);
+            for (BacktestConfig config : configs) {
+                permit.charge(config, prepared.seriesFor(config));
+            }
+            return prepared;
+        } catch (RuntimeException | Error e) {
+            releaseAll(prefetched.values());
+            permit.close();
+            throw e;
         }
+    }
 
+    /**
+     * Run prepared backtests in order, within the deadline they were prepared under.
+     * Does not close {@code prepared}.
+     *
+     * @return all results, in config order
+     */
+    public List<BacktestResult> execute(PreparedBacktests prepared) {
+        List<BacktestResult> results = new ArrayList<>(prepared.configs().size());
+        for (BacktestConfig config : prepared.configs()) {
+            results.add(engine.run(prepared.seriesFor(config), config, prepared.deadline()));
+        }
         return results;
     }
+
+    private Map<SeriesRequest, CompletableFuture<TimeSeries>> prefetch(List<BacktestConfig> configs, Deadline deadline) {
+        List<SeriesRequest> requests = configs.stream().map(PreparedBacktests::requestFor).distinct().toList();
+        List<CompletableFuture<TimeSeries>> futures = marketDataProvider.getSeriesBatch(requests, deadline);
+        Map<SeriesRequest, CompletableFuture<TimeSeries>> bySeries = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            bySeries.put(requests.get(i), futures.get(i));
+        }
+        return bySeries;
+    }
+
+    /**
+     * Cancel fetches still running and release the series of those that completed.
+     */
+    private static void releaseAll(Collection<CompletableFuture<TimeSeries>> futures) {
+        for (CompletableFuture<TimeSeries> future : futures) {
+            future.cancel(true);
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                future.join().release();
+            }
+        }
+    }
+
+    /**
+     * Wait for a prefetched series, rethrowing the provider's own exception so callers
+     * see the same errors as with a direct fetch. Without a time limit the wait ends on
+     * interrupt only; otherwise it also ends at the deadline or soon after a cancellation.
+     */
+    private static TimeSeries await(CompletableFuture<TimeSeries> future, Deadline deadline) {
+        try {
+            if (deadline == Deadline.NONE) {
+                return future.get();
+            }
+            while (true) {
+                try {
+                    return future.get(deadline.cap(CANCELLATION_POLL).toNanos(), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException _) {
+                    // Look at the deadline again
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            CancellationException cancelled = new CancellationException("Interrupted while fetching market data");
+            cancelled.initCause(e);
+            throw cancelled;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
 }
@@ -0,0 +1,31 @@
+package com.github.mezink.strategylab.application;
+
+import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.port.InstrumentCatalog;
+
+import java.util.List;
+
+/**
+ * Use case: autocomplete ticker input from the local instrument catalog.
+ */
+public class SearchInstrumentsUseCase {
+
+    /** Largest page of suggestions a caller may ask for. */
+    public static final int MAX_LIMIT = 50;
+
+    private final InstrumentCatalog catalog;
+
+    public SearchInstrumentsUseCase(InstrumentCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code limit} is outside 1..{@link #MAX_LIMIT}
+     */
+    public List<Instrument> execute(String query, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return catalog.search(query, limit);
+    }
+}
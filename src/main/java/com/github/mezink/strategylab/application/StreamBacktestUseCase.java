@@ -0,0 +1,199 @@
+package com.github.mezink.strategylab.application;
+
+import com.github.mezink.strategylab.application.admission.AdmissionControl;
+import com.github.mezink.strategylab.application.admission.CapacityExceededException;
+import com.github.mezink.strategylab.application.admission.CostLimitExceededException;
+import com.github.mezink.strategylab.domain.engine.BacktestEngine;
+import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import com.github.mezink.strategylab.domain.model.BacktestResult;
+import com.github.mezink.strategylab.domain.model.Deadline;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.port.MarketDataProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Use case: run a comparison and hand each result to a listener as soon as it completes.
+ * <p>
+ * Backtests run on virtual threads, at most {@code maxConcurrency} at a time, so at most
+ * that many finished results are held in memory waiting for the listener. Results arrive in
+ * completion order, tagged with their index in the request. A failing backtest is reported
+ * through {@link Listener#onError} and does not stop the others.
+ * <p>
+ * Each backtest keeps to the request's {@link Deadline}; once it passes, the rest are
+ * reported as errors without running. Cancelling the deadline, or the listener failing,
+ * abandons the request: running backtests are interrupted and no more are started.
+ * <p>
+ * The whole comparison first reserves its estimated cost with {@link AdmissionControl}, like
+ * a synchronous one.
+ */
+public class StreamBacktestUseCase {
+
+    /**
+     * Receives results as they complete. Calls are serialized, so implementations
+     * may write to a shared stream without further locking.
+     */
+    public interface Listener {
+
+        void onResult(int index, BacktestResult result);
+
+        void onError(int index, RuntimeException error);
+    }
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(5);
+
+    private final MarketDataProvider marketDataProvider;
+    private final BacktestEngine engine;
+    private final int maxConcurrency;
+    private final Duration timeout;
+    private final AdmissionControl admission;
+
+    public StreamBacktestUseCase(MarketDataProvider marketDataProvider, BacktestEngine engine, int maxConcurrency) {
+        this(marketDataProvider, engine, maxConcurrency, DEFAULT_TIMEOUT, AdmissionControl.unlimited());
+    }
+
+    /**
+     * @param timeout time a request gets from {@link #newDeadline()}
+     */
+    public StreamBacktestUseCase(MarketDataProvider marketDataProvider, BacktestEngine engine, int maxConcurrency,
+                                 Duration timeout) {
+        this(marketDataProvider, engine, maxConcurrency, timeout, AdmissionControl.unlimited());
+    }
+
+    /**
+     * @param timeout   time a request gets from {@link #newDeadline()}
+     * @param admission capacity the backtests run within
+     */
+    public StreamBacktestUseCase(MarketDataProvider marketDataProvider, BacktestEngine engine, int maxConcurrency,
+                                 Duration timeout, AdmissionControl admission) {
+        if (maxConcurrency < 1) throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        this.marketDataProvider = marketDataProvider;
+        this.engine = engine;
+        this.maxConcurrency = maxConcurrency;
+        this.timeout = timeout;
+        this.admission = admission;
+    }
+
+    /**
+     * Time a request gets from {@link #newDeadline()}.
+     */
+    public Duration timeout() {
+        return timeout;
+    }
+
+    /**
+     * A deadline for one request, {@code timeout} from now.
+     */
+    public Deadline newDeadline() {
+        return Deadline.after(timeout);
+    }
+
+    /**
+     * Reject a comparison that is over the per-request budget, before anything is streamed.
+     * {@link #execute} checks again; this lets callers fail with a plain error response.
+     *
+     * @throws CostLimitExceededException if the backtests are over the budget
+     */
+    public void checkBudget(List<BacktestConfig> configs) {
+        admission.checkBudget(configs);
+    }
+
+    /**
+     * Run all backtests within a {@link #newDeadline() new deadline}, blocking until every
+     * one has been reported.
+     */
+    public void execute(List<BacktestConfig> configs, Listener listener) {
+        execute(configs, listener, newDeadline());
+    }
+
+    /**
+     * Run all backtests within {@code deadline}, blocking until every one has been reported.
+     * If the listener throws (e.g. the client disconnected), backtests that have not
+     * started yet are skipped, running ones are interrupted and the listener's exception
+     * is rethrown.
+     *
+     * @throws CostLimitExceededException if the backtests are over the per-request budget
+     * @throws CapacityExceededException  if there was no capacity for them in time
+     * @throws CancellationException      if {@code deadline} is cancelled
+     */
+    public void execute(List<BacktestConfig> configs, Listener listener, Deadline deadline) {
+        try (AdmissionControl.Permit permit = admission.admit(configs, deadline)) {
+            execute(configs, listener, deadline, permit);
+        }
+    }
+
+    private void execute(List<BacktestConfig> configs, Listener listener, Deadline deadline,
+                         AdmissionControl.Permit permit) {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        AtomicReference<RuntimeException> listenerFailure = new AtomicReference<>();
+        Object lock = new Object();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < configs.size(); i++) {
+                int index = i;
+                BacktestConfig config = configs.get(i);
+                permits.acquireUninterruptibly();
+                if (listenerFailure.get() != null || deadline.isCancelled()) {
+                    permits.release();
+                    break;
+                }
+                try {
+                    executor.execute(() -> {
+                        try {
+                            Runnable report = run(index, config, listener, deadline, permit);
+                            synchronized (lock) {
+                                if (listenerFailure.get() == null && !deadline.isCancelled()) {
+                                    report.run();
+                                }
+                            }
+                        } catch (RuntimeException e) {
+                            if (listenerFailure.compareAndSet(null, e)) {
+                                // Nobody will read the other results: stop computing them
+                                executor.shutdownNow();
+                            }
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // Shut down by a failing listener since the check above
+                    permits.release();
+                    break;
+                }
+            }
+        }
+
+        RuntimeException failure = listenerFailure.get();
+        if (failure != null) {
+            throw failure;
+        }
+        if (deadline.isCancelled()) {
+            throw new CancellationException("Request cancelled");
+        }
+    }
+
+    private Runnable run(int index, BacktestConfig config, Listener listener, Deadline deadline,
+                         AdmissionControl.Permit permit) {
+        try {
+            TimeSeries series = marketDataProvider.getSeries(
+                    config.symbol(), config.startDate(), config.endDate(), config.interval(), deadline);
+            BacktestResult result;
+            try {
+                permit.charge(config, series);
+                result = engine.run(series, config, deadline);
+            } finally {
+                series.release();
+            }
+            return () -> listener.onResult(index, result);
+        } catch (RuntimeException e) {
+            return () -> listener.onError(index, e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.mezink.strategylab.application;
+
+import com.github.mezink.strategylab.domain.model.Instrument;
+
+/**
+ * Outcome of validating one symbol in a batch.
+ *
+ * @param symbol     the symbol as requested, normalized to upper case
+ * @param status     whether the symbol exists, does not exist, or could not be checked
+ * @param instrument the instrument, present only when {@code status} is {@link Status#VALID}
+ */
+public record SymbolValidation(
+        String symbol,
+        Status status,
+        Instrument instrument
+) {
+    public enum Status {
+        VALID,
+        UNKNOWN,
+        /** The market data source could not be reached; the symbol may still be valid. */
+        UNAVAILABLE
+    }
+}
@@ -1,22 +1,110 @@
 package com.github.mezink.strategylab.application;
 
+import com.github.mezink.strategylab.domain.exception.UpstreamUnavailableException;
 import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.port.InstrumentCatalog;
 import com.github.mezink.strategylab.domain.port.MarketDataProvider;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Use case: validate that a ticker symbol exists.
+ * Every symbol found is added to the instrument catalog so later searches suggest it.
  */
 public class ValidateInstrumentUseCase {
 
+    /** Most symbols accepted in one batch. */
+    public static final int MAX_BATCH_SIZE = 100;
+
     private final MarketDataProvider marketDataProvider;
+    private final InstrumentCatalog catalog;
 
-    public ValidateInstrumentUseCase(MarketDataProvider marketDataProvider) {
+    public ValidateInstrumentUseCase(MarketDataProvider marketDataProvider, InstrumentCatalog catalog) {
         this.marketDataProvider = marketDataProvider;
+        this.catalog = catalog;
     }
 
     public Optional<Instrument> execute(String symbol) {
-        return marketDataProvider.validateSymbol(symbol);
+        Optional<Instrument> instrument = marketDataProvider.validateSymbol(symbol);
+        instrument.ifPresent(catalog::add);
+        return instrument;
+    }
+
+    /**
+     * Validate several symbols concurrently, one virtual thread each. Upstream rate limits
+     * still apply, so a large batch of uncached symbols is paced by the provider. The
+     * symbols found are added to the catalog together once the batch is done.
+     *
+     * @param symbols symbols to check; blanks are ignored and duplicates checked once
+     * @return one validation per distinct symbol, in request order
+     * @throws IllegalArgumentException if the batch is empty or larger than {@link #MAX_BATCH_SIZE}
+     */
+    public List<SymbolValidation> executeAll(List<String> symbols) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String symbol : symbols == null ? List.<String>of() : symbols) {
+            if (symbol != null && !symbol.isBlank()) {
+                distinct.add(symbol.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        if (distinct.isEmpty()) {
+            throw new IllegalArgumentException("At least one symbol is required");
+        }
+        if (distinct.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "At most %d symbols can be validated at once".formatted(MAX_BATCH_SIZE));
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<SymbolValidation>> futures = new ArrayList<>(distinct.size());
+            for (String symbol : distinct) {
+                futures.add(executor.submit(() -> validate(symbol)));
+            }
+            List<SymbolValidation> results = new ArrayList<>(futures.size());
+            List<Instrument> found = new ArrayList<>();
+            for (Future<SymbolValidation> future : futures) {
+                SymbolValidation result = await(future);
+                results.add(result);
+                if (result.status() == SymbolValidation.Status.VALID) {
+                    found.add(result.instrument());
+                }
+            }
+            if (!found.isEmpty()) {
+                catalog.addAll(found);
+            }
+            return results;
+        }
+    }
+
+    private SymbolValidation validate(String symbol) {
+        try {
+            return marketDataProvider.validateSymbol(symbol)
+                    .map(instrument -> new SymbolValidation(symbol, SymbolValidation.Status.VALID, instrument))
+                    .orElseGet(() -> new SymbolValidation(symbol, SymbolValidation.Status.UNKNOWN, null));
+        } catch (UpstreamUnavailableException _) {
+            return new SymbolValidation(symbol, SymbolValidation.Status.UNAVAILABLE, null);
+        }
+    }
+
+    private static SymbolValidation await(Future<SymbolValidation> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while validating symbols", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
     }
 }
@@ -0,0 +1,201 @@
+package com.github.mezink.strategylab.application.admission;
+
+import com.github.mezink.strategylab.domain.exception.DeadlineExceededException;
+import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import com.github.mezink.strategylab.domain.model.Deadline;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the backtest work running on this instance within a fixed capacity, so one large
+ * request cannot monopolize it. Requests are priced by a {@link BacktestCostModel} before
+ * any market data is fetched and hold their estimated cost of the capacity while they run.
+ * <p>
+ * Interactive requests (those with a {@link Deadline}) over the per-request budget are
+ * rejected outright; the others wait, first come first served, for at most the queue
+ * timeout or their deadline, whichever is sooner. Background work without a deadline is
+ * never rejected for its size: it waits as long as it takes, and a batch costing more than
+ * the whole capacity runs alone.
+ * <p>
+ * Capacity is accounted in blocks of {@value #BLOCK} candle steps, so small requests are
+ * rounded up to one block. Thread-safe.
+ */
+public class AdmissionControl {
+
+    /** Candle steps per unit of capacity. */
+    static final long BLOCK = 1_000;
+
+    /**
+     * Why a request was turned away.
+     */
+    public enum Rejection {
+        /** Estimated above the per-request budget. */
+        OVER_BUDGET,
+        /** Capacity did not free up within the queue timeout or deadline. */
+        QUEUE_TIMEOUT
+    }
+
+    private final BacktestCostModel costModel;
+    private final long maxRequestCost;
+    private final Duration queueTimeout;
+    private final AdmissionListener listener;
+    /** Free blocks of capacity; {@code null} when unlimited. */
+    private final Semaphore blocks;
+    private final int capacityBlocks;
+    private final AtomicLong inFlightCost = new AtomicLong();
+
+    /**
+     * @param maxRequestCost budget of one interactive request, in candle steps
+     * @param capacity       candle steps that may run on this instance at once
+     * @param queueTimeout   longest an interactive request waits for capacity
+     */
+    public AdmissionControl(BacktestCostModel costModel, long maxRequestCost, long capacity, Duration queueTimeout,
+                            AdmissionListener listener) {
+        if (maxRequestCost < 1) throw new IllegalArgumentException("maxRequestCost must be positive");
+        if (capacity < maxRequestCost) throw new IllegalArgumentException("capacity must be at least maxRequestCost");
+        if (queueTimeout == null || queueTimeout.isNegative()) {
+            throw new IllegalArgumentException("queueTimeout must not be negative");
+        }
+        this.costModel = costModel;
+        this.maxRequestCost = maxRequestCost;
+        this.queueTimeout = queueTimeout;
+        this.listener = listener;
+        this.capacityBlocks = (int) Math.min(Integer.MAX_VALUE, Math.ceilDiv(capacity, BLOCK));
+        this.blocks = capacity == Long.MAX_VALUE ? null : new Semaphore(capacityBlocks, true);
+    }
+
+    /**
+     * No budget and no capacity limit; costs are still reported to {@code listener}.
+     */
+    public static AdmissionControl unlimited(AdmissionListener listener) {
+        return new AdmissionControl(new BacktestCostModel(), Long.MAX_VALUE, Long.MAX_VALUE, Duration.ZERO, listener);
+    }
+
+    public static AdmissionControl unlimited() {
+        return unlimited(AdmissionListener.NONE);
+    }
+
+    /**
+     * Estimated cost of the backtests currently admitted, in candle steps.
+     */
+    public long inFlightCost() {
+        return inFlightCost.get();
+    }
+
+    /**
+     * Reject {@code configs} up front if an interactive request could never be admitted,
+     * without reserving anything.
+     *
+     * @throws CostLimitExceededException if the estimate is over the per-request budget
+     */
+    public void checkBudget(List<BacktestConfig> configs) {
+        checkBudget(costModel.estimate(configs));
+    }
+
+    /**
+     * Reserve capacity for {@code configs}, waiting for it if necessary. With
+     * {@link Deadline#NONE} the request is background work and waits without a limit.
+     *
+     * @return the reservation, to be closed when the backtests are done
+     * @throws CostLimitExceededException if an interactive request is over the per-request budget
+     * @throws CapacityExceededException  if capacity did not free up within the queue timeout
+     * @throws DeadlineExceededException  if the deadline passed while waiting
+     * @throws CancellationException      if the deadline was cancelled or the thread interrupted
+     */
+    public Permit admit(List<BacktestConfig> configs, Deadline deadline) {
+        long estimate = costModel.estimate(configs);
+        if (deadline != Deadline.NONE) {
+            checkBudget(estimate);
+        }
+        int permits = Math.clamp(Math.ceilDiv(estimate, BLOCK), 1, capacityBlocks);
+        long startedAt = System.nanoTime();
+        if (blocks != null) {
+            acquire(estimate, permits, deadline);
+        }
+        inFlightCost.addAndGet(estimate);
+        listener.admitted(estimate, Duration.ofNanos(System.nanoTime() - startedAt));
+        return new Permit(estimate, permits);
+    }
+
+    private void checkBudget(long estimate) {
+        if (estimate > maxRequestCost) {
+            listener.rejected(estimate, Rejection.OVER_BUDGET);
+            throw new CostLimitExceededException(
+                    "Request is estimated at %,d candle steps, over the limit of %,d per request; "
+                            .formatted(estimate, maxRequestCost)
+                            + "use fewer backtests, shorter ranges or a longer interval, or submit it as a job");
+        }
+    }
+
+    private void acquire(long estimate, int permits, Deadline deadline) {
+        try {
+            if (deadline == Deadline.NONE) {
+                blocks.acquire(permits);
+                return;
+            }
+            Duration wait = deadline.cap(queueTimeout);
+            if (!blocks.tryAcquire(permits, wait.toNanos(), TimeUnit.NANOSECONDS)) {
+                deadline.check();
+                listener.rejected(estimate, Rejection.QUEUE_TIMEOUT);
+                throw new CapacityExceededException(
+                        "Instance is at capacity (%,d candle steps in flight); retry later".formatted(inFlightCost()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            CancellationException cancelled = new CancellationException("Interrupted while waiting for capacity");
+            cancelled.initCause(e);
+            throw cancelled;
+        }
+    }
+
+    /**
+     * Capacity held by one admitted request. Backtests {@link #charge charge} the candles
+     * they actually read; closing releases the capacity and reports the estimated and
+     * actual cost. Thread-safe; closing twice has no further effect.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final long estimatedCost;
+        private final int permits;
+        private final AtomicLong actualCost = new AtomicLong();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Permit(long estimatedCost, int permits) {
+            this.estimatedCost = estimatedCost;
+            this.permits = permits;
+        }
+
+        public long estimatedCost() {
+            return estimatedCost;
+        }
+
+        public long actualCost() {
+            return actualCost.get();
+        }
+
+        /**
+         * Add the cost of running {@code config} on {@code series}.
+         */
+        public void charge(BacktestConfig config, TimeSeries series) {
+            actualCost.addAndGet(costModel.actual(config, series));
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                listener.completed(estimatedCost, actualCost.get());
+                inFlightCost.addAndGet(-estimatedCost);
+                if (blocks != null) {
+                    blocks.release(permits);
+                }
+            }
+        }
+    }
+}
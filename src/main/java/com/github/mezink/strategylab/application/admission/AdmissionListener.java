@@ -0,0 +1,34 @@
+package com.github.mezink.strategylab.application.admission;
+
+import java.time.Duration;
+
+/**
+ * Observes {@link AdmissionControl} decisions, e.g. to publish metrics. Costs are in
+ * candle steps (see {@link BacktestCostModel}). Calls come from request threads and
+ * must not block.
+ */
+public interface AdmissionListener {
+
+    AdmissionListener NONE = new AdmissionListener() { };
+
+    /**
+     * A request was let in after waiting {@code waited} for capacity.
+     */
+    default void admitted(long estimatedCost, Duration waited) {
+    }
+
+    /**
+     * A request was turned away, either for its size or because capacity did not free up in time.
+     */
+    default void rejected(long estimatedCost, AdmissionControl.Rejection reason) {
+    }
+
+    /**
+     * An admitted request finished and released its capacity.
+     *
+     * @param actualCost cost of the candles actually fetched for it; lower than the estimate
+     *                   if it failed or was abandoned before fetching everything
+     */
+    default void completed(long estimatedCost, long actualCost) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.mezink.strategylab.application.admission;
+
+import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import com.github.mezink.strategylab.domain.model.Interval;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.strategy.config.BuyAndHoldConfig;
+import com.github.mezink.strategylab.domain.strategy.config.DcaConfig;
+import com.github.mezink.strategylab.domain.strategy.config.MaCrossoverConfig;
+import com.github.mezink.strategylab.domain.strategy.config.RuleConfig;
+import com.github.mezink.strategylab.domain.strategy.config.StrategyConfig;
+import com.github.mezink.strategylab.domain.strategy.rule.IndicatorSpec;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What a backtest costs to run, in candle steps: candles × strategy complexity.
+ * <p>
+ * The estimate is made from the request alone, before any market data is fetched: about
+ * 252 trading days a year, 6.5 hours of bars on each for intraday intervals, and one bar
+ * per nominal period for rollups. The actual cost uses the candles that were fetched.
+ * Complexity is the number of passes a strategy makes over the candles: one for the
+ * strategy itself plus one per indicator or price column it reads.
+ */
+public final class BacktestCostModel {
+
+    private static final double TRADING_DAYS_PER_CALENDAR_DAY = 252 / 365.25;
+    private static final int TRADING_SECONDS_PER_DAY = 23_400;
+
+    /**
+     * Estimated cost of a batch: the sum over its backtests.
+     */
+    public long estimate(List<BacktestConfig> configs) {
+        long total = 0;
+        for (BacktestConfig config : configs) {
+            total = saturatedAdd(total, estimate(config));
+        }
+        return total;
+    }
+
+    public long estimate(BacktestConfig config) {
+        return saturatedMultiply(estimateCandles(config), complexity(config.strategy().config()));
+    }
+
+    /**
+     * Cost of running {@code config} on the series actually fetched for it.
+     */
+    public long actual(BacktestConfig config, TimeSeries series) {
+        return saturatedMultiply(series.size(), complexity(config.strategy().config()));
+    }
+
+    /**
+     * Candles a backtest is expected to read; at least one.
+     */
+    long estimateCandles(BacktestConfig config) {
+        long calendarDays = config.endDate().toEpochDay() - config.startDate().toEpochDay() + 1;
+        Interval interval = config.interval();
+        if (interval.isRollup()) {
+            return Math.max(1, Math.ceilDiv(calendarDays * Interval.ONE_DAY.seconds(), interval.seconds()));
+        }
+        long tradingDays = Math.max(1, Math.round(calendarDays * TRADING_DAYS_PER_CALENDAR_DAY));
+        if (interval.isIntraday()) {
+            return saturatedMultiply(tradingDays, Math.ceilDiv(TRADING_SECONDS_PER_DAY, interval.seconds()));
+        }
+        return tradingDays;
+    }
+
+    /**
+     * Passes over the candles: the strategy loop plus each indicator or price column it reads.
+     */
+    static int complexity(StrategyConfig config) {
+        return switch (config) {
+            case BuyAndHoldConfig _, DcaConfig _ -> 1;
+            case MaCrossoverConfig _ -> 3;
+            case RuleConfig rule -> {
+                Set<IndicatorSpec> inputs = new HashSet<>(rule.entryRule().inputs());
+                inputs.addAll(rule.exitRule().inputs());
+                yield 1 + inputs.size();
+            }
+        };
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long product = a * b;
+        return high != 0 || product < 0 ? Long.MAX_VALUE : product;
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.mezink.strategylab.application.admission;
+
+/**
+ * Thrown when an interactive request waited its maximum time for the instance to have
+ * capacity for it. The REST layer reports it as 429 Too Many Requests.
+ */
+public class CapacityExceededException extends RuntimeException {
+
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.mezink.strategylab.application.admission;
+
+/**
+ * Thrown when a request is estimated to cost more than one interactive request may.
+ * The REST layer reports it as 413 Content Too Large; such batches belong in a job.
+ */
+public class CostLimitExceededException extends RuntimeException {
+
+    public CostLimitExceededException(String message) {
+        super(message);
+    }
+}
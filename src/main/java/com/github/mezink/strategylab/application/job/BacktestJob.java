@@ -0,0 +1,125 @@
+package com.github.mezink.strategylab.application.job;
+
+import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import com.github.mezink.strategylab.domain.model.BacktestResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * A submitted batch of backtests and its progress. Status transitions are
+ * synchronized; once terminal, a job never changes status again.
+ */
+public final class BacktestJob {
+
+    private final String id;
+    private final List<BacktestConfig> configs;
+    private final Instant submittedAt;
+    private final List<BacktestResult> results = new ArrayList<>();
+
+    private JobStatus status = JobStatus.QUEUED;
+    private Instant finishedAt;
+    private String error;
+    private Future<?> future;
+
+    BacktestJob(String id, List<BacktestConfig> configs, Instant submittedAt) {
+        this.id = id;
+        this.configs = List.copyOf(configs);
+        this.submittedAt = submittedAt;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public Instant submittedAt() {
+        return submittedAt;
+    }
+
+    public int total() {
+        return configs.size();
+    }
+
+    public synchronized int completed() {
+        return results.size();
+    }
+
+    public synchronized JobStatus status() {
+        return status;
+    }
+
+    public synchronized Instant finishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Failure message, or {@code null} unless the job has {@link JobStatus#FAILED}.
+     */
+    public synchronized String error() {
+        return error;
+    }
+
+    /**
+     * Results completed so far, in config order.
+     */
+    public synchronized List<BacktestResult> results() {
+        return List.copyOf(results);
+    }
+
+    List<BacktestConfig> configs() {
+        return configs;
+    }
+
+    synchronized void attach(Future<?> future) {
+        this.future = future;
+    }
+
+    synchronized boolean markRunning() {
+        if (status != JobStatus.QUEUED) {
+            return false;
+        }
+        status = JobStatus.RUNNING;
+        return true;
+    }
+
+    synchronized void addResult(BacktestResult result) {
+        if (!status.isTerminal()) {
+            results.add(result);
+        }
+    }
+
+    synchronized void markCompleted(Instant now) {
+        finish(JobStatus.COMPLETED, null, now);
+    }
+
+    synchronized void markFailed(String message, Instant now) {
+        finish(JobStatus.FAILED, message, now);
+    }
+
+    /**
+     * Cancel the job, interrupting its worker if it is running.
+     *
+     * @return true if this call cancelled the job, false if it had already finished
+     */
+    synchronized boolean cancel(Instant now) {
+        if (!finish(JobStatus.CANCELLED, null, now)) {
+            return false;
+        }
+        if (future != null) {
+            future.cancel(true);
+        }
+        return true;
+    }
+
+    private boolean finish(JobStatus terminal, String message, Instant now) {
+        if (status.isTerminal()) {
+            return false;
+        }
+        status = terminal;
+        error = message;
+        finishedAt = now;
+        return true;
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.mezink.strategylab.application.job;
+
+import com.github.mezink.strategylab.application.RunBacktestUseCase;
+import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs backtest batches asynchronously on a fixed pool of workers fed by a bounded queue.
+ * <p>
+ * When all workers are busy and the queue is full, submissions are rejected with
+ * {@link JobRejectedException} instead of piling up. A worker that picks up a batch waits
+ * for the instance's backtest capacity (see {@code AdmissionControl}) however long that
+ * takes, so large batches queue rather than being rejected for their size. Finished jobs
+ * are kept for the retention period and then dropped on the next submit or lookup.
+ */
+public class BacktestJobManager implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BacktestJobManager.class);
+
+    private final RunBacktestUseCase runBacktestUseCase;
+    private final ThreadPoolExecutor executor;
+    private final Duration retention;
+    private final Clock clock;
+    private final Map<String, BacktestJob> jobs = new ConcurrentHashMap<>();
+
+    public BacktestJobManager(RunBacktestUseCase runBacktestUseCase, int workers, int queueCapacity,
+                              Duration retention, Clock clock) {
+        if (workers < 1) throw new IllegalArgumentException("workers must be at least 1");
+        if (queueCapacity < 1) throw new IllegalArgumentException("queueCapacity must be at least 1");
+        this.runBacktestUseCase = runBacktestUseCase;
+        this.retention = retention;
+        this.clock = clock;
+        this.executor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name("backtest-job-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Queue a batch of backtests.
+     *
+     * @throws JobRejectedException if the queue is full
+     */
+    public BacktestJob submit(List<BacktestConfig> configs) {
+        if (configs.isEmpty()) {
+            throw new IllegalArgumentException("At least one backtest configuration is required");
+        }
+        evictExpired();
+
+        BacktestJob job = new BacktestJob(UUID.randomUUID().toString(), configs, clock.instant());
+        jobs.put(job.id(), job);
+        try {
+            job.attach(executor.submit(() -> run(job)));
+        } catch (RejectedExecutionException _) {
+            jobs.remove(job.id());
+            throw new JobRejectedException(
+                    "Backtest queue is full (%d queued); retry later".formatted(executor.getQueue().size()));
+        }
+        return job;
+    }
+
+    /**
+     * @throws JobNotFoundException if the id is unknown or expired
+     */
+    public BacktestJob get(String id) {
+        evictExpired();
+        BacktestJob job = jobs.get(id);
+        if (job == null) {
+            throw new JobNotFoundException(id);
+        }
+        return job;
+    }
+
+    /**
+     * Cancel a queued or running job. Cancelling a finished job has no effect.
+     *
+     * @throws JobNotFoundException if the id is unknown or expired
+     */
+    public BacktestJob cancel(String id) {
+        BacktestJob job = get(id);
+        if (job.cancel(clock.instant())) {
+            // Free the queue slot of a job that never started
+            executor.purge();
+            LOG.info("Cancelled backtest job {}", id);
+        }
+        return job;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void run(BacktestJob job) {
+        if (!job.markRunning()) {
+            return;
+        }
+        try {
+            runBacktestUseCase.execute(job.configs(), result -> {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException();
+                }
+                job.addResult(result);
+            });
+            job.markCompleted(clock.instant());
+        } catch (CancellationException _) {
+            // Status was set by cancel()
+        } catch (RuntimeException e) {
+            LOG.warn("Backtest job {} failed: {}", job.id(), e.getMessage());
+            job.markFailed(e.getMessage(), clock.instant());
+        }
+    }
+
+    private void evictExpired() {
+        Instant cutoff = clock.instant().minus(retention);
+        jobs.values().removeIf(job -> {
+            Instant finishedAt = job.finishedAt();
+            return finishedAt != null && finishedAt.isBefore(cutoff);
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.mezink.strategylab.application.job;
+
+/**
+ * Thrown when a job id is unknown or its results have passed the retention period.
+ * The REST layer reports it as 404 Not Found.
+ */
+public class JobNotFoundException extends RuntimeException {
+
+    public JobNotFoundException(String id) {
+        super("Job not found or expired: " + id);
+    }
+}
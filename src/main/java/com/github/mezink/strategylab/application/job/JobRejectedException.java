@@ -0,0 +1,12 @@
+package com.github.mezink.strategylab.application.job;
+
+/**
+ * Thrown when the job queue is full and a submission is shed.
+ * The REST layer reports it as 429 Too Many Requests.
+ */
+public class JobRejectedException extends RuntimeException {
+
+    public JobRejectedException(String message) {
+        super(message);
+    }
+}
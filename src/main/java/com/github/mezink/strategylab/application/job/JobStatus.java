@@ -0,0 +1,19 @@
+package com.github.mezink.strategylab.application.job;
+
+/**
+ * Lifecycle of a {@link BacktestJob}.
+ */
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    /**
+     * Whether the job has finished and will not change status again.
+     */
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
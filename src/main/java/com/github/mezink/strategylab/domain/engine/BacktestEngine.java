@@ -1,13 +1,21 @@
 package com.github.mezink.strategylab.domain.engine;
 
+import com.github.mezink.strategylab.domain.exception.AmountOutOfRangeException;
+import com.github.mezink.strategylab.domain.exception.DeadlineExceededException;
 import com.github.mezink.strategylab.domain.model.BacktestConfig;
 import com.github.mezink.strategylab.domain.model.BacktestMetrics;
 import com.github.mezink.strategylab.domain.model.BacktestResult;
+import com.github.mezink.strategylab.domain.model.Deadline;
+import com.github.mezink.strategylab.domain.model.EquityCurve;
+import com.github.mezink.strategylab.domain.model.ResultProjection;
 import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.model.Trade;
 import com.github.mezink.strategylab.domain.strategy.Strategy;
 import com.github.mezink.strategylab.domain.strategy.StrategyExecution;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CancellationException;
 
 /**
  * Core backtest engine. Runs a strategy on a time series and produces a BacktestResult.
@@ -20,24 +28,72 @@ public class BacktestEngine {
      * The strategy is obtained from the config itself.
      */
     public BacktestResult run(TimeSeries series, BacktestConfig config) {
+        return run(series, config, Deadline.NONE);
+    }
+
+    /**
+     * Run a single backtest, abandoning it once {@code deadline} passes or is cancelled.
+     * Only the parts of the result in the config's {@link ResultProjection} are produced:
+     * metrics are skipped when not requested, and equity points are created only for the
+     * requested page of the curve.
+     *
+     * @throws DeadlineExceededException if the deadline passes
+     * @throws CancellationException     if the work is cancelled or the thread interrupted
+     * @throws AmountOutOfRangeException if amounts grow too large to represent
+     */
+    public BacktestResult run(TimeSeries series, BacktestConfig config, Deadline deadline) {
         Strategy strategy = config.strategy();
-        StrategyExecution execution = strategy.execute(series, config.initialCapital());
+        ResultProjection projection = config.projection();
+        StrategyExecution execution;
+        try {
+            execution = execute(config, series, deadline);
+        } catch (ArithmeticException e) {
+            throw new AmountOutOfRangeException(
+                    "Amounts in the " + strategy.id() + " backtest of " + config.symbol()
+                            + " exceed the supported range", e);
+        }
+        deadline.check();
 
-        BigDecimal totalContributions = strategy.config()
-                .totalContributions(config.initialCapital(), execution.trades().size());
-
-        BacktestMetrics metrics = MetricsCalculator.compute(
-                execution.equityCurve(),
-                totalContributions,
-                execution.trades().size()
-        );
+        BacktestMetrics metrics = null;
+        if (projection.metrics()) {
+            BigDecimal totalContributions = strategy.config()
+                    .totalContributions(config.initialCapital(), execution.trades().size());
+            metrics = computeMetrics(config, execution, totalContributions);
+        }
 
+        EquityCurve curve = execution.curve();
+        List<Trade> trades = execution.trades();
         return new BacktestResult(
                 strategy.id(),
                 config.symbol(),
-                execution.equityCurve(),
-                execution.trades(),
-                metrics
+                projection.equityCurve() ? curve.points(projection.curvePage()) : null,
+                projection.trades() ? List.copyOf(projection.tradePage().of(trades)) : null,
+                metrics,
+                curve.size(),
+                trades.size()
+        );
+    }
+
+    /**
+     * Execute the strategy over the series. Subclasses may override to observe the step.
+     */
+    protected StrategyExecution execute(BacktestConfig config, TimeSeries series, Deadline deadline) {
+        return config.strategy().execute(series, config.initialCapital(), deadline);
+    }
+
+    /**
+     * Compute metrics for a finished execution. Subclasses may override to observe the step.
+     */
+    protected BacktestMetrics computeMetrics(
+            BacktestConfig config,
+            StrategyExecution execution,
+            BigDecimal totalContributions
+    ) {
+        return MetricsCalculator.compute(
+                execution.curve(),
+                totalContributions,
+                execution.trades().size(),
+                config.interval().curvePointsPerYear()
         );
     }
 }
@@ -0,0 +1,46 @@
+package com.github.mezink.strategylab.domain.engine;
+
+/**
+ * Exponential Moving Average calculator.
+ * Seeded with the SMA of the first window, then smoothed with alpha = 2 / (window + 1).
+ */
+public final class EmaCalculator {
+
+    private EmaCalculator() {
+    }
+
+    /**
+     * Compute the EMA series for the given window.
+     * Returns an array of the same length as {@code closePrices};
+     * indices 0..window-2 are {@link Double#NaN} (not enough data).
+     *
+     * @param closePrices ordered close prices
+     * @param window      the EMA window length
+     * @return array of EMA values (NaN where insufficient data)
+     */
+    public static double[] compute(double[] closePrices, int window) {
+        if (window <= 0) throw new IllegalArgumentException("window must be positive");
+        if (closePrices.length < window) {
+            throw new IllegalArgumentException(
+                    "Need at least %d prices for EMA(%d), got %d".formatted(window, window, closePrices.length));
+        }
+
+        double[] result = new double[closePrices.length];
+        double alpha = 2.0 / (window + 1);
+        double sum = 0.0;
+
+        for (int i = 0; i < window - 1; i++) {
+            sum += closePrices[i];
+            result[i] = Double.NaN;
+        }
+        sum += closePrices[window - 1];
+        double ema = sum / window;
+        result[window - 1] = ema;
+
+        for (int i = window; i < closePrices.length; i++) {
+            ema = alpha * closePrices[i] + (1.0 - alpha) * ema;
+            result[i] = ema;
+        }
+        return result;
+    }
+}
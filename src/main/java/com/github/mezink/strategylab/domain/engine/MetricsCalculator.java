@@ -1,22 +1,27 @@
 package com.github.mezink.strategylab.domain.engine;
 
 import com.github.mezink.strategylab.domain.model.BacktestMetrics;
+import com.github.mezink.strategylab.domain.model.EquityCurve;
 import com.github.mezink.strategylab.domain.model.EquityPoint;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Computes performance metrics from an equity curve.
- * All math uses BigDecimal for clarity; precision is prototype-grade.
+ * Metrics are computed from the cents of an {@link EquityCurve}; lists of points are
+ * converted to one first. Precision is prototype-grade.
+ * <p>
+ * Volatility and Sharpe are annualized by the number of curve points per year: 252 for a
+ * daily curve, fewer for weekly, monthly or quarterly ones.
  */
 public final class MetricsCalculator {
 
     private static final MathContext MC = new MathContext(16, RoundingMode.HALF_UP);
+    private static final int TRADING_DAYS_PER_YEAR = 252;
 
     private MetricsCalculator() {
     }
@@ -26,11 +31,36 @@ public final class MetricsCalculator {
             BigDecimal totalContributions,
             int numberOfTrades
     ) {
-        if (equityCurve == null || equityCurve.size() < 2) {
+        return compute(equityCurve, totalContributions, numberOfTrades, TRADING_DAYS_PER_YEAR);
+    }
+
+    public static BacktestMetrics compute(
+            List<EquityPoint> equityCurve,
+            BigDecimal totalContributions,
+            int numberOfTrades,
+            int pointsPerYear
+    ) {
+        if (equityCurve == null) {
             throw new IllegalArgumentException("Need at least 2 equity points to compute metrics");
         }
+        return compute(EquityCurve.of(equityCurve), totalContributions, numberOfTrades, pointsPerYear);
+    }
 
-        BigDecimal finalValue = equityCurve.getLast().portfolioValue();
+    /**
+     * Metrics of a compact curve, equal to those of the same curve as a list of points,
+     * without creating a point per day.
+     */
+    public static BacktestMetrics compute(
+            EquityCurve equityCurve,
+            BigDecimal totalContributions,
+            int numberOfTrades,
+            int pointsPerYear
+    ) {
+        if (equityCurve.size() < 2) {
+            throw new IllegalArgumentException("Need at least 2 equity points to compute metrics");
+        }
+
+        BigDecimal finalValue = equityCurve.portfolioValue(equityCurve.size() - 1);
 
         BigDecimal netReturnPercent = BigDecimal.ZERO;
         if (totalContributions.compareTo(BigDecimal.ZERO) > 0) {
@@ -41,9 +71,9 @@ public final class MetricsCalculator {
 
         BigDecimal cagr = computeCAGR(equityCurve);
         BigDecimal maxDrawdown = computeMaxDrawdown(equityCurve);
-        List<Double> dailyReturns = computeDailyReturns(equityCurve);
-        BigDecimal volatility = annualizedVolatilityFrom(dailyReturns);
-        BigDecimal sharpe = sharpeFrom(dailyReturns);
+        double[] dailyReturns = dailyReturns(equityCurve);
+        BigDecimal volatility = annualizedVolatilityFrom(dailyReturns, pointsPerYear);
+        BigDecimal sharpe = sharpeFrom(dailyReturns, pointsPerYear);
 
         return new BacktestMetrics(
                 finalValue,
@@ -57,46 +87,73 @@ public final class MetricsCalculator {
         );
     }
 
+    static BigDecimal computeCAGR(List<EquityPoint> curve) {
+        return computeCAGR(EquityCurve.of(curve));
+    }
+
     /**
      * CAGR = (finalValue / initialValue)^(1/years) - 1
      */
-    static BigDecimal computeCAGR(List<EquityPoint> curve) {
-        BigDecimal initial = curve.getFirst().portfolioValue();
-        BigDecimal last = curve.getLast().portfolioValue();
-        if (initial.compareTo(BigDecimal.ZERO) <= 0) return BigDecimal.ZERO;
+    static BigDecimal computeCAGR(EquityCurve curve) {
+        int last = curve.size() - 1;
+        long initial = curve.cents(0);
+        if (initial <= 0) return BigDecimal.ZERO;
 
-        long days = ChronoUnit.DAYS.between(curve.getFirst().date(), curve.getLast().date());
+        long days = curve.epochDay(last) - curve.epochDay(0);
         if (days <= 0) return BigDecimal.ZERO;
 
         double years = days / 365.25;
-        double ratio = last.doubleValue() / initial.doubleValue();
+        double ratio = (curve.cents(last) / 100.0) / (initial / 100.0);
         if (ratio <= 0) return BigDecimal.ZERO;
 
         double cagr = Math.pow(ratio, 1.0 / years) - 1.0;
         return BigDecimal.valueOf(cagr).setScale(6, RoundingMode.HALF_UP);
     }
 
+    static BigDecimal computeMaxDrawdown(List<EquityPoint> curve) {
+        return computeMaxDrawdown(EquityCurve.of(curve));
+    }
+
     /**
      * Max drawdown = max peak-to-trough decline.
      * Returned as a positive fraction (e.g., 0.25 = 25% drawdown).
+     * <p>
+     * The deepest decline is found on the cents as an exact fraction, so only the final
+     * division is done in {@link BigDecimal}.
      */
-    static BigDecimal computeMaxDrawdown(List<EquityPoint> curve) {
-        BigDecimal peak = curve.getFirst().portfolioValue();
-        BigDecimal maxDd = BigDecimal.ZERO;
-
-        for (EquityPoint point : curve) {
-            BigDecimal value = point.portfolioValue();
-            if (value.compareTo(peak) > 0) {
+    static BigDecimal computeMaxDrawdown(EquityCurve curve) {
+        long peak = curve.cents(0);
+        long worstDecline = 0;
+        long worstPeak = 1;
+
+        for (int i = 0; i < curve.size(); i++) {
+            long value = curve.cents(i);
+            if (value > peak) {
                 peak = value;
             }
-            if (peak.compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal dd = peak.subtract(value).divide(peak, MC);
-                if (dd.compareTo(maxDd) > 0) {
-                    maxDd = dd;
-                }
+            if (peak > 0 && isGreater(peak - value, peak, worstDecline, worstPeak)) {
+                worstDecline = peak - value;
+                worstPeak = peak;
             }
         }
-        return maxDd.setScale(6, RoundingMode.HALF_UP);
+        if (worstDecline == 0) {
+            return BigDecimal.ZERO.setScale(6, RoundingMode.HALF_UP);
+        }
+        return BigDecimal.valueOf(worstDecline).divide(BigDecimal.valueOf(worstPeak), MC)
+                .setScale(6, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Whether a/b &gt; c/d for non-negative numerators and positive denominators, compared
+     * as exact 128-bit products.
+     */
+    private static boolean isGreater(long a, long b, long c, long d) {
+        long high = Math.multiplyHigh(a, d);
+        long otherHigh = Math.multiplyHigh(c, b);
+        if (high != otherHigh) {
+            return high > otherHigh;
+        }
+        return Long.compareUnsigned(a * d, c * b) > 0;
     }
 
     /**
@@ -104,15 +161,21 @@ public final class MetricsCalculator {
      * Return_i = (value_i - value_{i-1}) / value_{i-1}.
      */
     static List<Double> computeDailyReturns(List<EquityPoint> curve) {
-        List<Double> dailyReturns = new ArrayList<>();
+        return Arrays.stream(dailyReturns(EquityCurve.of(curve))).boxed().toList();
+    }
+
+    private static double[] dailyReturns(EquityCurve curve) {
+        double[] returns = new double[Math.max(0, curve.size() - 1)];
+        int count = 0;
+        double prev = curve.cents(0) / 100.0;
         for (int i = 1; i < curve.size(); i++) {
-            double prev = curve.get(i - 1).portfolioValue().doubleValue();
-            double curr = curve.get(i).portfolioValue().doubleValue();
+            double curr = curve.cents(i) / 100.0;
             if (prev > 0) {
-                dailyReturns.add((curr - prev) / prev);
+                returns[count++] = (curr - prev) / prev;
             }
+            prev = curr;
         }
-        return dailyReturns;
+        return count == returns.length ? returns : Arrays.copyOf(returns, count);
     }
 
     /**
@@ -120,9 +183,17 @@ public final class MetricsCalculator {
      * Uses sample variance (N-1) instead of population variance (N).
      */
     static BigDecimal annualizedVolatilityFrom(List<Double> dailyReturns) {
-        if (dailyReturns.size() < 2) return BigDecimal.ZERO;
+        return annualizedVolatilityFrom(dailyReturns, TRADING_DAYS_PER_YEAR);
+    }
+
+    static BigDecimal annualizedVolatilityFrom(List<Double> dailyReturns, int pointsPerYear) {
+        return annualizedVolatilityFrom(unbox(dailyReturns), pointsPerYear);
+    }
 
-        double annualized = sampleStdDev(dailyReturns) * Math.sqrt(252);
+    private static BigDecimal annualizedVolatilityFrom(double[] dailyReturns, int pointsPerYear) {
+        if (dailyReturns.length < 2) return BigDecimal.ZERO;
+
+        double annualized = sampleStdDev(dailyReturns) * Math.sqrt(pointsPerYear);
         return BigDecimal.valueOf(annualized).setScale(6, RoundingMode.HALF_UP);
     }
 
@@ -132,25 +203,37 @@ public final class MetricsCalculator {
      * = mean(dailyReturn) * sqrt(252) / stddev(dailyReturn).
      */
     static BigDecimal sharpeFrom(List<Double> dailyReturns) {
-        if (dailyReturns.size() < 2) return BigDecimal.ZERO;
+        return sharpeFrom(dailyReturns, TRADING_DAYS_PER_YEAR);
+    }
 
-        double mean = dailyReturns.stream().mapToDouble(d -> d).average().orElse(0.0);
+    static BigDecimal sharpeFrom(List<Double> dailyReturns, int pointsPerYear) {
+        return sharpeFrom(unbox(dailyReturns), pointsPerYear);
+    }
+
+    private static BigDecimal sharpeFrom(double[] dailyReturns, int pointsPerYear) {
+        if (dailyReturns.length < 2) return BigDecimal.ZERO;
+
+        double mean = Arrays.stream(dailyReturns).average().orElse(0.0);
         double stddev = sampleStdDev(dailyReturns);
 
         if (stddev == 0.0) return BigDecimal.ZERO;
 
-        double sharpe = mean * Math.sqrt(252) / stddev;
+        double sharpe = mean * Math.sqrt(pointsPerYear) / stddev;
         return BigDecimal.valueOf(sharpe).setScale(6, RoundingMode.HALF_UP);
     }
 
+    private static double[] unbox(List<Double> values) {
+        return values.stream().mapToDouble(d -> d).toArray();
+    }
+
     /**
      * Computes sample standard deviation (N-1 denominator) for the given values.
      */
-    private static double sampleStdDev(List<Double> values) {
-        double mean = values.stream().mapToDouble(d -> d).average().orElse(0.0);
-        double sumSquares = values.stream()
-                .mapToDouble(d -> (d - mean) * (d - mean))
+    private static double sampleStdDev(double[] values) {
+        double mean = Arrays.stream(values).average().orElse(0.0);
+        double sumSquares = Arrays.stream(values)
+                .map(d -> (d - mean) * (d - mean))
                 .sum();
-        return Math.sqrt(sumSquares / (values.size() - 1));
+        return Math.sqrt(sumSquares / (values.length - 1));
     }
 }
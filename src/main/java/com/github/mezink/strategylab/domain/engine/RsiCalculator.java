@@ -0,0 +1,67 @@
+package com.github.mezink.strategylab.domain.engine;
+
+/**
+ * Relative Strength Index calculator using Wilder's smoothing.
+ * Values range from 0 to 100.
+ */
+public final class RsiCalculator {
+
+    private static final double MAX_RSI = 100.0;
+    private static final double NEUTRAL_RSI = 50.0;
+
+    private RsiCalculator() {
+    }
+
+    /**
+     * Compute the RSI series for the given window.
+     * Returns an array of the same length as {@code closePrices};
+     * indices 0..window-1 are {@link Double#NaN} (a window needs {@code window} price changes).
+     *
+     * @param closePrices ordered close prices
+     * @param window      the RSI window length
+     * @return array of RSI values (NaN where insufficient data)
+     */
+    public static double[] compute(double[] closePrices, int window) {
+        if (window <= 0) throw new IllegalArgumentException("window must be positive");
+        if (closePrices.length <= window) {
+            throw new IllegalArgumentException(
+                    "Need at least %d prices for RSI(%d), got %d".formatted(window + 1, window, closePrices.length));
+        }
+
+        double[] result = new double[closePrices.length];
+        double avgGain = 0.0;
+        double avgLoss = 0.0;
+
+        result[0] = Double.NaN;
+        for (int i = 1; i <= window; i++) {
+            double change = closePrices[i] - closePrices[i - 1];
+            if (change > 0) {
+                avgGain += change;
+            } else {
+                avgLoss -= change;
+            }
+            result[i] = Double.NaN;
+        }
+        avgGain /= window;
+        avgLoss /= window;
+        result[window] = rsi(avgGain, avgLoss);
+
+        for (int i = window + 1; i < closePrices.length; i++) {
+            double change = closePrices[i] - closePrices[i - 1];
+            double gain = change > 0 ? change : 0.0;
+            double loss = change < 0 ? -change : 0.0;
+            avgGain = (avgGain * (window - 1) + gain) / window;
+            avgLoss = (avgLoss * (window - 1) + loss) / window;
+            result[i] = rsi(avgGain, avgLoss);
+        }
+        return result;
+    }
+
+    private static double rsi(double avgGain, double avgLoss) {
+        if (avgLoss == 0.0) {
+            return avgGain == 0.0 ? NEUTRAL_RSI : MAX_RSI;
+        }
+        double rs = avgGain / avgLoss;
+        return MAX_RSI - MAX_RSI / (1.0 + rs);
+    }
+}
@@ -7,7 +7,8 @@ import java.util.List;
 
 /**
  * Simple Moving Average calculator.
- * Operates on a list of BigDecimal close prices.
+ * Operates on close prices either as a list of BigDecimal (six decimal places) or as a
+ * {@code double[]}, whose values {@link #toMicros(double)} rounds the same way for comparison.
  */
 public final class SmaCalculator {
 
@@ -46,4 +47,45 @@ public final class SmaCalculator {
         }
         return result;
     }
+
+    /**
+     * Primitive variant of {@link #compute(List, int)} used by compiled rules.
+     * Indices 0..window-2 are {@link Double#NaN} (not enough data).
+     *
+     * @param closePrices ordered close prices
+     * @param window      the SMA window length
+     * @return array of SMA values (NaN where insufficient data)
+     */
+    public static double[] compute(double[] closePrices, int window) {
+        if (window <= 0) throw new IllegalArgumentException("window must be positive");
+        if (closePrices.length < window) {
+            throw new IllegalArgumentException(
+                    "Need at least %d prices for SMA(%d), got %d".formatted(window, window, closePrices.length));
+        }
+
+        double[] result = new double[closePrices.length];
+        double sum = 0.0;
+
+        for (int i = 0; i < closePrices.length; i++) {
+            sum += closePrices[i];
+            if (i < window - 1) {
+                result[i] = Double.NaN;
+            } else {
+                if (i >= window) {
+                    sum -= closePrices[i - window];
+                }
+                result[i] = sum / window;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * An SMA from {@link #compute(double[], int)} in millionths, rounded half up like the
+     * six decimal places of {@link #compute(List, int)}, so comparing two of them ties where
+     * the {@link BigDecimal} values would instead of deciding on floating-point noise.
+     */
+    public static long toMicros(double sma) {
+        return Math.round(sma * 1_000_000);
+    }
 }
@@ -0,0 +1,12 @@
+package com.github.mezink.strategylab.domain.exception;
+
+/**
+ * Thrown when a backtest's cash, holdings or portfolio value grows beyond what
+ * {@link com.github.mezink.strategylab.domain.model.Money} can represent.
+ */
+public class AmountOutOfRangeException extends RuntimeException {
+
+    public AmountOutOfRangeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.github.mezink.strategylab.domain.exception;
+
+/**
+ * Thrown when a request's work is still running at its deadline.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.mezink.strategylab.domain.exception;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * A transient market data failure: the upstream throttled us, returned a server error,
+ * could not be reached, or is being shed locally by a rate limiter or circuit breaker.
+ * Unlike a plain {@link MarketDataFetchException} (e.g. unknown symbol), retrying later
+ * may succeed.
+ */
+public class UpstreamUnavailableException extends MarketDataFetchException {
+
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public UpstreamUnavailableException(String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * How long the upstream asked us to wait, if it said so.
+     */
+    public Optional<Duration> retryAfter() {
+        return Optional.ofNullable(retryAfter);
+    }
+}
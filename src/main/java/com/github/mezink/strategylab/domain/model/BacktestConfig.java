@@ -7,14 +7,17 @@ import java.time.LocalDate;
 
 /**
  * Configuration for a single backtest run.
- * The Strategy carries both its identifier and typed configuration.
+ * The Strategy carries both its identifier and typed configuration; the projection says
+ * which parts of the result to produce.
  */
 public record BacktestConfig(
         String symbol,
         LocalDate startDate,
         LocalDate endDate,
         BigDecimal initialCapital,
-        Strategy strategy
+        Strategy strategy,
+        Interval interval,
+        ResultProjection projection
 ) {
     public BacktestConfig {
         if (symbol == null || symbol.isBlank()) throw new IllegalArgumentException("symbol required");
@@ -24,6 +27,34 @@ public record BacktestConfig(
         if (initialCapital == null || initialCapital.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("initialCapital must be positive");
         }
+        if (initialCapital.compareTo(Money.MAX_INPUT) > 0) {
+            throw new IllegalArgumentException("initialCapital must not exceed " + Money.MAX_INPUT);
+        }
         if (strategy == null) throw new IllegalArgumentException("strategy required");
+        if (interval == null) throw new IllegalArgumentException("interval required");
+        if (projection == null) throw new IllegalArgumentException("projection required");
+    }
+
+    /**
+     * A backtest producing the full result.
+     */
+    public BacktestConfig(String symbol, LocalDate startDate, LocalDate endDate, BigDecimal initialCapital,
+                          Strategy strategy, Interval interval) {
+        this(symbol, startDate, endDate, initialCapital, strategy, interval, ResultProjection.FULL);
+    }
+
+    /**
+     * A backtest on daily candles.
+     */
+    public BacktestConfig(String symbol, LocalDate startDate, LocalDate endDate, BigDecimal initialCapital,
+                          Strategy strategy) {
+        this(symbol, startDate, endDate, initialCapital, strategy, Interval.ONE_DAY);
+    }
+
+    /**
+     * This backtest, producing only the parts of the result in {@code projection}.
+     */
+    public BacktestConfig withProjection(ResultProjection projection) {
+        return new BacktestConfig(symbol, startDate, endDate, initialCapital, strategy, interval, projection);
     }
 }
@@ -5,13 +5,27 @@ import com.github.mezink.strategylab.domain.strategy.StrategyId;
 import java.util.List;
 
 /**
- * The full output of running a single backtest: equity curve, trades, and computed metrics.
+ * The output of running a single backtest: equity curve, trades, and computed metrics.
+ * Parts left out by the config's {@link ResultProjection} are {@code null}, and the curve
+ * and trades hold only the requested page; the sizes are always those of the full run.
+ *
+ * @param equityCurveSize points in the full equity curve
+ * @param tradeCount      trades in the full run
  */
 public record BacktestResult(
         StrategyId strategyId,
         String symbol,
         List<EquityPoint> equityCurve,
         List<Trade> trades,
-        BacktestMetrics metrics
+        BacktestMetrics metrics,
+        int equityCurveSize,
+        int tradeCount
 ) {
+    /**
+     * A complete, unpaged result.
+     */
+    public BacktestResult(StrategyId strategyId, String symbol, List<EquityPoint> equityCurve, List<Trade> trades,
+                          BacktestMetrics metrics) {
+        this(strategyId, symbol, equityCurve, trades, metrics, equityCurve.size(), trades.size());
+    }
 }
@@ -0,0 +1,105 @@
+package com.github.mezink.strategylab.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Column-wise, primitive read access to a time-ordered candle series, without a
+ * {@link Candle} object per bar. Implementations may keep the data on or off the heap.
+ * <p>
+ * Bars are timestamped by {@link #epochSecond(int)} (the bar's open, UTC); {@link #epochDay(int)}
+ * is its UTC date, so several intraday bars share one epoch day.
+ * <p>
+ * Every accessor checks its index against {@link #size()} and throws
+ * {@link IndexOutOfBoundsException} when out of range, whatever the backing storage, so a
+ * strategy that reads past the end of a series fails instead of reading a neighbouring column.
+ * <p>
+ * Storage that is freed explicitly, such as off-heap memory, counts references through
+ * {@link #acquire()} and {@link #release()}; on the heap both do nothing.
+ */
+public interface CandleColumns {
+
+    long SECONDS_PER_DAY = 86_400;
+
+    int size();
+
+    /**
+     * Trading date of bar {@code index} as {@link LocalDate#toEpochDay()}.
+     */
+    long epochDay(int index);
+
+    /**
+     * Open time of bar {@code index} in seconds since the epoch. Daily bars open at midnight UTC.
+     */
+    default long epochSecond(int index) {
+        return epochDay(index) * SECONDS_PER_DAY;
+    }
+
+    double open(int index);
+
+    double high(int index);
+
+    double low(int index);
+
+    double close(int index);
+
+    long volume(int index);
+
+    default LocalDate date(int index) {
+        return LocalDate.ofEpochDay(epochDay(index));
+    }
+
+    /**
+     * Close of bar {@code index} as a {@link BigDecimal}, for trade and equity bookkeeping.
+     */
+    default BigDecimal closePrice(int index) {
+        return BigDecimal.valueOf(close(index));
+    }
+
+    /**
+     * Whether bar {@code index} is the last one of its trading day.
+     */
+    default boolean endsDay(int index) {
+        return index == size() - 1 || epochDay(index + 1) != epochDay(index);
+    }
+
+    /**
+     * Bar {@code index} as a {@link Candle}; allocates, so prefer the primitive accessors in loops.
+     */
+    default Candle candle(int index) {
+        return new Candle(date(index), BigDecimal.valueOf(open(index)), BigDecimal.valueOf(high(index)),
+                BigDecimal.valueOf(low(index)), BigDecimal.valueOf(close(index)), volume(index));
+    }
+
+    /**
+     * Take a reference that keeps this storage readable until {@link #release() released}.
+     *
+     * @return {@code false} if the storage has already been freed and must not be read
+     */
+    default boolean acquire() {
+        return true;
+    }
+
+    /**
+     * Give back a reference taken by {@link #acquire()}, or the one a series came with.
+     */
+    default void release() {
+    }
+
+    /**
+     * A view of bars {@code [from, to)} sharing this storage.
+     */
+    default CandleColumns slice(int from, int to) {
+        Objects.checkFromToIndex(from, to, size());
+        return new SlicedCandleColumns(this, from, to - from);
+    }
+
+    /**
+     * Columns read through from a list of candles (the heap representation).
+     */
+    static CandleColumns of(List<Candle> candles) {
+        return new ListCandleColumns(candles);
+    }
+}
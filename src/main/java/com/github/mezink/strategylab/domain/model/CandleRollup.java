@@ -0,0 +1,79 @@
+package com.github.mezink.strategylab.domain.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aggregates bars into longer ones in a single pass: first open, highest high, lowest low,
+ * last close and summed volume per period. Weeks start on Monday; months and quarters are
+ * calendar ones. An aggregated bar is dated by the last trading day it covers, the day its
+ * close is known.
+ */
+final class CandleRollup {
+
+    private CandleRollup() {
+    }
+
+    static TimeSeries rollUp(TimeSeries series, Interval interval) {
+        if (interval.isIntraday() || interval.seconds() <= series.interval().seconds()) {
+            throw new IllegalArgumentException("Cannot roll %s bars up to %s"
+                    .formatted(series.interval().code(), interval.code()));
+        }
+        CandleColumns bars = series.columns();
+        List<Candle> rolled = new ArrayList<>(expectedSize(bars, interval));
+
+        int first = 0;
+        int highest = 0;
+        int lowest = 0;
+        long volume = 0;
+        long period = period(bars.epochDay(0), interval);
+        for (int i = 0; i < bars.size(); i++) {
+            long barPeriod = period(bars.epochDay(i), interval);
+            if (barPeriod != period) {
+                rolled.add(candle(bars, first, highest, lowest, i - 1, volume));
+                first = i;
+                highest = i;
+                lowest = i;
+                volume = 0;
+                period = barPeriod;
+            }
+            if (bars.high(i) > bars.high(highest)) {
+                highest = i;
+            }
+            if (bars.low(i) < bars.low(lowest)) {
+                lowest = i;
+            }
+            volume += bars.volume(i);
+        }
+        rolled.add(candle(bars, first, highest, lowest, bars.size() - 1, volume));
+        return new TimeSeries(series.instrument(), rolled, interval);
+    }
+
+    private static long period(long epochDay, Interval interval) {
+        return switch (interval) {
+            case ONE_DAY -> epochDay;
+            // 1970-01-05 was a Monday
+            case ONE_WEEK -> Math.floorDiv(epochDay + 3, 7);
+            case ONE_MONTH -> {
+                LocalDate date = LocalDate.ofEpochDay(epochDay);
+                yield date.getYear() * 12L + date.getMonthValue() - 1;
+            }
+            case ONE_QUARTER -> {
+                LocalDate date = LocalDate.ofEpochDay(epochDay);
+                yield date.getYear() * 4L + (date.getMonthValue() - 1) / 3;
+            }
+            default -> throw new IllegalArgumentException("Cannot roll up to " + interval.code());
+        };
+    }
+
+    private static Candle candle(CandleColumns bars, int first, int highest, int lowest, int last, long volume) {
+        return new Candle(bars.date(last), bars.candle(first).open(), bars.candle(highest).high(),
+                bars.candle(lowest).low(), bars.closePrice(last), volume);
+    }
+
+    private static int expectedSize(CandleColumns bars, Interval interval) {
+        long days = bars.epochDay(bars.size() - 1) - bars.epochDay(0) + 1;
+        return (int) Math.min(bars.size(), days * Interval.ONE_DAY.seconds() / interval.seconds() + 1);
+    }
+}
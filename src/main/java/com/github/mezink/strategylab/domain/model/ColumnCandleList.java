@@ -0,0 +1,31 @@
+package com.github.mezink.strategylab.domain.model;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only {@code List<Candle>} view of {@link CandleColumns}, so column-backed series keep
+ * working with code that iterates {@link TimeSeries#candles()}. Candles are created on access.
+ */
+final class ColumnCandleList extends AbstractList<Candle> implements RandomAccess {
+
+    private final CandleColumns columns;
+
+    ColumnCandleList(CandleColumns columns) {
+        this.columns = columns;
+    }
+
+    CandleColumns columns() {
+        return columns;
+    }
+
+    @Override
+    public Candle get(int index) {
+        return columns.candle(index);
+    }
+
+    @Override
+    public int size() {
+        return columns.size();
+    }
+}
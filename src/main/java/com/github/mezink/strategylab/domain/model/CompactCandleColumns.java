@@ -0,0 +1,231 @@
+package com.github.mezink.strategylab.domain.model;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Heap {@link CandleColumns} sized for intraday series: timestamps are {@code int} second
+ * offsets from the first bar, prices are {@code int}s scaled by a per-series power of ten
+ * and volumes are {@code long}s, 28 bytes per bar in primitive arrays.
+ * <p>
+ * The price scale is chosen per series from both ends of its price range: 4 decimal
+ * places, or up to 8 when the lowest price needs them to keep 4 significant digits, then
+ * reduced (down to 0) until the highest price fits in an {@code int}. Prices are thus kept
+ * to 1/10,000 between 0.1 and 214,748, finer for sub-cent series and more coarsely above.
+ * A series whose range is too wide for any scale to keep its lowest price is rejected.
+ * Build instances with {@link #builder(int)}.
+ */
+public final class CompactCandleColumns implements CandleColumns {
+
+    private static final int DEFAULT_SCALE = 4;
+    private static final int MAX_SCALE = 8;
+    private static final int SIGNIFICANT_DIGITS = 4;
+    private static final double[] POWERS_OF_TEN = {
+            1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000};
+
+    private final long baseEpochSecond;
+    private final int[] secondOffsets;
+    private final int[] open;
+    private final int[] high;
+    private final int[] low;
+    private final int[] close;
+    private final long[] volume;
+    private final int scale;
+    private final double factor;
+
+    private CompactCandleColumns(long baseEpochSecond, int[] secondOffsets, int[] open, int[] high, int[] low,
+                                 int[] close, long[] volume, int scale) {
+        this.baseEpochSecond = baseEpochSecond;
+        this.secondOffsets = secondOffsets;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.scale = scale;
+        this.factor = POWERS_OF_TEN[scale];
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    /**
+     * Decimal places kept for prices in this series.
+     */
+    public int scale() {
+        return scale;
+    }
+
+    @Override
+    public int size() {
+        return secondOffsets.length;
+    }
+
+    @Override
+    public long epochSecond(int index) {
+        return baseEpochSecond + secondOffsets[index];
+    }
+
+    @Override
+    public long epochDay(int index) {
+        return Math.floorDiv(epochSecond(index), SECONDS_PER_DAY);
+    }
+
+    @Override
+    public double open(int index) {
+        return open[index] / factor;
+    }
+
+    @Override
+    public double high(int index) {
+        return high[index] / factor;
+    }
+
+    @Override
+    public double low(int index) {
+        return low[index] / factor;
+    }
+
+    @Override
+    public double close(int index) {
+        return close[index] / factor;
+    }
+
+    @Override
+    public long volume(int index) {
+        return volume[index];
+    }
+
+    @Override
+    public BigDecimal closePrice(int index) {
+        return BigDecimal.valueOf(close[index], scale);
+    }
+
+    @Override
+    public Candle candle(int index) {
+        return new Candle(date(index), BigDecimal.valueOf(open[index], scale), BigDecimal.valueOf(high[index], scale),
+                BigDecimal.valueOf(low[index], scale), BigDecimal.valueOf(close[index], scale), volume[index]);
+    }
+
+    /**
+     * Collects bars in time order and packs them on {@link #build()}. Not thread-safe.
+     */
+    public static final class Builder {
+
+        private long[] epochSeconds;
+        private double[] open;
+        private double[] high;
+        private double[] low;
+        private double[] close;
+        private long[] volume;
+        private int size;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            epochSeconds = new long[capacity];
+            open = new double[capacity];
+            high = new double[capacity];
+            low = new double[capacity];
+            close = new double[capacity];
+            volume = new long[capacity];
+        }
+
+        public Builder add(long epochSecond, double open, double high, double low, double close, long volume) {
+            if (size > 0 && epochSecond <= epochSeconds[size - 1]) {
+                throw new IllegalArgumentException("candles must be in ascending time order");
+            }
+            if (!(open > 0 && high > 0 && low > 0 && close > 0)) {
+                throw new IllegalArgumentException("prices must be positive");
+            }
+            if (size == epochSeconds.length) {
+                grow();
+            }
+            epochSeconds[size] = epochSecond;
+            this.open[size] = open;
+            this.high[size] = high;
+            this.low[size] = low;
+            this.close[size] = close;
+            this.volume[size] = volume;
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @throws IllegalArgumentException if no bars were added, they span more than an
+         *                                  {@code int} of seconds (about 68 years), or their
+         *                                  prices range too widely for one scale
+         */
+        public CompactCandleColumns build() {
+            if (size == 0) {
+                throw new IllegalArgumentException("candles must not be null or empty");
+            }
+            long base = epochSeconds[0];
+            if (epochSeconds[size - 1] - base > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("candles span more than %d seconds".formatted(Integer.MAX_VALUE));
+            }
+            double minPrice = Math.min(min(low), Math.min(min(open), min(close)));
+            double maxPrice = Math.max(max(high), Math.max(max(open), max(close)));
+            int scale = scaleFor(minPrice, maxPrice);
+            double factor = POWERS_OF_TEN[scale];
+            if (Math.round(minPrice * factor) == 0) {
+                throw new IllegalArgumentException("prices from %s to %s range too widely for compact storage"
+                        .formatted(minPrice, maxPrice));
+            }
+            int[] offsets = new int[size];
+            for (int i = 0; i < size; i++) {
+                offsets[i] = (int) (epochSeconds[i] - base);
+            }
+            return new CompactCandleColumns(base, offsets, pack(open, factor), pack(high, factor),
+                    pack(low, factor), pack(close, factor), Arrays.copyOf(volume, size), scale);
+        }
+
+        private double max(double[] values) {
+            double max = 0;
+            for (int i = 0; i < size; i++) {
+                max = Math.max(max, values[i]);
+            }
+            return max;
+        }
+
+        private double min(double[] values) {
+            double min = Double.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                min = Math.min(min, values[i]);
+            }
+            return min;
+        }
+
+        private static int scaleFor(double minPrice, double maxPrice) {
+            int wanted = SIGNIFICANT_DIGITS - 1 - (int) Math.floor(Math.log10(minPrice));
+            for (int scale = Math.clamp(wanted, DEFAULT_SCALE, MAX_SCALE); scale >= 0; scale--) {
+                if (Math.round(maxPrice * POWERS_OF_TEN[scale]) <= Integer.MAX_VALUE) {
+                    return scale;
+                }
+            }
+            throw new IllegalArgumentException("price %s too large for compact storage".formatted(maxPrice));
+        }
+
+        private int[] pack(double[] prices, double factor) {
+            int[] packed = new int[size];
+            for (int i = 0; i < size; i++) {
+                packed[i] = Math.toIntExact(Math.round(prices[i] * factor));
+            }
+            return packed;
+        }
+
+        private void grow() {
+            int capacity = epochSeconds.length * 2;
+            epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+            open = Arrays.copyOf(open, capacity);
+            high = Arrays.copyOf(high, capacity);
+            low = Arrays.copyOf(low, capacity);
+            close = Arrays.copyOf(close, capacity);
+            volume = Arrays.copyOf(volume, capacity);
+        }
+    }
+}
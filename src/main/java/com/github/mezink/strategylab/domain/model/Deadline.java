@@ -0,0 +1,111 @@
+package com.github.mezink.strategylab.domain.model;
+
+import com.github.mezink.strategylab.domain.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+
+/**
+ * When a request's work must be finished by, and a way to abandon it earlier (e.g. the
+ * client went away). Passed down from the use cases to market data fetches, which cap their
+ * timeouts to {@link #remaining()}, and to strategy loops, which {@link #check(int)} it as
+ * they go. Work checking a deadline also stops when its thread is interrupted.
+ * <p>
+ * Measured on {@link System#nanoTime()}, so clock adjustments do not move it. Thread-safe.
+ */
+public final class Deadline {
+
+    /**
+     * Bars (or other loop steps) between two clock reads in {@link #check(int)}.
+     */
+    private static final int CHECK_MASK = 1_023;
+
+    /**
+     * No time limit; only cancellation and interrupts stop the work.
+     */
+    public static final Deadline NONE = new Deadline(Long.MAX_VALUE, false);
+
+    private final long expiresAtNanos;
+    private final boolean bounded;
+    private volatile boolean cancelled;
+
+    private Deadline(long expiresAtNanos, boolean bounded) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+    }
+
+    /**
+     * A deadline {@code timeout} from now.
+     *
+     * @throws IllegalArgumentException if {@code timeout} is not positive
+     */
+    public static Deadline after(Duration timeout) {
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+        return new Deadline(System.nanoTime() + timeout.toNanos(), true);
+    }
+
+    /**
+     * Abandon the work. Idempotent; has no effect on the shared {@link #NONE}.
+     */
+    public void cancel() {
+        if (this != NONE) {
+            cancelled = true;
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isExpired() {
+        return bounded && System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * Time left, zero once expired; empty for {@link #NONE}.
+     */
+    public Optional<Duration> remaining() {
+        return bounded
+                ? Optional.of(Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime())))
+                : Optional.empty();
+    }
+
+    /**
+     * {@code limit}, shortened to the time left.
+     *
+     * @throws DeadlineExceededException if the deadline has passed
+     * @throws CancellationException     if the work was cancelled or the thread interrupted
+     */
+    public Duration cap(Duration limit) {
+        check();
+        return remaining().filter(left -> left.compareTo(limit) < 0).orElse(limit);
+    }
+
+    /**
+     * @throws DeadlineExceededException if the deadline has passed
+     * @throws CancellationException     if the work was cancelled or the thread interrupted
+     */
+    public void check() {
+        if (cancelled) {
+            throw new CancellationException("Request cancelled");
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Interrupted");
+        }
+        if (isExpired()) {
+            throw new DeadlineExceededException("Request exceeded its deadline");
+        }
+    }
+
+    /**
+     * {@link #check()} on every 1024th {@code step}, cheap enough to call once per bar.
+     */
+    public void check(int step) {
+        if ((step & CHECK_MASK) == 0) {
+            check();
+        }
+    }
+}
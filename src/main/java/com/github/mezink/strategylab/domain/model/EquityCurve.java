@@ -0,0 +1,147 @@
+package com.github.mezink.strategylab.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Portfolio value per trading day, in cents, held in two primitive arrays. Strategies
+ * record into a {@link Builder} and metrics are computed from the arrays directly;
+ * {@link EquityPoint} objects are only created for the points a caller asks for, through
+ * {@link #points(Page)} or the {@link #asList()} view. Immutable.
+ */
+public final class EquityCurve {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private final long[] epochDays;
+    private final long[] cents;
+    private final int size;
+
+    private EquityCurve(long[] epochDays, long[] cents, int size) {
+        this.epochDays = epochDays;
+        this.cents = cents;
+        this.size = size;
+    }
+
+    /**
+     * A curve of existing points, with values rounded half-up to cents.
+     */
+    public static EquityCurve of(List<EquityPoint> points) {
+        Builder builder = new Builder(points.size());
+        for (EquityPoint point : points) {
+            builder.add(point.date().toEpochDay(),
+                    point.portfolioValue().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long epochDay(int index) {
+        return epochDays[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * Portfolio value of point {@code index} in cents.
+     */
+    public long cents(int index) {
+        return cents[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * Portfolio value of point {@code index}, with scale 2.
+     */
+    public BigDecimal portfolioValue(int index) {
+        return BigDecimal.valueOf(cents(index), 2);
+    }
+
+    public EquityPoint point(int index) {
+        return new EquityPoint(LocalDate.ofEpochDay(epochDay(index)), portfolioValue(index));
+    }
+
+    /**
+     * The points of {@code page}, materialized.
+     */
+    public List<EquityPoint> points(Page page) {
+        int to = page.to(size);
+        List<EquityPoint> points = new ArrayList<>(to - page.from(size));
+        for (int i = page.from(size); i < to; i++) {
+            points.add(point(i));
+        }
+        return points;
+    }
+
+    /**
+     * All points as an unmodifiable list that creates each point when it is read.
+     */
+    public List<EquityPoint> asList() {
+        return new PointList();
+    }
+
+    private final class PointList extends AbstractList<EquityPoint> implements RandomAccess {
+
+        @Override
+        public EquityPoint get(int index) {
+            return point(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Collects a curve one point at a time. Not thread-safe.
+     */
+    public static final class Builder {
+
+        private long[] epochDays;
+        private long[] cents;
+        private int size;
+
+        public Builder() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        /**
+         * @param expectedSize points expected, to size the arrays up front
+         */
+        public Builder(int expectedSize) {
+            int capacity = Math.max(1, expectedSize);
+            this.epochDays = new long[capacity];
+            this.cents = new long[capacity];
+        }
+
+        /**
+         * Append a point valued at {@code value}, rounded half-up to cents.
+         */
+        public Builder add(long epochDay, Money value) {
+            return add(epochDay, value.unscaled(2, RoundingMode.HALF_UP));
+        }
+
+        Builder add(long epochDay, long valueCents) {
+            if (size == epochDays.length) {
+                epochDays = Arrays.copyOf(epochDays, size * 2);
+                cents = Arrays.copyOf(cents, size * 2);
+            }
+            epochDays[size] = epochDay;
+            cents[size] = valueCents;
+            size++;
+            return this;
+        }
+
+        public EquityCurve build() {
+            return new EquityCurve(epochDays, cents, size);
+        }
+    }
+}
@@ -2,15 +2,25 @@ package com.github.mezink.strategylab.domain.model;
 
 /**
  * Represents a tradeable instrument (stock, ETF, crypto, etc.).
+ * {@code exchange} is the listing venue's code when the data source reports it, otherwise null;
+ * it selects the {@link TradingCalendar}.
  */
 public record Instrument(
         String symbol,
         String name,
-        String assetType
+        String assetType,
+        String exchange
 ) {
     public Instrument {
         if (symbol == null || symbol.isBlank()) {
             throw new IllegalArgumentException("symbol must not be null or blank");
         }
     }
+
+    /**
+     * An instrument with no known exchange.
+     */
+    public Instrument(String symbol, String name, String assetType) {
+        this(symbol, name, assetType, null);
+    }
 }
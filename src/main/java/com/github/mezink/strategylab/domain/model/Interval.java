@@ -0,0 +1,80 @@
+package com.github.mezink.strategylab.domain.model;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Bar length of a {@link TimeSeries}. The code is the one used by the REST API and the
+ * upstream chart API ({@code 1m}, {@code 5m}, {@code 1h}, {@code 1d}, {@code 1wk},
+ * {@code 1mo}, {@code 3mo}).
+ * <p>
+ * Weekly, monthly and quarterly bars are rollups: they are aggregated from daily candles
+ * (see {@link TimeSeries#rollUp(Interval)}) rather than fetched, and their lengths are nominal.
+ */
+public enum Interval {
+
+    ONE_MINUTE("1m", 60, 252),
+    FIVE_MINUTES("5m", 300, 252),
+    ONE_HOUR("1h", 3_600, 252),
+    ONE_DAY("1d", 86_400, 252),
+    ONE_WEEK("1wk", 7 * 86_400, 52),
+    ONE_MONTH("1mo", 30 * 86_400, 12),
+    ONE_QUARTER("3mo", 91 * 86_400, 4);
+
+    private final String code;
+    private final int seconds;
+    private final int curvePointsPerYear;
+
+    Interval(String code, int seconds, int curvePointsPerYear) {
+        this.code = code;
+        this.seconds = seconds;
+        this.curvePointsPerYear = curvePointsPerYear;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public int seconds() {
+        return seconds;
+    }
+
+    /**
+     * Whether several bars of this interval fall on one trading day.
+     */
+    public boolean isIntraday() {
+        return seconds < ONE_DAY.seconds;
+    }
+
+    /**
+     * Whether bars of this interval are aggregated from daily candles.
+     */
+    public boolean isRollup() {
+        return seconds > ONE_DAY.seconds;
+    }
+
+    /**
+     * Equity curve points per year for a backtest on these bars, for annualizing returns.
+     * Strategies record one point per trading day, or one per bar for rollups.
+     */
+    public int curvePointsPerYear() {
+        return curvePointsPerYear;
+    }
+
+    /**
+     * Parse an interval code, case-insensitively.
+     *
+     * @throws IllegalArgumentException for an unknown code
+     */
+    public static Interval parse(String code) {
+        String normalized = code == null ? "" : code.trim().toLowerCase(Locale.ROOT);
+        for (Interval interval : values()) {
+            if (interval.code.equals(normalized)) {
+                return interval;
+            }
+        }
+        throw new IllegalArgumentException("Unknown interval '%s' (expected %s)".formatted(code,
+                Arrays.stream(values()).map(Interval::code).collect(Collectors.joining(", "))));
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.mezink.strategylab.domain.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * {@link CandleColumns} over a list of {@link Candle}s; the list does the bounds checks.
+ */
+record ListCandleColumns(List<Candle> candles) implements CandleColumns {
+
+    @Override
+    public int size() {
+        return candles.size();
+    }
+
+    @Override
+    public long epochDay(int index) {
+        return candles.get(index).date().toEpochDay();
+    }
+
+    @Override
+    public double open(int index) {
+        return candles.get(index).open().doubleValue();
+    }
+
+    @Override
+    public double high(int index) {
+        return candles.get(index).high().doubleValue();
+    }
+
+    @Override
+    public double low(int index) {
+        return candles.get(index).low().doubleValue();
+    }
+
+    @Override
+    public double close(int index) {
+        return candles.get(index).close().doubleValue();
+    }
+
+    @Override
+    public long volume(int index) {
+        return candles.get(index).volume();
+    }
+
+    @Override
+    public BigDecimal closePrice(int index) {
+        return candles.get(index).close();
+    }
+
+    @Override
+    public Candle candle(int index) {
+        return candles.get(index);
+    }
+}
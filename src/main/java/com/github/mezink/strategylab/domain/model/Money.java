@@ -0,0 +1,207 @@
+package com.github.mezink.strategylab.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Exact fixed-point amount with 8 decimal places, stored as a {@code long} count of
+ * 10<sup>-8</sup> units. Used for cash, share quantities and portfolio values while a
+ * strategy runs, where {@link BigDecimal} arithmetic is slow and its scale keeps growing
+ * as fractional shares accumulate.
+ * <p>
+ * Addition and subtraction are exact. Multiplication and division round to 8 places with
+ * an explicit {@link RoundingMode}; intermediate products are split so that they never
+ * overflow, so any result that fits is exact before rounding. Results that do not fit
+ * (more than about ±92 billion) throw {@link ArithmeticException} rather than wrap.
+ *
+ * @param units the amount in 10<sup>-8</sup> units
+ */
+public record Money(long units) implements Comparable<Money> {
+
+    /** Decimal places. */
+    public static final int SCALE = 8;
+    /** Units in 1. */
+    static final long ONE = 100_000_000L;
+    /** Largest price converted from a {@code double} without going through {@link BigDecimal}. */
+    private static final double MAX_FAST_PRICE = 9.0e7;
+
+    public static final Money ZERO = new Money(0);
+    /**
+     * Largest amount accepted as an input such as starting capital, leaving room for a
+     * strategy to grow it about 90-fold before it no longer fits.
+     */
+    public static final BigDecimal MAX_INPUT = BigDecimal.valueOf(1_000_000_000L);
+
+    /**
+     * {@code value} rounded half-up to 8 places.
+     *
+     * @throws ArithmeticException if it does not fit
+     */
+    public static Money of(BigDecimal value) {
+        return new Money(value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * A price given as a {@code double}, rounded to the nearest unit. Prices with at most
+     * 8 decimals, as quoted, convert exactly.
+     *
+     * @throws ArithmeticException if {@code price} is not finite or does not fit
+     */
+    public static Money ofPrice(double price) {
+        if (Math.abs(price) < MAX_FAST_PRICE) {
+            return new Money(Math.round(price * ONE));
+        }
+        if (!Double.isFinite(price)) {
+            throw new ArithmeticException("Not a finite price: " + price);
+        }
+        return of(BigDecimal.valueOf(price));
+    }
+
+    public boolean isZero() {
+        return units == 0;
+    }
+
+    public int signum() {
+        return Long.signum(units);
+    }
+
+    /**
+     * @throws ArithmeticException on overflow
+     */
+    public Money add(Money other) {
+        return new Money(Math.addExact(units, other.units));
+    }
+
+    /**
+     * @throws ArithmeticException on overflow
+     */
+    public Money subtract(Money other) {
+        return new Money(Math.subtractExact(units, other.units));
+    }
+
+    /**
+     * {@code this × other}, rounded to 8 places.
+     *
+     * @throws ArithmeticException on overflow, or if {@code rounding} is
+     *                             {@link RoundingMode#UNNECESSARY} and rounding is needed
+     */
+    public Money multiply(Money other, RoundingMode rounding) {
+        boolean negative = (units < 0) != (other.units < 0);
+        long a = Math.absExact(units);
+        long b = Math.absExact(other.units);
+        // a × b / ONE with a = ah·ONE + al and b = bh·ONE + bl; only al × bl needs rounding
+        long ah = a / ONE;
+        long al = a % ONE;
+        long bh = b / ONE;
+        long bl = b % ONE;
+        long whole = Math.addExact(
+                Math.multiplyExact(Math.multiplyExact(ah, bh), ONE),
+                Math.addExact(Math.multiplyExact(ah, bl), Math.multiplyExact(al, bh)));
+        long low = al * bl;
+        long magnitude = round(Math.addExact(whole, low / ONE), low % ONE, ONE, negative, rounding);
+        return new Money(negative ? -magnitude : magnitude);
+    }
+
+    /**
+     * {@code this ÷ divisor}, rounded to 8 places.
+     *
+     * @throws ArithmeticException if {@code divisor} is zero, on overflow, or if
+     *                             {@code rounding} is {@link RoundingMode#UNNECESSARY} and
+     *                             rounding is needed
+     */
+    public Money divide(Money divisor, RoundingMode rounding) {
+        if (divisor.units == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        boolean negative = (units < 0) != (divisor.units < 0);
+        long a = Math.absExact(units);
+        long b = Math.absExact(divisor.units);
+        long remainder = a % b;
+        long fraction;
+        if (remainder <= Long.MAX_VALUE / ONE) {
+            long scaled = remainder * ONE;
+            fraction = scaled / b;
+            remainder = scaled % b;
+        } else if (b <= Long.MAX_VALUE / 10) {
+            // Long division, one decimal at a time
+            fraction = 0;
+            for (int digit = 0; digit < SCALE; digit++) {
+                remainder *= 10;
+                fraction = fraction * 10 + remainder / b;
+                remainder %= b;
+            }
+        } else {
+            return of(toBigDecimal().divide(divisor.toBigDecimal(), SCALE, rounding));
+        }
+        long magnitude = round(Math.addExact(Math.multiplyExact(a / b, ONE), fraction), remainder, b, negative,
+                rounding);
+        return new Money(negative ? -magnitude : magnitude);
+    }
+
+    /**
+     * The exact amount, with scale 8.
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    /**
+     * The amount rounded to {@code scale} places, e.g. cents for reporting.
+     */
+    public BigDecimal toBigDecimal(int scale, RoundingMode rounding) {
+        if (scale >= SCALE) {
+            return toBigDecimal().setScale(scale, rounding);
+        }
+        return BigDecimal.valueOf(unscaled(scale, rounding), scale);
+    }
+
+    /**
+     * The amount in 10<sup>-scale</sup> units, for {@code 0 <= scale <= 8}; e.g. cents for
+     * scale 2.
+     */
+    public long unscaled(int scale, RoundingMode rounding) {
+        if (scale < 0 || scale > SCALE) {
+            throw new IllegalArgumentException("scale must be between 0 and " + SCALE);
+        }
+        long divisor = 1;
+        for (int i = scale; i < SCALE; i++) {
+            divisor *= 10;
+        }
+        boolean negative = units < 0;
+        long magnitude = Math.absExact(units);
+        long rounded = round(magnitude / divisor, magnitude % divisor, divisor, negative, rounding);
+        return negative ? -rounded : rounded;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(units, other.units);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    /**
+     * Round the magnitude {@code quotient} of a division that left {@code remainder}
+     * (0 ≤ remainder &lt; divisor), for a result of the given sign.
+     */
+    private static long round(long quotient, long remainder, long divisor, boolean negative, RoundingMode rounding) {
+        if (remainder == 0) {
+            return quotient;
+        }
+        long rest = divisor - remainder;
+        boolean up = switch (rounding) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> !negative;
+            case FLOOR -> negative;
+            case HALF_UP -> remainder >= rest;
+            case HALF_DOWN -> remainder > rest;
+            case HALF_EVEN -> remainder > rest || remainder == rest && (quotient & 1) == 1;
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return up ? Math.addExact(quotient, 1) : quotient;
+    }
+}
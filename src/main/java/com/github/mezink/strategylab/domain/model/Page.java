@@ -0,0 +1,44 @@
+package com.github.mezink.strategylab.domain.model;
+
+import java.util.List;
+
+/**
+ * A window of a result list: up to {@code limit} elements starting at {@code offset}.
+ * An offset past the end gives an empty page.
+ *
+ * @param offset index of the first element
+ * @param limit  maximum number of elements
+ */
+public record Page(int offset, int limit) {
+
+    /** Every element. */
+    public static final Page ALL = new Page(0, Integer.MAX_VALUE);
+
+    public Page {
+        if (offset < 0) throw new IllegalArgumentException("offset must not be negative");
+        if (limit < 0) throw new IllegalArgumentException("limit must not be negative");
+    }
+
+    /**
+     * Index of the first element of this page in a list of {@code size} elements.
+     */
+    public int from(int size) {
+        return Math.min(offset, size);
+    }
+
+    /**
+     * Index after the last element of this page in a list of {@code size} elements.
+     */
+    public int to(int size) {
+        int from = from(size);
+        return from + Math.min(limit, size - from);
+    }
+
+    /**
+     * This page of {@code list}, as a view.
+     */
+    public <T> List<T> of(List<T> list) {
+        int size = list.size();
+        return list.subList(from(size), to(size));
+    }
+}
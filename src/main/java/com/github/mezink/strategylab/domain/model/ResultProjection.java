@@ -0,0 +1,28 @@
+package com.github.mezink.strategylab.domain.model;
+
+/**
+ * Which parts of a {@link BacktestResult} a caller wants. The engine skips computing
+ * metrics that were not asked for and only builds the requested page of the equity
+ * curve and trade list; screeners that need metrics alone get no per-day objects at all.
+ *
+ * @param metrics     whether to compute {@link BacktestMetrics}
+ * @param equityCurve whether to return equity curve points
+ * @param trades      whether to return trades
+ * @param curvePage   the points returned when {@code equityCurve} is set
+ * @param tradePage   the trades returned when {@code trades} is set
+ */
+public record ResultProjection(
+        boolean metrics,
+        boolean equityCurve,
+        boolean trades,
+        Page curvePage,
+        Page tradePage
+) {
+    /** Everything, unpaged. */
+    public static final ResultProjection FULL = new ResultProjection(true, true, true, Page.ALL, Page.ALL);
+
+    public ResultProjection {
+        if (curvePage == null) throw new IllegalArgumentException("curvePage required");
+        if (tradePage == null) throw new IllegalArgumentException("tradePage required");
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.mezink.strategylab.domain.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * A contiguous range of another {@link CandleColumns}, offset by {@code from}.
+ */
+final class SlicedCandleColumns implements CandleColumns {
+
+    private final CandleColumns source;
+    private final int from;
+    private final int size;
+
+    SlicedCandleColumns(CandleColumns source, int from, int size) {
+        this.source = source;
+        this.from = from;
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long epochDay(int index) {
+        return source.epochDay(from + Objects.checkIndex(index, size));
+    }
+
+    @Override
+    public long epochSecond(int index) {
+        return source.epochSecond(from + Objects.checkIndex(index, size));
+    }
+
+    @Override
+    public double open(int index) {
+        return source.open(from + Objects.checkIndex(index, size));
+    }
+
+    @Override
+    public double high(int index) {
+        return source.high(from + Objects.checkIndex(index, size));
+    }
+
+    @Override
+    public double low(int index) {
+        return source.low(from + Objects.checkIndex(index, size));
+    }
+
+    @Override
+    public double close(int index) {
+        return source.close(from + Objects.checkIndex(index, size));
+    }
+
+    @Override
+    public BigDecimal closePrice(int index) {
+        return source.closePrice(from + Objects.checkIndex(index, size));
+    }
+
+    @Override
+    public long volume(int index) {
+        return source.volume(from + Objects.checkIndex(index, size));
+    }
+
+    @Override
+    public boolean acquire() {
+        return source.acquire();
+    }
+
+    @Override
+    public void release() {
+        source.release();
+    }
+
+    @Override
+    public CandleColumns slice(int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        return new SlicedCandleColumns(source, this.from + from, to - from);
+    }
+}
@@ -6,35 +6,150 @@ import java.util.List;
 import java.util.Optional;
 
 /**
- * An ordered list of daily candles for a given instrument.
+ * An ordered list of candles of one {@link Interval} for a given instrument.
  * Candles are sorted by date ascending (enforced in constructor).
+ * <p>
+ * A series is either a list of {@link Candle}s on the heap or, via {@link #of(Instrument, Interval, CandleColumns)},
+ * a view of {@link CandleColumns} held elsewhere (e.g. off-heap or {@link CompactCandleColumns}).
+ * {@link #columns()} gives primitive access to either. A {@link Candle} only carries a date,
+ * so intraday series are always column-backed; iterate them through {@link #columns()}.
  */
 public record TimeSeries(
         Instrument instrument,
-        List<Candle> candles
+        List<Candle> candles,
+        Interval interval
 ) {
     public TimeSeries {
         if (instrument == null) throw new IllegalArgumentException("instrument must not be null");
         if (candles == null || candles.isEmpty()) {
             throw new IllegalArgumentException("candles must not be null or empty");
         }
-        candles = candles.stream()
-                .sorted(Comparator.comparing(Candle::date))
-                .toList();
+        if (interval == null) throw new IllegalArgumentException("interval must not be null");
+        if (!(candles instanceof ColumnCandleList)) {
+            if (interval.isIntraday()) {
+                throw new IllegalArgumentException("%s series must be built from columns".formatted(interval.code()));
+            }
+            candles = candles.stream()
+                    .sorted(Comparator.comparing(Candle::date))
+                    .toList();
+        }
+    }
+
+    /**
+     * A daily series.
+     */
+    public TimeSeries(Instrument instrument, List<Candle> candles) {
+        this(instrument, candles, Interval.ONE_DAY);
+    }
+
+    /**
+     * A daily series backed by {@code columns}, which must be in strictly ascending date order.
+     */
+    public static TimeSeries of(Instrument instrument, CandleColumns columns) {
+        return of(instrument, Interval.ONE_DAY, columns);
+    }
+
+    /**
+     * A series of {@code interval} bars backed by {@code columns}, which must be in strictly
+     * ascending time order.
+     */
+    public static TimeSeries of(Instrument instrument, Interval interval, CandleColumns columns) {
+        if (columns.size() == 0) {
+            throw new IllegalArgumentException("candles must not be null or empty");
+        }
+        for (int i = 1; i < columns.size(); i++) {
+            if (columns.epochSecond(i) <= columns.epochSecond(i - 1)) {
+                throw new IllegalArgumentException("candles must be in ascending time order");
+            }
+        }
+        return new TimeSeries(instrument, new ColumnCandleList(columns), interval);
+    }
+
+    /**
+     * Primitive, bounds-checked access to the candles.
+     */
+    public CandleColumns columns() {
+        return candles instanceof ColumnCandleList list ? list.columns() : CandleColumns.of(candles);
+    }
+
+    /**
+     * Take a reference to the storage behind this series, keeping it readable until
+     * {@link #release()}. Slices share the storage, and its references, with their series.
+     *
+     * @return {@code false} if the storage has already been freed
+     * @see CandleColumns#acquire()
+     */
+    public boolean acquire() {
+        return !(candles instanceof ColumnCandleList list) || list.columns().acquire();
+    }
+
+    /**
+     * Give back a reference to the storage behind this series. Series from a
+     * {@link com.github.mezink.strategylab.domain.port.MarketDataProvider MarketDataProvider}
+     * come with one, to be released once they are no longer read.
+     */
+    public void release() {
+        if (candles instanceof ColumnCandleList list) {
+            list.columns().release();
+        }
     }
 
     /**
      * Returns a sub-series filtered to [start, end] inclusive.
      */
     public TimeSeries slice(LocalDate start, LocalDate end) {
-        List<Candle> filtered = candles.stream()
-                .filter(c -> !c.date().isBefore(start) && !c.date().isAfter(end))
-                .toList();
-        if (filtered.isEmpty()) {
+        CandleColumns columns = columns();
+        int from = firstIndexOnOrAfter(columns, start.toEpochDay());
+        int to = firstIndexOnOrAfter(columns, end.toEpochDay() + 1);
+        if (from >= to) {
             throw new IllegalArgumentException(
                     "No candles in range [%s, %s] for %s".formatted(start, end, instrument.symbol()));
         }
-        return new TimeSeries(instrument, filtered);
+        if (candles instanceof ColumnCandleList) {
+            return new TimeSeries(instrument, new ColumnCandleList(columns.slice(from, to)), interval);
+        }
+        return new TimeSeries(instrument, candles.subList(from, to), interval);
+    }
+
+    /**
+     * The trading calendar of this series: its exchange's when known (see
+     * {@link TradingCalendar#forExchange(String)}) and covering the whole series, otherwise
+     * {@link TradingCalendar#WEEKDAYS}. Either way "N trading days" means the same span for
+     * any series, whatever its bar interval. The calendar ordinal of bar {@code i} is
+     * {@code calendar().ordinalOnOrBefore(columns().epochDay(i))}.
+     */
+    public TradingCalendar calendar() {
+        CandleColumns columns = columns();
+        long first = columns.epochDay(0);
+        long last = columns.epochDay(columns.size() - 1);
+        return TradingCalendar.forExchange(instrument.exchange())
+                .filter(calendar -> calendar.covers(first) && calendar.covers(last))
+                .orElse(TradingCalendar.WEEKDAYS);
+    }
+
+    private static int firstIndexOnOrAfter(CandleColumns columns, long epochDay) {
+        int low = 0;
+        int high = columns.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (columns.epochDay(mid) < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * This series aggregated into longer bars, e.g. daily candles into weekly ones, or
+     * intraday bars into daily ones.
+     *
+     * @throws IllegalArgumentException if {@code interval} is not longer than this series' interval,
+     *                                  or is intraday
+     */
+    public TimeSeries rollUp(Interval interval) {
+        return CandleRollup.rollUp(this, interval);
     }
 
     public LocalDate startDate() {
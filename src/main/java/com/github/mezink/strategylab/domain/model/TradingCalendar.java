@@ -0,0 +1,272 @@
+package com.github.mezink.strategylab.domain.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongPredicate;
+
+/**
+ * Trading days of an exchange, numbered by dense {@code int} ordinals: consecutive trading
+ * days have consecutive ordinals, so "N trading days later", the trading days between two
+ * dates and aligning series on one calendar are integer arithmetic on epoch days.
+ * <p>
+ * {@link #NYSE} applies the regular US equity market holidays from 1953, the first full
+ * year without Saturday sessions, to 2099: today's rules, with Washington's Birthday on
+ * 22 February and Memorial Day on 30 May before the Monday holidays of 1971, and MLK Day
+ * and Juneteenth from their first years. One-off closures and holidays the exchange kept
+ * only in earlier decades (e.g. Election Day) are not included. {@link #WEEKDAYS} has no
+ * holidays and covers 1900 to 2099. A calendar built with
+ * {@link #ofTradingDays(long[])} trades exactly on the given days, e.g. the days a series
+ * has bars on. Lookups are two array reads; instances are immutable and thread-safe.
+ */
+public final class TradingCalendar {
+
+    private static final long LAST_RULE_DAY = LocalDate.of(2099, 12, 31).toEpochDay();
+    /** Year the NYSE stopped opening on Saturdays for good, in mid-1952. */
+    private static final int NYSE_FIRST_YEAR = 1953;
+    /** Year Washington's Birthday and Memorial Day moved to Mondays. */
+    private static final int UNIFORM_MONDAY_HOLIDAYS = 1971;
+
+    public static final TradingCalendar WEEKDAYS = byRule("WEEKDAYS", 1900, epochDay -> false);
+    public static final TradingCalendar NYSE = byRule("NYSE", NYSE_FIRST_YEAR, TradingCalendar::isNyseHoliday);
+
+    /**
+     * Exchange codes as reported by the chart API (and the usual MIC codes) of venues
+     * trading on the NYSE holiday schedule.
+     */
+    private static final Map<String, TradingCalendar> BY_EXCHANGE = Map.ofEntries(
+            Map.entry("NYQ", NYSE), Map.entry("NYSE", NYSE), Map.entry("XNYS", NYSE),
+            Map.entry("NMS", NYSE), Map.entry("NGM", NYSE), Map.entry("NCM", NYSE),
+            Map.entry("NIM", NYSE), Map.entry("NASDAQ", NYSE), Map.entry("XNAS", NYSE),
+            Map.entry("PCX", NYSE), Map.entry("ARCX", NYSE), Map.entry("ASE", NYSE),
+            Map.entry("XASE", NYSE), Map.entry("BTS", NYSE), Map.entry("BATS", NYSE),
+            Map.entry("SNP", NYSE), Map.entry("DJI", NYSE));
+
+    private final String name;
+    private final long firstDay;
+    private final boolean bounded;
+    /** Per day from {@code firstDay}: ordinal of the last trading day on or before it, -1 if none. */
+    private final int[] ordinalOnOrBefore;
+    /** Per ordinal: the trading day, as an offset from {@code firstDay}. */
+    private final int[] tradingDays;
+
+    private TradingCalendar(String name, long firstDay, boolean bounded, int[] ordinalOnOrBefore, int[] tradingDays) {
+        this.name = name;
+        this.firstDay = firstDay;
+        this.bounded = bounded;
+        this.ordinalOnOrBefore = ordinalOnOrBefore;
+        this.tradingDays = tradingDays;
+    }
+
+    /**
+     * The calendar of an exchange code such as {@code NMS} or {@code XNYS}, if known.
+     */
+    public static Optional<TradingCalendar> forExchange(String exchange) {
+        if (exchange == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(BY_EXCHANGE.get(exchange.trim().toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * A calendar trading on exactly {@code epochDays} and nowhere else. Repeated days are
+     * counted once.
+     *
+     * @throws IllegalArgumentException if {@code epochDays} is empty or not ascending
+     */
+    public static TradingCalendar ofTradingDays(long... epochDays) {
+        if (epochDays.length == 0) {
+            throw new IllegalArgumentException("a calendar needs at least one trading day");
+        }
+        for (int i = 1; i < epochDays.length; i++) {
+            if (epochDays[i] < epochDays[i - 1]) {
+                throw new IllegalArgumentException("trading days must be in ascending order");
+            }
+        }
+        long first = epochDays[0];
+        long last = epochDays[epochDays.length - 1];
+        if (last - first >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("trading days span too many days");
+        }
+        int[] byDay = new int[Math.toIntExact(last - first + 1)];
+        int[] days = new int[epochDays.length];
+        int count = 0;
+        for (int i = 0; i < epochDays.length; i++) {
+            if (i == 0 || epochDays[i] != epochDays[i - 1]) {
+                days[count++] = (int) (epochDays[i] - first);
+            }
+        }
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            int until = ordinal + 1 < count ? days[ordinal + 1] : byDay.length;
+            Arrays.fill(byDay, days[ordinal], until, ordinal);
+        }
+        return new TradingCalendar("CUSTOM", first, false, byDay, Arrays.copyOf(days, count));
+    }
+
+    private static TradingCalendar byRule(String name, int firstYear, LongPredicate isHoliday) {
+        long firstDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        int[] byDay = new int[Math.toIntExact(LAST_RULE_DAY - firstDay + 1)];
+        int[] days = new int[byDay.length];
+        int ordinal = -1;
+        for (int offset = 0; offset < byDay.length; offset++) {
+            long epochDay = firstDay + offset;
+            if (!isWeekend(epochDay) && !isHoliday.test(epochDay)) {
+                days[++ordinal] = offset;
+            }
+            byDay[offset] = ordinal;
+        }
+        return new TradingCalendar(name, firstDay, true, byDay, Arrays.copyOf(days, ordinal + 1));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Number of trading days in the calendar.
+     */
+    public int size() {
+        return tradingDays.length;
+    }
+
+    /**
+     * Whether lookups of {@code epochDay} are answered; always true for a calendar built from
+     * trading days, which extends its first and last trading day outwards.
+     */
+    public boolean covers(long epochDay) {
+        long offset = epochDay - firstDay;
+        return !bounded || offset >= 0 && offset < ordinalOnOrBefore.length;
+    }
+
+    public boolean isTradingDay(long epochDay) {
+        int ordinal = ordinalOnOrBefore(epochDay);
+        return ordinal >= 0 && epochDay(ordinal) == epochDay;
+    }
+
+    /**
+     * Ordinal of the last trading day on or before {@code epochDay}, or -1 if there is none.
+     *
+     * @throws IllegalArgumentException if a rule-based calendar does not cover {@code epochDay}
+     */
+    public int ordinalOnOrBefore(long epochDay) {
+        long offset = offset(epochDay);
+        if (offset < 0) {
+            return -1;
+        }
+        return offset >= ordinalOnOrBefore.length ? tradingDays.length - 1 : ordinalOnOrBefore[(int) offset];
+    }
+
+    /**
+     * Ordinal of the first trading day on or after {@code epochDay}, or {@link #size()} if
+     * there is none.
+     *
+     * @throws IllegalArgumentException if a rule-based calendar does not cover {@code epochDay}
+     */
+    public int ordinalOnOrAfter(long epochDay) {
+        int ordinal = ordinalOnOrBefore(epochDay);
+        return ordinal >= 0 && epochDay(ordinal) == epochDay ? ordinal : ordinal + 1;
+    }
+
+    /**
+     * The trading day with the given ordinal.
+     *
+     * @throws IndexOutOfBoundsException if there is no such trading day
+     */
+    public long epochDay(int ordinal) {
+        return firstDay + tradingDays[ordinal];
+    }
+
+    public LocalDate date(int ordinal) {
+        return LocalDate.ofEpochDay(epochDay(ordinal));
+    }
+
+    /**
+     * Trading days after {@code fromEpochDay} up to and including {@code toEpochDay};
+     * negative if {@code toEpochDay} is earlier.
+     */
+    public int tradingDaysBetween(long fromEpochDay, long toEpochDay) {
+        return ordinalOnOrBefore(toEpochDay) - ordinalOnOrBefore(fromEpochDay);
+    }
+
+    private long offset(long epochDay) {
+        long offset = epochDay - firstDay;
+        if (!covers(epochDay)) {
+            throw new IllegalArgumentException("%s calendar does not cover %s".formatted(name,
+                    LocalDate.ofEpochDay(epochDay)));
+        }
+        return offset;
+    }
+
+    @Override
+    public String toString() {
+        return "TradingCalendar[%s, %d trading days]".formatted(name, tradingDays.length);
+    }
+
+    private static boolean isWeekend(long epochDay) {
+        // 1970-01-01 was a Thursday
+        int dayOfWeek = (int) Math.floorMod(epochDay + 3, 7);
+        return dayOfWeek >= 5;
+    }
+
+    private static boolean isNyseHoliday(long epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        int year = date.getYear();
+        return date.equals(observed(LocalDate.of(year, 1, 1), false))
+                || year >= 1998 && date.equals(nthMonday(year, Month.JANUARY, 3))
+                || date.equals(year >= UNIFORM_MONDAY_HOLIDAYS
+                        ? nthMonday(year, Month.FEBRUARY, 3)
+                        : observed(LocalDate.of(year, 2, 22), true))
+                || date.equals(easterSunday(year).minusDays(2))
+                || date.equals(year >= UNIFORM_MONDAY_HOLIDAYS
+                        ? LocalDate.of(year, Month.MAY, 1).with(TemporalAdjusters.lastInMonth(DayOfWeek.MONDAY))
+                        : observed(LocalDate.of(year, 5, 30), true))
+                || year >= 2022 && date.equals(observed(LocalDate.of(year, 6, 19), true))
+                || date.equals(observed(LocalDate.of(year, 7, 4), true))
+                || date.equals(nthMonday(year, Month.SEPTEMBER, 1))
+                || date.equals(LocalDate.of(year, Month.NOVEMBER, 1)
+                        .with(TemporalAdjusters.dayOfWeekInMonth(4, DayOfWeek.THURSDAY)))
+                || date.equals(observed(LocalDate.of(year, 12, 25), true));
+    }
+
+    /**
+     * A holiday on a Sunday is observed on Monday, one on a Saturday on Friday, except New
+     * Year's Day, which is then not observed at all (the exchange stays open on 31 December).
+     */
+    private static LocalDate observed(LocalDate holiday, boolean fridayBefore) {
+        return switch (holiday.getDayOfWeek()) {
+            case SUNDAY -> holiday.plusDays(1);
+            case SATURDAY -> fridayBefore ? holiday.minusDays(1) : holiday;
+            default -> holiday;
+        };
+    }
+
+    private static LocalDate nthMonday(int year, Month month, int n) {
+        return LocalDate.of(year, month, 1).with(TemporalAdjusters.dayOfWeekInMonth(n, DayOfWeek.MONDAY));
+    }
+
+    /**
+     * Gregorian Easter (anonymous Gregorian algorithm).
+     */
+    private static LocalDate easterSunday(int year) {
+        int a = year % 19;
+        int b = year / 100;
+        int c = year % 100;
+        int d = b / 4;
+        int e = b % 4;
+        int f = (b + 8) / 25;
+        int g = (b - f + 1) / 3;
+        int h = (19 * a + b - d - g + 15) % 30;
+        int i = c / 4;
+        int k = c % 4;
+        int l = (32 + 2 * e + 2 * i - h - k) % 7;
+        int m = (a + 11 * h + 22 * l) / 451;
+        int month = (h + l - 7 * m + 114) / 31;
+        int day = (h + l - 7 * m + 114) % 31 + 1;
+        return LocalDate.of(year, month, day);
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.mezink.strategylab.domain.port;
+
+import com.github.mezink.strategylab.domain.model.Instrument;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Port for a local catalog of known instruments, used for autocomplete.
+ * Infrastructure layer provides the implementation.
+ */
+public interface InstrumentCatalog {
+
+    /**
+     * Find instruments matching a user's partial input, best matches first: exact symbol,
+     * symbol prefix, name-word prefix, then symbols and then name words within a small edit
+     * distance.
+     *
+     * @param query partial symbol or name, case-insensitive
+     * @param limit maximum number of results
+     */
+    List<Instrument> search(String query, int limit);
+
+    /**
+     * Look up an instrument by exact symbol, case-insensitive.
+     */
+    Optional<Instrument> find(String symbol);
+
+    /**
+     * Add an instrument, replacing any entry with the same symbol.
+     */
+    void add(Instrument instrument);
+
+    /**
+     * Add several instruments, replacing entries with the same symbols. Implementations
+     * whose updates are costly apply the whole collection at once.
+     */
+    default void addAll(Collection<Instrument> instruments) {
+        instruments.forEach(this::add);
+    }
+
+    /**
+     * Number of instruments in the catalog.
+     */
+    int size();
+}
@@ -1,13 +1,24 @@
 package com.github.mezink.strategylab.domain.port;
 
+import com.github.mezink.strategylab.domain.exception.DeadlineExceededException;
+import com.github.mezink.strategylab.domain.model.Deadline;
 import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.model.Interval;
 import com.github.mezink.strategylab.domain.model.TimeSeries;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Port for fetching market data. Infrastructure layer provides the implementation.
+ * <p>
+ * Every series returned, directly or through a future, holds a reference to its storage
+ * on behalf of the caller, who calls {@link TimeSeries#release()} once done reading it.
+ * Storage freed explicitly (e.g. off-heap candles) stays readable until then; for series on
+ * the heap releasing does nothing.
  */
 public interface MarketDataProvider {
 
@@ -16,8 +27,82 @@ public interface MarketDataProvider {
      */
     TimeSeries getDailySeries(String symbol, LocalDate start, LocalDate end);
 
+    /**
+     * Fetch {@code interval} bars for the given instrument in [start, end] (UTC dates).
+     * The default serves {@link Interval#ONE_DAY} from {@link #getDailySeries}, rolls daily
+     * candles up for weekly, monthly and quarterly bars, and has no intraday data.
+     *
+     * @throws IllegalArgumentException if this provider has no bars of {@code interval}
+     */
+    default TimeSeries getSeries(String symbol, LocalDate start, LocalDate end, Interval interval) {
+        if (interval.isIntraday()) {
+            throw new IllegalArgumentException("%s bars are not available from this data source".formatted(interval.code()));
+        }
+        TimeSeries daily = getDailySeries(symbol, start, end);
+        return interval.isRollup() ? daily.rollUp(interval) : daily;
+    }
+
+    /**
+     * {@link #getSeries(String, LocalDate, LocalDate, Interval)} on behalf of a request that
+     * must finish by {@code deadline}. Providers that call out over the network cap their
+     * timeouts and waits to the time left; the default only checks the deadline up front.
+     *
+     * @throws DeadlineExceededException if the deadline passes
+     * @throws CancellationException     if the request is cancelled
+     */
+    default TimeSeries getSeries(String symbol, LocalDate start, LocalDate end, Interval interval, Deadline deadline) {
+        deadline.check();
+        return getSeries(symbol, start, end, interval);
+    }
+
     /**
      * Validate that a symbol exists and return basic instrument info.
      */
     Optional<Instrument> validateSymbol(String symbol);
+
+    /**
+     * Fetch several series concurrently. Each future completes independently, so one
+     * failing symbol does not affect the others.
+     * <p>
+     * The default runs {@link #getSeries} for each request on its own virtual thread.
+     * Cancelling a returned future interrupts that thread.
+     *
+     * @return one future per request, in request order
+     */
+    default List<CompletableFuture<TimeSeries>> getSeriesBatch(List<SeriesRequest> requests) {
+        return getSeriesBatch(requests, Deadline.NONE);
+    }
+
+    /**
+     * {@link #getSeriesBatch(List)} on behalf of a request that must finish by
+     * {@code deadline}; each fetch runs {@link #getSeries(String, LocalDate, LocalDate, Interval, Deadline)}.
+     */
+    default List<CompletableFuture<TimeSeries>> getSeriesBatch(List<SeriesRequest> requests, Deadline deadline) {
+        return requests.stream()
+                .map(request -> fetchOnVirtualThread(request, deadline))
+                .toList();
+    }
+
+    private CompletableFuture<TimeSeries> fetchOnVirtualThread(SeriesRequest request, Deadline deadline) {
+        CompletableFuture<TimeSeries> future = new CompletableFuture<>();
+        Thread worker = Thread.ofVirtual().name("series-fetch-" + request.symbol()).unstarted(() -> {
+            try {
+                TimeSeries series = getSeries(request.symbol(), request.start(), request.end(), request.interval(),
+                        deadline);
+                if (!future.complete(series)) {
+                    // Cancelled meanwhile: nobody will read it
+                    series.release();
+                }
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        future.whenComplete((_, error) -> {
+            if (error instanceof CancellationException) {
+                worker.interrupt();
+            }
+        });
+        worker.start();
+        return future;
+    }
 }
@@ -0,0 +1,29 @@
+package com.github.mezink.strategylab.domain.port;
+
+import com.github.mezink.strategylab.domain.model.Interval;
+
+import java.time.LocalDate;
+
+/**
+ * One element of a {@link MarketDataProvider#getSeriesBatch} call.
+ */
+public record SeriesRequest(
+        String symbol,
+        LocalDate start,
+        LocalDate end,
+        Interval interval
+) {
+    public SeriesRequest {
+        if (symbol == null || symbol.isBlank()) throw new IllegalArgumentException("symbol required");
+        if (start == null) throw new IllegalArgumentException("start required");
+        if (end == null) throw new IllegalArgumentException("end required");
+        if (interval == null) throw new IllegalArgumentException("interval required");
+    }
+
+    /**
+     * A request for daily candles.
+     */
+    public SeriesRequest(String symbol, LocalDate start, LocalDate end) {
+        this(symbol, start, end, Interval.ONE_DAY);
+    }
+}
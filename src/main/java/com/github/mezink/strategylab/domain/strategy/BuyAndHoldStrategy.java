@@ -1,27 +1,30 @@
 package com.github.mezink.strategylab.domain.strategy;
 
-import com.github.mezink.strategylab.domain.model.Candle;
+import com.github.mezink.strategylab.domain.model.CandleColumns;
 import com.github.mezink.strategylab.domain.strategy.config.BuyAndHoldConfig;
 import com.github.mezink.strategylab.domain.strategy.config.StrategyConfig;
-import com.github.mezink.strategylab.domain.model.EquityPoint;
+import com.github.mezink.strategylab.domain.model.Deadline;
+import com.github.mezink.strategylab.domain.model.EquityCurve;
+import com.github.mezink.strategylab.domain.model.Money;
 import com.github.mezink.strategylab.domain.model.TimeSeries;
 import com.github.mezink.strategylab.domain.model.Trade;
 import com.github.mezink.strategylab.domain.model.TradeAction;
 
 import java.math.BigDecimal;
-import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Buy & Hold strategy: invest all initial capital at the first available close,
- * then hold until the end of the series.
+ * then hold until the end of the series. The equity curve has one point per trading day,
+ * valued at the day's last close.
+ * <p>
+ * Bookkeeping is in {@link Money}: the share count is rounded down to 8 places, so the
+ * purchase never exceeds the capital, and the few units left over stay in cash.
  */
 public class BuyAndHoldStrategy implements Strategy {
 
-    private static final MathContext MC = new MathContext(16, RoundingMode.HALF_UP);
-
     private final BuyAndHoldConfig strategyConfig;
 
     public BuyAndHoldStrategy(BuyAndHoldConfig strategyConfig) {
@@ -39,20 +42,26 @@ public class BuyAndHoldStrategy implements Strategy {
     }
 
     @Override
-    public StrategyExecution execute(TimeSeries series, BigDecimal initialCapital) {
-        List<Candle> candles = series.candles();
-        List<EquityPoint> curve = new ArrayList<>();
+    public StrategyExecution execute(TimeSeries series, BigDecimal initialCapital, Deadline deadline) {
+        CandleColumns bars = series.columns();
+        EquityCurve.Builder curve = new EquityCurve.Builder();
         List<Trade> trades = new ArrayList<>();
 
-        Candle first = candles.getFirst();
-        BigDecimal shares = initialCapital.divide(first.close(), MC);
-        trades.add(new Trade(first.date(), TradeAction.BUY, shares, first.close(), "Initial buy — all capital"));
+        Money firstClose = Money.ofPrice(bars.close(0));
+        Money cash = Money.of(initialCapital);
+        Money shares = cash.divide(firstClose, RoundingMode.DOWN);
+        cash = cash.subtract(shares.multiply(firstClose, RoundingMode.HALF_UP));
+        trades.add(new Trade(bars.date(0), TradeAction.BUY, shares.toBigDecimal(), bars.closePrice(0),
+                "Initial buy — all capital"));
 
-        for (Candle candle : candles) {
-            BigDecimal value = shares.multiply(candle.close());
-            curve.add(new EquityPoint(candle.date(), value.setScale(2, RoundingMode.HALF_UP)));
+        for (int i = 0; i < bars.size(); i++) {
+            deadline.check(i);
+            if (bars.endsDay(i)) {
+                Money value = shares.multiply(Money.ofPrice(bars.close(i)), RoundingMode.HALF_UP).add(cash);
+                curve.add(bars.epochDay(i), value);
+            }
         }
 
-        return new StrategyExecution(curve, trades);
+        return new StrategyExecution(curve.build(), trades);
     }
 }
@@ -1,27 +1,33 @@
 package com.github.mezink.strategylab.domain.strategy;
 
-import com.github.mezink.strategylab.domain.model.Candle;
+import com.github.mezink.strategylab.domain.model.CandleColumns;
 import com.github.mezink.strategylab.domain.strategy.config.DcaConfig;
 import com.github.mezink.strategylab.domain.strategy.config.StrategyConfig;
-import com.github.mezink.strategylab.domain.model.EquityPoint;
+import com.github.mezink.strategylab.domain.model.Deadline;
+import com.github.mezink.strategylab.domain.model.EquityCurve;
+import com.github.mezink.strategylab.domain.model.Money;
 import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.model.TradingCalendar;
 import com.github.mezink.strategylab.domain.model.Trade;
 import com.github.mezink.strategylab.domain.model.TradeAction;
 
 import java.math.BigDecimal;
-import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Dollar Cost Averaging strategy: invest a fixed amount at regular intervals.
- * Fractional shares allowed.
+ * Fractional shares allowed. The interval counts trading days of the series'
+ * {@link TimeSeries#calendar() calendar}, or weekdays without a known exchange, whatever
+ * the bar interval: a contribution falls on the first bar dated on or after the due day,
+ * which on intraday series buys at the close of that day's first bar.
+ * <p>
+ * Bookkeeping is in {@link Money}: each purchase is rounded down to 8 places of a share, so
+ * it never exceeds the cash available, and what is left over is kept for the next one.
  */
 public class DcaStrategy implements Strategy {
 
-    private static final MathContext MC = new MathContext(16, RoundingMode.HALF_UP);
-
     private final DcaConfig strategyConfig;
 
     public DcaStrategy(DcaConfig strategyConfig) {
@@ -39,45 +45,51 @@ public class DcaStrategy implements Strategy {
     }
 
     @Override
-    public StrategyExecution execute(TimeSeries series, BigDecimal initialCapital) {
+    public StrategyExecution execute(TimeSeries series, BigDecimal initialCapital, Deadline deadline) {
         BigDecimal contributionAmount = strategyConfig.contributionAmount();
+        Money contribution = Money.of(contributionAmount);
         int frequencyDays = strategyConfig.frequencyDays();
 
-        List<Candle> candles = series.candles();
-        List<EquityPoint> curve = new ArrayList<>();
+        CandleColumns bars = series.columns();
+        TradingCalendar calendar = series.calendar();
+        EquityCurve.Builder curve = new EquityCurve.Builder();
         List<Trade> trades = new ArrayList<>();
 
-        BigDecimal cash = initialCapital;
-        BigDecimal shares = BigDecimal.ZERO;
-        int daysSinceLastContribution = frequencyDays;
-
-        for (int i = 0; i < candles.size(); i++) {
-            Candle candle = candles.get(i);
+        Money cash = Money.of(initialCapital);
+        Money shares = Money.ZERO;
+        int lastContribution = 0;
 
+        for (int i = 0; i < bars.size(); i++) {
+            deadline.check(i);
             if (i == 0) {
-                BigDecimal sharesToBuy = cash.divide(candle.close(), MC);
+                Money close = Money.ofPrice(bars.close(i));
+                Money sharesToBuy = cash.divide(close, RoundingMode.DOWN);
                 shares = shares.add(sharesToBuy);
-                trades.add(new Trade(candle.date(), TradeAction.BUY, sharesToBuy, candle.close(),
-                        "Initial investment of " + cash.toPlainString()));
-                cash = BigDecimal.ZERO;
-                daysSinceLastContribution = 0;
-            } else {
-                daysSinceLastContribution++;
-                if (daysSinceLastContribution >= frequencyDays) {
-                    cash = cash.add(contributionAmount);
-                    BigDecimal sharesToBuy = cash.divide(candle.close(), MC);
+                cash = cash.subtract(sharesToBuy.multiply(close, RoundingMode.HALF_UP));
+                trades.add(new Trade(bars.date(i), TradeAction.BUY, sharesToBuy.toBigDecimal(), bars.closePrice(i),
+                        "Initial investment of " + initialCapital.toPlainString()));
+                lastContribution = calendar.ordinalOnOrBefore(bars.epochDay(i));
+            } else if (bars.epochDay(i) != bars.epochDay(i - 1)) {
+                // Contributions fall on the first bar of a trading day
+                int ordinal = calendar.ordinalOnOrBefore(bars.epochDay(i));
+                if (ordinal - lastContribution >= frequencyDays) {
+                    Money close = Money.ofPrice(bars.close(i));
+                    cash = cash.add(contribution);
+                    Money sharesToBuy = cash.divide(close, RoundingMode.DOWN);
                     shares = shares.add(sharesToBuy);
-                    trades.add(new Trade(candle.date(), TradeAction.BUY, sharesToBuy, candle.close(),
+                    cash = cash.subtract(sharesToBuy.multiply(close, RoundingMode.HALF_UP));
+                    trades.add(new Trade(bars.date(i), TradeAction.BUY, sharesToBuy.toBigDecimal(), bars.closePrice(i),
                             "DCA contribution of " + contributionAmount.toPlainString()));
-                    cash = BigDecimal.ZERO;
-                    daysSinceLastContribution = 0;
+                    lastContribution = ordinal;
                 }
             }
 
-            BigDecimal portfolioValue = shares.multiply(candle.close()).add(cash);
-            curve.add(new EquityPoint(candle.date(), portfolioValue.setScale(2, RoundingMode.HALF_UP)));
+            if (bars.endsDay(i)) {
+                Money portfolioValue = shares.multiply(Money.ofPrice(bars.close(i)), RoundingMode.HALF_UP).add(cash);
+                curve.add(bars.epochDay(i), portfolioValue);
+            }
         }
 
-        return new StrategyExecution(curve, trades);
+        return new StrategyExecution(curve.build(), trades);
     }
 }
@@ -3,14 +3,15 @@ package com.github.mezink.strategylab.domain.strategy;
 import com.github.mezink.strategylab.domain.engine.SmaCalculator;
 import com.github.mezink.strategylab.domain.strategy.config.MaCrossoverConfig;
 import com.github.mezink.strategylab.domain.strategy.config.StrategyConfig;
-import com.github.mezink.strategylab.domain.model.Candle;
-import com.github.mezink.strategylab.domain.model.EquityPoint;
+import com.github.mezink.strategylab.domain.model.CandleColumns;
+import com.github.mezink.strategylab.domain.model.Deadline;
+import com.github.mezink.strategylab.domain.model.EquityCurve;
+import com.github.mezink.strategylab.domain.model.Money;
 import com.github.mezink.strategylab.domain.model.TimeSeries;
 import com.github.mezink.strategylab.domain.model.Trade;
 import com.github.mezink.strategylab.domain.model.TradeAction;
 
 import java.math.BigDecimal;
-import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,12 +21,15 @@ import java.util.List;
  * <p>
  * When SMA(short) > SMA(long): fully invested.
  * When SMA(short) <= SMA(long): fully in cash.
- * Trades only on signal changes.
+ * Trades only on signal changes. Signals are computed per bar, the equity curve records the
+ * last close of each trading day.
+ * <p>
+ * Cash and shares are kept in {@link Money}. A purchase is rounded down to 8 places of a
+ * share so it never exceeds the cash, which keeps the few units left over; sale proceeds
+ * and valuations round half-up.
  */
 public class MaCrossoverStrategy implements Strategy {
 
-    private static final MathContext MC = new MathContext(16, RoundingMode.HALF_UP);
-
     private final MaCrossoverConfig strategyConfig;
 
     public MaCrossoverStrategy(MaCrossoverConfig strategyConfig) {
@@ -43,52 +47,56 @@ public class MaCrossoverStrategy implements Strategy {
     }
 
     @Override
-    public StrategyExecution execute(TimeSeries series, BigDecimal initialCapital) {
+    public StrategyExecution execute(TimeSeries series, BigDecimal initialCapital, Deadline deadline) {
         int shortWindow = strategyConfig.shortWindow();
         int longWindow = strategyConfig.longWindow();
 
-        List<Candle> candles = series.candles();
-        List<BigDecimal> closePrices = candles.stream().map(Candle::close).toList();
+        CandleColumns bars = series.columns();
+        double[] closePrices = new double[bars.size()];
+        for (int i = 0; i < closePrices.length; i++) {
+            closePrices[i] = bars.close(i);
+        }
 
-        List<BigDecimal> shortSma = SmaCalculator.compute(closePrices, shortWindow);
-        List<BigDecimal> longSma = SmaCalculator.compute(closePrices, longWindow);
+        double[] shortSma = SmaCalculator.compute(closePrices, shortWindow);
+        double[] longSma = SmaCalculator.compute(closePrices, longWindow);
 
-        List<EquityPoint> curve = new ArrayList<>();
+        EquityCurve.Builder curve = new EquityCurve.Builder();
         List<Trade> trades = new ArrayList<>();
 
-        BigDecimal cash = initialCapital;
-        BigDecimal shares = BigDecimal.ZERO;
+        Money cash = Money.of(initialCapital);
+        Money shares = Money.ZERO;
         boolean invested = false;
 
-        for (int i = 0; i < candles.size(); i++) {
-            Candle candle = candles.get(i);
-            BigDecimal shortVal = shortSma.get(i);
-            BigDecimal longVal = longSma.get(i);
-
-            if (shortVal != null && longVal != null) {
-                boolean shouldBeInvested = shortVal.compareTo(longVal) > 0;
+        for (int i = 0; i < bars.size(); i++) {
+            deadline.check(i);
+            if (!Double.isNaN(shortSma[i]) && !Double.isNaN(longSma[i])) {
+                boolean shouldBeInvested = SmaCalculator.toMicros(shortSma[i]) > SmaCalculator.toMicros(longSma[i]);
 
                 if (shouldBeInvested && !invested) {
-                    shares = cash.divide(candle.close(), MC);
-                    trades.add(new Trade(candle.date(), TradeAction.BUY, shares, candle.close(),
+                    Money close = Money.ofPrice(bars.close(i));
+                    shares = cash.divide(close, RoundingMode.DOWN);
+                    cash = cash.subtract(shares.multiply(close, RoundingMode.HALF_UP));
+                    trades.add(new Trade(bars.date(i), TradeAction.BUY, shares.toBigDecimal(), bars.closePrice(i),
                             "SMA(%d) crossed above SMA(%d)".formatted(shortWindow, longWindow)));
-                    cash = BigDecimal.ZERO;
                     invested = true;
                 } else if (!shouldBeInvested && invested) {
-                    cash = shares.multiply(candle.close());
-                    trades.add(new Trade(candle.date(), TradeAction.SELL, shares, candle.close(),
+                    Money close = Money.ofPrice(bars.close(i));
+                    cash = cash.add(shares.multiply(close, RoundingMode.HALF_UP));
+                    trades.add(new Trade(bars.date(i), TradeAction.SELL, shares.toBigDecimal(), bars.closePrice(i),
                             "SMA(%d) crossed below SMA(%d)".formatted(shortWindow, longWindow)));
-                    shares = BigDecimal.ZERO;
+                    shares = Money.ZERO;
                     invested = false;
                 }
             }
 
-            BigDecimal portfolioValue = invested
-                    ? shares.multiply(candle.close())
-                    : cash;
-            curve.add(new EquityPoint(candle.date(), portfolioValue.setScale(2, RoundingMode.HALF_UP)));
+            if (bars.endsDay(i)) {
+                Money portfolioValue = invested
+                        ? shares.multiply(Money.ofPrice(bars.close(i)), RoundingMode.HALF_UP).add(cash)
+                        : cash;
+                curve.add(bars.epochDay(i), portfolioValue);
+            }
         }
 
-        return new StrategyExecution(curve, trades);
+        return new StrategyExecution(curve.build(), trades);
     }
 }
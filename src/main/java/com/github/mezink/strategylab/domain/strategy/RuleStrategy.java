@@ -0,0 +1,91 @@
+package com.github.mezink.strategylab.domain.strategy;
+
+import com.github.mezink.strategylab.domain.model.CandleColumns;
+import com.github.mezink.strategylab.domain.model.Deadline;
+import com.github.mezink.strategylab.domain.model.EquityCurve;
+import com.github.mezink.strategylab.domain.model.Money;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.model.Trade;
+import com.github.mezink.strategylab.domain.model.TradeAction;
+import com.github.mezink.strategylab.domain.strategy.config.RuleConfig;
+import com.github.mezink.strategylab.domain.strategy.config.StrategyConfig;
+import com.github.mezink.strategylab.domain.strategy.rule.CompiledRule;
+import com.github.mezink.strategylab.domain.strategy.rule.IndicatorColumns;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * User-defined rule strategy.
+ * <p>
+ * When in cash and the entry rule holds: fully invested.
+ * When invested and the exit rule holds: fully in cash.
+ * Rules are evaluated on each close and trades execute at that close; the equity curve
+ * records the last close of each trading day. Cash and shares are kept in {@link Money},
+ * as in {@link MaCrossoverStrategy}.
+ */
+public class RuleStrategy implements Strategy {
+
+    private final RuleConfig strategyConfig;
+
+    public RuleStrategy(RuleConfig strategyConfig) {
+        this.strategyConfig = strategyConfig;
+    }
+
+    @Override
+    public StrategyId id() {
+        return StrategyId.RULE;
+    }
+
+    @Override
+    public StrategyConfig config() {
+        return strategyConfig;
+    }
+
+    @Override
+    public StrategyExecution execute(TimeSeries series, BigDecimal initialCapital, Deadline deadline) {
+        CandleColumns bars = series.columns();
+        IndicatorColumns columns = new IndicatorColumns(bars);
+        CompiledRule.Bound entry = strategyConfig.entryRule().bind(columns);
+        CompiledRule.Bound exit = strategyConfig.exitRule().bind(columns);
+        String entryReason = "Entry rule matched: " + strategyConfig.entryRule().normalized();
+        String exitReason = "Exit rule matched: " + strategyConfig.exitRule().normalized();
+
+        EquityCurve.Builder curve = new EquityCurve.Builder();
+        List<Trade> trades = new ArrayList<>();
+
+        Money cash = Money.of(initialCapital);
+        Money shares = Money.ZERO;
+        boolean invested = false;
+
+        for (int i = 0; i < bars.size(); i++) {
+            deadline.check(i);
+            if (!invested && entry.test(i)) {
+                Money close = Money.ofPrice(bars.close(i));
+                shares = cash.divide(close, RoundingMode.DOWN);
+                cash = cash.subtract(shares.multiply(close, RoundingMode.HALF_UP));
+                trades.add(new Trade(bars.date(i), TradeAction.BUY, shares.toBigDecimal(), bars.closePrice(i),
+                        entryReason));
+                invested = true;
+            } else if (invested && exit.test(i)) {
+                Money close = Money.ofPrice(bars.close(i));
+                cash = cash.add(shares.multiply(close, RoundingMode.HALF_UP));
+                trades.add(new Trade(bars.date(i), TradeAction.SELL, shares.toBigDecimal(), bars.closePrice(i),
+                        exitReason));
+                shares = Money.ZERO;
+                invested = false;
+            }
+
+            if (bars.endsDay(i)) {
+                Money portfolioValue = invested
+                        ? shares.multiply(Money.ofPrice(bars.close(i)), RoundingMode.HALF_UP).add(cash)
+                        : cash;
+                curve.add(bars.epochDay(i), portfolioValue);
+            }
+        }
+
+        return new StrategyExecution(curve.build(), trades);
+    }
+}
@@ -1,9 +1,12 @@
 package com.github.mezink.strategylab.domain.strategy;
 
+import com.github.mezink.strategylab.domain.exception.DeadlineExceededException;
+import com.github.mezink.strategylab.domain.model.Deadline;
 import com.github.mezink.strategylab.domain.model.TimeSeries;
 import com.github.mezink.strategylab.domain.strategy.config.StrategyConfig;
 
 import java.math.BigDecimal;
+import java.util.concurrent.CancellationException;
 
 /**
  * Strategy pattern interface. Each hardcoded strategy implements this.
@@ -34,5 +37,20 @@ public interface Strategy {
      * @param initialCapital starting cash
      * @return the result of the execution (equity curve + trades)
      */
-    StrategyExecution execute(TimeSeries series, BigDecimal initialCapital);
+    default StrategyExecution execute(TimeSeries series, BigDecimal initialCapital) {
+        return execute(series, initialCapital, Deadline.NONE);
+    }
+
+    /**
+     * Execute the strategy on the given time series, checking {@code deadline} as it goes
+     * through the bars.
+     *
+     * @param series         daily price data
+     * @param initialCapital starting cash
+     * @param deadline       checked with {@link Deadline#check(int)} once per bar
+     * @return the result of the execution (equity curve + trades)
+     * @throws DeadlineExceededException if the deadline passes
+     * @throws CancellationException     if the work is cancelled or the thread interrupted
+     */
+    StrategyExecution execute(TimeSeries series, BigDecimal initialCapital, Deadline deadline);
 }
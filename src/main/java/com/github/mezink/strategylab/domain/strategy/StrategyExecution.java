@@ -1,5 +1,6 @@
 package com.github.mezink.strategylab.domain.strategy;
 
+import com.github.mezink.strategylab.domain.model.EquityCurve;
 import com.github.mezink.strategylab.domain.model.EquityPoint;
 import com.github.mezink.strategylab.domain.model.Trade;
 
@@ -9,7 +10,13 @@ import java.util.List;
  * The output of a single strategy execution (before metric computation).
  */
 public record StrategyExecution(
-        List<EquityPoint> equityCurve,
+        EquityCurve curve,
         List<Trade> trades
 ) {
+    /**
+     * The curve as {@link EquityPoint}s, created as they are read.
+     */
+    public List<EquityPoint> equityCurve() {
+        return curve.asList();
+    }
 }
@@ -3,6 +3,7 @@ package com.github.mezink.strategylab.domain.strategy;
 import com.github.mezink.strategylab.domain.strategy.config.BuyAndHoldConfig;
 import com.github.mezink.strategylab.domain.strategy.config.DcaConfig;
 import com.github.mezink.strategylab.domain.strategy.config.MaCrossoverConfig;
+import com.github.mezink.strategylab.domain.strategy.config.RuleConfig;
 
 import java.util.List;
 import java.util.Map;
@@ -42,6 +43,20 @@ public enum StrategyId {
                             "longWindow", "Long window", "Long SMA window (trading days)",
                             StrategyParameterDescriptor.TYPE_INTEGER, "50")
             )
+    ),
+    RULE(
+            "Custom Rule",
+            "Fully invested when the entry rule holds; back to cash when the exit rule holds. "
+                    + "Rules combine open/high/low/close/volume, sma(n), ema(n) and rsi(n) "
+                    + "with + - * /, > >= < <=, and/or/not.",
+            List.of(
+                    new StrategyParameterDescriptor(
+                            "entryRule", "Entry rule", "Condition to buy, e.g. sma(20) > sma(50) and rsi(14) < 70",
+                            StrategyParameterDescriptor.TYPE_EXPRESSION, "sma(20) > sma(50) and rsi(14) < 70"),
+                    new StrategyParameterDescriptor(
+                            "exitRule", "Exit rule", "Condition to sell; defaults to the entry rule no longer holding",
+                            StrategyParameterDescriptor.TYPE_EXPRESSION, "sma(20) < sma(50)")
+            )
     );
 
     private final String label;
@@ -78,6 +93,7 @@ public enum StrategyId {
             case BUY_AND_HOLD -> new BuyAndHoldStrategy(new BuyAndHoldConfig());
             case DCA -> new DcaStrategy(DcaConfig.fromParams(rawParams));
             case MA_CROSSOVER -> new MaCrossoverStrategy(MaCrossoverConfig.fromParams(rawParams));
+            case RULE -> new RuleStrategy(RuleConfig.fromParams(rawParams));
         };
     }
 }
@@ -15,4 +15,7 @@ public record StrategyParameterDescriptor(
 
     /** Parameter type for decimal numbers. */
     public static final String TYPE_NUMBER = "number";
+
+    /** Parameter type for rule expressions such as {@code sma(20) > sma(50)}. */
+    public static final String TYPE_EXPRESSION = "expression";
 }
@@ -1,5 +1,7 @@
 package com.github.mezink.strategylab.domain.strategy.config;
 
+import com.github.mezink.strategylab.domain.model.Money;
+
 import java.math.BigDecimal;
 import java.util.Map;
 
@@ -20,6 +22,9 @@ public record DcaConfig(
         if (contributionAmount == null || contributionAmount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("contributionAmount must be a positive number");
         }
+        if (contributionAmount.compareTo(Money.MAX_INPUT) > 0) {
+            throw new IllegalArgumentException("contributionAmount must not exceed " + Money.MAX_INPUT);
+        }
         if (frequencyDays <= 0) {
             throw new IllegalArgumentException("frequencyDays must be a positive integer");
         }
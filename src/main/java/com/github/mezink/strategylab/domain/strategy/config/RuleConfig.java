@@ -0,0 +1,49 @@
+package com.github.mezink.strategylab.domain.strategy.config;
+
+import com.github.mezink.strategylab.domain.strategy.rule.CompiledRule;
+import com.github.mezink.strategylab.domain.strategy.rule.RuleCompiler;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Configuration for the user-defined rule strategy.
+ * Rules are compiled (or fetched from the compiled-rule cache) when the config is created,
+ * so invalid rules are rejected before any market data is fetched.
+ *
+ * @param entryRule condition that moves the position fully into the market
+ * @param exitRule  condition that moves the position fully into cash
+ */
+public record RuleConfig(
+        CompiledRule entryRule,
+        CompiledRule exitRule
+) implements StrategyConfig {
+
+    public RuleConfig {
+        if (entryRule == null) throw new IllegalArgumentException("entryRule required");
+        if (exitRule == null) throw new IllegalArgumentException("exitRule required");
+    }
+
+    /**
+     * Parse from raw request parameters. Throws on missing or invalid values.
+     * When {@code exitRule} is omitted, the position is exited as soon as the entry rule no longer holds.
+     */
+    public static RuleConfig fromParams(Map<String, String> params) {
+        String entryStr = params.get("entryRule");
+        if (entryStr == null || entryStr.isBlank()) {
+            throw new IllegalArgumentException("Missing required parameter: entryRule");
+        }
+
+        String exitStr = params.get("exitRule");
+        if (exitStr == null || exitStr.isBlank()) {
+            exitStr = "not (" + entryStr + ")";
+        }
+
+        return new RuleConfig(RuleCompiler.compile(entryStr), RuleCompiler.compile(exitStr));
+    }
+
+    @Override
+    public BigDecimal totalContributions(BigDecimal initialCapital, int tradeCount) {
+        return initialCapital;
+    }
+}
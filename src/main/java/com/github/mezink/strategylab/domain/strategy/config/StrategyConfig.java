@@ -9,7 +9,7 @@ import java.math.BigDecimal;
  * The {@link #totalContributions(BigDecimal, int)} method lets the engine compute
  * metrics without needing to know which strategy was used.
  */
-public sealed interface StrategyConfig permits BuyAndHoldConfig, DcaConfig, MaCrossoverConfig {
+public sealed interface StrategyConfig permits BuyAndHoldConfig, DcaConfig, MaCrossoverConfig, RuleConfig {
 
     /**
      * Compute total capital contributed over the backtest period.
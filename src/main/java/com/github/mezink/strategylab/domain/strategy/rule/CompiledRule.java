@@ -0,0 +1,68 @@
+package com.github.mezink.strategylab.domain.strategy.rule;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+
+/**
+ * A rule compiled into a {@link MethodHandle} tree of type {@code (double[][], int) -> boolean}.
+ * The first argument holds one input column per entry of {@link #inputs()}, the second
+ * is the candle index. Compiled rules are immutable and shared across requests.
+ *
+ * @param normalized canonical rule text (also the cache key)
+ * @param inputs     distinct input columns referenced by the rule, in slot order
+ * @param predicate  the compiled predicate
+ */
+public record CompiledRule(
+        String normalized,
+        List<IndicatorSpec> inputs,
+        MethodHandle predicate
+) {
+    public CompiledRule {
+        inputs = List.copyOf(inputs);
+    }
+
+    /**
+     * Bind this rule to the input columns of one series.
+     */
+    public Bound bind(IndicatorColumns columns) {
+        double[][] slots = new double[inputs.size()][];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = columns.column(inputs.get(i));
+        }
+        return new Bound(predicate, slots);
+    }
+
+    @Override
+    public String toString() {
+        return normalized;
+    }
+
+    /**
+     * A compiled rule bound to concrete input columns, ready for per-candle evaluation.
+     * Each call is an {@code invokeExact} on a non-constant handle, which the JIT does not
+     * inline.
+     */
+    public static final class Bound {
+
+        private final MethodHandle predicate;
+        private final double[][] slots;
+
+        private Bound(MethodHandle predicate, double[][] slots) {
+            this.predicate = predicate;
+            this.slots = slots;
+        }
+
+        /**
+         * Evaluate the rule at the given candle index.
+         */
+        public boolean test(int index) {
+            try {
+                return (boolean) predicate.invokeExact(slots, index);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Compiled rule failed at index " + index, t);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.mezink.strategylab.domain.strategy.rule;
+
+import com.github.mezink.strategylab.domain.engine.EmaCalculator;
+import com.github.mezink.strategylab.domain.engine.RsiCalculator;
+import com.github.mezink.strategylab.domain.engine.SmaCalculator;
+import com.github.mezink.strategylab.domain.model.Candle;
+import com.github.mezink.strategylab.domain.model.CandleColumns;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lazily computed primitive input columns for one price series.
+ * Each {@link IndicatorSpec} is computed at most once, so entry and exit rules
+ * referencing the same indicator share the array.
+ * <p>
+ * Not thread-safe; create one per strategy execution.
+ */
+public final class IndicatorColumns {
+
+    private final CandleColumns candles;
+    private final Map<IndicatorSpec, double[]> columns = new HashMap<>();
+
+    public IndicatorColumns(CandleColumns candles) {
+        this.candles = candles;
+    }
+
+    public IndicatorColumns(List<Candle> candles) {
+        this(CandleColumns.of(candles));
+    }
+
+    public int size() {
+        return candles.size();
+    }
+
+    /**
+     * The values of the given column, one per candle. NaN marks indices where an
+     * indicator has not warmed up yet.
+     */
+    public double[] column(IndicatorSpec spec) {
+        double[] cached = columns.get(spec);
+        if (cached == null) {
+            cached = compute(spec);
+            columns.put(spec, cached);
+        }
+        return cached;
+    }
+
+    private double[] compute(IndicatorSpec spec) {
+        return switch (spec.indicator()) {
+            case OPEN, HIGH, LOW, CLOSE, VOLUME -> extract(spec.indicator());
+            case SMA -> SmaCalculator.compute(closes(), spec.period());
+            case EMA -> EmaCalculator.compute(closes(), spec.period());
+            case RSI -> RsiCalculator.compute(closes(), spec.period());
+        };
+    }
+
+    private double[] closes() {
+        return column(new IndicatorSpec(IndicatorSpec.Indicator.CLOSE, 0));
+    }
+
+    private double[] extract(IndicatorSpec.Indicator field) {
+        double[] values = new double[candles.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = switch (field) {
+                case OPEN -> candles.open(i);
+                case HIGH -> candles.high(i);
+                case LOW -> candles.low(i);
+                case CLOSE -> candles.close(i);
+                case VOLUME -> candles.volume(i);
+                default -> throw new IllegalStateException(field + " is not a price field");
+            };
+        }
+        return values;
+    }
+}
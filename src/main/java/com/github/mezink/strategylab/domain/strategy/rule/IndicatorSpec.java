@@ -0,0 +1,61 @@
+package com.github.mezink.strategylab.domain.strategy.rule;
+
+import java.util.Locale;
+
+/**
+ * A per-candle input column referenced by a rule: a raw price field ({@code close})
+ * or an indicator over close prices ({@code sma(20)}).
+ *
+ * @param indicator the field or indicator function
+ * @param period    the indicator window; 0 for raw fields
+ */
+public record IndicatorSpec(Indicator indicator, int period) {
+
+    /** Upper bound on indicator windows, to reject obviously broken rules early. */
+    public static final int MAX_PERIOD = 10_000;
+
+    public IndicatorSpec {
+        if (indicator == null) throw new IllegalArgumentException("indicator must not be null");
+        if (indicator.takesPeriod() && (period <= 0 || period > MAX_PERIOD)) {
+            throw new IllegalArgumentException(
+                    "%s period must be between 1 and %d, got %d".formatted(indicator.keyword(), MAX_PERIOD, period));
+        }
+        if (!indicator.takesPeriod() && period != 0) {
+            throw new IllegalArgumentException(indicator.keyword() + " does not take a period");
+        }
+    }
+
+    public String normalized() {
+        return indicator.takesPeriod()
+                ? "%s(%d)".formatted(indicator.keyword(), period)
+                : indicator.keyword();
+    }
+
+    /**
+     * Supported fields and indicator functions, keyed by their lower-case rule keyword.
+     */
+    public enum Indicator {
+        OPEN(false),
+        HIGH(false),
+        LOW(false),
+        CLOSE(false),
+        VOLUME(false),
+        SMA(true),
+        EMA(true),
+        RSI(true);
+
+        private final boolean takesPeriod;
+
+        Indicator(boolean takesPeriod) {
+            this.takesPeriod = takesPeriod;
+        }
+
+        public boolean takesPeriod() {
+            return takesPeriod;
+        }
+
+        public String keyword() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
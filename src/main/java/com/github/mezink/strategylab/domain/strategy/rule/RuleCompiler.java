@@ -0,0 +1,203 @@
+package com.github.mezink.strategylab.domain.strategy.rule;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles parsed rules into {@link MethodHandle} trees and caches them by normalized text.
+ * <p>
+ * Every node becomes a handle taking {@code (double[][] slots, int index)}: columns read
+ * {@code slots[k][index]}, operators combine their children's handles, and {@code and}/{@code or}
+ * use {@link MethodHandles#guardWithTest} for short-circuiting. The resulting tree is built
+ * once per distinct rule, so there is no per-candle parsing or dispatch on node types.
+ * The handle is not a constant to the JIT (it is held in a field of
+ * {@link CompiledRule.Bound}), so it is not inlined into the strategy loop: each candle
+ * still makes indirect calls through the tree's shared lambda forms.
+ */
+public final class RuleCompiler {
+
+    /** Bound on distinct cached rules; beyond this, rules are compiled but not cached. */
+    static final int MAX_CACHED_RULES = 1_024;
+
+    private static final MethodType NUMERIC = MethodType.methodType(double.class, double[][].class, int.class);
+    private static final MethodType PREDICATE = MethodType.methodType(boolean.class, double[][].class, int.class);
+    private static final MethodType BINARY_NUMERIC = MethodType.methodType(double.class, double.class, double.class);
+    private static final MethodType BINARY_COMPARISON = MethodType.methodType(boolean.class, double.class, double.class);
+
+    private static final MethodHandle SLOT_GETTER = MethodHandles.arrayElementGetter(double[][].class);
+    private static final MethodHandle VALUE_GETTER = MethodHandles.arrayElementGetter(double[].class);
+    private static final MethodHandle ALWAYS_TRUE = constantPredicate(true);
+    private static final MethodHandle ALWAYS_FALSE = constantPredicate(false);
+    private static final MethodHandle NEGATE = findStatic("negate", MethodType.methodType(double.class, double.class));
+    private static final MethodHandle NOT = findStatic("not", MethodType.methodType(boolean.class, boolean.class));
+
+    private static final Map<String, CompiledRule> CACHE = new ConcurrentHashMap<>();
+
+    private RuleCompiler() {
+    }
+
+    /**
+     * Parse, validate and compile a rule, reusing a cached compilation when the
+     * normalized text has been seen before.
+     *
+     * @param source rule text
+     * @return the compiled rule
+     * @throws RuleSyntaxException if the rule is invalid
+     */
+    public static CompiledRule compile(String source) {
+        RuleNode node = RuleParser.parse(source);
+        String normalized = node.normalized();
+
+        CompiledRule cached = CACHE.get(normalized);
+        if (cached != null) {
+            return cached;
+        }
+        CompiledRule compiled = compile(node, normalized);
+        if (CACHE.size() < MAX_CACHED_RULES) {
+            CompiledRule raced = CACHE.putIfAbsent(normalized, compiled);
+            return raced != null ? raced : compiled;
+        }
+        return compiled;
+    }
+
+    /**
+     * Number of distinct rules currently cached.
+     */
+    static int cacheSize() {
+        return CACHE.size();
+    }
+
+    private static CompiledRule compile(RuleNode node, String normalized) {
+        List<IndicatorSpec> inputs = new ArrayList<>();
+        MethodHandle predicate = emit(node, inputs);
+        return new CompiledRule(normalized, inputs, predicate);
+    }
+
+    private static MethodHandle emit(RuleNode node, List<IndicatorSpec> inputs) {
+        return switch (node) {
+            case RuleNode.Literal literal -> MethodHandles.dropArguments(
+                    MethodHandles.constant(double.class, literal.value()), 0, double[][].class, int.class);
+            case RuleNode.Column column -> column(slotOf(column.spec(), inputs));
+            case RuleNode.Negate negate -> MethodHandles.filterReturnValue(emit(negate.operand(), inputs), NEGATE);
+            case RuleNode.Arithmetic arithmetic -> binary(
+                    findStatic(arithmeticMethod(arithmetic.op()), BINARY_NUMERIC),
+                    emit(arithmetic.left(), inputs), emit(arithmetic.right(), inputs), NUMERIC);
+            case RuleNode.Comparison comparison -> binary(
+                    findStatic(comparisonMethod(comparison.op()), BINARY_COMPARISON),
+                    emit(comparison.left(), inputs), emit(comparison.right(), inputs), PREDICATE);
+            case RuleNode.Logical logical -> {
+                MethodHandle left = emit(logical.left(), inputs);
+                MethodHandle right = emit(logical.right(), inputs);
+                yield switch (logical.op()) {
+                    case AND -> MethodHandles.guardWithTest(left, right, ALWAYS_FALSE);
+                    case OR -> MethodHandles.guardWithTest(left, ALWAYS_TRUE, right);
+                };
+            }
+            case RuleNode.Not not -> MethodHandles.filterReturnValue(emit(not.operand(), inputs), NOT);
+        };
+    }
+
+    private static int slotOf(IndicatorSpec spec, List<IndicatorSpec> inputs) {
+        int slot = inputs.indexOf(spec);
+        if (slot < 0) {
+            inputs.add(spec);
+            slot = inputs.size() - 1;
+        }
+        return slot;
+    }
+
+    /**
+     * {@code (slots, index) -> slots[slot][index]}
+     */
+    private static MethodHandle column(int slot) {
+        MethodHandle slotArray = MethodHandles.insertArguments(SLOT_GETTER, 1, slot);
+        return MethodHandles.filterArguments(VALUE_GETTER, 0, slotArray);
+    }
+
+    /**
+     * {@code (slots, index) -> op(left(slots, index), right(slots, index))}
+     */
+    private static MethodHandle binary(MethodHandle op, MethodHandle left, MethodHandle right, MethodType type) {
+        MethodHandle withLeft = MethodHandles.collectArguments(op, 0, left);
+        MethodHandle withBoth = MethodHandles.collectArguments(withLeft, 2, right);
+        return MethodHandles.permuteArguments(withBoth, type, 0, 1, 0, 1);
+    }
+
+    private static MethodHandle constantPredicate(boolean value) {
+        return MethodHandles.dropArguments(
+                MethodHandles.constant(boolean.class, value), 0, double[][].class, int.class);
+    }
+
+    private static String arithmeticMethod(RuleNode.ArithmeticOp op) {
+        return switch (op) {
+            case ADD -> "add";
+            case SUBTRACT -> "subtract";
+            case MULTIPLY -> "multiply";
+            case DIVIDE -> "divide";
+        };
+    }
+
+    private static String comparisonMethod(RuleNode.ComparisonOp op) {
+        return switch (op) {
+            case GREATER -> "greater";
+            case GREATER_OR_EQUAL -> "greaterOrEqual";
+            case LESS -> "less";
+            case LESS_OR_EQUAL -> "lessOrEqual";
+        };
+    }
+
+    private static MethodHandle findStatic(String name, MethodType type) {
+        try {
+            return MethodHandles.lookup().findStatic(RuleCompiler.class, name, type);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing rule operator " + name, e);
+        }
+    }
+
+    // ── Operator implementations (targets of the method handle tree) ──
+
+    private static double add(double a, double b) {
+        return a + b;
+    }
+
+    private static double subtract(double a, double b) {
+        return a - b;
+    }
+
+    private static double multiply(double a, double b) {
+        return a * b;
+    }
+
+    private static double divide(double a, double b) {
+        return a / b;
+    }
+
+    private static double negate(double a) {
+        return -a;
+    }
+
+    private static boolean greater(double a, double b) {
+        return a > b;
+    }
+
+    private static boolean greaterOrEqual(double a, double b) {
+        return a >= b;
+    }
+
+    private static boolean less(double a, double b) {
+        return a < b;
+    }
+
+    private static boolean lessOrEqual(double a, double b) {
+        return a <= b;
+    }
+
+    private static boolean not(boolean a) {
+        return !a;
+    }
+}
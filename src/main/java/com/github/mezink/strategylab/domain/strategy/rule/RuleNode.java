@@ -0,0 +1,164 @@
+package com.github.mezink.strategylab.domain.strategy.rule;
+
+import java.util.Locale;
+
+/**
+ * Abstract syntax tree for a trading rule such as {@code sma(20) > sma(50) and rsi(14) < 70}.
+ * <p>
+ * Nodes are either numeric (evaluate to a price or indicator value per candle) or
+ * predicates (evaluate to true/false per candle). {@link #normalized()} renders a
+ * canonical, fully parenthesised form that is used as the compiled-rule cache key.
+ */
+public sealed interface RuleNode {
+
+    /**
+     * Whether this node evaluates to a boolean rather than a number.
+     */
+    boolean isPredicate();
+
+    /**
+     * Canonical text: lower-case, single-spaced, fully parenthesised.
+     */
+    String normalized();
+
+    /**
+     * A numeric constant such as {@code 70} or {@code 1.5}.
+     */
+    record Literal(double value) implements RuleNode {
+        @Override
+        public boolean isPredicate() {
+            return false;
+        }
+
+        @Override
+        public String normalized() {
+            if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+                return Long.toString((long) value);
+            }
+            return Double.toString(value);
+        }
+    }
+
+    /**
+     * A price field or indicator column, e.g. {@code close} or {@code sma(20)}.
+     */
+    record Column(IndicatorSpec spec) implements RuleNode {
+        @Override
+        public boolean isPredicate() {
+            return false;
+        }
+
+        @Override
+        public String normalized() {
+            return spec.normalized();
+        }
+    }
+
+    /**
+     * Unary minus on a numeric operand.
+     */
+    record Negate(RuleNode operand) implements RuleNode {
+        @Override
+        public boolean isPredicate() {
+            return false;
+        }
+
+        @Override
+        public String normalized() {
+            return "(-" + operand.normalized() + ")";
+        }
+    }
+
+    /**
+     * Arithmetic on two numeric operands.
+     */
+    record Arithmetic(ArithmeticOp op, RuleNode left, RuleNode right) implements RuleNode {
+        @Override
+        public boolean isPredicate() {
+            return false;
+        }
+
+        @Override
+        public String normalized() {
+            return "(%s %s %s)".formatted(left.normalized(), op.symbol(), right.normalized());
+        }
+    }
+
+    /**
+     * Comparison of two numeric operands. Comparisons involving NaN (e.g. an SMA
+     * that has not warmed up yet) are false.
+     */
+    record Comparison(ComparisonOp op, RuleNode left, RuleNode right) implements RuleNode {
+        @Override
+        public boolean isPredicate() {
+            return true;
+        }
+
+        @Override
+        public String normalized() {
+            return "(%s %s %s)".formatted(left.normalized(), op.symbol(), right.normalized());
+        }
+    }
+
+    /**
+     * Short-circuit {@code and} / {@code or} of two predicates.
+     */
+    record Logical(LogicalOp op, RuleNode left, RuleNode right) implements RuleNode {
+        @Override
+        public boolean isPredicate() {
+            return true;
+        }
+
+        @Override
+        public String normalized() {
+            return "(%s %s %s)".formatted(left.normalized(), op.name().toLowerCase(Locale.ROOT), right.normalized());
+        }
+    }
+
+    /**
+     * Negation of a predicate.
+     */
+    record Not(RuleNode operand) implements RuleNode {
+        @Override
+        public boolean isPredicate() {
+            return true;
+        }
+
+        @Override
+        public String normalized() {
+            return "(not " + operand.normalized() + ")";
+        }
+    }
+
+    enum ArithmeticOp {
+        ADD("+"), SUBTRACT("-"), MULTIPLY("*"), DIVIDE("/");
+
+        private final String symbol;
+
+        ArithmeticOp(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String symbol() {
+            return symbol;
+        }
+    }
+
+    enum ComparisonOp {
+        GREATER(">"), GREATER_OR_EQUAL(">="), LESS("<"), LESS_OR_EQUAL("<=");
+
+        private final String symbol;
+
+        ComparisonOp(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String symbol() {
+            return symbol;
+        }
+    }
+
+    enum LogicalOp {
+        AND, OR
+    }
+}
@@ -0,0 +1,310 @@
+package com.github.mezink.strategylab.domain.strategy.rule;
+
+import com.github.mezink.strategylab.domain.strategy.rule.RuleNode.ArithmeticOp;
+import com.github.mezink.strategylab.domain.strategy.rule.RuleNode.ComparisonOp;
+import com.github.mezink.strategylab.domain.strategy.rule.RuleNode.LogicalOp;
+
+import java.util.Locale;
+
+/**
+ * Recursive-descent parser for the rule language.
+ * <pre>
+ * rule       := or
+ * or         := and ("or" and)*
+ * and        := not ("and" not)*
+ * not        := "not" not | comparison
+ * comparison := sum ((">" | ">=" | "&lt;" | "&lt;=") sum)?
+ * sum        := product (("+" | "-") product)*
+ * product    := unary (("*" | "/") unary)*
+ * unary      := "-" unary | primary
+ * primary    := NUMBER | FIELD | INDICATOR "(" INTEGER ")" | "(" rule ")"
+ * </pre>
+ * Fields are {@code open, high, low, close, volume}; indicators are {@code sma, ema, rsi}
+ * over close prices. Keywords are case-insensitive. Type errors (e.g. {@code close and 5})
+ * are reported at parse time, so a rule that parses is guaranteed to compile.
+ */
+public final class RuleParser {
+
+    /** Rules longer than this are rejected before tokenizing. */
+    public static final int MAX_RULE_LENGTH = 1_000;
+
+    private final String source;
+    private int pos;
+
+    private RuleParser(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Parse and type-check a rule. The result is always a predicate node.
+     *
+     * @param source rule text, e.g. {@code sma(20) > sma(50) and rsi(14) < 70}
+     * @return the rule's syntax tree
+     * @throws RuleSyntaxException if the text is not a valid predicate
+     */
+    public static RuleNode parse(String source) {
+        if (source == null || source.isBlank()) {
+            throw new RuleSyntaxException("Rule must not be empty");
+        }
+        if (source.length() > MAX_RULE_LENGTH) {
+            throw new RuleSyntaxException("Rule exceeds %d characters".formatted(MAX_RULE_LENGTH));
+        }
+
+        RuleParser parser = new RuleParser(source);
+        RuleNode node = parser.parseOr();
+        parser.skipWhitespace();
+        if (parser.pos < source.length()) {
+            throw parser.error("Unexpected '" + source.charAt(parser.pos) + "'");
+        }
+        if (!node.isPredicate()) {
+            throw new RuleSyntaxException("Rule must be a condition (e.g. 'sma(20) > sma(50)'): " + source);
+        }
+        return node;
+    }
+
+    private RuleNode parseOr() {
+        RuleNode left = parseAnd();
+        while (acceptKeyword("or")) {
+            left = logical(LogicalOp.OR, left, parseAnd());
+        }
+        return left;
+    }
+
+    private RuleNode parseAnd() {
+        RuleNode left = parseNot();
+        while (acceptKeyword("and")) {
+            left = logical(LogicalOp.AND, left, parseNot());
+        }
+        return left;
+    }
+
+    private RuleNode parseNot() {
+        if (acceptKeyword("not")) {
+            RuleNode operand = parseNot();
+            requirePredicate(operand, "not");
+            return new RuleNode.Not(operand);
+        }
+        return parseComparison();
+    }
+
+    private RuleNode parseComparison() {
+        RuleNode left = parseSum();
+        ComparisonOp op = acceptComparisonOp();
+        if (op == null) {
+            return left;
+        }
+        RuleNode right = parseSum();
+        requireNumeric(left, op.symbol());
+        requireNumeric(right, op.symbol());
+        return new RuleNode.Comparison(op, left, right);
+    }
+
+    private RuleNode parseSum() {
+        RuleNode left = parseProduct();
+        while (true) {
+            ArithmeticOp op;
+            if (accept('+')) {
+                op = ArithmeticOp.ADD;
+            } else if (accept('-')) {
+                op = ArithmeticOp.SUBTRACT;
+            } else {
+                return left;
+            }
+            left = arithmetic(op, left, parseProduct());
+        }
+    }
+
+    private RuleNode parseProduct() {
+        RuleNode left = parseUnary();
+        while (true) {
+            ArithmeticOp op;
+            if (accept('*')) {
+                op = ArithmeticOp.MULTIPLY;
+            } else if (accept('/')) {
+                op = ArithmeticOp.DIVIDE;
+            } else {
+                return left;
+            }
+            left = arithmetic(op, left, parseUnary());
+        }
+    }
+
+    private RuleNode parseUnary() {
+        if (accept('-')) {
+            RuleNode operand = parseUnary();
+            requireNumeric(operand, "-");
+            return new RuleNode.Negate(operand);
+        }
+        return parsePrimary();
+    }
+
+    private RuleNode parsePrimary() {
+        skipWhitespace();
+        if (pos >= source.length()) {
+            throw error("Unexpected end of rule");
+        }
+
+        char c = source.charAt(pos);
+        if (c == '(') {
+            pos++;
+            RuleNode inner = parseOr();
+            expect(')');
+            return inner;
+        }
+        if (Character.isDigit(c) || c == '.') {
+            return new RuleNode.Literal(readNumber());
+        }
+        if (Character.isLetter(c)) {
+            return parseColumn();
+        }
+        throw error("Unexpected '" + c + "'");
+    }
+
+    private RuleNode parseColumn() {
+        int start = pos;
+        String word = readWord();
+        IndicatorSpec.Indicator indicator;
+        try {
+            indicator = IndicatorSpec.Indicator.valueOf(word.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException _) {
+            pos = start;
+            throw error("Unknown field or indicator '" + word + "'");
+        }
+
+        if (!indicator.takesPeriod()) {
+            return new RuleNode.Column(new IndicatorSpec(indicator, 0));
+        }
+
+        expect('(');
+        skipWhitespace();
+        int periodStart = pos;
+        double period = readNumber();
+        if (period != Math.rint(period)) {
+            pos = periodStart;
+            throw error(word + " period must be a whole number");
+        }
+        expect(')');
+
+        try {
+            return new RuleNode.Column(new IndicatorSpec(indicator, (int) period));
+        } catch (IllegalArgumentException e) {
+            throw new RuleSyntaxException(e.getMessage());
+        }
+    }
+
+    private RuleNode logical(LogicalOp op, RuleNode left, RuleNode right) {
+        String keyword = op.name().toLowerCase(Locale.ROOT);
+        requirePredicate(left, keyword);
+        requirePredicate(right, keyword);
+        return new RuleNode.Logical(op, left, right);
+    }
+
+    private RuleNode arithmetic(ArithmeticOp op, RuleNode left, RuleNode right) {
+        requireNumeric(left, op.symbol());
+        requireNumeric(right, op.symbol());
+        return new RuleNode.Arithmetic(op, left, right);
+    }
+
+    private static void requirePredicate(RuleNode node, String operator) {
+        if (!node.isPredicate()) {
+            throw new RuleSyntaxException(
+                    "'%s' expects a condition but got '%s'".formatted(operator, node.normalized()));
+        }
+    }
+
+    private static void requireNumeric(RuleNode node, String operator) {
+        if (node.isPredicate()) {
+            throw new RuleSyntaxException(
+                    "'%s' expects a number but got condition '%s'".formatted(operator, node.normalized()));
+        }
+    }
+
+    // ── Lexing helpers ──
+
+    private ComparisonOp acceptComparisonOp() {
+        if (accept(">=")) {
+            return ComparisonOp.GREATER_OR_EQUAL;
+        }
+        if (accept('>')) {
+            return ComparisonOp.GREATER;
+        }
+        if (accept("<=")) {
+            return ComparisonOp.LESS_OR_EQUAL;
+        }
+        if (accept('<')) {
+            return ComparisonOp.LESS;
+        }
+        return null;
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        skipWhitespace();
+        int end = pos + keyword.length();
+        if (end > source.length() || !source.regionMatches(true, pos, keyword, 0, keyword.length())) {
+            return false;
+        }
+        if (end < source.length() && Character.isLetterOrDigit(source.charAt(end))) {
+            return false;
+        }
+        pos = end;
+        return true;
+    }
+
+    private boolean accept(String token) {
+        skipWhitespace();
+        if (source.startsWith(token, pos)) {
+            pos += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean accept(char token) {
+        skipWhitespace();
+        if (pos < source.length() && source.charAt(pos) == token) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char token) {
+        if (!accept(token)) {
+            throw error(pos < source.length()
+                    ? "Expected '%s' but found '%s'".formatted(token, source.charAt(pos))
+                    : "Expected '%s' but reached end of rule".formatted(token));
+        }
+    }
+
+    private double readNumber() {
+        int start = pos;
+        while (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) {
+            pos++;
+        }
+        String text = source.substring(start, pos);
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException _) {
+            pos = start;
+            throw error("Invalid number '" + text + "'");
+        }
+    }
+
+    private String readWord() {
+        int start = pos;
+        while (pos < source.length() && Character.isLetterOrDigit(source.charAt(pos))) {
+            pos++;
+        }
+        return source.substring(start, pos);
+    }
+
+    private void skipWhitespace() {
+        while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private RuleSyntaxException error(String message) {
+        return new RuleSyntaxException("%s at position %d in rule: %s".formatted(message, pos + 1, source));
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.mezink.strategylab.domain.strategy.rule;
+
+/**
+ * Thrown when a user-supplied rule cannot be parsed or type-checked.
+ * Extends {@link IllegalArgumentException} so the REST layer reports it as a bad request.
+ */
+public class RuleSyntaxException extends IllegalArgumentException {
+
+    public RuleSyntaxException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.mezink.strategylab.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Backtest capacity of one instance. Costs are in candle steps: the candles a backtest
+ * reads times the passes its strategy makes over them (see {@code BacktestCostModel}).
+ *
+ * @param maxRequestCost budget of one synchronous or streamed request; larger ones get 413
+ *                       and have to be submitted as jobs
+ * @param capacity       candle steps running at once, across all requests and jobs
+ * @param queueTimeout   how long a synchronous or streamed request waits for capacity
+ *                       before it gets 429
+ */
+@ConfigurationProperties("strategylab.admission")
+public record AdmissionProperties(
+        @DefaultValue("5000000") long maxRequestCost,
+        @DefaultValue("20000000") long capacity,
+        @DefaultValue("2s") Duration queueTimeout
+) {
+}
@@ -2,29 +2,174 @@ package com.github.mezink.strategylab.infrastructure;
 
 import tools.jackson.databind.ObjectMapper;
 import com.github.mezink.strategylab.domain.engine.BacktestEngine;
+import com.github.mezink.strategylab.domain.port.InstrumentCatalog;
 import com.github.mezink.strategylab.domain.port.MarketDataProvider;
+import com.github.mezink.strategylab.infrastructure.cache.CacheWarmer;
 import com.github.mezink.strategylab.infrastructure.cache.CachedMarketDataProvider;
+import com.github.mezink.strategylab.infrastructure.cache.SeriesStorage;
+import com.github.mezink.strategylab.infrastructure.catalog.InMemoryInstrumentCatalog;
+import com.github.mezink.strategylab.infrastructure.catalog.InstrumentSeedReader;
+import com.github.mezink.strategylab.infrastructure.metrics.InstrumentedBacktestEngine;
+import com.github.mezink.strategylab.infrastructure.metrics.MicrometerAdmissionListener;
+import com.github.mezink.strategylab.infrastructure.offheap.OffHeapCandleStore;
+import com.github.mezink.strategylab.infrastructure.resilience.CircuitBreaker;
+import com.github.mezink.strategylab.infrastructure.resilience.RetryPolicy;
+import com.github.mezink.strategylab.infrastructure.resilience.TokenBucket;
+import com.github.mezink.strategylab.infrastructure.resilience.UpstreamGuard;
+import com.github.mezink.strategylab.infrastructure.startup.JitWarmup;
+import com.github.mezink.strategylab.infrastructure.startup.TrainingRun;
+import com.github.mezink.strategylab.infrastructure.synthetic.SyntheticMarketDataProvider;
+import com.github.mezink.strategylab.infrastructure.yahoo.HttpClientYahooMarketDataProvider;
 import com.github.mezink.strategylab.infrastructure.yahoo.YahooFinanceMarketDataProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.web.client.RestClient;
 
 import com.github.mezink.strategylab.application.ListStrategiesUseCase;
+import com.github.mezink.strategylab.application.admission.AdmissionControl;
+import com.github.mezink.strategylab.application.admission.BacktestCostModel;
 import com.github.mezink.strategylab.application.RunBacktestUseCase;
+import com.github.mezink.strategylab.application.SearchInstrumentsUseCase;
+import com.github.mezink.strategylab.application.StreamBacktestUseCase;
 import com.github.mezink.strategylab.application.ValidateInstrumentUseCase;
+import com.github.mezink.strategylab.application.job.BacktestJobManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.List;
 
 @Configuration
+@EnableConfigurationProperties({
+        AdmissionProperties.class,
+        BacktestJobProperties.class,
+        BacktestProperties.class,
+        BacktestStreamProperties.class,
+        CacheProperties.class,
+        CatalogProperties.class,
+        JitWarmupProperties.class,
+        SyntheticProperties.class,
+        TrainingProperties.class,
+        YahooProperties.class
+})
 public class AppConfig {
 
+    /**
+     * Yahoo market data behind the cache, or generated data when the {@code synthetic}
+     * profile is active (offline tests, benchmarks and load runs). The profile is checked
+     * here rather than with {@code @Profile}, because Spring AOT fixes profile conditions
+     * at build time and the fast-startup image is trained with synthetic data.
+     */
     @Bean
-    public MarketDataProvider marketDataProvider(RestClient.Builder restClientBuilder, ObjectMapper objectMapper) {
-        var yahoo = new YahooFinanceMarketDataProvider(restClientBuilder, objectMapper);
-        return new CachedMarketDataProvider(yahoo);
+    public MarketDataProvider marketDataProvider(
+            RestClient.Builder restClientBuilder,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            Environment environment,
+            YahooProperties yahooProperties,
+            SyntheticProperties syntheticProperties,
+            CacheProperties cacheProperties
+    ) {
+        MarketDataProvider upstream = environment.matchesProfiles("synthetic")
+                ? new SyntheticMarketDataProvider(syntheticProperties.seed())
+                : yahooProvider(restClientBuilder, objectMapper, meterRegistry, yahooProperties);
+        return new CachedMarketDataProvider(upstream, meterRegistry, cacheProperties.negativeTtl(), Clock.systemUTC(),
+                seriesStorage(cacheProperties, meterRegistry), cacheProperties.maxCandles());
+    }
+
+    private static SeriesStorage seriesStorage(CacheProperties properties, MeterRegistry meterRegistry) {
+        return switch (properties.storage()) {
+            case "heap" -> SeriesStorage.HEAP;
+            case "off-heap" -> new OffHeapCandleStore(
+                    properties.storageDirectory().isBlank() ? null : Path.of(properties.storageDirectory()),
+                    meterRegistry);
+            default -> throw new IllegalArgumentException(
+                    "Unknown strategylab.cache.storage '%s' (expected heap or off-heap)".formatted(properties.storage()));
+        };
+    }
+
+    private static MarketDataProvider yahooProvider(
+            RestClient.Builder restClientBuilder,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            YahooProperties yahooProperties
+    ) {
+        var guard = yahooGuard(yahooProperties, meterRegistry);
+        return switch (yahooProperties.client()) {
+            case "http-client" -> new HttpClientYahooMarketDataProvider(
+                    objectMapper, meterRegistry, yahooProperties.baseUrl(), guard,
+                    yahooProperties.connectTimeout(), yahooProperties.requestTimeout());
+            case "rest-client" -> new YahooFinanceMarketDataProvider(
+                    restClientBuilder, objectMapper, meterRegistry, yahooProperties.baseUrl(), guard,
+                    yahooProperties.connectTimeout(), yahooProperties.requestTimeout());
+            default -> throw new IllegalArgumentException(
+                    "Unknown strategylab.yahoo.client '%s' (expected http-client or rest-client)"
+                            .formatted(yahooProperties.client()));
+        };
+    }
+
+    /**
+     * Disabled warm-up is an empty symbol list rather than a missing bean, so the switch
+     * still works in AOT-processed builds.
+     */
+    @Bean
+    public CacheWarmer cacheWarmer(
+            MarketDataProvider marketDataProvider,
+            CacheProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        CacheProperties.Warmup warmup = properties.warmup();
+        return new CacheWarmer(
+                marketDataProvider,
+                warmup.enabled() ? warmup.symbols() : List.of(),
+                warmup.lookback(),
+                warmup.timeout(),
+                Clock.systemUTC(),
+                meterRegistry
+        );
+    }
+
+    @Bean
+    public JitWarmup jitWarmup(ObjectMapper objectMapper, JitWarmupProperties properties) {
+        return new JitWarmup(objectMapper, properties.enabled(), properties.iterations(), properties.maxDuration());
+    }
+
+    @Bean
+    public TrainingRun trainingRun(
+            ConfigurableApplicationContext context,
+            ObjectMapper objectMapper,
+            TrainingProperties properties
+    ) {
+        return new TrainingRun(context, objectMapper, properties.enabled(), properties.rounds());
+    }
+
+    private static UpstreamGuard yahooGuard(YahooProperties properties, MeterRegistry meterRegistry) {
+        return new UpstreamGuard(
+                "yahoo",
+                new TokenBucket(properties.requestsPerSecond(), properties.burst()),
+                properties.maxConcurrent(),
+                properties.acquireTimeout(),
+                new RetryPolicy(
+                        properties.maxAttempts(),
+                        properties.backoffBase(),
+                        properties.backoffMax(),
+                        properties.maxRetryAfter()),
+                new CircuitBreaker(properties.circuitFailureThreshold(), properties.circuitOpenDuration()),
+                meterRegistry
+        );
     }
 
     @Bean
-    public BacktestEngine backtestEngine() {
-        return new BacktestEngine();
+    public BacktestEngine backtestEngine(MeterRegistry meterRegistry) {
+        return new InstrumentedBacktestEngine(meterRegistry);
     }
 
     @Bean
@@ -33,15 +178,80 @@ public class AppConfig {
     }
 
     @Bean
-    public ValidateInstrumentUseCase validateInstrumentUseCase(MarketDataProvider marketDataProvider) {
-        return new ValidateInstrumentUseCase(marketDataProvider);
+    public InstrumentCatalog instrumentCatalog(
+            ResourceLoader resourceLoader,
+            ObjectMapper objectMapper,
+            CatalogProperties properties
+    ) {
+        Resource seed = resourceLoader.getResource(properties.seed());
+        if (!seed.exists()) {
+            throw new IllegalStateException("Instrument catalog seed not found: " + properties.seed());
+        }
+        try (InputStream in = seed.getInputStream()) {
+            String fileName = seed.getFilename() != null ? seed.getFilename() : properties.seed();
+            return new InMemoryInstrumentCatalog(InstrumentSeedReader.read(fileName, in, objectMapper));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read instrument catalog seed " + properties.seed(), e);
+        }
+    }
+
+    @Bean
+    public ValidateInstrumentUseCase validateInstrumentUseCase(
+            MarketDataProvider marketDataProvider,
+            InstrumentCatalog instrumentCatalog
+    ) {
+        return new ValidateInstrumentUseCase(marketDataProvider, instrumentCatalog);
+    }
+
+    @Bean
+    public SearchInstrumentsUseCase searchInstrumentsUseCase(InstrumentCatalog instrumentCatalog) {
+        return new SearchInstrumentsUseCase(instrumentCatalog);
+    }
+
+    /**
+     * One capacity shared by synchronous, streamed and job backtests.
+     */
+    @Bean
+    public AdmissionControl admissionControl(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        AdmissionControl admission = new AdmissionControl(
+                new BacktestCostModel(),
+                properties.maxRequestCost(),
+                properties.capacity(),
+                properties.queueTimeout(),
+                new MicrometerAdmissionListener(meterRegistry));
+        MicrometerAdmissionListener.bindInFlight(admission, meterRegistry);
+        return admission;
     }
 
     @Bean
     public RunBacktestUseCase runBacktestUseCase(
             MarketDataProvider marketDataProvider,
-            BacktestEngine backtestEngine
+            BacktestEngine backtestEngine,
+            AdmissionControl admissionControl,
+            BacktestProperties properties
+    ) {
+        return new RunBacktestUseCase(marketDataProvider, backtestEngine, properties.timeout(), admissionControl);
+    }
+
+    @Bean
+    public StreamBacktestUseCase streamBacktestUseCase(
+            MarketDataProvider marketDataProvider,
+            BacktestEngine backtestEngine,
+            AdmissionControl admissionControl,
+            BacktestStreamProperties properties
     ) {
-        return new RunBacktestUseCase(marketDataProvider, backtestEngine);
+        return new StreamBacktestUseCase(marketDataProvider, backtestEngine, properties.maxConcurrency(),
+                properties.timeout(), admissionControl);
+    }
+
+    @Bean
+    public BacktestJobManager backtestJobManager(RunBacktestUseCase runBacktestUseCase, BacktestJobProperties properties) {
+        return new BacktestJobManager(
+                runBacktestUseCase,
+                properties.workers(),
+                properties.queueCapacity(),
+                properties.retention(),
+                Clock.systemUTC()
+        );
     }
 }
@@ -0,0 +1,21 @@
+package com.github.mezink.strategylab.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the asynchronous backtest job executor.
+ *
+ * @param workers       backtest batches running concurrently
+ * @param queueCapacity batches waiting for a worker before submissions are rejected with 429
+ * @param retention     how long finished jobs and their results are kept
+ */
+@ConfigurationProperties("strategylab.jobs")
+public record BacktestJobProperties(
+        @DefaultValue("4") int workers,
+        @DefaultValue("32") int queueCapacity,
+        @DefaultValue("1h") Duration retention
+) {
+}
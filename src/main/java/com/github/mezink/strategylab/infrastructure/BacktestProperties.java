@@ -0,0 +1,17 @@
+package com.github.mezink.strategylab.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for synchronous comparisons ({@code POST /api/backtest}).
+ *
+ * @param timeout deadline of one request, covering its market data fetches and backtests
+ */
+@ConfigurationProperties("strategylab.backtest")
+public record BacktestProperties(
+        @DefaultValue("30s") Duration timeout
+) {
+}
@@ -0,0 +1,20 @@
+package com.github.mezink.strategylab.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for streamed comparisons ({@code POST /api/backtest/stream}).
+ *
+ * @param maxConcurrency backtests of one request running at once; also bounds how many
+ *                       finished results can wait for a slow client
+ * @param timeout        deadline of one request; backtests not done by then are reported as errors
+ */
+@ConfigurationProperties("strategylab.stream")
+public record BacktestStreamProperties(
+        @DefaultValue("4") int maxConcurrency,
+        @DefaultValue("5m") Duration timeout
+) {
+}
@@ -0,0 +1,41 @@
+package com.github.mezink.strategylab.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.time.Period;
+import java.util.List;
+
+/**
+ * Market data cache settings.
+ *
+ * @param negativeTtl      how long an unknown symbol stays cached as unknown before it is looked up again
+ * @param storage          {@code heap} or {@code off-heap} (native memory outside the GC'd heap)
+ * @param storageDirectory for {@code off-heap}: directory for memory-mapped files; empty for anonymous memory
+ * @param maxCandles       evict least recently used series above this many cached candles; 0 for no limit
+ * @param warmup           symbols loaded into the cache at startup
+ */
+@ConfigurationProperties("strategylab.cache")
+public record CacheProperties(
+        @DefaultValue("10m") Duration negativeTtl,
+        @DefaultValue("heap") String storage,
+        @DefaultValue("") String storageDirectory,
+        @DefaultValue("0") long maxCandles,
+        @DefaultValue Warmup warmup
+) {
+
+    /**
+     * @param enabled  whether to warm the cache at all
+     * @param symbols  tickers to load
+     * @param lookback history loaded per symbol, ending today; shorter backtests are served from it
+     * @param timeout  longest startup waits for warm-up before reporting ready anyway
+     */
+    public record Warmup(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue List<String> symbols,
+            @DefaultValue("10y") Period lookback,
+            @DefaultValue("60s") Duration timeout
+    ) {
+    }
+}
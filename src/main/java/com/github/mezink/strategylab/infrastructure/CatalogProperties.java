@@ -0,0 +1,15 @@
+package com.github.mezink.strategylab.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Instrument catalog used for autocomplete.
+ *
+ * @param seed Spring resource location of a CSV or JSON seed file, e.g. {@code file:/data/instruments.csv}
+ */
+@ConfigurationProperties("strategylab.catalog")
+public record CatalogProperties(
+        @DefaultValue("classpath:catalog/instruments.csv") String seed
+) {
+}
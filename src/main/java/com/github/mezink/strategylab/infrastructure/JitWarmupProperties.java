@@ -0,0 +1,21 @@
+package com.github.mezink.strategylab.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Startup JIT warm-up; readiness waits until it finishes.
+ *
+ * @param enabled     whether to warm up at all
+ * @param iterations  passes over every strategy; warm-up stops after this many
+ * @param maxDuration or after this long, whichever comes first
+ */
+@ConfigurationProperties("strategylab.jit-warmup")
+public record JitWarmupProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("200") int iterations,
+        @DefaultValue("30s") Duration maxDuration
+) {
+}
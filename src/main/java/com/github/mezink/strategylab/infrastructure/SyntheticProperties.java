@@ -0,0 +1,15 @@
+package com.github.mezink.strategylab.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Generated market data used instead of Yahoo when the {@code synthetic} profile is active.
+ *
+ * @param seed seed for every generated series; the same seed yields the same candles
+ */
+@ConfigurationProperties("strategylab.synthetic")
+public record SyntheticProperties(
+        @DefaultValue("42") long seed
+) {
+}
@@ -0,0 +1,18 @@
+package com.github.mezink.strategylab.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Training run used when building the fast-startup image: the application serves a
+ * representative workload to itself and exits, so the JVM can record what it loaded.
+ *
+ * @param enabled run the workload after startup and then exit; never set in production
+ * @param rounds  passes over every strategy, range and response format
+ */
+@ConfigurationProperties("strategylab.training")
+public record TrainingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("20") int rounds
+) {
+}
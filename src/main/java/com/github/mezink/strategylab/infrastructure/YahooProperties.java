@@ -0,0 +1,45 @@
+package com.github.mezink.strategylab.infrastructure;
+
+import com.github.mezink.strategylab.infrastructure.yahoo.YahooFinanceMarketDataProvider;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Yahoo Finance endpoint and the limits applied to it, shared by all requests.
+ *
+ * @param client                  {@code http-client} (JDK HttpClient, HTTP/2 + compression) or
+ *                                {@code rest-client} (Spring RestClient)
+ * @param baseUrl                 chart API host
+ * @param connectTimeout          TCP/TLS connect timeout
+ * @param requestTimeout          per-attempt response timeout, capped to the caller's deadline
+ * @param requestsPerSecond       sustained request rate
+ * @param burst                   requests allowed back to back before the rate applies
+ * @param maxConcurrent           requests in flight at once
+ * @param acquireTimeout          longest a caller waits for a rate token or in-flight slot before failing
+ * @param maxAttempts             attempts per call, including the first
+ * @param backoffBase             backoff ceiling before the first retry (doubles per retry, full jitter)
+ * @param backoffMax              backoff ceiling for any retry
+ * @param maxRetryAfter           longest server {@code Retry-After} worth waiting for
+ * @param circuitFailureThreshold consecutive transient failures that open the circuit
+ * @param circuitOpenDuration     how long an open circuit fails fast before a trial call
+ */
+@ConfigurationProperties("strategylab.yahoo")
+public record YahooProperties(
+        @DefaultValue("http-client") String client,
+        @DefaultValue(YahooFinanceMarketDataProvider.DEFAULT_BASE_URL) String baseUrl,
+        @DefaultValue("5s") Duration connectTimeout,
+        @DefaultValue("15s") Duration requestTimeout,
+        @DefaultValue("5") double requestsPerSecond,
+        @DefaultValue("10") int burst,
+        @DefaultValue("8") int maxConcurrent,
+        @DefaultValue("2s") Duration acquireTimeout,
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("200ms") Duration backoffBase,
+        @DefaultValue("5s") Duration backoffMax,
+        @DefaultValue("10s") Duration maxRetryAfter,
+        @DefaultValue("5") int circuitFailureThreshold,
+        @DefaultValue("30s") Duration circuitOpenDuration
+) {
+}
@@ -0,0 +1,125 @@
+package com.github.mezink.strategylab.infrastructure.cache;
+
+import com.github.mezink.strategylab.domain.port.MarketDataProvider;
+import com.github.mezink.strategylab.domain.port.SeriesRequest;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads a configured symbol universe into the market data cache at startup, all symbols
+ * in one concurrent batch.
+ * <p>
+ * Spring Boot only reports readiness ({@code /actuator/health/readiness}) after all
+ * {@link ApplicationRunner}s return, so blocking here keeps the instance out of the load
+ * balancer until the cache is warm or {@code timeout} has passed, whichever comes first.
+ * Symbols still loading at the deadline keep loading in the background.
+ * <p>
+ * Progress is published as {@code strategylab.cache.warmup.progress} (0..1, finished
+ * symbols over configured symbols) and {@code strategylab.cache.warmup.symbols} tagged
+ * {@code state=loaded|failed}.
+ */
+public class CacheWarmer implements ApplicationRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheWarmer.class);
+
+    private final MarketDataProvider provider;
+    private final List<String> symbols;
+    private final Period lookback;
+    private final Duration timeout;
+    private final Clock clock;
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    public CacheWarmer(MarketDataProvider provider, List<String> symbols, Period lookback, Duration timeout,
+                       Clock clock, MeterRegistry registry) {
+        this.provider = provider;
+        this.symbols = symbols.stream().map(String::trim).filter(s -> !s.isEmpty()).distinct().toList();
+        this.lookback = lookback;
+        this.timeout = timeout;
+        this.clock = clock;
+
+        Gauge.builder("strategylab.cache.warmup.progress", this, CacheWarmer::progress)
+                .description("Fraction of warm-up symbols that finished loading or failed")
+                .register(registry);
+        Gauge.builder("strategylab.cache.warmup.symbols", loaded, AtomicInteger::get)
+                .tag("state", "loaded")
+                .register(registry);
+        Gauge.builder("strategylab.cache.warmup.symbols", failed, AtomicInteger::get)
+                .tag("state", "failed")
+                .register(registry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * Load all symbols, waiting at most {@code timeout}.
+     *
+     * @return {@code true} if every symbol finished (loaded or failed) before the deadline
+     */
+    public boolean warmUp() {
+        if (symbols.isEmpty()) {
+            return true;
+        }
+
+        LocalDate end = LocalDate.now(clock);
+        LocalDate start = end.minus(lookback);
+        List<SeriesRequest> requests = symbols.stream()
+                .map(symbol -> new SeriesRequest(symbol, start, end))
+                .toList();
+        LOG.info("Warming market data cache with {} symbols from {} to {}", symbols.size(), start, end);
+
+        long started = System.nanoTime();
+        List<CompletableFuture<?>> futures = provider.getSeriesBatch(requests).stream()
+                .<CompletableFuture<?>>map(future -> future.whenComplete((series, error) -> {
+                    if (error == null) {
+                        // Only the cache keeps it
+                        series.release();
+                        loaded.incrementAndGet();
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                }))
+                .toList();
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .exceptionally(_ -> null)
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException _) {
+            LOG.warn("Cache warm-up deadline of {} passed with {}/{} symbols done; continuing in background",
+                    timeout, loaded.get() + failed.get(), symbols.size());
+            return false;
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unexpected warm-up failure", e);
+        }
+
+        LOG.info("Cache warm-up finished in {} ms: {} loaded, {} failed",
+                Duration.ofNanos(System.nanoTime() - started).toMillis(), loaded.get(), failed.get());
+        return true;
+    }
+
+    private double progress() {
+        return symbols.isEmpty() ? 1.0 : (double) (loaded.get() + failed.get()) / symbols.size();
+    }
+}
@@ -1,52 +1,574 @@
 package com.github.mezink.strategylab.infrastructure.cache;
 
+import com.github.mezink.strategylab.domain.model.Deadline;
 import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.model.Interval;
 import com.github.mezink.strategylab.domain.model.TimeSeries;
 import com.github.mezink.strategylab.domain.port.MarketDataProvider;
+import com.github.mezink.strategylab.domain.port.SeriesRequest;
+import com.github.mezink.strategylab.infrastructure.jfr.CacheLookupEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Caching decorator for MarketDataProvider. Stores results in memory keyed by
- * symbol + start + end + interval.
+ * symbol + start + end + interval. A request whose range lies inside an already cached
+ * range for the same symbol is answered by slicing that series, so one long warm-up
+ * fetch serves every shorter backtest. Weekly, monthly and quarterly bars are rolled up
+ * from the daily series and cached alongside it.
+ * <p>
+ * Series are kept by a {@link SeriesStorage} (on the heap by default, or off-heap). With a
+ * {@code maxCandles} budget the least recently used series are evicted once the cached
+ * candles exceed it. The cache holds one reference to each stored series and every series
+ * it returns carries another for the caller, so storage freed explicitly is freed once it
+ * is evicted and no caller still reads it. Intraday bars count as candles too, so one 1m series weighs as much as
+ * hundreds of daily ones.
+ * <p>
+ * Symbol validation is answered from any cached series for the symbol. Unknown symbols are
+ * cached for {@code negativeTtl} only, so a ticker that was mistyped, delisted or briefly
+ * unavailable is looked up again later.
+ * <p>
+ * Publishes {@code strategylab.cache.requests} (tagged hit/miss),
+ * {@code strategylab.cache.load.failures} and a {@code strategylab.cache.size} gauge,
+ * each tagged with the cache name ({@code series} or {@code symbol}), a
+ * {@link CacheLookupEvent} per lookup, and {@code strategylab.cache.candles} and
+ * {@code strategylab.cache.evictions} for the series cache.
  */
 public class CachedMarketDataProvider implements MarketDataProvider {
 
     private static final Logger LOG = LoggerFactory.getLogger(CachedMarketDataProvider.class);
+    private static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofMinutes(10);
 
     private final MarketDataProvider delegate;
     private final Map<String, TimeSeries> seriesCache = new ConcurrentHashMap<>();
     private final Map<String, Optional<Instrument>> symbolCache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<TimeSeries>> batchInFlight = new ConcurrentHashMap<>();
+    private final Map<String, List<CachedRange>> rangesBySymbol = new ConcurrentHashMap<>();
+    private final Map<String, Instant> unknownUntil = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastUsed = new ConcurrentHashMap<>();
+    private final AtomicLong useClock = new AtomicLong();
+    private final AtomicLong residentCandles = new AtomicLong();
+    private final Duration negativeTtl;
+    private final Clock clock;
+    private final SeriesStorage storage;
+    private final long maxCandles;
+    private final Counter evictions;
+    private final CacheMeters seriesMeters;
+    private final CacheMeters symbolMeters;
 
     public CachedMarketDataProvider(MarketDataProvider delegate) {
+        this(delegate, Metrics.globalRegistry);
+    }
+
+    public CachedMarketDataProvider(MarketDataProvider delegate, MeterRegistry registry) {
+        this(delegate, registry, DEFAULT_NEGATIVE_TTL, Clock.systemUTC());
+    }
+
+    public CachedMarketDataProvider(MarketDataProvider delegate, MeterRegistry registry, Duration negativeTtl,
+                                    Clock clock) {
+        this(delegate, registry, negativeTtl, clock, SeriesStorage.HEAP, 0);
+    }
+
+    /**
+     * @param storage    where cached candles are kept
+     * @param maxCandles evict least recently used series above this many cached candles; 0 for no limit
+     */
+    public CachedMarketDataProvider(MarketDataProvider delegate, MeterRegistry registry, Duration negativeTtl,
+                                    Clock clock, SeriesStorage storage, long maxCandles) {
         this.delegate = delegate;
+        this.negativeTtl = negativeTtl;
+        this.clock = clock;
+        this.storage = storage;
+        this.maxCandles = maxCandles;
+        this.seriesMeters = new CacheMeters(registry, "series", seriesCache);
+        this.symbolMeters = new CacheMeters(registry, "symbol", symbolCache);
+        this.evictions = Counter.builder("strategylab.cache.evictions")
+                .description("Series evicted to stay within max-candles")
+                .register(registry);
+        Gauge.builder("strategylab.cache.candles", residentCandles, AtomicLong::get)
+                .description("Candles held by the series cache")
+                .register(registry);
     }
 
     @Override
     public TimeSeries getDailySeries(String symbol, LocalDate start, LocalDate end) {
-        String key = cacheKey(symbol, start, end);
-        return seriesCache.computeIfAbsent(key, k -> {
-            LOG.info("Cache miss for series: {}", k);
-            return delegate.getDailySeries(symbol, start, end);
+        return getSeries(symbol, start, end, Interval.ONE_DAY);
+    }
+
+    @Override
+    public TimeSeries getSeries(String symbol, LocalDate start, LocalDate end, Interval interval) {
+        return getSeries(symbol, start, end, interval, Deadline.NONE);
+    }
+
+    @Override
+    public TimeSeries getSeries(String symbol, LocalDate start, LocalDate end, Interval interval, Deadline deadline) {
+        if (interval.isRollup()) {
+            SeriesRequest request = new SeriesRequest(symbol, start, end, interval);
+            TimeSeries rolled = cachedRollup(request);
+            if (rolled != null) {
+                return rolled;
+            }
+            TimeSeries daily = getSeries(symbol, start, end, Interval.ONE_DAY, deadline);
+            try {
+                return rollUp(request, daily);
+            } finally {
+                daily.release();
+            }
+        }
+        String key = cacheKey(symbol, start, end, interval);
+        while (true) {
+            if (!seriesCache.containsKey(key)) {
+                TimeSeries covered = sliceOfCachedRange(symbol, start, end, interval);
+                if (covered != null) {
+                    seriesMeters.hits.increment();
+                    return covered;
+                }
+            }
+            TimeSeries series = lookup(seriesCache, seriesMeters, key, symbol, () -> {
+                LOG.info("Cache miss for series: {}", key);
+                TimeSeries stored = storage.store(delegate.getSeries(symbol, start, end, interval, deadline));
+                admit(key, symbol, start, end, interval, stored);
+                return stored;
+            });
+            boolean acquired = series.acquire();
+            touch(key);
+            evictIfOverBudget();
+            if (acquired) {
+                return series;
+            }
+            // Evicted and freed between the lookup and the caller's reference; look again
+        }
+    }
+
+    /**
+     * Serves cached series immediately and fetches the rest with a single delegate batch.
+     * A series already being fetched by another batch is shared rather than fetched twice.
+     * Callers get copies of the shared futures, so cancelling one caller's future leaves the
+     * fetch running for the others and for the cache. Uncached rollups are fetched as daily
+     * series in the same batch.
+     * <p>
+     * A fetch runs under the deadline of the request that started it. With one configured
+     * request timeout that is the earliest deadline among the requests sharing it.
+     * <p>
+     * Each caller's reference is taken when its future completes; a future cancelled first
+     * takes none.
+     */
+    @Override
+    public List<CompletableFuture<TimeSeries>> getSeriesBatch(List<SeriesRequest> requests, Deadline deadline) {
+        List<CompletableFuture<TimeSeries>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        List<SeriesRequest> fetches = new ArrayList<>(requests.size());
+        List<Integer> fetchIndexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            SeriesRequest request = requests.get(i);
+            if (!request.interval().isRollup()) {
+                fetches.add(request);
+                fetchIndexes.add(i);
+                continue;
+            }
+            TimeSeries rolled = cachedRollup(request);
+            if (rolled != null) {
+                results.set(i, CompletableFuture.completedFuture(rolled));
+            } else {
+                fetches.add(new SeriesRequest(request.symbol(), request.start(), request.end()));
+                fetchIndexes.add(i);
+            }
+        }
+
+        List<CompletableFuture<TimeSeries>> fetched = fetchBatch(fetches, deadline);
+        for (int j = 0; j < fetches.size(); j++) {
+            SeriesRequest request = requests.get(fetchIndexes.get(j));
+            results.set(fetchIndexes.get(j), request.interval().isRollup()
+                    ? rollUpWhenFetched(request, fetched.get(j))
+                    : fetched.get(j));
+        }
+        return results;
+    }
+
+    /**
+     * The rollup of a daily series being fetched. The daily series' reference is released
+     * once rolled up, also when the caller has cancelled the rollup.
+     */
+    private CompletableFuture<TimeSeries> rollUpWhenFetched(SeriesRequest request,
+                                                            CompletableFuture<TimeSeries> daily) {
+        CompletableFuture<TimeSeries> rolled = new CompletableFuture<>();
+        daily.whenComplete((series, error) -> {
+            if (error != null) {
+                rolled.completeExceptionally(error);
+                return;
+            }
+            try {
+                if (!rolled.isDone()) {
+                    rolled.complete(rollUp(request, series));
+                }
+            } catch (RuntimeException e) {
+                rolled.completeExceptionally(e);
+            } finally {
+                series.release();
+            }
+        });
+        return rolled;
+    }
+
+    private List<CompletableFuture<TimeSeries>> fetchBatch(List<SeriesRequest> requests, Deadline deadline) {
+        List<CompletableFuture<TimeSeries>> results = new ArrayList<>(requests.size());
+        List<SeriesRequest> misses = new ArrayList<>();
+        List<CompletableFuture<TimeSeries>> missFutures = new ArrayList<>();
+
+        for (SeriesRequest request : requests) {
+            String key = cacheKey(request);
+            TimeSeries cached = seriesCache.get(key);
+            if (cached != null && cached.acquire()) {
+                touch(key);
+            } else {
+                cached = sliceOfCachedRange(request.symbol(), request.start(), request.end(), request.interval());
+            }
+            if (cached != null) {
+                seriesMeters.hits.increment();
+                results.add(CompletableFuture.completedFuture(cached));
+                continue;
+            }
+            CompletableFuture<TimeSeries> pending = new CompletableFuture<>();
+            CompletableFuture<TimeSeries> existing = batchInFlight.putIfAbsent(key, pending);
+            if (existing != null) {
+                results.add(forCaller(existing, request, deadline));
+                continue;
+            }
+            seriesMeters.misses.increment();
+            LOG.info("Cache miss for series: {}", key);
+            misses.add(request);
+            missFutures.add(pending);
+            results.add(forCaller(pending, request, deadline));
+        }
+
+        if (!misses.isEmpty()) {
+            List<CompletableFuture<TimeSeries>> fetched;
+            try {
+                fetched = delegate.getSeriesBatch(misses, deadline);
+            } catch (RuntimeException e) {
+                for (int i = 0; i < misses.size(); i++) {
+                    SeriesRequest request = misses.get(i);
+                    batchInFlight.remove(cacheKey(request));
+                    missFutures.get(i).completeExceptionally(e);
+                }
+                seriesMeters.loadFailures.increment(misses.size());
+                return results;
+            }
+            for (int i = 0; i < misses.size(); i++) {
+                SeriesRequest request = misses.get(i);
+                String key = cacheKey(request);
+                CompletableFuture<TimeSeries> pending = missFutures.get(i);
+                fetched.get(i).whenComplete((series, error) -> {
+                    TimeSeries stored = null;
+                    Throwable failure = error;
+                    if (failure == null) {
+                        try {
+                            stored = storage.store(series);
+                            TimeSeries cachedFirst = seriesCache.putIfAbsent(key, stored);
+                            if (cachedFirst == null) {
+                                admit(key, request.symbol(), request.start(), request.end(), request.interval(), stored);
+                                evictIfOverBudget();
+                            } else {
+                                // Loaded meanwhile by getSeries: share that copy and free this one
+                                stored.release();
+                                stored = cachedFirst;
+                            }
+                        } catch (RuntimeException e) {
+                            failure = e;
+                        }
+                    }
+                    if (failure != null) {
+                        seriesMeters.loadFailures.increment();
+                    }
+                    batchInFlight.remove(key);
+                    if (failure == null) {
+                        pending.complete(stored);
+                    } else {
+                        pending.completeExceptionally(failure);
+                    }
+                });
+            }
+        }
+        return results;
+    }
+
+    /**
+     * A future for one caller of a shared fetch, completed with the series once the caller's
+     * reference is taken. If the caller cancelled first no reference is kept, and a series
+     * freed before the caller could take one (evicted right after loading) is loaded again.
+     * Cancelling it leaves the shared fetch running.
+     */
+    private CompletableFuture<TimeSeries> forCaller(CompletableFuture<TimeSeries> shared, SeriesRequest request,
+                                                    Deadline deadline) {
+        CompletableFuture<TimeSeries> result = new CompletableFuture<>();
+        shared.whenComplete((series, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            if (result.isDone()) {
+                return;
+            }
+            TimeSeries acquired;
+            try {
+                acquired = series.acquire() ? series
+                        : getSeries(request.symbol(), request.start(), request.end(), request.interval(), deadline);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            if (!result.complete(acquired)) {
+                acquired.release();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * A cached weekly, monthly or quarterly series for exactly this request, or {@code null}.
+     * Rollups are never sliced: a bar covering days outside the requested range would change.
+     * They are kept on the heap, so they need no reference for the caller.
+     */
+    private TimeSeries cachedRollup(SeriesRequest request) {
+        String key = cacheKey(request);
+        TimeSeries rolled = seriesCache.get(key);
+        if (rolled != null) {
+            seriesMeters.hits.increment();
+            touch(key);
+        }
+        return rolled;
+    }
+
+    /**
+     * Roll {@code daily} up to the request's interval and cache the result next to the
+     * daily series. It counts against {@code maxCandles} like any other series.
+     */
+    private TimeSeries rollUp(SeriesRequest request, TimeSeries daily) {
+        String key = cacheKey(request);
+        TimeSeries rolled = seriesCache.computeIfAbsent(key, _ -> {
+            TimeSeries series = daily.rollUp(request.interval());
+            admit(key, request.symbol(), request.start(), request.end(), request.interval(), series);
+            return series;
         });
+        touch(key);
+        evictIfOverBudget();
+        return rolled;
     }
 
     @Override
     public Optional<Instrument> validateSymbol(String symbol) {
         String key = symbol.toUpperCase(Locale.ROOT);
-        return symbolCache.computeIfAbsent(key, k -> {
-            LOG.info("Cache miss for symbol validation: {}", k);
-            return delegate.validateSymbol(symbol);
+        expireUnknown(key);
+        if (!symbolCache.containsKey(key)) {
+            List<CachedRange> ranges = rangesBySymbol.get(key);
+            if (ranges != null && !ranges.isEmpty()) {
+                symbolMeters.hits.increment();
+                Optional<Instrument> known = Optional.of(ranges.getFirst().series().instrument());
+                symbolCache.putIfAbsent(key, known);
+                return known;
+            }
+        }
+        return lookup(symbolCache, symbolMeters, key, symbol, () -> {
+            LOG.info("Cache miss for symbol validation: {}", key);
+            Optional<Instrument> instrument = delegate.validateSymbol(symbol);
+            if (instrument.isEmpty()) {
+                unknownUntil.put(key, clock.instant().plus(negativeTtl));
+            }
+            return instrument;
         });
     }
 
-    private static String cacheKey(String symbol, LocalDate start, LocalDate end) {
-        return "%s:%s:%s:1d".formatted(symbol.toUpperCase(Locale.ROOT), start, end);
+    private void expireUnknown(String key) {
+        Instant until = unknownUntil.get(key);
+        if (until != null && !clock.instant().isBefore(until)) {
+            // Remove the marker first so a concurrent reload can set a fresh one
+            unknownUntil.remove(key, until);
+            symbolCache.remove(key, Optional.empty());
+        }
+    }
+
+    private static <V> V lookup(Map<String, V> cache, CacheMeters meters, String key, String symbol,
+                                Supplier<V> loader) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        V value = cache.get(key);
+        boolean hit = value != null;
+        try {
+            if (hit) {
+                meters.hits.increment();
+                return value;
+            }
+            value = cache.computeIfAbsent(key, _ -> {
+                meters.misses.increment();
+                try {
+                    return loader.get();
+                } catch (RuntimeException e) {
+                    meters.loadFailures.increment();
+                    throw e;
+                }
+            });
+            return value;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.cache = meters.name;
+                event.hit = hit;
+                event.symbol = symbol;
+                if (value instanceof TimeSeries series) {
+                    event.candleCount = series.size();
+                }
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * The part of a cached series covering {@code [start, end]}, with a reference for the
+     * caller, or {@code null} if no cached range for the symbol and interval contains it.
+     */
+    private TimeSeries sliceOfCachedRange(String symbol, LocalDate start, LocalDate end, Interval interval) {
+        List<CachedRange> ranges = rangesBySymbol.get(symbol.toUpperCase(Locale.ROOT));
+        if (ranges == null) {
+            return null;
+        }
+        for (CachedRange range : ranges) {
+            if (range.interval() == interval && !interval.isRollup()
+                    && !start.isBefore(range.start()) && !end.isAfter(range.end())) {
+                TimeSeries cached = range.series();
+                if (!cached.acquire()) {
+                    // Evicted and freed since the ranges were read
+                    continue;
+                }
+                touch(range.key());
+                try {
+                    return cached.slice(start, end);
+                } catch (IllegalArgumentException _) {
+                    // No candles in the requested range; let the delegate report it
+                    cached.release();
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Record a newly cached series for range slicing and the candle budget.
+     */
+    private void admit(String key, String symbol, LocalDate start, LocalDate end, Interval interval,
+                       TimeSeries series) {
+        rangesBySymbol.computeIfAbsent(symbol.toUpperCase(Locale.ROOT), _ -> new CopyOnWriteArrayList<>())
+                .add(new CachedRange(key, start, end, interval, series));
+        residentCandles.addAndGet(series.size());
+        if (maxCandles > 0) {
+            lastUsed.put(key, useClock.incrementAndGet());
+        }
+    }
+
+    private void touch(String key) {
+        if (maxCandles > 0 && seriesCache.containsKey(key)) {
+            lastUsed.put(key, useClock.incrementAndGet());
+        }
+    }
+
+    /**
+     * Evict least recently used series until the cached candles fit {@code maxCandles}. The
+     * most recent series always stays, even if it alone exceeds the budget. Runs outside
+     * {@code computeIfAbsent}, which must not modify other keys of the same map.
+     */
+    private synchronized void evictIfOverBudget() {
+        if (maxCandles <= 0) {
+            return;
+        }
+        while (residentCandles.get() > maxCandles && seriesCache.size() > 1) {
+            String oldest = null;
+            long oldestUse = Long.MAX_VALUE;
+            for (Map.Entry<String, Long> entry : lastUsed.entrySet()) {
+                if (entry.getValue() < oldestUse && seriesCache.containsKey(entry.getKey())) {
+                    oldest = entry.getKey();
+                    oldestUse = entry.getValue();
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            evict(oldest);
+        }
+    }
+
+    private void evict(String key) {
+        lastUsed.remove(key);
+        TimeSeries removed = seriesCache.remove(key);
+        if (removed == null) {
+            return;
+        }
+        residentCandles.addAndGet(-removed.size());
+        rangesBySymbol.values().forEach(ranges -> ranges.removeIf(range -> range.key().equals(key)));
+        evictions.increment();
+        LOG.debug("Evicted series {} ({} candles)", key, removed.size());
+        // Frees off-heap storage now, or once the last running backtest releases it
+        removed.release();
+    }
+
+    private static String cacheKey(SeriesRequest request) {
+        return cacheKey(request.symbol(), request.start(), request.end(), request.interval());
+    }
+
+    private static String cacheKey(String symbol, LocalDate start, LocalDate end, Interval interval) {
+        return "%s:%s:%s:%s".formatted(symbol.toUpperCase(Locale.ROOT), start, end, interval.code());
+    }
+
+    /**
+     * A cached series together with its cache key and the range and interval it was requested for.
+     */
+    private record CachedRange(String key, LocalDate start, LocalDate end, Interval interval, TimeSeries series) {
+    }
+
+    /**
+     * Meters for one cache, registered once so lookups only increment counters.
+     */
+    private static final class CacheMeters {
+
+        private final String name;
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter loadFailures;
+
+        private CacheMeters(MeterRegistry registry, String cache, Map<String, ?> entries) {
+            this.name = cache;
+            this.hits = Counter.builder("strategylab.cache.requests")
+                    .tag("cache", cache).tag("result", "hit")
+                    .register(registry);
+            this.misses = Counter.builder("strategylab.cache.requests")
+                    .tag("cache", cache).tag("result", "miss")
+                    .register(registry);
+            this.loadFailures = Counter.builder("strategylab.cache.load.failures")
+                    .description("Delegate calls that threw while populating the cache")
+                    .tag("cache", cache)
+                    .register(registry);
+            Gauge.builder("strategylab.cache.size", entries, Map::size)
+                    .description("Number of cached entries")
+                    .tag("cache", cache)
+                    .register(registry);
+        }
     }
 }
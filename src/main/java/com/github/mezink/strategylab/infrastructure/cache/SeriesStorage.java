@@ -0,0 +1,22 @@
+package com.github.mezink.strategylab.infrastructure.cache;
+
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+
+/**
+ * Where {@link CachedMarketDataProvider} keeps the candles of a cached series. The cache
+ * keeps whatever {@link #store} returns and {@link TimeSeries#release() releases} it on
+ * eviction, or at once if another copy of the same series was cached first.
+ */
+@FunctionalInterface
+public interface SeriesStorage {
+
+    /** Keeps fetched series as they are, on the heap. */
+    SeriesStorage HEAP = series -> series;
+
+    /**
+     * Copy {@code series} into this storage.
+     *
+     * @return an equivalent series backed by this storage, holding one reference to it
+     */
+    TimeSeries store(TimeSeries series);
+}
@@ -0,0 +1,257 @@
+package com.github.mezink.strategylab.infrastructure.catalog;
+
+import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.port.InstrumentCatalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Instrument catalog held in sorted arrays: one of upper-cased symbols and one of
+ * lower-cased name words, each paired with its instrument. A prefix lookup is two binary
+ * searches bounding a contiguous run, so searches allocate little and finish in
+ * microseconds even for tens of thousands of instruments.
+ * <p>
+ * The arrays form an immutable {@link Index} swapped atomically on every change, so
+ * searches never lock. Changes rebuild the index (O(n log n)); they come from the seed
+ * file and from successful symbol validations, both rare next to searches, and a change
+ * that would not alter the entry is skipped.
+ */
+public class InMemoryInstrumentCatalog implements InstrumentCatalog {
+
+    /** Queries shorter than this get no fuzzy matches; one-letter typos match too much. */
+    private static final int MIN_FUZZY_QUERY = 3;
+
+    private final Object writeLock = new Object();
+    private volatile Index index = Index.build(List.of());
+
+    public InMemoryInstrumentCatalog() {
+    }
+
+    public InMemoryInstrumentCatalog(Collection<Instrument> instruments) {
+        addAll(instruments);
+    }
+
+    @Override
+    public List<Instrument> search(String query, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        Index current = index;
+        String symbolQuery = query.trim().toUpperCase(Locale.ROOT);
+        String nameQuery = query.trim().toLowerCase(Locale.ROOT);
+        Set<Instrument> results = new LinkedHashSet<>();
+
+        int exact = Arrays.binarySearch(current.symbols, symbolQuery);
+        if (exact >= 0) {
+            results.add(current.bySymbol[exact]);
+        }
+        collectPrefix(current.symbols, current.bySymbol, symbolQuery, results, limit);
+        collectPrefix(current.nameWords, current.byNameWord, nameQuery, results, limit);
+        if (results.size() < limit && symbolQuery.length() >= MIN_FUZZY_QUERY) {
+            collectFuzzy(current.symbols, current.symbolsByLength, current.bySymbol, symbolQuery, results, limit);
+            collectFuzzy(current.nameWords, current.nameWordsByLength, current.byNameWord, nameQuery, results, limit);
+        }
+        return List.copyOf(results);
+    }
+
+    @Override
+    public Optional<Instrument> find(String symbol) {
+        Index current = index;
+        int i = Arrays.binarySearch(current.symbols, symbol.trim().toUpperCase(Locale.ROOT));
+        return i >= 0 ? Optional.of(current.bySymbol[i]) : Optional.empty();
+    }
+
+    @Override
+    public void add(Instrument instrument) {
+        addAll(List.of(instrument));
+    }
+
+    /**
+     * Add several instruments with a single index rebuild.
+     */
+    @Override
+    public void addAll(Collection<Instrument> instruments) {
+        synchronized (writeLock) {
+            Map<String, Instrument> merged = new HashMap<>(index.size() + instruments.size());
+            for (Instrument existing : index.bySymbol) {
+                merged.put(existing.symbol(), existing);
+            }
+            boolean changed = false;
+            for (Instrument instrument : instruments) {
+                Instrument normalized = normalize(instrument);
+                Instrument previous = merged.put(normalized.symbol(), normalized);
+                changed |= !normalized.equals(previous);
+            }
+            if (changed) {
+                index = Index.build(merged.values());
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    private static Instrument normalize(Instrument instrument) {
+        String symbol = instrument.symbol().trim().toUpperCase(Locale.ROOT);
+        return symbol.equals(instrument.symbol())
+                ? instrument
+                : new Instrument(symbol, instrument.name(), instrument.assetType(), instrument.exchange());
+    }
+
+    /**
+     * Add the instruments whose key starts with {@code prefix}, in key order.
+     */
+    private static void collectPrefix(String[] keys, Instrument[] owners, String prefix,
+                                      Set<Instrument> results, int limit) {
+        int from = lowerBound(keys, prefix);
+        for (int i = from; i < keys.length && results.size() < limit && keys[i].startsWith(prefix); i++) {
+            results.add(owners[i]);
+        }
+    }
+
+    /**
+     * Add the instruments whose key is within edit distance 1 of {@code query} (2 for queries
+     * of 5 or more characters), closest first. Only keys whose length is within that distance
+     * of the query's can match, so only their length buckets are scanned.
+     */
+    private static void collectFuzzy(String[] keys, int[][] keysByLength, Instrument[] owners, String query,
+                                     Set<Instrument> results, int limit) {
+        int maxDistance = query.length() >= 5 ? 2 : 1;
+        List<FuzzyMatch> matches = new ArrayList<>();
+        int maxLength = Math.min(query.length() + maxDistance, keysByLength.length - 1);
+        for (int length = Math.max(0, query.length() - maxDistance); length <= maxLength; length++) {
+            for (int i : keysByLength[length]) {
+                int distance = boundedDistance(keys[i], query, maxDistance);
+                if (distance <= maxDistance) {
+                    matches.add(new FuzzyMatch(i, distance));
+                }
+            }
+        }
+        // Key order among equally close matches
+        matches.sort(Comparator.comparingInt(FuzzyMatch::distance).thenComparingInt(FuzzyMatch::index));
+        for (int i = 0; i < matches.size() && results.size() < limit; i++) {
+            results.add(owners[matches.get(i).index()]);
+        }
+    }
+
+    /**
+     * Levenshtein distance, giving up early with {@code max + 1} once every cell in a row
+     * exceeds {@code max}.
+     */
+    static int boundedDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static int lowerBound(String[] keys, String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record FuzzyMatch(int index, int distance) {
+    }
+
+    /**
+     * Immutable search arrays. {@code symbols[i]} belongs to {@code bySymbol[i]} and
+     * {@code nameWords[i]} to {@code byNameWord[i]}; {@code symbolsByLength[n]} and
+     * {@code nameWordsByLength[n]} list, in key order, the indexes of the keys with {@code n}
+     * characters.
+     */
+    private record Index(String[] symbols, Instrument[] bySymbol, String[] nameWords, Instrument[] byNameWord,
+                         int[][] symbolsByLength, int[][] nameWordsByLength) {
+
+        static Index build(Collection<Instrument> instruments) {
+            Instrument[] sorted = instruments.toArray(Instrument[]::new);
+            Arrays.sort(sorted, Comparator.comparing(Instrument::symbol));
+            String[] symbols = new String[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                symbols[i] = sorted[i].symbol();
+            }
+
+            List<Map.Entry<String, Instrument>> words = new ArrayList<>();
+            for (Instrument instrument : sorted) {
+                if (instrument.name() == null) {
+                    continue;
+                }
+                for (String word : instrument.name().toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}&]+")) {
+                    if (!word.isEmpty()) {
+                        words.add(Map.entry(word, instrument));
+                    }
+                }
+            }
+            words.sort(Map.Entry.comparingByKey());
+            String[] nameWords = new String[words.size()];
+            Instrument[] byNameWord = new Instrument[words.size()];
+            for (int i = 0; i < words.size(); i++) {
+                nameWords[i] = words.get(i).getKey();
+                byNameWord[i] = words.get(i).getValue();
+            }
+            return new Index(symbols, sorted, nameWords, byNameWord, byLength(symbols), byLength(nameWords));
+        }
+
+        private static int[][] byLength(String[] keys) {
+            int maxLength = 0;
+            for (String key : keys) {
+                maxLength = Math.max(maxLength, key.length());
+            }
+            int[] counts = new int[maxLength + 1];
+            for (String key : keys) {
+                counts[key.length()]++;
+            }
+            int[][] buckets = new int[maxLength + 1][];
+            for (int length = 0; length <= maxLength; length++) {
+                buckets[length] = new int[counts[length]];
+                counts[length] = 0;
+            }
+            for (int i = 0; i < keys.length; i++) {
+                int length = keys[i].length();
+                buckets[length][counts[length]++] = i;
+            }
+            return buckets;
+        }
+
+        int size() {
+            return symbols.length;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.mezink.strategylab.infrastructure.catalog;
+
+import com.github.mezink.strategylab.domain.model.Instrument;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads catalog seed files. CSV files need a header row naming the {@code symbol},
+ * {@code name} and {@code assetType} columns in any order; fields may be double-quoted.
+ * JSON files hold an array of objects with the same three properties.
+ */
+public final class InstrumentSeedReader {
+
+    private InstrumentSeedReader() {
+    }
+
+    /**
+     * Read a seed file, choosing the format from the file name's extension.
+     *
+     * @throws IllegalArgumentException if the format is unsupported or the content is malformed
+     */
+    public static List<Instrument> read(String fileName, InputStream in, ObjectMapper objectMapper) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv")) {
+            return readCsv(in);
+        }
+        if (lower.endsWith(".json")) {
+            return objectMapper.readValue(in, new TypeReference<List<Instrument>>() { });
+        }
+        throw new IllegalArgumentException("Unsupported catalog seed format: " + fileName);
+    }
+
+    static List<Instrument> readCsv(InputStream in) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                return List.of();
+            }
+            List<String> columns = parseLine(header.replace("\uFEFF", ""), 1).stream()
+                    .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                    .toList();
+            int symbolColumn = requireColumn(columns, "symbol");
+            int nameColumn = requireColumn(columns, "name");
+            int typeColumn = requireColumn(columns, "assettype");
+
+            List<Instrument> instruments = new ArrayList<>();
+            String line;
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                List<String> fields = parseLine(line, lineNumber);
+                if (fields.size() != columns.size()) {
+                    throw new IllegalArgumentException("Expected %d fields but found %d on line %d"
+                            .formatted(columns.size(), fields.size(), lineNumber));
+                }
+                instruments.add(new Instrument(
+                        fields.get(symbolColumn).trim(),
+                        fields.get(nameColumn).trim(),
+                        fields.get(typeColumn).trim()));
+            }
+            return instruments;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int requireColumn(List<String> columns, String name) {
+        int index = columns.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Catalog CSV header lacks a '" + name + "' column");
+        }
+        return index;
+    }
+
+    private static List<String> parseLine(String line, int lineNumber) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quote on line " + lineNumber);
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.mezink.strategylab.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Common fields of the StrategyLab JFR events. Fields that are not known in a given
+ * phase (e.g. the strategy during a market-data fetch) are left unset.
+ * <p>
+ * Emit with the usual pattern so the event costs nothing when JFR is not recording:
+ * <pre>{@code
+ * var event = new StrategyExecutionEvent();
+ * event.begin();
+ * ... work ...
+ * event.end();
+ * if (event.shouldCommit()) {
+ *     event.symbol = ...;
+ *     event.commit();
+ * }
+ * }</pre>
+ * The recording profile lives in {@code src/main/resources/jfr/strategylab.jfc}.
+ */
+@Category({"StrategyLab", "Backtest"})
+public abstract class BacktestPhaseEvent extends Event {
+
+    @Label("Symbol")
+    public String symbol;
+
+    @Label("Strategy")
+    @Description("StrategyId name")
+    public String strategyId;
+
+    @Label("Candle Count")
+    public int candleCount;
+
+    @Label("Trade Count")
+    public int tradeCount;
+}
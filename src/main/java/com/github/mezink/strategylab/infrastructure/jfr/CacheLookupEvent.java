@@ -0,0 +1,18 @@
+package com.github.mezink.strategylab.infrastructure.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.github.mezink.strategylab.CacheLookup")
+@Label("Cache Lookup")
+@Description("Market data cache lookup, including the load on a miss")
+public class CacheLookupEvent extends BacktestPhaseEvent {
+
+    @Label("Cache")
+    @Description("series or symbol")
+    public String cache;
+
+    @Label("Hit")
+    public boolean hit;
+}
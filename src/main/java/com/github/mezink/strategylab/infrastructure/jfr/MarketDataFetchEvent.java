@@ -0,0 +1,18 @@
+package com.github.mezink.strategylab.infrastructure.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.github.mezink.strategylab.MarketDataFetch")
+@Label("Market Data Fetch")
+@Description("HTTP round trip to the market data API")
+public class MarketDataFetchEvent extends BacktestPhaseEvent {
+
+    @Label("Response Size")
+    @Description("Response body length in characters")
+    public int responseSize;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,11 @@
+package com.github.mezink.strategylab.infrastructure.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.github.mezink.strategylab.MarketDataParse")
+@Label("Market Data Parse")
+@Description("Parsing of a market data response into a time series")
+public class MarketDataParseEvent extends BacktestPhaseEvent {
+}
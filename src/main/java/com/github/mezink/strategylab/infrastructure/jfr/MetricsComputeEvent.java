@@ -0,0 +1,11 @@
+package com.github.mezink.strategylab.infrastructure.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.github.mezink.strategylab.MetricsCompute")
+@Label("Metrics Compute")
+@Description("Metrics computation over an equity curve")
+public class MetricsComputeEvent extends BacktestPhaseEvent {
+}
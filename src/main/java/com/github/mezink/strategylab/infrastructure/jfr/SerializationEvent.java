@@ -0,0 +1,14 @@
+package com.github.mezink.strategylab.infrastructure.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.github.mezink.strategylab.Serialization")
+@Label("Response Serialization")
+@Description("Response body serialization")
+public class SerializationEvent extends BacktestPhaseEvent {
+
+    @Label("URI")
+    public String uri;
+}
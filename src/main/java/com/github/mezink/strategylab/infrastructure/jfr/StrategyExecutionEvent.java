@@ -0,0 +1,11 @@
+package com.github.mezink.strategylab.infrastructure.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.github.mezink.strategylab.StrategyExecution")
+@Label("Strategy Execution")
+@Description("Strategy execution over a price series")
+public class StrategyExecutionEvent extends BacktestPhaseEvent {
+}
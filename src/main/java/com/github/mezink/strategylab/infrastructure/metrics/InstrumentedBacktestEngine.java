@@ -0,0 +1,109 @@
+package com.github.mezink.strategylab.infrastructure.metrics;
+
+import com.github.mezink.strategylab.domain.engine.BacktestEngine;
+import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import com.github.mezink.strategylab.domain.model.BacktestMetrics;
+import com.github.mezink.strategylab.domain.model.BacktestResult;
+import com.github.mezink.strategylab.domain.model.Deadline;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.strategy.StrategyExecution;
+import com.github.mezink.strategylab.domain.strategy.StrategyId;
+import com.github.mezink.strategylab.infrastructure.jfr.MetricsComputeEvent;
+import com.github.mezink.strategylab.infrastructure.jfr.StrategyExecutionEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BacktestEngine} that records Micrometer timers for each run, its strategy
+ * execution step and its metrics step, and emits the corresponding JFR events.
+ * <p>
+ * Timers are registered up front per {@link StrategyId}, so the hot path is an
+ * {@link EnumMap} lookup and two {@link System#nanoTime()} calls per step.
+ */
+public class InstrumentedBacktestEngine extends BacktestEngine {
+
+    static final String RUN_TIMER = "strategylab.backtest.run";
+    static final String EXECUTE_TIMER = "strategylab.strategy.execute";
+    static final String METRICS_TIMER = "strategylab.metrics.compute";
+
+    private final Map<StrategyId, Timer> runTimers = new EnumMap<>(StrategyId.class);
+    private final Map<StrategyId, Timer> executeTimers = new EnumMap<>(StrategyId.class);
+    private final Timer metricsTimer;
+
+    public InstrumentedBacktestEngine(MeterRegistry registry) {
+        for (StrategyId id : StrategyId.values()) {
+            runTimers.put(id, Timer.builder(RUN_TIMER)
+                    .description("Full backtest run: strategy execution plus metrics")
+                    .tag("strategy", id.name())
+                    .register(registry));
+            executeTimers.put(id, Timer.builder(EXECUTE_TIMER)
+                    .description("Strategy execution over a price series")
+                    .tag("strategy", id.name())
+                    .register(registry));
+        }
+        this.metricsTimer = Timer.builder(METRICS_TIMER)
+                .description("MetricsCalculator.compute over an equity curve")
+                .register(registry);
+    }
+
+    @Override
+    public BacktestResult run(TimeSeries series, BacktestConfig config, Deadline deadline) {
+        long start = System.nanoTime();
+        try {
+            return super.run(series, config, deadline);
+        } finally {
+            runTimers.get(config.strategy().id()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    protected StrategyExecution execute(BacktestConfig config, TimeSeries series, Deadline deadline) {
+        StrategyExecutionEvent event = new StrategyExecutionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        StrategyExecution execution;
+        try {
+            execution = super.execute(config, series, deadline);
+        } finally {
+            executeTimers.get(config.strategy().id()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.end();
+        }
+        if (event.shouldCommit()) {
+            event.symbol = config.symbol();
+            event.strategyId = config.strategy().id().name();
+            event.candleCount = series.size();
+            event.tradeCount = execution.trades().size();
+            event.commit();
+        }
+        return execution;
+    }
+
+    @Override
+    protected BacktestMetrics computeMetrics(
+            BacktestConfig config,
+            StrategyExecution execution,
+            BigDecimal totalContributions
+    ) {
+        MetricsComputeEvent event = new MetricsComputeEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            return super.computeMetrics(config, execution, totalContributions);
+        } finally {
+            metricsTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.end();
+            if (event.shouldCommit()) {
+                event.symbol = config.symbol();
+                event.strategyId = config.strategy().id().name();
+                event.candleCount = execution.curve().size();
+                event.tradeCount = execution.trades().size();
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.mezink.strategylab.infrastructure.metrics;
+
+import com.github.mezink.strategylab.interfaces.rest.SerializationTimingAdvice;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the serialization timing callback for API requests.
+ */
+@Configuration
+public class MetricsWebConfig implements WebMvcConfigurer {
+
+    private final SerializationTimingAdvice serializationTimingAdvice;
+
+    public MetricsWebConfig(SerializationTimingAdvice serializationTimingAdvice) {
+        this.serializationTimingAdvice = serializationTimingAdvice;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(serializationTimingAdvice).addPathPatterns("/api/**");
+    }
+}
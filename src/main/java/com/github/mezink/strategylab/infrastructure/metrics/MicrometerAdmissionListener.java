@@ -0,0 +1,80 @@
+package com.github.mezink.strategylab.infrastructure.metrics;
+
+import com.github.mezink.strategylab.application.admission.AdmissionControl;
+import com.github.mezink.strategylab.application.admission.AdmissionListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Publishes admission decisions: the estimated and actual cost of each request, how long
+ * requests waited for capacity and how many were rejected, by reason. Comparing the two
+ * cost summaries shows how far off the cost model is.
+ */
+public class MicrometerAdmissionListener implements AdmissionListener {
+
+    static final String COST_SUMMARY = "strategylab.backtest.cost";
+    static final String WAIT_TIMER = "strategylab.admission.wait";
+    static final String REJECTED_COUNTER = "strategylab.admission.rejected";
+    static final String IN_FLIGHT_GAUGE = "strategylab.admission.in.flight";
+
+    private final DistributionSummary estimatedCost;
+    private final DistributionSummary actualCost;
+    private final Timer waitTimer;
+    private final Map<AdmissionControl.Rejection, Counter> rejections = new EnumMap<>(AdmissionControl.Rejection.class);
+
+    public MicrometerAdmissionListener(MeterRegistry registry) {
+        this.estimatedCost = costSummary(registry, "estimated");
+        this.actualCost = costSummary(registry, "actual");
+        this.waitTimer = Timer.builder(WAIT_TIMER)
+                .description("Time admitted backtest requests waited for capacity")
+                .register(registry);
+        for (AdmissionControl.Rejection reason : AdmissionControl.Rejection.values()) {
+            rejections.put(reason, Counter.builder(REJECTED_COUNTER)
+                    .description("Backtest requests turned away by admission control")
+                    .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+    }
+
+    private static DistributionSummary costSummary(MeterRegistry registry, String kind) {
+        return DistributionSummary.builder(COST_SUMMARY)
+                .description("Cost of admitted backtest requests")
+                .baseUnit("candle-steps")
+                .tag("kind", kind)
+                .register(registry);
+    }
+
+    /**
+     * Report the estimated cost of the requests admitted by {@code admission} as a gauge.
+     */
+    public static void bindInFlight(AdmissionControl admission, MeterRegistry registry) {
+        Gauge.builder(IN_FLIGHT_GAUGE, admission, AdmissionControl::inFlightCost)
+                .description("Estimated cost of the backtest requests currently admitted")
+                .baseUnit("candle-steps")
+                .register(registry);
+    }
+
+    @Override
+    public void admitted(long estimatedCost, Duration waited) {
+        waitTimer.record(waited);
+    }
+
+    @Override
+    public void rejected(long estimatedCost, AdmissionControl.Rejection reason) {
+        rejections.get(reason).increment();
+    }
+
+    @Override
+    public void completed(long estimatedCost, long actualCost) {
+        this.estimatedCost.record(estimatedCost);
+        this.actualCost.record(actualCost);
+    }
+}
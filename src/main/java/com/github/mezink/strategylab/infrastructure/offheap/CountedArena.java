@@ -0,0 +1,56 @@
+package com.github.mezink.strategylab.infrastructure.offheap;
+
+import java.lang.foreign.Arena;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A shared {@link Arena} closed when its last reference is released. It starts with one
+ * reference, for whoever stored the series (the cache); each reader takes another for as
+ * long as it reads. Once closed it cannot be acquired again.
+ */
+final class CountedArena {
+
+    private final Arena arena = Arena.ofShared();
+    private final AtomicInteger references = new AtomicInteger(1);
+    private final Runnable onClose;
+
+    /**
+     * @param onClose run once, after the arena has been closed
+     */
+    CountedArena(Runnable onClose) {
+        this.onClose = onClose;
+    }
+
+    Arena arena() {
+        return arena;
+    }
+
+    /**
+     * @return {@code false} if the arena is already closed
+     */
+    boolean acquire() {
+        int count;
+        do {
+            count = references.get();
+            if (count == 0) {
+                return false;
+            }
+        } while (!references.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    void release() {
+        int count = references.decrementAndGet();
+        if (count == 0) {
+            arena.close();
+            onClose.run();
+        } else if (count < 0) {
+            references.incrementAndGet();
+            throw new IllegalStateException("Off-heap series released more often than acquired");
+        }
+    }
+
+    int references() {
+        return references.get();
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.mezink.strategylab.infrastructure.offheap;
+
+import com.github.mezink.strategylab.domain.model.CandleColumns;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.infrastructure.cache.SeriesStorage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps cached candles outside the Java heap, so resident market data does not grow the old
+ * generation or GC pause times; the heap only holds a small wrapper per series.
+ * <p>
+ * Each series gets its own {@link MemorySegment} in a reference-counted shared arena. A
+ * stored series holds one reference, which the cache gives back on eviction, and every
+ * reader holds another while it runs (see {@link TimeSeries#acquire()}). The memory is freed
+ * as soon as the last reference is released, without waiting for the GC, so the cache's
+ * candle budget bounds native memory too, and an eviction never frees memory under a
+ * running backtest. With a {@code directory}, segments are memory-mapped temporary files
+ * (unlinked once mapped), so the OS can write cold pages back to disk instead of needing swap.
+ * <p>
+ * Publishes {@code strategylab.cache.offheap.bytes} and {@code strategylab.cache.offheap.segments}.
+ */
+public class OffHeapCandleStore implements SeriesStorage {
+
+    private final Path directory;
+    private final AtomicLong residentBytes = new AtomicLong();
+    private final AtomicLong residentSegments = new AtomicLong();
+
+    /**
+     * @param directory where to create mapped files, or {@code null} for anonymous native memory
+     */
+    public OffHeapCandleStore(Path directory, MeterRegistry registry) {
+        this.directory = directory;
+        Gauge.builder("strategylab.cache.offheap.bytes", residentBytes, AtomicLong::get)
+                .description("Native memory held by cached candles, including evicted series still being read")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("strategylab.cache.offheap.segments", residentSegments, AtomicLong::get)
+                .description("Off-heap series not yet released")
+                .register(registry);
+    }
+
+    /**
+     * Copy {@code series} off the heap.
+     *
+     * @return the copy, holding the one reference to its memory; release it to free the memory
+     */
+    @Override
+    public TimeSeries store(TimeSeries series) {
+        CandleColumns source = series.columns();
+        long bytes = source.size() * SegmentCandleColumns.BYTES_PER_CANDLE;
+        CountedArena owner = new CountedArena(() -> {
+            residentBytes.addAndGet(-bytes);
+            residentSegments.decrementAndGet();
+        });
+        residentBytes.addAndGet(bytes);
+        residentSegments.incrementAndGet();
+        try {
+            Arena arena = owner.arena();
+            MemorySegment segment = directory == null ? arena.allocate(bytes, Long.BYTES) : map(bytes, arena);
+            return TimeSeries.of(series.instrument(), series.interval(),
+                    SegmentCandleColumns.copyOf(source, segment, owner));
+        } catch (RuntimeException | Error e) {
+            owner.release();
+            throw e;
+        }
+    }
+
+    long residentBytes() {
+        return residentBytes.get();
+    }
+
+    long residentSegments() {
+        return residentSegments.get();
+    }
+
+    private MemorySegment map(long bytes, Arena arena) {
+        try {
+            Path file = Files.createTempFile(directory, "candles-", ".bin");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes, arena);
+            } finally {
+                // The mapping outlives the file name; nothing is left behind on restart
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map candle storage in " + directory, e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.mezink.strategylab.infrastructure.offheap;
+
+import com.github.mezink.strategylab.domain.model.CandleColumns;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Objects;
+
+/**
+ * {@link CandleColumns} in one {@link MemorySegment}, laid out column by column:
+ * {@code size} epoch seconds, then opens, highs, lows, closes and volumes, 8 bytes each.
+ * Columns are contiguous so indicator loops stream through memory.
+ * <p>
+ * The explicit index check matters: the segment's own bounds check only covers the whole
+ * segment, so without it index {@code size} of one column would read the next column.
+ * <p>
+ * {@link #acquire()} and {@link #release()} count references to the segment's
+ * {@link CountedArena}; reading after the last release throws {@link IllegalStateException}.
+ */
+final class SegmentCandleColumns implements CandleColumns {
+
+    static final int COLUMNS = 6;
+    static final long BYTES_PER_CANDLE = COLUMNS * Long.BYTES;
+
+    private static final int EPOCH_SECOND = 0;
+    private static final int OPEN = 1;
+    private static final int HIGH = 2;
+    private static final int LOW = 3;
+    private static final int CLOSE = 4;
+    private static final int VOLUME = 5;
+
+    private final MemorySegment segment;
+    private final int size;
+    private final CountedArena owner;
+
+    private SegmentCandleColumns(MemorySegment segment, int size, CountedArena owner) {
+        this.segment = segment;
+        this.size = size;
+        this.owner = owner;
+    }
+
+    /**
+     * Copy {@code source} into {@code segment}, which must hold {@code source.size()} candles
+     * and belong to {@code owner}.
+     */
+    static SegmentCandleColumns copyOf(CandleColumns source, MemorySegment segment, CountedArena owner) {
+        int size = source.size();
+        for (int i = 0; i < size; i++) {
+            segment.setAtIndex(ValueLayout.JAVA_LONG, (long) EPOCH_SECOND * size + i, source.epochSecond(i));
+            segment.setAtIndex(ValueLayout.JAVA_DOUBLE, (long) OPEN * size + i, source.open(i));
+            segment.setAtIndex(ValueLayout.JAVA_DOUBLE, (long) HIGH * size + i, source.high(i));
+            segment.setAtIndex(ValueLayout.JAVA_DOUBLE, (long) LOW * size + i, source.low(i));
+            segment.setAtIndex(ValueLayout.JAVA_DOUBLE, (long) CLOSE * size + i, source.close(i));
+            segment.setAtIndex(ValueLayout.JAVA_LONG, (long) VOLUME * size + i, source.volume(i));
+        }
+        return new SegmentCandleColumns(segment, size, owner);
+    }
+
+    @Override
+    public boolean acquire() {
+        return owner.acquire();
+    }
+
+    @Override
+    public void release() {
+        owner.release();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long epochSecond(int index) {
+        return segment.getAtIndex(ValueLayout.JAVA_LONG, offset(EPOCH_SECOND, index));
+    }
+
+    @Override
+    public long epochDay(int index) {
+        return Math.floorDiv(epochSecond(index), SECONDS_PER_DAY);
+    }
+
+    @Override
+    public double open(int index) {
+        return segment.getAtIndex(ValueLayout.JAVA_DOUBLE, offset(OPEN, index));
+    }
+
+    @Override
+    public double high(int index) {
+        return segment.getAtIndex(ValueLayout.JAVA_DOUBLE, offset(HIGH, index));
+    }
+
+    @Override
+    public double low(int index) {
+        return segment.getAtIndex(ValueLayout.JAVA_DOUBLE, offset(LOW, index));
+    }
+
+    @Override
+    public double close(int index) {
+        return segment.getAtIndex(ValueLayout.JAVA_DOUBLE, offset(CLOSE, index));
+    }
+
+    @Override
+    public long volume(int index) {
+        return segment.getAtIndex(ValueLayout.JAVA_LONG, offset(VOLUME, index));
+    }
+
+    private long offset(int column, int index) {
+        return (long) column * size + Objects.checkIndex(index, size);
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.mezink.strategylab.infrastructure.resilience;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parses the HTTP {@code Retry-After} header (RFC 9110 section 10.2.3): either a number
+ * of seconds or an HTTP date.
+ */
+public final class RetryAfter {
+
+    private RetryAfter() {
+    }
+
+    /**
+     * @return the delay, or {@code null} if the header is absent or malformed
+     */
+    public static Duration parse(String header) {
+        return parse(header, Clock.systemUTC());
+    }
+
+    static Duration parse(String header, Clock clock) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        String value = header.trim();
+        try {
+            long seconds = Long.parseLong(value);
+            return seconds >= 0 ? Duration.ofSeconds(seconds) : null;
+        } catch (NumberFormatException _) {
+            // Not delta-seconds; try an HTTP date
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(clock.instant(), at.toInstant());
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException _) {
+            return null;
+        }
+    }
+}
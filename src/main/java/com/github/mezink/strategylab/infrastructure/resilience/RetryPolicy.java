@@ -0,0 +1,50 @@
+package com.github.mezink.strategylab.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with full jitter: the delay before retry {@code n} (1-based) is uniform
+ * in {@code [0, min(maxDelay, baseDelay * 2^(n-1))]}. A server-provided {@code Retry-After}
+ * acts as a floor, but one longer than {@code maxRetryAfter} is not worth waiting for and
+ * ends the retries.
+ *
+ * @param maxAttempts   total attempts including the first
+ * @param baseDelay     backoff ceiling for the first retry
+ * @param maxDelay      backoff ceiling for any retry
+ * @param maxRetryAfter longest {@code Retry-After} we are willing to honour
+ */
+public record RetryPolicy(
+        int maxAttempts,
+        Duration baseDelay,
+        Duration maxDelay,
+        Duration maxRetryAfter
+) {
+    public RetryPolicy {
+        if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be at least 1");
+    }
+
+    /**
+     * Delay before the given retry, or empty if no further attempt should be made.
+     *
+     * @param retry      1 for the first retry, 2 for the second, ...
+     * @param retryAfter server hint from the failed attempt, if any
+     */
+    public Optional<Duration> delayBefore(int retry, Optional<Duration> retryAfter) {
+        if (retry >= maxAttempts) {
+            return Optional.empty();
+        }
+        if (retryAfter.isPresent() && retryAfter.get().compareTo(maxRetryAfter) > 0) {
+            return Optional.empty();
+        }
+
+        long ceiling = Math.min(baseDelay.toNanos(), maxDelay.toNanos());
+        for (int i = 1; i < retry && ceiling < maxDelay.toNanos(); i++) {
+            ceiling = Math.min(ceiling * 2, maxDelay.toNanos());
+        }
+        long jittered = ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+        long floor = retryAfter.map(Duration::toNanos).orElse(0L);
+        return Optional.of(Duration.ofNanos(Math.max(floor, jittered)));
+    }
+}
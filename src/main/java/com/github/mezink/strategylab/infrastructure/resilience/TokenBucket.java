@@ -0,0 +1,67 @@
+package com.github.mezink.strategylab.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter. Holds up to {@code burst} tokens, refilled at
+ * {@code permitsPerSecond}.
+ * <p>
+ * Callers reserve a token and then sleep until it becomes available, so waiting callers are
+ * served in arrival order. A caller that would wait longer than its timeout reserves nothing.
+ */
+public final class TokenBucket {
+
+    private final double burst;
+    private final double nanosPerToken;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0) throw new IllegalArgumentException("permitsPerSecond must be positive");
+        if (burst < 1) throw new IllegalArgumentException("burst must be at least 1");
+        this.burst = burst;
+        this.nanosPerToken = 1_000_000_000d / permitsPerSecond;
+        this.nanoClock = nanoClock;
+        this.tokens = burst;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * Take one token, sleeping until it is available.
+     *
+     * @return false, without taking a token, if the wait would exceed {@code timeout}
+     */
+    public boolean acquire(Duration timeout) throws InterruptedException {
+        long waitNanos = reserve(timeout.toNanos());
+        if (waitNanos < 0) {
+            return false;
+        }
+        if (waitNanos > 0) {
+            Thread.sleep(Duration.ofNanos(waitNanos));
+        }
+        return true;
+    }
+
+    /**
+     * @return nanos to wait for the reserved token, or -1 if nothing was reserved
+     */
+    synchronized long reserve(long timeoutNanos) {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - lastRefill) / nanosPerToken);
+        lastRefill = now;
+
+        long waitNanos = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) * nanosPerToken);
+        if (waitNanos > timeoutNanos) {
+            return -1;
+        }
+        tokens -= 1;
+        return waitNanos;
+    }
+}
@@ -0,0 +1,211 @@
+package com.github.mezink.strategylab.infrastructure.resilience;
+
+import com.github.mezink.strategylab.domain.exception.DeadlineExceededException;
+import com.github.mezink.strategylab.domain.exception.MarketDataFetchException;
+import com.github.mezink.strategylab.domain.exception.UpstreamUnavailableException;
+import com.github.mezink.strategylab.domain.model.Deadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Protects an upstream API shared by all requests. Each call:
+ * <ol>
+ *   <li>fails fast while the {@link CircuitBreaker} is open,</li>
+ *   <li>takes a token from the {@link TokenBucket} and one of {@code maxConcurrent} in-flight
+ *       slots, waiting at most {@code acquireTimeout} for each,</li>
+ *   <li>retries {@link UpstreamUnavailableException}s according to the {@link RetryPolicy},
+ *       honouring the server's {@code Retry-After}.</li>
+ * </ol>
+ * Other {@link MarketDataFetchException}s (e.g. unknown symbol) mean the upstream answered:
+ * they are neither retried nor counted as breaker failures. Calls that end without an answer
+ * because the caller's deadline passed, the thread was interrupted or the attempt failed
+ * locally say nothing about the upstream and leave the breaker as it was.
+ */
+public class UpstreamGuard {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UpstreamGuard.class);
+
+    private final String name;
+    private final TokenBucket rateLimiter;
+    private final Semaphore inFlight;
+    private final Duration acquireTimeout;
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreaker circuitBreaker;
+
+    private final Counter retries;
+    private final Counter circuitOpenRejections;
+    private final Counter rateLimitRejections;
+    private final Counter concurrencyRejections;
+
+    public UpstreamGuard(
+            String name,
+            TokenBucket rateLimiter,
+            int maxConcurrent,
+            Duration acquireTimeout,
+            RetryPolicy retryPolicy,
+            CircuitBreaker circuitBreaker,
+            MeterRegistry registry
+    ) {
+        this.name = name;
+        this.rateLimiter = rateLimiter;
+        this.inFlight = new Semaphore(maxConcurrent, true);
+        this.acquireTimeout = acquireTimeout;
+        this.retryPolicy = retryPolicy;
+        this.circuitBreaker = circuitBreaker;
+
+        this.retries = Counter.builder("strategylab.upstream.retries")
+                .tag("upstream", name)
+                .register(registry);
+        this.circuitOpenRejections = rejections(registry, name, "circuit_open");
+        this.rateLimitRejections = rejections(registry, name, "rate_limited");
+        this.concurrencyRejections = rejections(registry, name, "concurrency");
+        Gauge.builder("strategylab.upstream.in.flight", () -> maxConcurrent - inFlight.availablePermits())
+                .tag("upstream", name)
+                .register(registry);
+        Gauge.builder("strategylab.upstream.circuit.state", () -> circuitBreaker.state().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .tag("upstream", name)
+                .register(registry);
+    }
+
+    private static Counter rejections(MeterRegistry registry, String name, String reason) {
+        return Counter.builder("strategylab.upstream.rejections")
+                .description("Calls refused locally without reaching the upstream")
+                .tag("upstream", name)
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    /**
+     * Run {@code attempt} under the guard, retrying transient failures.
+     *
+     * @throws UpstreamUnavailableException if the call was shed locally or all attempts failed transiently
+     * @throws MarketDataFetchException     for non-transient failures, unchanged
+     */
+    public <T> T call(Supplier<T> attempt) {
+        return call(attempt, Deadline.NONE);
+    }
+
+    /**
+     * Run {@code attempt} under the guard on behalf of a request that must finish by
+     * {@code deadline}: waits for a token or slot end at the deadline, and a retry that would
+     * start after it is not made.
+     *
+     * @throws UpstreamUnavailableException if the call was shed locally or all attempts failed transiently
+     * @throws MarketDataFetchException     for non-transient failures, unchanged
+     * @throws DeadlineExceededException    if the deadline passed before an attempt could start
+     */
+    public <T> T call(Supplier<T> attempt, Deadline deadline) {
+        for (int retry = 1; ; retry++) {
+            try {
+                return callOnce(attempt, deadline);
+            } catch (UpstreamUnavailableException e) {
+                Optional<Duration> delay = e instanceof LocalRejection
+                        ? Optional.empty()
+                        : retryPolicy.delayBefore(retry, e.retryAfter());
+                if (delay.isEmpty() || deadline.remaining().filter(left -> left.compareTo(delay.get()) <= 0).isPresent()) {
+                    throw e;
+                }
+                retries.increment();
+                LOG.debug("Retrying {} call in {} ms after: {}", name, delay.get().toMillis(), e.getMessage());
+                sleep(delay.get());
+            }
+        }
+    }
+
+    private <T> T callOnce(Supplier<T> attempt, Deadline deadline) {
+        Duration openFor = circuitBreaker.remainingOpen();
+        if (!openFor.isZero()) {
+            circuitOpenRejections.increment();
+            throw new LocalRejection("%s circuit is open".formatted(name), openFor);
+        }
+
+        acquireRate(deadline);
+        acquireSlot(deadline);
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                circuitOpenRejections.increment();
+                throw new LocalRejection("%s circuit is open".formatted(name), circuitBreaker.remainingOpen());
+            }
+            try {
+                T result = attempt.get();
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (UpstreamUnavailableException e) {
+                circuitBreaker.onFailure();
+                throw e;
+            } catch (MarketDataFetchException e) {
+                if (e.getCause() instanceof InterruptedException) {
+                    circuitBreaker.release();
+                } else {
+                    circuitBreaker.onSuccess();
+                }
+                throw e;
+            } catch (RuntimeException | Error e) {
+                // Deadline, cancellation or a local failure: no answer from the upstream. Errors
+                // settle the permit too, or a half-open trial would never end.
+                circuitBreaker.release();
+                throw e;
+            }
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private void acquireRate(Deadline deadline) {
+        try {
+            if (!rateLimiter.acquire(deadline.cap(acquireTimeout))) {
+                deadline.check();
+                rateLimitRejections.increment();
+                throw new LocalRejection("%s rate limit exceeded".formatted(name), acquireTimeout);
+            }
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        }
+    }
+
+    private void acquireSlot(Deadline deadline) {
+        try {
+            if (!inFlight.tryAcquire(deadline.cap(acquireTimeout).toNanos(), TimeUnit.NANOSECONDS)) {
+                deadline.check();
+                concurrencyRejections.increment();
+                throw new LocalRejection("Too many concurrent %s requests".formatted(name), acquireTimeout);
+            }
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        }
+    }
+
+    private MarketDataFetchException interrupted(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return new MarketDataFetchException("Interrupted while waiting for " + name, e);
+    }
+
+    private void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        }
+    }
+
+    /**
+     * Shed by this guard rather than reported by the upstream; never retried here, since
+     * waiting longer is exactly what the limits are meant to prevent.
+     */
+    private static final class LocalRejection extends UpstreamUnavailableException {
+
+        private LocalRejection(String message, Duration retryAfter) {
+            super(message, retryAfter);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.mezink.strategylab.infrastructure.startup;
+
+import com.github.mezink.strategylab.domain.engine.BacktestEngine;
+import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import com.github.mezink.strategylab.domain.model.BacktestResult;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.strategy.Strategy;
+import com.github.mezink.strategylab.domain.strategy.StrategyId;
+import com.github.mezink.strategylab.domain.strategy.StrategyParameterDescriptor;
+import com.github.mezink.strategylab.infrastructure.synthetic.SyntheticMarketDataProvider;
+import com.github.mezink.strategylab.interfaces.dto.BacktestResponse;
+import com.github.mezink.strategylab.interfaces.dto.BacktestResultDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs every strategy through {@link BacktestEngine} (and so {@code MetricsCalculator}) and
+ * JSON serialization of the response on synthetic data before the instance takes traffic.
+ * Without it the first few hundred backtests after a scale-out run in the interpreter or
+ * C1 and show up as p99 spikes.
+ * <p>
+ * Like {@code CacheWarmer}, it blocks in {@link ApplicationRunner#run}, so readiness is only
+ * reported once it finishes. It stops after {@code iterations} passes or {@code maxDuration},
+ * whichever comes first. A plain engine is used so warm-up runs do not reach the
+ * {@code strategylab.backtest} timers.
+ */
+public class JitWarmup implements ApplicationRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JitWarmup.class);
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+    private static final BigDecimal CAPITAL = BigDecimal.valueOf(10_000);
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int iterations;
+    private final Duration maxDuration;
+    private final BacktestEngine engine = new BacktestEngine();
+
+    public JitWarmup(ObjectMapper objectMapper, boolean enabled, int iterations, Duration maxDuration) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.maxDuration = maxDuration;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Run the warm-up passes.
+     *
+     * @return the number of completed passes
+     */
+    public int warmUp() {
+        List<BacktestConfig> configs = configs();
+        SyntheticMarketDataProvider provider = new SyntheticMarketDataProvider(0);
+        // A short and a long series, so loops are compiled for both trip counts
+        List<TimeSeries> series = List.of(
+                provider.getDailySeries("WARM", END.minusYears(1), END),
+                provider.getDailySeries("WARM", END.minusYears(10), END));
+
+        long started = System.nanoTime();
+        long deadline = started + maxDuration.toNanos();
+        long firstPassNanos = 0;
+        long lastPassNanos = 0;
+        int completed = 0;
+        while (completed < iterations && System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            long passStarted = System.nanoTime();
+            for (TimeSeries s : series) {
+                List<BacktestResultDto> dtos = new ArrayList<>(configs.size());
+                for (BacktestConfig config : configs) {
+                    BacktestResult result = engine.run(s, config);
+                    dtos.add(BacktestResultDto.from(result));
+                }
+                objectMapper.writeValueAsBytes(new BacktestResponse(dtos));
+            }
+            lastPassNanos = System.nanoTime() - passStarted;
+            if (completed == 0) {
+                firstPassNanos = lastPassNanos;
+            }
+            completed++;
+        }
+
+        LOG.info("JIT warm-up ran {} passes in {} ms; pass time {} ms -> {} ms", completed,
+                Duration.ofNanos(System.nanoTime() - started).toMillis(),
+                Duration.ofNanos(firstPassNanos).toMillis(), Duration.ofNanos(lastPassNanos).toMillis());
+        return completed;
+    }
+
+    private static List<BacktestConfig> configs() {
+        List<BacktestConfig> configs = new ArrayList<>();
+        for (StrategyId id : StrategyId.values()) {
+            // The range is only validated, the engine runs over whatever series it is given
+            configs.add(new BacktestConfig("WARM", END.minusYears(10), END, CAPITAL, defaultStrategy(id)));
+        }
+        return configs;
+    }
+
+    private static Strategy defaultStrategy(StrategyId id) {
+        Map<String, String> params = new HashMap<>();
+        for (StrategyParameterDescriptor descriptor : id.parameterDescriptors()) {
+            params.put(descriptor.name(), descriptor.defaultValue());
+        }
+        return id.createStrategy(params);
+    }
+}
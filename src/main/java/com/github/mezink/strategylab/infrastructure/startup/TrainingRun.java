@@ -0,0 +1,126 @@
+package com.github.mezink.strategylab.infrastructure.startup;
+
+import com.github.mezink.strategylab.domain.strategy.StrategyId;
+import com.github.mezink.strategylab.domain.strategy.StrategyParameterDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Workload for the JVM's ahead-of-time cache training run ({@code -XX:AOTCacheOutput}).
+ * <p>
+ * When enabled, it sends the application's own HTTP endpoints every strategy over a short
+ * and a long range, as JSON and CBOR, plus strategy listing, instrument search and symbol
+ * validation. Then it closes the context and exits. The JVM writes the classes loaded and
+ * linked, and the method profiles gathered, to the cache. A container started with
+ * {@code -XX:AOTCache} then skips that work. Going through HTTP means Tomcat, the message
+ * converters and the exception handlers are trained as well as the engine.
+ * <p>
+ * Run it with the {@code synthetic} profile so the build needs no network.
+ */
+public class TrainingRun implements ApplicationRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TrainingRun.class);
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+    private static final List<String> SYMBOLS = List.of("SPY", "QQQ");
+    private static final List<String> FORMATS = List.of("application/json", "application/cbor");
+
+    private final ConfigurableApplicationContext context;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int rounds;
+
+    public TrainingRun(ConfigurableApplicationContext context, ObjectMapper objectMapper, boolean enabled,
+                       int rounds) {
+        this.context = context;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.rounds = rounds;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException, InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        URI base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+        long start = System.nanoTime();
+        int requests = 0;
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            for (int round = 0; round < rounds; round++) {
+                requests += exercise(client, base);
+            }
+        }
+        LOG.info("Training run sent {} requests in {} ms; exiting", requests,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private int exercise(HttpClient client, URI base) throws IOException, InterruptedException {
+        int requests = 0;
+        send(client, HttpRequest.newBuilder(base.resolve("/api/strategies")).GET().build());
+        send(client, HttpRequest.newBuilder(base.resolve("/api/instruments/search?q=sp&limit=10")).GET().build());
+        send(client, post(base.resolve("/api/instruments/validate"), "application/json",
+                Map.of("symbols", SYMBOLS)));
+        requests += 3;
+        for (String format : FORMATS) {
+            for (int years : new int[]{1, 10}) {
+                send(client, post(base.resolve("/api/backtest"), format, Map.of("backtests", backtests(years))));
+                requests++;
+            }
+        }
+        return requests;
+    }
+
+    private static List<Map<String, Object>> backtests(int years) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (StrategyId strategy : StrategyId.values()) {
+            for (String symbol : SYMBOLS) {
+                Map<String, String> params = new HashMap<>();
+                for (StrategyParameterDescriptor descriptor : strategy.parameterDescriptors()) {
+                    params.put(descriptor.name(), descriptor.defaultValue());
+                }
+                items.add(Map.of(
+                        "symbol", symbol,
+                        "startDate", END.minusYears(years).toString(),
+                        "endDate", END.toString(),
+                        "initialCapital", 10_000,
+                        "strategyId", strategy.name(),
+                        "strategyParams", params));
+            }
+        }
+        return items;
+    }
+
+    private HttpRequest post(URI uri, String accept, Object body) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("Accept", accept)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private static void send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Training request %s returned %d"
+                    .formatted(request.uri(), response.statusCode()));
+        }
+    }
+}
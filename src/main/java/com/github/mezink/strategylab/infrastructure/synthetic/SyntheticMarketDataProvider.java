@@ -0,0 +1,215 @@
+package com.github.mezink.strategylab.infrastructure.synthetic;
+
+import com.github.mezink.strategylab.domain.exception.MarketDataFetchException;
+import com.github.mezink.strategylab.domain.model.Candle;
+import com.github.mezink.strategylab.domain.model.CandleColumns;
+import com.github.mezink.strategylab.domain.model.CompactCandleColumns;
+import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.model.Interval;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.port.MarketDataProvider;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Offline market data: seeded, deterministic OHLCV series for any symbol, so tests,
+ * benchmarks and load runs need no network.
+ * <p>
+ * Closes follow a geometric Brownian motion whose drift and volatility switch between a calm
+ * and a turbulent regime (a two-state Markov chain). Occasionally the open gaps away from the
+ * previous close, as after earnings or overnight news. Only weekdays are trading days.
+ * <p>
+ * Every symbol has one path starting at {@link #ORIGIN}, generated from a random stream seeded
+ * by the provider seed and the symbol. A request walks that path up to its end date and keeps
+ * the candles from its start date, so overlapping ranges always agree and sliced cache
+ * entries match a direct fetch. Requests starting before the origin get the series from the
+ * origin, like an instrument listed later than the requested start.
+ * <p>
+ * Intraday bars fill each trading day from 14:30 to 21:00 UTC with a Brownian bridge from the
+ * day's open to its close, kept within its high and low and seeded by the symbol and the
+ * date, so intraday series agree with the daily series and with each other across ranges.
+ */
+public class SyntheticMarketDataProvider implements MarketDataProvider {
+
+    /** First trading day of every synthetic series. */
+    public static final LocalDate ORIGIN = LocalDate.of(1970, 1, 5);
+
+    private static final Pattern SYMBOL = Pattern.compile("[A-Z0-9.^=-]{1,12}");
+    private static final int PRICE_SCALE = 4;
+    private static final double PRICE_UNITS = 10_000.0;
+    private static final double DT = 1.0 / 252;
+
+    // Annualised drift and volatility per regime
+    private static final double CALM_DRIFT = 0.08;
+    private static final double CALM_VOLATILITY = 0.15;
+    private static final double TURBULENT_DRIFT = -0.15;
+    private static final double TURBULENT_VOLATILITY = 0.45;
+    // Daily switching probabilities: calm spells last ~2 years, turbulent ones ~3 months
+    private static final double CALM_TO_TURBULENT = 1.0 / 500;
+    private static final double TURBULENT_TO_CALM = 1.0 / 60;
+
+    private static final double GAP_PROBABILITY = 0.01;
+    private static final double GAP_VOLATILITY_MULTIPLE = 4.0;
+
+    private static final long SESSION_OPEN_SECOND = 14 * 3_600 + 30 * 60;
+    private static final int SESSION_SECONDS = 6 * 3_600 + 30 * 60;
+    private static final long DAY_SEED_MULTIPLIER = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+
+    public SyntheticMarketDataProvider(long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public TimeSeries getDailySeries(String symbol, LocalDate start, LocalDate end) {
+        String key = symbol.toUpperCase(Locale.ROOT);
+        if (!SYMBOL.matcher(key).matches()) {
+            throw new MarketDataFetchException("Symbol '%s' not found".formatted(symbol));
+        }
+        if (end.isBefore(start) || end.isBefore(ORIGIN)) {
+            throw new MarketDataFetchException(
+                    "No data for %s in range [%s, %s]".formatted(symbol, start, end));
+        }
+        List<Candle> candles = generate(key, start, end);
+        if (candles.isEmpty()) {
+            throw new MarketDataFetchException(
+                    "No data for %s in range [%s, %s]".formatted(symbol, start, end));
+        }
+        return new TimeSeries(instrument(key), candles);
+    }
+
+    @Override
+    public TimeSeries getSeries(String symbol, LocalDate start, LocalDate end, Interval interval) {
+        if (!interval.isIntraday()) {
+            return MarketDataProvider.super.getSeries(symbol, start, end, interval);
+        }
+        TimeSeries daily = getDailySeries(symbol, start, end);
+        String key = daily.instrument().symbol();
+        return TimeSeries.of(daily.instrument(), interval, intraday(key, daily.candles(), interval));
+    }
+
+    @Override
+    public Optional<Instrument> validateSymbol(String symbol) {
+        String key = symbol.toUpperCase(Locale.ROOT);
+        return SYMBOL.matcher(key).matches() ? Optional.of(instrument(key)) : Optional.empty();
+    }
+
+    private List<Candle> generate(String symbol, LocalDate start, LocalDate end) {
+        SplittableRandom random = new SplittableRandom(seed ^ symbolHash(symbol));
+        long firstDay = Math.max(start.toEpochDay(), ORIGIN.toEpochDay());
+        long lastDay = end.toEpochDay();
+        List<Candle> candles = new ArrayList<>((int) Math.min(Integer.MAX_VALUE, (lastDay - firstDay + 1) * 5 / 7 + 1));
+
+        double close = 10 + random.nextDouble() * 490;
+        double baseVolume = 100_000 + random.nextDouble() * 9_900_000;
+        boolean turbulent = false;
+        // Day of week as 0 = Monday; the origin is a Monday
+        int dayOfWeek = 0;
+
+        for (long day = ORIGIN.toEpochDay(); day <= lastDay; day++, dayOfWeek = dayOfWeek == 6 ? 0 : dayOfWeek + 1) {
+            if (dayOfWeek >= DayOfWeek.SATURDAY.ordinal()) {
+                continue;
+            }
+            double regimeDraw = random.nextDouble();
+            turbulent = turbulent ? regimeDraw >= TURBULENT_TO_CALM : regimeDraw < CALM_TO_TURBULENT;
+            double drift = turbulent ? TURBULENT_DRIFT : CALM_DRIFT;
+            double volatility = turbulent ? TURBULENT_VOLATILITY : CALM_VOLATILITY;
+            double dailyVolatility = volatility * Math.sqrt(DT);
+
+            double gap = random.nextDouble() < GAP_PROBABILITY
+                    ? random.nextGaussian() * dailyVolatility * GAP_VOLATILITY_MULTIPLE
+                    : 0;
+            double intraday = (drift - volatility * volatility / 2) * DT + dailyVolatility * random.nextGaussian();
+            double wickUp = Math.abs(random.nextGaussian()) * dailyVolatility / 2;
+            double wickDown = Math.abs(random.nextGaussian()) * dailyVolatility / 2;
+            double volumeNoise = random.nextGaussian();
+
+            double open = close * Math.exp(gap);
+            close = open * Math.exp(intraday);
+            if (day < firstDay) {
+                continue;
+            }
+            double high = Math.max(open, close) * Math.exp(wickUp);
+            double low = Math.min(open, close) * Math.exp(-wickDown);
+            long volume = (long) (baseVolume * (turbulent ? 2.5 : 1.0) * Math.exp(0.3 * volumeNoise));
+            candles.add(new Candle(LocalDate.ofEpochDay(day), price(open), price(high), price(low), price(close), volume));
+        }
+        return candles;
+    }
+
+    private CandleColumns intraday(String symbol, List<Candle> days, Interval interval) {
+        int barsPerDay = Math.ceilDiv(SESSION_SECONDS, interval.seconds());
+        double barVolatility = CALM_VOLATILITY * Math.sqrt(DT / barsPerDay);
+        double[] path = new double[barsPerDay + 1];
+        CompactCandleColumns.Builder bars = CompactCandleColumns.builder(days.size() * barsPerDay);
+        long symbolSeed = seed ^ symbolHash(symbol);
+
+        for (Candle day : days) {
+            long epochDay = day.date().toEpochDay();
+            SplittableRandom random = new SplittableRandom(symbolSeed ^ epochDay * DAY_SEED_MULTIPLIER);
+            double open = day.open().doubleValue();
+            double close = day.close().doubleValue();
+            double high = day.high().doubleValue();
+            double low = day.low().doubleValue();
+
+            // Random walk in log price, then pinned to the day's open and close
+            for (int k = 1; k <= barsPerDay; k++) {
+                path[k] = path[k - 1] + barVolatility * random.nextGaussian();
+            }
+            double logOpen = Math.log(open);
+            double logDrift = Math.log(close) - logOpen;
+            double walkEnd = path[barsPerDay];
+            long sessionOpen = epochDay * CandleColumns.SECONDS_PER_DAY + SESSION_OPEN_SECOND;
+            long barVolume = day.volume() / barsPerDay;
+
+            double barOpen = open;
+            for (int k = 1; k <= barsPerDay; k++) {
+                double fraction = (double) k / barsPerDay;
+                double barClose = k == barsPerDay
+                        ? close
+                        : clamp(Math.exp(logOpen + logDrift * fraction + path[k] - walkEnd * fraction), low, high);
+                double wick = Math.abs(random.nextGaussian()) * barVolatility / 2;
+                double barHigh = Math.min(high, Math.max(barOpen, barClose) * Math.exp(wick));
+                double barLow = Math.max(low, Math.min(barOpen, barClose) * Math.exp(-wick));
+                bars.add(sessionOpen + (long) (k - 1) * interval.seconds(),
+                        barOpen, barHigh, barLow, barClose, barVolume);
+                barOpen = barClose;
+            }
+        }
+        return bars.build();
+    }
+
+    private static double clamp(double value, double low, double high) {
+        return Math.min(high, Math.max(low, value));
+    }
+
+    private static BigDecimal price(double value) {
+        return BigDecimal.valueOf(Math.max(1, Math.round(value * PRICE_UNITS)), PRICE_SCALE);
+    }
+
+    private static Instrument instrument(String symbol) {
+        return new Instrument(symbol, "Synthetic " + symbol, "EQUITY");
+    }
+
+    /**
+     * 64-bit FNV-1a; spreads short tickers over the whole seed space, unlike {@link String#hashCode()}.
+     */
+    private static long symbolHash(String symbol) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : symbol.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,181 @@
+package com.github.mezink.strategylab.infrastructure.yahoo;
+
+import com.github.mezink.strategylab.domain.exception.DeadlineExceededException;
+import com.github.mezink.strategylab.domain.exception.MarketDataFetchException;
+import com.github.mezink.strategylab.domain.exception.UpstreamUnavailableException;
+import com.github.mezink.strategylab.domain.model.Deadline;
+import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.model.Interval;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.port.MarketDataProvider;
+import com.github.mezink.strategylab.infrastructure.resilience.UpstreamGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Yahoo Finance provider on the JDK {@link HttpClient}: HTTP/2 where the server supports it
+ * (one multiplexed connection per host), HTTP/1.1 keep-alive pooling otherwise, and
+ * gzip/deflate response compression.
+ * <p>
+ * Calls block on virtual threads rather than using {@code sendAsync}, so each attempt still
+ * passes through the {@link UpstreamGuard}. Batches use the port's default of one virtual
+ * thread per symbol; their requests share the client's connections, so a batch of many
+ * symbols needs only a handful of TLS handshakes.
+ */
+public class HttpClientYahooMarketDataProvider implements MarketDataProvider {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpClientYahooMarketDataProvider.class);
+
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final YahooChartParser parser;
+    private final UpstreamGuard guard;
+    private final YahooInstrumentation instrumentation;
+
+    public HttpClientYahooMarketDataProvider(
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            String baseUrl,
+            UpstreamGuard guard,
+            Duration connectTimeout,
+            Duration requestTimeout
+    ) {
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.parser = new YahooChartParser(objectMapper);
+        this.guard = guard;
+        this.instrumentation = new YahooInstrumentation(registry);
+    }
+
+    @Override
+    public TimeSeries getDailySeries(String symbol, LocalDate start, LocalDate end) {
+        return fetchSeries(symbol, start, end, Interval.ONE_DAY, Deadline.NONE);
+    }
+
+    @Override
+    public TimeSeries getSeries(String symbol, LocalDate start, LocalDate end, Interval interval) {
+        return getSeries(symbol, start, end, interval, Deadline.NONE);
+    }
+
+    /**
+     * Each attempt's request timeout is capped to the time left before {@code deadline}.
+     */
+    @Override
+    public TimeSeries getSeries(String symbol, LocalDate start, LocalDate end, Interval interval, Deadline deadline) {
+        if (interval.isIntraday()) {
+            return fetchSeries(symbol, start, end, interval, deadline);
+        }
+        TimeSeries daily = fetchSeries(symbol, start, end, Interval.ONE_DAY, deadline);
+        return interval.isRollup() ? daily.rollUp(interval) : daily;
+    }
+
+    private TimeSeries fetchSeries(String symbol, LocalDate start, LocalDate end, Interval interval, Deadline deadline) {
+        long period1 = start.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        long period2 = end.plusDays(1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+
+        String json = fetchData(symbol,
+                "period1=%d&period2=%d&interval=%s".formatted(period1, period2, interval.code()), deadline);
+        return instrumentation.parse(symbol, () -> parser.parseSeries(symbol, json, interval));
+    }
+
+    @Override
+    public Optional<Instrument> validateSymbol(String symbol) {
+        try {
+            // A one-day range is the smallest chart response that still carries meta
+            String json = fetchData(symbol, YahooFinanceMarketDataProvider.VALIDATION_QUERY, Deadline.NONE);
+            return parser.parseInstrument(symbol, json);
+        } catch (UpstreamUnavailableException e) {
+            // Not evidence that the symbol is unknown; let callers retry later
+            throw e;
+        } catch (Exception e) {
+            LOG.warn("Failed to validate symbol {}: {}", symbol, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private String fetchData(String symbol, String query, Deadline deadline) {
+        URI uri = URI.create("%s/v8/finance/chart/%s?%s".formatted(
+                baseUrl, URLEncoder.encode(symbol, StandardCharsets.UTF_8), query));
+        return guard.call(() -> instrumentation.fetch(symbol, () -> send(symbol, uri, deadline)), deadline);
+    }
+
+    private String send(String symbol, URI uri, Deadline deadline) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(deadline.cap(requestTimeout))
+                .header("User-Agent", "Mozilla/5.0")
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip, deflate")
+                .GET()
+                .build();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw YahooErrors.forStatus(symbol, response.statusCode(),
+                        response.headers().firstValue("Retry-After").orElse(null), null);
+            }
+            return decode(response);
+        } catch (HttpTimeoutException e) {
+            if (deadline.isExpired()) {
+                // Our deadline, not a slow upstream: keep it out of the circuit breaker
+                throw new DeadlineExceededException("Request exceeded its deadline while fetching " + symbol, e);
+            }
+            throw YahooErrors.unreachable(symbol, e);
+        } catch (IOException e) {
+            throw YahooErrors.unreachable(symbol, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MarketDataFetchException("Interrupted while fetching " + symbol, e);
+        }
+    }
+
+    private static String decode(HttpResponse<byte[]> response) throws IOException {
+        String encoding = response.headers().firstValue("Content-Encoding")
+                .map(value -> value.trim().toLowerCase(Locale.ROOT))
+                .orElse("identity");
+        byte[] body = response.body();
+        byte[] decoded = switch (encoding) {
+            case "identity", "" -> body;
+            case "gzip", "x-gzip" -> readAll(new GZIPInputStream(new ByteArrayInputStream(body)));
+            case "deflate" -> readAll(new InflaterInputStream(new ByteArrayInputStream(body)));
+            default -> throw new IOException("Unsupported Content-Encoding: " + encoding);
+        };
+        return new String(decoded, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.github.mezink.strategylab.infrastructure.yahoo;
+
+import com.github.mezink.strategylab.domain.exception.MarketDataFetchException;
+import com.github.mezink.strategylab.domain.model.Candle;
+import com.github.mezink.strategylab.domain.model.CompactCandleColumns;
+import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.model.Interval;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Parses Yahoo Finance v8 chart API responses into domain objects.
+ * Kept separate from the HTTP client so it can be benchmarked and reused by other transports.
+ */
+public class YahooChartParser {
+
+    private static final ZoneId MARKET_ZONE = ZoneId.of("America/New_York");
+
+    private final ObjectMapper objectMapper;
+
+    public YahooChartParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Parse a daily chart response into a time series.
+     *
+     * @throws MarketDataFetchException if the payload has no usable candles
+     */
+    public TimeSeries parseSeries(String symbol, String json) {
+        return parseSeries(symbol, json, Interval.ONE_DAY);
+    }
+
+    /**
+     * Parse a chart response of {@code interval} bars into a time series. Intraday bars go
+     * straight into {@link CompactCandleColumns}; bars with a missing price (no trades in
+     * that slot) are dropped.
+     *
+     * @throws MarketDataFetchException if the payload has no usable candles
+     */
+    public TimeSeries parseSeries(String symbol, String json, Interval interval) {
+        try {
+            JsonNode root = objectMapper.readTree(json);
+            JsonNode result = root.path("chart").path("result");
+
+            if (result.isMissingNode() || !result.isArray() || result.isEmpty()) {
+                throw new MarketDataFetchException("No chart data returned for " + symbol);
+            }
+
+            JsonNode firstResult = result.get(0);
+            JsonNode meta = firstResult.path("meta");
+            JsonNode timestamps = firstResult.path("timestamp");
+            JsonNode indicators = firstResult.path("indicators").path("quote").get(0);
+
+            if (timestamps.isMissingNode() || !timestamps.isArray()) {
+                throw new MarketDataFetchException("No timestamps in response for " + symbol);
+            }
+
+            String shortName = meta.path("shortName").asString(symbol);
+            String instrumentType = meta.path("instrumentType").asString("UNKNOWN");
+            String exchange = meta.path("exchangeName").asString(null);
+            Instrument instrument = new Instrument(symbol.toUpperCase(Locale.ROOT), shortName, instrumentType, exchange);
+
+            if (interval.isIntraday()) {
+                CompactCandleColumns.Builder bars = parseBars(timestamps, indicators);
+                if (bars.size() == 0) {
+                    throw new MarketDataFetchException("No valid candles parsed for " + symbol);
+                }
+                return TimeSeries.of(instrument, interval, bars.build());
+            }
+
+            JsonNode adjCloses = resolveAdjClose(firstResult);
+            List<Candle> candles = parseCandles(timestamps, indicators, adjCloses);
+
+            if (candles.isEmpty()) {
+                throw new MarketDataFetchException("No valid candles parsed for " + symbol);
+            }
+
+            return new TimeSeries(instrument, candles);
+        } catch (MarketDataFetchException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MarketDataFetchException("Failed to parse Yahoo Finance response for " + symbol, e);
+        }
+    }
+
+    /**
+     * Read the instrument description from a chart response's {@code meta} block.
+     *
+     * @return the instrument, or empty if the response has no chart result
+     */
+    public Optional<Instrument> parseInstrument(String symbol, String json) {
+        JsonNode root = objectMapper.readTree(json);
+        JsonNode result = root.path("chart").path("result");
+        if (result.isMissingNode() || !result.isArray() || result.isEmpty()) {
+            return Optional.empty();
+        }
+
+        JsonNode meta = result.get(0).path("meta");
+        String resolvedSymbol = meta.path("symbol").asString(symbol);
+        String shortName = meta.path("shortName").asString(resolvedSymbol);
+        String instrumentType = meta.path("instrumentType").asString("UNKNOWN");
+        String exchange = meta.path("exchangeName").asString(null);
+
+        return Optional.of(new Instrument(resolvedSymbol, shortName, instrumentType, exchange));
+    }
+
+    private static JsonNode resolveAdjClose(JsonNode firstResult) {
+        JsonNode adjCloseNode = firstResult.path("indicators").path("adjclose");
+        if (!adjCloseNode.isMissingNode() && adjCloseNode.isArray() && !adjCloseNode.isEmpty()) {
+            return adjCloseNode.get(0).path("adjclose");
+        }
+        return null;
+    }
+
+    private static List<Candle> parseCandles(JsonNode timestamps, JsonNode indicators, JsonNode adjCloses) {
+        JsonNode opens = indicators.path("open");
+        JsonNode highs = indicators.path("high");
+        JsonNode lows = indicators.path("low");
+        JsonNode closes = indicators.path("close");
+        JsonNode volumes = indicators.path("volume");
+
+        List<Candle> candles = new ArrayList<>();
+        for (int i = 0; i < timestamps.size(); i++) {
+            if (closes.get(i).isNull()) {
+                continue;
+            }
+
+            long epochSeconds = timestamps.get(i).asLong();
+            LocalDate date = Instant.ofEpochSecond(epochSeconds)
+                    .atZone(MARKET_ZONE)
+                    .toLocalDate();
+
+            BigDecimal open = toBigDecimal(opens.get(i));
+            BigDecimal high = toBigDecimal(highs.get(i));
+            BigDecimal low = toBigDecimal(lows.get(i));
+            BigDecimal close = resolveClosePrice(closes.get(i), adjCloses, i);
+            long volume = volumes.get(i).isNull() ? 0 : volumes.get(i).asLong();
+
+            candles.add(new Candle(date, open, high, low, close, volume));
+        }
+        return candles;
+    }
+
+    private static CompactCandleColumns.Builder parseBars(JsonNode timestamps, JsonNode indicators) {
+        JsonNode opens = indicators.path("open");
+        JsonNode highs = indicators.path("high");
+        JsonNode lows = indicators.path("low");
+        JsonNode closes = indicators.path("close");
+        JsonNode volumes = indicators.path("volume");
+
+        CompactCandleColumns.Builder bars = CompactCandleColumns.builder(timestamps.size());
+        long previous = Long.MIN_VALUE;
+        for (int i = 0; i < timestamps.size(); i++) {
+            if (opens.get(i).isNull() || highs.get(i).isNull() || lows.get(i).isNull() || closes.get(i).isNull()) {
+                continue;
+            }
+            long epochSecond = timestamps.get(i).asLong();
+            if (epochSecond <= previous) {
+                // The live bar of a trading session can be repeated at the end of the response
+                continue;
+            }
+            previous = epochSecond;
+            long volume = volumes.get(i).isNull() ? 0 : volumes.get(i).asLong();
+            bars.add(epochSecond, opens.get(i).asDouble(), highs.get(i).asDouble(), lows.get(i).asDouble(),
+                    closes.get(i).asDouble(), volume);
+        }
+        return bars;
+    }
+
+    private static BigDecimal resolveClosePrice(JsonNode closeNode, JsonNode adjCloses, int index) {
+        if (adjCloses != null && !adjCloses.get(index).isNull()) {
+            return toBigDecimal(adjCloses.get(index));
+        }
+        return toBigDecimal(closeNode);
+    }
+
+    private static BigDecimal toBigDecimal(JsonNode node) {
+        if (node == null || node.isNull()) return BigDecimal.ZERO;
+        return BigDecimal.valueOf(node.asDouble());
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.mezink.strategylab.infrastructure.yahoo;
+
+import com.github.mezink.strategylab.domain.exception.MarketDataFetchException;
+import com.github.mezink.strategylab.domain.exception.UpstreamUnavailableException;
+import com.github.mezink.strategylab.infrastructure.resilience.RetryAfter;
+
+/**
+ * Maps Yahoo HTTP failures to domain exceptions. Throttling (429), server errors and I/O
+ * failures are transient ({@link UpstreamUnavailableException}); other client errors mean
+ * the symbol is unknown.
+ */
+final class YahooErrors {
+
+    private YahooErrors() {
+    }
+
+    static MarketDataFetchException forStatus(String symbol, int status, String retryAfter, Throwable cause) {
+        if (status == 429) {
+            return new UpstreamUnavailableException(
+                    "Yahoo Finance throttled request for " + symbol, RetryAfter.parse(retryAfter), cause);
+        }
+        if (status >= 500) {
+            return new UpstreamUnavailableException(
+                    "Yahoo Finance error for %s (HTTP %d)".formatted(symbol, status), RetryAfter.parse(retryAfter), cause);
+        }
+        return new MarketDataFetchException("Symbol '%s' not found (HTTP %d)".formatted(symbol, status), cause);
+    }
+
+    static UpstreamUnavailableException unreachable(String symbol, Throwable cause) {
+        return new UpstreamUnavailableException(
+                "Yahoo Finance unreachable for %s: %s".formatted(symbol, cause.getMessage()), null, cause);
+    }
+}
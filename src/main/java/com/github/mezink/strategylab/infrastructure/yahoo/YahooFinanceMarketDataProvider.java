@@ -1,184 +1,172 @@
 package com.github.mezink.strategylab.infrastructure.yahoo;
 
-import com.github.mezink.strategylab.domain.model.Candle;
+import com.github.mezink.strategylab.domain.model.Deadline;
 import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.model.Interval;
 import com.github.mezink.strategylab.domain.model.TimeSeries;
 import com.github.mezink.strategylab.domain.port.MarketDataProvider;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
-import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 
-import java.math.BigDecimal;
-import java.time.Instant;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.time.ZoneOffset;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 
+import com.github.mezink.strategylab.domain.exception.DeadlineExceededException;
 import com.github.mezink.strategylab.domain.exception.MarketDataFetchException;
-import org.springframework.web.client.HttpClientErrorException;
+import com.github.mezink.strategylab.domain.exception.UpstreamUnavailableException;
+import com.github.mezink.strategylab.infrastructure.resilience.UpstreamGuard;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
 
 /**
  * Yahoo Finance market data provider using the v8 chart API.
- * Fetches daily candles via HTTP and parses the JSON response.
+ * Fetches candles of any {@link Interval} via HTTP; parsing is delegated to {@link YahooChartParser}.
+ * Every HTTP call goes through an {@link UpstreamGuard} (rate limit, concurrency cap,
+ * retries, circuit breaker). Throttling, server errors and I/O failures surface as
+ * {@link UpstreamUnavailableException} so the guard can tell them from unknown symbols.
+ * <p>
+ * Fetch and parse timings are recorded by {@link YahooInstrumentation}.
  */
 public class YahooFinanceMarketDataProvider implements MarketDataProvider {
 
     private static final Logger LOG = LoggerFactory.getLogger(YahooFinanceMarketDataProvider.class);
-    private static final String BASE_URL = "https://query1.finance.yahoo.com";
+    /** Public Yahoo chart API host, used unless {@code strategylab.yahoo.base-url} overrides it. */
+    public static final String DEFAULT_BASE_URL = "https://query1.finance.yahoo.com";
+    /** Chart query used for symbol validation: one daily candle plus {@code meta}. */
+    static final String VALIDATION_QUERY = "range=1d&interval=1d";
 
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
     private final RestClient restClient;
-    private final ObjectMapper objectMapper;
-
-    public YahooFinanceMarketDataProvider(RestClient.Builder restClientBuilder, ObjectMapper objectMapper) {
+    private final YahooChartParser parser;
+    private final UpstreamGuard guard;
+    private final YahooInstrumentation instrumentation;
+
+    public YahooFinanceMarketDataProvider(
+            RestClient.Builder restClientBuilder,
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            String baseUrl,
+            UpstreamGuard guard,
+            Duration connectTimeout,
+            Duration requestTimeout
+    ) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build();
+        this.requestTimeout = requestTimeout;
         this.restClient = restClientBuilder
-                .baseUrl(BASE_URL)
+                .requestFactory(requestFactory(requestTimeout))
+                .baseUrl(baseUrl)
                 .defaultHeader("User-Agent", "Mozilla/5.0")
                 .build();
-        this.objectMapper = objectMapper;
+        this.parser = new YahooChartParser(objectMapper);
+        this.guard = guard;
+        this.instrumentation = new YahooInstrumentation(registry);
     }
 
     @Override
     public TimeSeries getDailySeries(String symbol, LocalDate start, LocalDate end) {
+        return fetchSeries(symbol, start, end, Interval.ONE_DAY, Deadline.NONE);
+    }
+
+    @Override
+    public TimeSeries getSeries(String symbol, LocalDate start, LocalDate end, Interval interval) {
+        return getSeries(symbol, start, end, interval, Deadline.NONE);
+    }
+
+    /**
+     * Intraday bars come from Yahoo, which keeps only recent intraday history (about 30 days
+     * of 1m bars, 60 days of 5m and two years of 1h); older ranges are rejected upstream.
+     * Longer bars are rolled up from daily candles.
+     * <p>
+     * {@code deadline} bounds the guard's waits and retries, and each attempt's read timeout
+     * is capped to the time left before it.
+     */
+    @Override
+    public TimeSeries getSeries(String symbol, LocalDate start, LocalDate end, Interval interval, Deadline deadline) {
+        if (interval.isIntraday()) {
+            return fetchSeries(symbol, start, end, interval, deadline);
+        }
+        TimeSeries daily = fetchSeries(symbol, start, end, Interval.ONE_DAY, deadline);
+        return interval.isRollup() ? daily.rollUp(interval) : daily;
+    }
+
+    private TimeSeries fetchSeries(String symbol, LocalDate start, LocalDate end, Interval interval, Deadline deadline) {
         long period1 = start.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
         long period2 = end.plusDays(1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
 
-        String json = fetchData(symbol, period1, period2);
-        return parseChartResponse(symbol, json);
+        String json = fetchData(symbol,
+                "period1=%d&period2=%d&interval=%s".formatted(period1, period2, interval.code()), deadline);
+        return instrumentation.parse(symbol, () -> parser.parseSeries(symbol, json, interval));
     }
 
     @Override
     public Optional<Instrument> validateSymbol(String symbol) {
         try {
-            // Fetch a tiny range to confirm the symbol exists
-            LocalDate end = LocalDate.now();
-            LocalDate start = end.minusDays(7);
-            long period1 = start.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
-            long period2 = end.plusDays(1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
-
-            String json = fetchData(symbol, period1, period2);
-
-            JsonNode root = objectMapper.readTree(json);
-            JsonNode result = root.path("chart").path("result");
-            if (result.isMissingNode() || !result.isArray() || result.isEmpty()) {
-                return Optional.empty();
-            }
-
-            JsonNode meta = result.get(0).path("meta");
-            String resolvedSymbol = meta.path("symbol").asString(symbol);
-            String shortName = meta.path("shortName").asString(resolvedSymbol);
-            String instrumentType = meta.path("instrumentType").asString("UNKNOWN");
-
-            return Optional.of(new Instrument(resolvedSymbol, shortName, instrumentType));
+            // A one-day range is the smallest chart response that still carries meta
+            String json = fetchData(symbol, VALIDATION_QUERY, Deadline.NONE);
+            return parser.parseInstrument(symbol, json);
+        } catch (UpstreamUnavailableException e) {
+            // Not evidence that the symbol is unknown; let callers retry later
+            throw e;
         } catch (Exception e) {
             LOG.warn("Failed to validate symbol {}: {}", symbol, e.getMessage());
             return Optional.empty();
         }
     }
 
-    private String fetchData(String symbol, long period1, long period2) {
+    private String fetchData(String symbol, String query, Deadline deadline) {
         try {
-            return restClient.get()
-                    .uri("/v8/finance/chart/{symbol}?period1={p1}&period2={p2}&interval=1d", symbol, period1, period2)
-                    .retrieve()
-                    .body(String.class);
-        } catch (HttpClientErrorException e) {
-            throw new MarketDataFetchException(
-                    "Symbol '%s' not found (HTTP %d)".formatted(symbol, e.getStatusCode().value()), e);
-        } catch (Exception e) {
+            return guard.call(() -> instrumentation.fetch(symbol, () -> fetchOnce(symbol, query, deadline)), deadline);
+        } catch (MarketDataFetchException | DeadlineExceededException | CancellationException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // Wrapped outside the guard, so that it is not mistaken for an answer from Yahoo
             throw new MarketDataFetchException(
                     "Failed to fetch data for %s: %s".formatted(symbol, e.getMessage()), e);
         }
     }
 
-    private TimeSeries parseChartResponse(String symbol, String json) {
+    private String fetchOnce(String symbol, String query, Deadline deadline) {
+        Duration timeout = deadline.cap(requestTimeout);
+        RestClient client = timeout.equals(requestTimeout)
+                ? restClient
+                : restClient.mutate().requestFactory(requestFactory(timeout)).build();
         try {
-            JsonNode root = objectMapper.readTree(json);
-            JsonNode result = root.path("chart").path("result");
-
-            if (result.isMissingNode() || !result.isArray() || result.isEmpty()) {
-                throw new MarketDataFetchException("No chart data returned for " + symbol);
-            }
-
-            JsonNode firstResult = result.get(0);
-            JsonNode meta = firstResult.path("meta");
-            JsonNode timestamps = firstResult.path("timestamp");
-            JsonNode indicators = firstResult.path("indicators").path("quote").get(0);
-
-            if (timestamps.isMissingNode() || !timestamps.isArray()) {
-                throw new MarketDataFetchException("No timestamps in response for " + symbol);
-            }
-
-            JsonNode adjCloses = resolveAdjClose(firstResult);
-            List<Candle> candles = parseCandles(timestamps, indicators, adjCloses);
-
-            if (candles.isEmpty()) {
-                throw new MarketDataFetchException("No valid candles parsed for " + symbol);
-            }
-
-            String shortName = meta.path("shortName").asString(symbol);
-            String instrumentType = meta.path("instrumentType").asString("UNKNOWN");
-            Instrument instrument = new Instrument(symbol.toUpperCase(Locale.ROOT), shortName, instrumentType);
-
-            return new TimeSeries(instrument, candles);
-        } catch (MarketDataFetchException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new MarketDataFetchException("Failed to parse Yahoo Finance response for " + symbol, e);
-        }
-    }
-
-    private static JsonNode resolveAdjClose(JsonNode firstResult) {
-        JsonNode adjCloseNode = firstResult.path("indicators").path("adjclose");
-        if (!adjCloseNode.isMissingNode() && adjCloseNode.isArray() && !adjCloseNode.isEmpty()) {
-            return adjCloseNode.get(0).path("adjclose");
-        }
-        return null;
-    }
-
-    private static List<Candle> parseCandles(JsonNode timestamps, JsonNode indicators, JsonNode adjCloses) {
-        JsonNode opens = indicators.path("open");
-        JsonNode highs = indicators.path("high");
-        JsonNode lows = indicators.path("low");
-        JsonNode closes = indicators.path("close");
-        JsonNode volumes = indicators.path("volume");
-
-        List<Candle> candles = new ArrayList<>();
-        for (int i = 0; i < timestamps.size(); i++) {
-            if (closes.get(i).isNull()) {
-                continue;
+            return client.get()
+                    .uri(builder -> builder.path("/v8/finance/chart/{symbol}").query(query).build(symbol))
+                    .retrieve()
+                    .body(String.class);
+        } catch (RestClientResponseException e) {
+            HttpHeaders headers = e.getResponseHeaders();
+            String retryAfter = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+            throw YahooErrors.forStatus(symbol, e.getStatusCode().value(), retryAfter, e);
+        } catch (ResourceAccessException e) {
+            if (e.getCause() instanceof HttpTimeoutException && deadline.isExpired()) {
+                // Our deadline, not a slow upstream: keep it out of the circuit breaker
+                throw new DeadlineExceededException("Request exceeded its deadline while fetching " + symbol, e);
             }
-
-            long epochSeconds = timestamps.get(i).asLong();
-            LocalDate date = Instant.ofEpochSecond(epochSeconds)
-                    .atZone(ZoneId.of("America/New_York"))
-                    .toLocalDate();
-
-            BigDecimal open = toBigDecimal(opens.get(i));
-            BigDecimal high = toBigDecimal(highs.get(i));
-            BigDecimal low = toBigDecimal(lows.get(i));
-            BigDecimal close = resolveClosePrice(closes.get(i), adjCloses, i);
-            long volume = volumes.get(i).isNull() ? 0 : volumes.get(i).asLong();
-
-            candles.add(new Candle(date, open, high, low, close, volume));
-        }
-        return candles;
-    }
-
-    private static BigDecimal resolveClosePrice(JsonNode closeNode, JsonNode adjCloses, int index) {
-        if (adjCloses != null && !adjCloses.get(index).isNull()) {
-            return toBigDecimal(adjCloses.get(index));
+            throw YahooErrors.unreachable(symbol, e);
         }
-        return toBigDecimal(closeNode);
     }
 
-    private static BigDecimal toBigDecimal(JsonNode node) {
-        if (node == null || node.isNull()) return BigDecimal.ZERO;
-        return BigDecimal.valueOf(node.asDouble());
+    /**
+     * A request factory on the shared client, so per-attempt factories reuse its connections.
+     */
+    private JdkClientHttpRequestFactory requestFactory(Duration readTimeout) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(readTimeout);
+        return factory;
     }
 }
@@ -0,0 +1,88 @@
+package com.github.mezink.strategylab.infrastructure.yahoo;
+
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.infrastructure.jfr.MarketDataFetchEvent;
+import com.github.mezink.strategylab.infrastructure.jfr.MarketDataParseEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Metrics and JFR events shared by the Yahoo providers: {@code strategylab.yahoo.fetch}
+ * (tagged by outcome), {@code strategylab.yahoo.parse} and {@code strategylab.yahoo.response.size}.
+ */
+final class YahooInstrumentation {
+
+    private final Timer fetchSuccessTimer;
+    private final Timer fetchErrorTimer;
+    private final Timer parseTimer;
+    private final DistributionSummary responseSize;
+
+    YahooInstrumentation(MeterRegistry registry) {
+        this.fetchSuccessTimer = fetchTimer(registry, "success");
+        this.fetchErrorTimer = fetchTimer(registry, "error");
+        this.parseTimer = Timer.builder("strategylab.yahoo.parse")
+                .description("Parsing of Yahoo chart responses into a time series")
+                .register(registry);
+        this.responseSize = DistributionSummary.builder("strategylab.yahoo.response.size")
+                .description("Size of Yahoo chart responses")
+                .baseUnit("chars")
+                .register(registry);
+    }
+
+    private static Timer fetchTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("strategylab.yahoo.fetch")
+                .description("HTTP round trip to the Yahoo chart API")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * Time one HTTP attempt returning the response body.
+     */
+    String fetch(String symbol, Supplier<String> call) {
+        MarketDataFetchEvent event = new MarketDataFetchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String body = null;
+        try {
+            body = call.get();
+            return body;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            boolean success = body != null;
+            (success ? fetchSuccessTimer : fetchErrorTimer).record(elapsed, TimeUnit.NANOSECONDS);
+            if (success) {
+                responseSize.record(body.length());
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.symbol = symbol;
+                event.success = success;
+                event.responseSize = success ? body.length() : 0;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Time parsing of a fetched response.
+     */
+    TimeSeries parse(String symbol, Supplier<TimeSeries> parse) {
+        MarketDataParseEvent event = new MarketDataParseEvent();
+        event.begin();
+        long start = System.nanoTime();
+        TimeSeries series = parse.get();
+        parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        event.end();
+        if (event.shouldCommit()) {
+            event.symbol = symbol;
+            event.candleCount = series.size();
+            event.commit();
+        }
+        return series;
+    }
+}
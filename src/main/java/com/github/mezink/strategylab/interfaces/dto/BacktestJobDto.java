@@ -0,0 +1,31 @@
+package com.github.mezink.strategylab.interfaces.dto;
+
+import com.github.mezink.strategylab.application.job.BacktestJob;
+import com.github.mezink.strategylab.application.job.JobStatus;
+
+import java.time.Instant;
+
+/**
+ * Response DTO describing an asynchronous backtest job and its progress.
+ */
+public record BacktestJobDto(
+        String id,
+        JobStatus status,
+        int completed,
+        int total,
+        Instant submittedAt,
+        Instant finishedAt,
+        String error
+) {
+    public static BacktestJobDto from(BacktestJob job) {
+        return new BacktestJobDto(
+                job.id(),
+                job.status(),
+                job.completed(),
+                job.total(),
+                job.submittedAt(),
+                job.finishedAt(),
+                job.error()
+        );
+    }
+}
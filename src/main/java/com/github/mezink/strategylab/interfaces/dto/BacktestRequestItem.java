@@ -1,6 +1,7 @@
 package com.github.mezink.strategylab.interfaces.dto;
 
 import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import com.github.mezink.strategylab.domain.model.Interval;
 import com.github.mezink.strategylab.domain.strategy.Strategy;
 import com.github.mezink.strategylab.domain.strategy.StrategyId;
 
@@ -18,20 +19,30 @@ public record BacktestRequestItem(
         LocalDate endDate,
         BigDecimal initialCapital,
         String strategyId,
-        Map<String, String> strategyParams
+        Map<String, String> strategyParams,
+        String interval
 ) {
 
+    /**
+     * An item for daily candles.
+     */
+    public BacktestRequestItem(String symbol, LocalDate startDate, LocalDate endDate, BigDecimal initialCapital,
+                               String strategyId, Map<String, String> strategyParams) {
+        this(symbol, startDate, endDate, initialCapital, strategyId, strategyParams, null);
+    }
+
     /**
      * Convert this wire-format DTO into a domain {@link BacktestConfig}.
      * Parses the strategy identifier, creates a configured strategy instance,
-     * and assembles the domain config.
+     * and assembles the domain config. A missing interval means daily candles.
      *
      * @return a fully validated domain config
-     * @throws IllegalArgumentException if strategyId is unknown or params are invalid
+     * @throws IllegalArgumentException if strategyId, interval or params are invalid
      */
     public BacktestConfig toDomainConfig() {
         StrategyId id = StrategyId.valueOf(strategyId);
         Strategy strategy = id.createStrategy(strategyParams != null ? strategyParams : Map.of());
-        return new BacktestConfig(symbol, startDate, endDate, initialCapital, strategy);
+        Interval barInterval = interval == null || interval.isBlank() ? Interval.ONE_DAY : Interval.parse(interval);
+        return new BacktestConfig(symbol, startDate, endDate, initialCapital, strategy, barInterval);
     }
 }
@@ -1,5 +1,6 @@
 package com.github.mezink.strategylab.interfaces.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.github.mezink.strategylab.domain.model.BacktestMetrics;
 import com.github.mezink.strategylab.domain.model.BacktestResult;
 import com.github.mezink.strategylab.domain.model.EquityPoint;
@@ -9,14 +10,18 @@ import com.github.mezink.strategylab.domain.strategy.StrategyId;
 import java.util.List;
 
 /**
- * Response DTO for a single backtest result.
+ * Response DTO for a single backtest result. Parts the request did not include are
+ * omitted; {@code equityCurveSize} and {@code tradeCount} give the full sizes for paging.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record BacktestResultDto(
         StrategyId strategyId,
         String symbol,
         List<EquityPoint> equityCurve,
         List<Trade> trades,
-        BacktestMetrics metrics
+        BacktestMetrics metrics,
+        int equityCurveSize,
+        int tradeCount
 ) {
     public static BacktestResultDto from(BacktestResult result) {
         return new BacktestResultDto(
@@ -24,7 +29,9 @@ public record BacktestResultDto(
                 result.symbol(),
                 result.equityCurve(),
                 result.trades(),
-                result.metrics()
+                result.metrics(),
+                result.equityCurveSize(),
+                result.tradeCount()
         );
     }
 }
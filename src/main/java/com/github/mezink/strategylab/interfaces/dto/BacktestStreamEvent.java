@@ -0,0 +1,22 @@
+package com.github.mezink.strategylab.interfaces.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One element of a streamed comparison: either the result or the error for the
+ * backtest at {@code index} in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BacktestStreamEvent(
+        int index,
+        BacktestResultDto result,
+        String error
+) {
+    public static BacktestStreamEvent result(int index, BacktestResultDto result) {
+        return new BacktestStreamEvent(index, result, null);
+    }
+
+    public static BacktestStreamEvent error(int index, String error) {
+        return new BacktestStreamEvent(index, null, error);
+    }
+}
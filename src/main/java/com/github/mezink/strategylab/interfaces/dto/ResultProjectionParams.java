@@ -0,0 +1,70 @@
+package com.github.mezink.strategylab.interfaces.dto;
+
+import com.github.mezink.strategylab.domain.model.Page;
+import com.github.mezink.strategylab.domain.model.ResultProjection;
+
+import java.util.Locale;
+
+/**
+ * Query parameters choosing which parts of each backtest result to return, e.g.
+ * {@code ?include=metrics,trades&tradesLimit=50}. {@code include} lists any of
+ * {@code metrics}, {@code equityCurve} and {@code trades}, and defaults to all three; the
+ * offset and limit parameters page the curve and trades, and default to everything.
+ * Parameters are bound as strings so that bad values get a 400 with a useful message.
+ */
+public record ResultProjectionParams(
+        String include,
+        String curveOffset,
+        String curveLimit,
+        String tradesOffset,
+        String tradesLimit
+) {
+    /**
+     * Convert to a domain {@link ResultProjection}.
+     *
+     * @throws IllegalArgumentException if a part is unknown or a number is invalid
+     */
+    public ResultProjection toDomain() {
+        Page curvePage = page("curveOffset", curveOffset, "curveLimit", curveLimit);
+        Page tradePage = page("tradesOffset", tradesOffset, "tradesLimit", tradesLimit);
+        if (include == null || include.isBlank()) {
+            return new ResultProjection(true, true, true, curvePage, tradePage);
+        }
+        boolean metrics = false;
+        boolean equityCurve = false;
+        boolean trades = false;
+        for (String part : include.split(",")) {
+            switch (part.trim().toLowerCase(Locale.ROOT)) {
+                case "metrics" -> metrics = true;
+                case "equitycurve" -> equityCurve = true;
+                case "trades" -> trades = true;
+                case "" -> {
+                }
+                default -> throw new IllegalArgumentException(
+                        "Unknown include '%s'; expected metrics, equityCurve or trades".formatted(part.trim()));
+            }
+        }
+        return new ResultProjection(metrics, equityCurve, trades, curvePage, tradePage);
+    }
+
+    private static Page page(String offsetName, String offset, String limitName, String limit) {
+        return new Page(
+                parse(offsetName, offset, 0),
+                parse(limitName, limit, Page.ALL.limit()));
+    }
+
+    private static int parse(String name, String value, int defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < 0) {
+                throw new IllegalArgumentException(name + " must not be negative");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a whole number, got '" + value + "'");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.mezink.strategylab.interfaces.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.github.mezink.strategylab.application.SymbolValidation;
+import com.github.mezink.strategylab.domain.model.Instrument;
+
+/**
+ * Response DTO for one symbol of a batch validation.
+ *
+ * @param status {@code VALID}, {@code UNKNOWN}, or {@code UNAVAILABLE} when the data source could not be reached
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SymbolValidationDto(
+        String symbol,
+        boolean valid,
+        String status,
+        Instrument instrument
+) {
+    public static SymbolValidationDto from(SymbolValidation validation) {
+        return new SymbolValidationDto(
+                validation.symbol(),
+                validation.status() == SymbolValidation.Status.VALID,
+                validation.status().name(),
+                validation.instrument()
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package com.github.mezink.strategylab.interfaces.dto;
+
+import java.util.List;
+
+/**
+ * Request DTO for validating several symbols at once.
+ */
+public record ValidateSymbolsRequest(
+        List<String> symbols
+) {
+}
@@ -1,46 +1,206 @@
 package com.github.mezink.strategylab.interfaces.rest;
 
+import com.github.mezink.strategylab.application.PreparedBacktests;
 import com.github.mezink.strategylab.application.RunBacktestUseCase;
+import com.github.mezink.strategylab.application.StreamBacktestUseCase;
 import com.github.mezink.strategylab.domain.model.BacktestConfig;
 import com.github.mezink.strategylab.domain.model.BacktestResult;
+import com.github.mezink.strategylab.domain.model.Deadline;
+import com.github.mezink.strategylab.domain.model.ResultProjection;
 import com.github.mezink.strategylab.interfaces.dto.BacktestRequest;
 import com.github.mezink.strategylab.interfaces.dto.BacktestRequestItem;
 import com.github.mezink.strategylab.interfaces.dto.BacktestResponse;
 import com.github.mezink.strategylab.interfaces.dto.BacktestResultDto;
+import com.github.mezink.strategylab.interfaces.dto.BacktestStreamEvent;
+import com.github.mezink.strategylab.interfaces.dto.ResultProjectionParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/backtest")
 public class BacktestController {
 
+    private static final Logger LOG = LoggerFactory.getLogger(BacktestController.class);
+    private static final String NDJSON = "application/x-ndjson";
+    /** Emitter time beyond the stream deadline, so backtests cut off by it are still reported. */
+    private static final Duration EMITTER_GRACE = Duration.ofSeconds(10);
+
     private final RunBacktestUseCase runBacktestUseCase;
+    private final StreamBacktestUseCase streamBacktestUseCase;
+    private final ObjectMapper objectMapper;
 
-    public BacktestController(RunBacktestUseCase runBacktestUseCase) {
+    public BacktestController(
+            RunBacktestUseCase runBacktestUseCase,
+            StreamBacktestUseCase streamBacktestUseCase,
+            ObjectMapper objectMapper
+    ) {
         this.runBacktestUseCase = runBacktestUseCase;
+        this.streamBacktestUseCase = streamBacktestUseCase;
+        this.objectMapper = objectMapper;
     }
 
-    @PostMapping
-    public ResponseEntity<BacktestResponse> runBacktest(@RequestBody BacktestRequest request) {
-        if (request.backtests() == null || request.backtests().isEmpty()) {
-            throw new IllegalArgumentException("At least one backtest configuration is required");
+    /**
+     * Runs all backtests and returns the results as JSON, CBOR or Smile depending on
+     * the {@code Accept} header.
+     * <p>
+     * The market data is fetched first (usually from cache) to compute a {@link BacktestEtag}.
+     * If the client's {@code If-None-Match} already holds that tag the backtests are skipped
+     * and 304 is returned. Strictly, HTTP defines 304 for GET and HEAD only; this endpoint
+     * uses POST because the request is a document, and the dashboard sends the header itself.
+     * {@code If-None-Match: *} is ignored rather than answered with 304 or 412.
+     * <p>
+     * Requests estimated over the per-request budget get 413, and 429 if the instance has
+     * no capacity for them within the queue timeout.
+     * <p>
+     * {@link ResultProjectionParams} query parameters select and page the parts of each
+     * result, so a caller that only needs metrics does not pay for the equity curve.
+     */
+    @PostMapping(produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ResponseFormats.SMILE_VALUE})
+    public ResponseEntity<BacktestResponse> runBacktest(
+            @RequestBody BacktestRequest request,
+            ResultProjectionParams projectionParams,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        ResultProjection projection = projectionParams.toDomain();
+        List<BacktestConfig> configs = toDomainConfigs(request, projection);
+        String etag;
+        List<BacktestResult> results;
+        try (PreparedBacktests prepared = runBacktestUseCase.prepare(configs, runBacktestUseCase.newDeadline())) {
+            etag = BacktestEtag.of(request, projection, prepared.dataVersion(), accept);
+            if (BacktestEtag.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .build();
+            }
+            results = runBacktestUseCase.execute(prepared);
         }
 
-        List<BacktestConfig> configs = request.backtests().stream()
-                .map(BacktestRequestItem::toDomainConfig)
+        List<BacktestResultDto> dtos = results.stream()
+                .map(BacktestResultDto::from)
                 .toList();
 
-        List<BacktestResult> results = runBacktestUseCase.execute(configs);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(new BacktestResponse(dtos));
+    }
 
-        List<BacktestResultDto> dtos = results.stream()
-                .map(BacktestResultDto::from)
+    /**
+     * Streams one JSON object per line as each backtest completes. Each line is
+     * serialized on its own and flushed, so only in-flight results are held in memory.
+     * Requests over the per-request budget get 413 before anything is streamed.
+     */
+    @PostMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamNdjson(
+            @RequestBody BacktestRequest request,
+            ResultProjectionParams projectionParams
+    ) {
+        List<BacktestConfig> configs = toDomainConfigs(request, projectionParams.toDomain());
+        streamBacktestUseCase.checkBudget(configs);
+
+        StreamingResponseBody body = out -> streamBacktestUseCase.execute(configs, new StreamBacktestUseCase.Listener() {
+            @Override
+            public void onResult(int index, BacktestResult result) {
+                writeLine(out, BacktestStreamEvent.result(index, BacktestResultDto.from(result)));
+            }
+
+            @Override
+            public void onError(int index, RuntimeException error) {
+                writeLine(out, BacktestStreamEvent.error(index, error.getMessage()));
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    /**
+     * Server-Sent Events variant of {@link #streamNdjson}: a {@code result} or {@code error}
+     * event per backtest, with the request index as the event id. The emitter outlives the
+     * configured stream deadline by a short grace, so backtests still running at the deadline
+     * are reported as errors; when the client goes away or the emitter times out anyway, they
+     * are abandoned.
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestBody BacktestRequest request, ResultProjectionParams projectionParams) {
+        List<BacktestConfig> configs = toDomainConfigs(request, projectionParams.toDomain());
+        streamBacktestUseCase.checkBudget(configs);
+        SseEmitter emitter = new SseEmitter(streamBacktestUseCase.timeout().plus(EMITTER_GRACE).toMillis());
+        Deadline deadline = streamBacktestUseCase.newDeadline();
+        emitter.onTimeout(deadline::cancel);
+        emitter.onError(_ -> deadline.cancel());
+
+        Thread.ofVirtual().name("backtest-sse").start(() -> {
+            try {
+                streamBacktestUseCase.execute(configs, new StreamBacktestUseCase.Listener() {
+                    @Override
+                    public void onResult(int index, BacktestResult result) {
+                        sendEvent(emitter, "result", BacktestStreamEvent.result(index, BacktestResultDto.from(result)));
+                    }
+
+                    @Override
+                    public void onError(int index, RuntimeException error) {
+                        sendEvent(emitter, "error", BacktestStreamEvent.error(index, error.getMessage()));
+                    }
+                }, deadline);
+                emitter.complete();
+            } catch (RuntimeException e) {
+                LOG.debug("Backtest event stream aborted: {}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    private static List<BacktestConfig> toDomainConfigs(BacktestRequest request, ResultProjection projection) {
+        if (request.backtests() == null || request.backtests().isEmpty()) {
+            throw new IllegalArgumentException("At least one backtest configuration is required");
+        }
+        return request.backtests().stream()
+                .map(item -> item.toDomainConfig().withProjection(projection))
                 .toList();
+    }
+
+    private void writeLine(OutputStream out, BacktestStreamEvent event) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(event));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-        return ResponseEntity.ok(new BacktestResponse(dtos));
+    private static void sendEvent(SseEmitter emitter, String name, BacktestStreamEvent event) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(Integer.toString(event.index()))
+                    .name(name)
+                    .data(event, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -0,0 +1,103 @@
+package com.github.mezink.strategylab.interfaces.rest;
+
+import com.github.mezink.strategylab.Application;
+import com.github.mezink.strategylab.domain.model.Interval;
+import com.github.mezink.strategylab.domain.model.ResultProjection;
+import com.github.mezink.strategylab.interfaces.dto.BacktestRequest;
+import com.github.mezink.strategylab.interfaces.dto.BacktestRequestItem;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Entity tags for backtest responses. A backtest is a pure function of its request and the
+ * candles it reads, so the tag hashes a canonical form of the request (symbols upper-cased,
+ * parameters sorted, capital without trailing zeros, interval defaulted to {@code 1d}), the
+ * parsed result projection, the data version of the prepared series, the negotiated
+ * {@code Accept} header and the application version. Equal tags mean the response would be
+ * byte-for-byte the same.
+ * <p>
+ * Tags are weak because response compression may re-encode the bytes on the wire.
+ */
+final class BacktestEtag {
+
+    private static final String APPLICATION_VERSION = applicationVersion();
+
+    private BacktestEtag() {
+    }
+
+    static String of(BacktestRequest request, String dataVersion, String accept) {
+        return of(request, ResultProjection.FULL, dataVersion, accept);
+    }
+
+    static String of(BacktestRequest request, ResultProjection projection, String dataVersion, String accept) {
+        StringBuilder canonical = new StringBuilder(256)
+                .append(APPLICATION_VERSION).append('\n')
+                .append(accept == null ? "" : accept).append('\n')
+                .append(dataVersion).append('\n')
+                .append(projection).append('\n');
+        for (BacktestRequestItem item : request.backtests()) {
+            Map<String, String> params = new TreeMap<>(item.strategyParams() != null ? item.strategyParams() : Map.of());
+            canonical.append(item.symbol().trim().toUpperCase(Locale.ROOT)).append('|')
+                    .append(item.startDate()).append('|')
+                    .append(item.endDate()).append('|')
+                    .append(item.initialCapital().stripTrailingZeros().toPlainString()).append('|')
+                    .append(item.strategyId()).append('|')
+                    .append(interval(item)).append('|')
+                    .append(params).append('\n');
+        }
+        byte[] hash = sha256().digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+        return "W/\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+    }
+
+    private static String interval(BacktestRequestItem item) {
+        return item.interval() == null || item.interval().isBlank()
+                ? Interval.ONE_DAY.code()
+                : item.interval().trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header names {@code etag} under weak comparison.
+     * <p>
+     * Only used by {@code POST /api/backtest}, which answers a match with 304 so the
+     * dashboard can revalidate results it already holds. HTTP reserves 304 for GET and HEAD
+     * and asks for 412 when another method's condition fails, so this deliberate exception
+     * is kept to explicit tags: {@code *}, which would match any result, never matches and
+     * the backtests run as usual.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaque = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (opaque(trimmed).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static String applicationVersion() {
+        String version = Application.class.getPackage().getImplementationVersion();
+        return version != null ? version : "dev";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.mezink.strategylab.interfaces.rest;
+
+import com.github.mezink.strategylab.application.job.BacktestJob;
+import com.github.mezink.strategylab.application.job.BacktestJobManager;
+import com.github.mezink.strategylab.application.job.JobStatus;
+import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import com.github.mezink.strategylab.domain.model.BacktestResult;
+import com.github.mezink.strategylab.domain.model.ResultProjection;
+import com.github.mezink.strategylab.interfaces.dto.BacktestJobDto;
+import com.github.mezink.strategylab.interfaces.dto.BacktestRequest;
+import com.github.mezink.strategylab.interfaces.dto.BacktestResponse;
+import com.github.mezink.strategylab.interfaces.dto.BacktestResultDto;
+import com.github.mezink.strategylab.interfaces.dto.ResultProjectionParams;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Asynchronous variant of {@code POST /api/backtest}: submit a batch, poll its
+ * status, then fetch the results, or the ones completed so far while it runs.
+ */
+@RestController
+@RequestMapping("/api/backtest/jobs")
+public class BacktestJobController {
+
+    static final String JOB_STATUS_HEADER = "X-Job-Status";
+
+    private final BacktestJobManager jobManager;
+
+    public BacktestJobController(BacktestJobManager jobManager) {
+        this.jobManager = jobManager;
+    }
+
+    @PostMapping
+    public ResponseEntity<BacktestJobDto> submit(
+            @RequestBody BacktestRequest request,
+            ResultProjectionParams projectionParams
+    ) {
+        if (request.backtests() == null || request.backtests().isEmpty()) {
+            throw new IllegalArgumentException("At least one backtest configuration is required");
+        }
+
+        ResultProjection projection = projectionParams.toDomain();
+        List<BacktestConfig> configs = request.backtests().stream()
+                .map(item -> item.toDomainConfig().withProjection(projection))
+                .toList();
+
+        BacktestJob job = jobManager.submit(configs);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQuery(null)
+                .path("/{id}")
+                .buildAndExpand(job.id())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(BacktestJobDto.from(job));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BacktestJobDto> status(@PathVariable String id) {
+        return ResponseEntity.ok(BacktestJobDto.from(jobManager.get(id)));
+    }
+
+    /**
+     * Results of a completed job as JSON, CBOR or Smile; 409 while the job is still running
+     * or if it did not complete.
+     * <p>
+     * With {@code partial=true} the results completed so far are returned whatever the
+     * job's status: the first {@code completed} of its backtests, in submission order, so
+     * a client can render them as they arrive and fetch only the rest later.
+     * {@code X-Job-Status} carries the status the results were read under.
+     */
+    @GetMapping(value = "/{id}/results", produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ResponseFormats.SMILE_VALUE})
+    public ResponseEntity<?> results(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "false") boolean partial
+    ) {
+        BacktestJob job = jobManager.get(id);
+        // Status before results: a job reported COMPLETED has added its last result
+        JobStatus status = job.status();
+        if (partial) {
+            return ResponseEntity.ok()
+                    .header(JOB_STATUS_HEADER, status.name())
+                    .body(toResponse(job.results()));
+        }
+        if (status != JobStatus.COMPLETED) {
+            return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Job %s is %s".formatted(id, status)));
+        }
+
+        return ResponseEntity.ok(toResponse(job.results()));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<BacktestJobDto> cancel(@PathVariable String id) {
+        return ResponseEntity.ok(BacktestJobDto.from(jobManager.cancel(id)));
+    }
+
+    private static BacktestResponse toResponse(List<BacktestResult> results) {
+        return new BacktestResponse(results.stream()
+                .map(BacktestResultDto::from)
+                .toList());
+    }
+}
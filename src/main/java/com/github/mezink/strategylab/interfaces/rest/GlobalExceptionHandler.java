@@ -1,9 +1,18 @@
 package com.github.mezink.strategylab.interfaces.rest;
 
+import com.github.mezink.strategylab.application.admission.CapacityExceededException;
+import com.github.mezink.strategylab.application.admission.CostLimitExceededException;
+import com.github.mezink.strategylab.application.job.JobNotFoundException;
+import com.github.mezink.strategylab.application.job.JobRejectedException;
+import com.github.mezink.strategylab.domain.exception.AmountOutOfRangeException;
+import com.github.mezink.strategylab.domain.exception.DeadlineExceededException;
 import com.github.mezink.strategylab.domain.exception.MarketDataFetchException;
+import com.github.mezink.strategylab.domain.exception.UpstreamUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -27,6 +36,66 @@ public class GlobalExceptionHandler {
                 .body(Map.of(ERROR_KEY, "Failed to fetch market data: " + e.getMessage()));
     }
 
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleUpstreamUnavailable(UpstreamUnavailableException e) {
+        LOG.warn("Market data upstream unavailable: {}", e.getMessage());
+        var response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        e.retryAfter().ifPresent(delay ->
+                response.header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, delay.toSeconds()))));
+        return response.body(Map.of(ERROR_KEY, "Market data temporarily unavailable: " + e.getMessage()));
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Map<String, String>> handleDeadlineExceeded(DeadlineExceededException e) {
+        LOG.warn("Request abandoned: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(Map.of(ERROR_KEY, e.getMessage()));
+    }
+
+    @ExceptionHandler(AmountOutOfRangeException.class)
+    public ResponseEntity<Map<String, String>> handleAmountOutOfRange(AmountOutOfRangeException e) {
+        LOG.info("Rejecting backtest: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_CONTENT)
+                .body(Map.of(ERROR_KEY, e.getMessage()));
+    }
+
+    @ExceptionHandler(JobRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleJobRejected(JobRejectedException e) {
+        LOG.warn("Shedding backtest job: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of(ERROR_KEY, e.getMessage()));
+    }
+
+    @ExceptionHandler(CostLimitExceededException.class)
+    public ResponseEntity<Map<String, String>> handleCostLimitExceeded(CostLimitExceededException e) {
+        LOG.info("Rejecting oversized backtest request: {}", e.getMessage());
+        // Also raised by the stream endpoints, whose clients accept only NDJSON or event streams
+        return ResponseEntity
+                .status(HttpStatus.CONTENT_TOO_LARGE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of(ERROR_KEY, e.getMessage()));
+    }
+
+    @ExceptionHandler(CapacityExceededException.class)
+    public ResponseEntity<Map<String, String>> handleCapacityExceeded(CapacityExceededException e) {
+        LOG.warn("Shedding backtest request: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of(ERROR_KEY, e.getMessage()));
+    }
+
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleJobNotFound(JobNotFoundException e) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(Map.of(ERROR_KEY, e.getMessage()));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException e) {
         return ResponseEntity
@@ -1,13 +1,19 @@
 package com.github.mezink.strategylab.interfaces.rest;
 
+import com.github.mezink.strategylab.application.SearchInstrumentsUseCase;
 import com.github.mezink.strategylab.application.ValidateInstrumentUseCase;
 import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.interfaces.dto.SymbolValidationDto;
+import com.github.mezink.strategylab.interfaces.dto.ValidateSymbolsRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -15,9 +21,25 @@ import java.util.Optional;
 public class InstrumentController {
 
     private final ValidateInstrumentUseCase validateInstrumentUseCase;
+    private final SearchInstrumentsUseCase searchInstrumentsUseCase;
 
-    public InstrumentController(ValidateInstrumentUseCase validateInstrumentUseCase) {
+    public InstrumentController(
+            ValidateInstrumentUseCase validateInstrumentUseCase,
+            SearchInstrumentsUseCase searchInstrumentsUseCase
+    ) {
         this.validateInstrumentUseCase = validateInstrumentUseCase;
+        this.searchInstrumentsUseCase = searchInstrumentsUseCase;
+    }
+
+    /**
+     * Autocomplete from the local catalog; never calls the market data source.
+     */
+    @GetMapping("/search")
+    public List<Instrument> search(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return searchInstrumentsUseCase.execute(query, limit);
     }
 
     @GetMapping("/validate")
@@ -29,4 +51,15 @@ public class InstrumentController {
                 .orElseThrow(() -> new IllegalArgumentException(
                         "Symbol not found or not fetchable: " + symbol));
     }
+
+    /**
+     * Validate many symbols in one request. Unknown symbols are reported per entry rather
+     * than failing the whole batch.
+     */
+    @PostMapping("/validate")
+    public List<SymbolValidationDto> validateAll(@RequestBody ValidateSymbolsRequest request) {
+        return validateInstrumentUseCase.executeAll(request.symbols()).stream()
+                .map(SymbolValidationDto::from)
+                .toList();
+    }
 }
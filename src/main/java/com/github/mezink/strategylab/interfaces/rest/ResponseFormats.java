@@ -0,0 +1,19 @@
+package com.github.mezink.strategylab.interfaces.rest;
+
+/**
+ * Media types for endpoints that return large backtest payloads. Those endpoints list
+ * JSON first in {@code produces}, so it stays the default for browsers and for requests
+ * without an {@code Accept} header. Java and Python services can ask for CBOR or Smile
+ * instead. Dates are still ISO strings in both, and CBOR writes {@code BigDecimal}s as
+ * tagged decimals. Most of the size win comes from Smile's back-references to repeated
+ * property names: {@code BacktestResponseEncodingBenchmark} measured a 30-year response at
+ * about 1.9 MB as JSON, 1.6 MB as CBOR and 0.9 MB as Smile.
+ */
+final class ResponseFormats {
+
+    /** Jackson Smile, served by the Smile message converter Spring registers when the codec is present. */
+    static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    private ResponseFormats() {
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.mezink.strategylab.interfaces.rest;
+
+import com.github.mezink.strategylab.infrastructure.jfr.SerializationEvent;
+import com.github.mezink.strategylab.interfaces.dto.BacktestResponse;
+import com.github.mezink.strategylab.interfaces.dto.BacktestResultDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Times response body serialization. {@link #beforeBodyWrite} runs just before the message
+ * converter writes the body and stamps the start time on the request; the interceptor
+ * callback records the elapsed time as {@code strategylab.response.serialization}, tagged
+ * with the matched URI pattern and the negotiated format ({@code json}, {@code cbor},
+ * {@code x-jackson-smile}, ...). A {@link SerializationEvent} spanning the same interval is
+ * emitted for JFR, carrying the symbols, strategies and sizes of backtest responses.
+ * <p>
+ * Registered as an interceptor by {@code MetricsWebConfig}.
+ */
+@ControllerAdvice
+public class SerializationTimingAdvice implements ResponseBodyAdvice<Object>, HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = SerializationTimingAdvice.class.getName() + ".start";
+    private static final String EVENT_ATTRIBUTE = SerializationTimingAdvice.class.getName() + ".event";
+    private static final String FORMAT_ATTRIBUTE = SerializationTimingAdvice.class.getName() + ".format";
+    private static final String TIMER = "strategylab.response.serialization";
+
+    private final MeterRegistry registry;
+
+    public SerializationTimingAdvice(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            SerializationEvent event = new SerializationEvent();
+            if (event.isEnabled()) {
+                describe(event, body);
+                event.begin();
+                servletRequest.getServletRequest().setAttribute(EVENT_ATTRIBUTE, event);
+            }
+            if (selectedContentType != null) {
+                servletRequest.getServletRequest().setAttribute(FORMAT_ATTRIBUTE, selectedContentType.getSubtype());
+            }
+            servletRequest.getServletRequest().setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return body;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(START_ATTRIBUTE) instanceof Long start)) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Timer.builder(TIMER)
+                .description("Response body serialization")
+                .tag("uri", uri)
+                .tag("format", request.getAttribute(FORMAT_ATTRIBUTE) instanceof String format ? format : "UNKNOWN")
+                .register(registry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+
+        if (request.getAttribute(EVENT_ATTRIBUTE) instanceof SerializationEvent event) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.uri = uri;
+                event.commit();
+            }
+        }
+    }
+
+    private static void describe(SerializationEvent event, Object body) {
+        if (!(body instanceof BacktestResponse response) || response.results() == null) {
+            return;
+        }
+        List<BacktestResultDto> results = response.results();
+        event.symbol = results.stream().map(BacktestResultDto::symbol).distinct()
+                .collect(Collectors.joining(","));
+        event.strategyId = results.stream().map(r -> r.strategyId().name()).distinct()
+                .collect(Collectors.joining(","));
+        for (BacktestResultDto result : results) {
+            event.candleCount += result.equityCurve() != null ? result.equityCurve().size() : 0;
+            event.tradeCount += result.trades() != null ? result.trades().size() : 0;
+        }
+    }
+}
@@ -15,6 +15,8 @@ let strategies = [];
 let slotCounter = 0;
 let lastResults = null;
 let lastInputs = null;
+// ETag of the last backtest response; a 304 for the same request reuses lastResults
+let lastEtag = null;
 
 // ── Fetch available strategies on load ──
 async function loadStrategies() {
@@ -51,7 +53,8 @@ function addSlot() {
     <div class="slot-fields">
       <div class="field">
         <label>Symbol</label>
-        <input type="text" class="w-sm" value="SPY" data-field="symbol" placeholder="e.g. AAPL" spellcheck="false">
+        <input type="text" class="w-sm" value="SPY" data-field="symbol" placeholder="e.g. AAPL" spellcheck="false" list="symbols-${idx}" autocomplete="off">
+        <datalist id="symbols-${idx}"></datalist>
       </div>
       <div class="field">
         <label>Strategy</label>
@@ -67,6 +70,18 @@ function addSlot() {
         <label>End</label>
         <input type="date" value="${defaultEnd}" data-field="endDate">
       </div>
+      <div class="field">
+        <label>Bars</label>
+        <select data-field="interval" title="Intraday history is limited upstream">
+          <option value="1d">Daily</option>
+          <option value="1wk">Weekly</option>
+          <option value="1mo">Monthly</option>
+          <option value="3mo">Quarterly</option>
+          <option value="1h">1 hour</option>
+          <option value="5m">5 min</option>
+          <option value="1m">1 min</option>
+        </select>
+      </div>
       <div class="field">
         <label>Capital</label>
         <input type="text" class="w-sm" value="10000" data-field="initialCapital">
@@ -81,10 +96,28 @@ function addSlot() {
   sel.addEventListener("change", () => renderParams(div, sel.value));
   renderParams(div, sel.value);
 
+  attachAutocomplete(div.querySelector("[data-field=symbol]"), div.querySelector("datalist"));
+
   const rm = div.querySelector(".slot-remove");
   if (rm) rm.addEventListener("click", () => { div.remove(); recolorSlots(); });
 }
 
+// Suggests tickers from the server-side catalog as the user types
+function attachAutocomplete(input, list) {
+  let timer;
+  input.addEventListener("input", () => {
+    clearTimeout(timer);
+    const q = input.value.trim();
+    if (!q) { list.innerHTML = ""; return; }
+    timer = setTimeout(async () => {
+      const res = await fetch(`/api/instruments/search?q=${encodeURIComponent(q)}&limit=8`).catch(() => null);
+      if (!res || !res.ok) return;
+      const matches = await res.json();
+      list.innerHTML = matches.map(m => `<option value="${esc(m.symbol)}">${esc(m.name || "")}</option>`).join("");
+    }, 120);
+  });
+}
+
 function renderParams(slot, strategyId) {
   const container = slot.querySelector("[data-params]");
   const strat = strategies.find(s => s.id === strategyId);
@@ -92,7 +125,7 @@ function renderParams(slot, strategyId) {
   container.innerHTML = `<span class="strategy-params-label">Strategy Params</span>` + strat.parameters.map(p => `
     <div class="field">
       <label title="${esc(p.description || "")}">${esc(p.displayName || p.name)}</label>
-      <input type="text" class="w-sm" value="${esc(p.defaultValue || "")}" data-param="${esc(p.name)}" title="${esc(p.description || "")}">
+      <input type="text" class="${p.type === "expression" ? "w-lg" : "w-sm"}" value="${esc(p.defaultValue || "")}" data-param="${esc(p.name)}" title="${esc(p.description || "")}" spellcheck="false">
     </div>
   `).join("");
 }
@@ -117,7 +150,8 @@ function collectSlots() {
       endDate: get("endDate"),
       initialCapital: parseFloat(get("initialCapital")),
       strategyId: get("strategyId"),
-      strategyParams: params
+      strategyParams: params,
+      interval: get("interval")
     };
   });
 }
@@ -133,18 +167,28 @@ async function runBacktest() {
   status.innerHTML = `<span class="spinner"></span> Running...`;
 
   try {
+    await validateSymbols(backtests.map(b => b.symbol));
+
+    const headers = { "Content-Type": "application/json" };
+    if (lastEtag && lastResults) headers["If-None-Match"] = lastEtag;
     const res = await fetch("/api/backtest", {
       method: "POST",
-      headers: { "Content-Type": "application/json" },
+      headers,
       body: JSON.stringify({ backtests })
     });
 
+    if (res.status === 304) {
+      status.textContent = `Unchanged \u2014 ${lastResults.length} result(s)`;
+      renderResults(lastResults, backtests);
+      return;
+    }
     if (!res.ok) {
       const err = await res.json().catch(() => ({ error: res.statusText }));
       throw new Error(err.error || `HTTP ${res.status}`);
     }
 
     const data = await res.json();
+    lastEtag = res.headers.get("ETag");
     status.textContent = `Completed \u2014 ${data.results.length} result(s)`;
     renderResults(data.results, backtests);
   } catch (e) {
@@ -155,6 +199,23 @@ async function runBacktest() {
   }
 }
 
+// Checks all tickers in one request; unreachable upstream is left for the backtest to report
+async function validateSymbols(symbols) {
+  const res = await fetch("/api/instruments/validate", {
+    method: "POST",
+    headers: { "Content-Type": "application/json" },
+    body: JSON.stringify({ symbols: [...new Set(symbols)] })
+  });
+  if (!res.ok) {
+    const err = await res.json().catch(() => ({ error: res.statusText }));
+    throw new Error(err.error || `HTTP ${res.status}`);
+  }
+  const unknown = (await res.json()).filter(v => v.status === "UNKNOWN").map(v => v.symbol);
+  if (unknown.length) {
+    throw new Error(`Unknown symbol${unknown.length > 1 ? "s" : ""}: ${unknown.join(", ")}`);
+  }
+}
+
 // ── Render all results ──
 function renderResults(results, inputs) {
   lastResults = results;
@@ -2,7 +2,9 @@ package com.github.mezink.strategylab;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
+@ActiveProfiles("synthetic")
 @SpringBootTest
 class ApplicationTests {
 
@@ -0,0 +1,128 @@
+package com.github.mezink.strategylab.application;
+
+import com.github.mezink.strategylab.domain.engine.BacktestEngine;
+import com.github.mezink.strategylab.domain.exception.DeadlineExceededException;
+import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import com.github.mezink.strategylab.domain.model.BacktestResult;
+import com.github.mezink.strategylab.domain.model.Candle;
+import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.port.MarketDataProvider;
+import com.github.mezink.strategylab.domain.strategy.BuyAndHoldStrategy;
+import com.github.mezink.strategylab.domain.strategy.config.BuyAndHoldConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunBacktestUseCaseTest {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    private final AtomicInteger fetches = new AtomicInteger();
+    private volatile double lastClose = 109;
+
+    @Test
+    void prepareFetchesEachDistinctSeriesOnce() {
+        RunBacktestUseCase useCase = new RunBacktestUseCase(new StubProvider(), new BacktestEngine());
+
+        PreparedBacktests prepared = useCase.prepare(List.of(config("SPY"), config("SPY"), config("AAPL")));
+
+        assertEquals(2, fetches.get());
+        assertEquals(2, prepared.series().size());
+        List<BacktestResult> results = useCase.execute(prepared);
+        assertEquals(List.of("SPY", "SPY", "AAPL"), results.stream().map(BacktestResult::symbol).toList());
+    }
+
+    @Test
+    void dataVersionIsStableForSameCandles() {
+        RunBacktestUseCase useCase = new RunBacktestUseCase(new StubProvider(), new BacktestEngine());
+        List<BacktestConfig> configs = List.of(config("SPY"), config("AAPL"));
+
+        assertEquals(useCase.prepare(configs).dataVersion(), useCase.prepare(configs).dataVersion());
+    }
+
+    @Test
+    void dataVersionChangesWhenCandlesChange() {
+        RunBacktestUseCase useCase = new RunBacktestUseCase(new StubProvider(), new BacktestEngine());
+        List<BacktestConfig> configs = List.of(config("SPY"));
+        String before = useCase.prepare(configs).dataVersion();
+
+        lastClose = 108.5;
+
+        assertNotEquals(before, useCase.prepare(configs).dataVersion());
+    }
+
+    @Test
+    void dataVersionDependsOnSymbols() {
+        RunBacktestUseCase useCase = new RunBacktestUseCase(new StubProvider(), new BacktestEngine());
+
+        assertNotEquals(
+                useCase.prepare(List.of(config("SPY"))).dataVersion(),
+                useCase.prepare(List.of(config("AAPL"))).dataVersion());
+    }
+
+    @Test
+    void stopsWaitingForMarketDataAtDeadline() {
+        RunBacktestUseCase useCase = new RunBacktestUseCase(new StubProvider() {
+            @Override
+            public TimeSeries getDailySeries(String symbol, LocalDate start, LocalDate end) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("fetch interrupted");
+                }
+                return super.getDailySeries(symbol, start, end);
+            }
+        }, new BacktestEngine(), Duration.ofMillis(100));
+
+        long start = System.nanoTime();
+        assertThrows(DeadlineExceededException.class,
+                () -> useCase.prepare(List.of(config("SPY")), useCase.newDeadline()));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+    }
+
+    @Test
+    void cancelledDeadlineStopsBacktests() {
+        RunBacktestUseCase useCase = new RunBacktestUseCase(new StubProvider(), new BacktestEngine());
+        PreparedBacktests prepared = useCase.prepare(List.of(config("SPY")), useCase.newDeadline());
+
+        prepared.deadline().cancel();
+
+        assertThrows(CancellationException.class, () -> useCase.execute(prepared));
+    }
+
+    private static BacktestConfig config(String symbol) {
+        return new BacktestConfig(symbol, START, START.plusDays(9),
+                BigDecimal.valueOf(10000), new BuyAndHoldStrategy(new BuyAndHoldConfig()));
+    }
+
+    private class StubProvider implements MarketDataProvider {
+
+        @Override
+        public TimeSeries getDailySeries(String symbol, LocalDate start, LocalDate end) {
+            fetches.incrementAndGet();
+            List<Candle> candles = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                BigDecimal price = i == 9 ? BigDecimal.valueOf(lastClose) : BigDecimal.valueOf(100 + i);
+                candles.add(new Candle(start.plusDays(i), price, price, price, price, 1000));
+            }
+            return new TimeSeries(new Instrument(symbol, symbol, "EQUITY"), candles);
+        }
+
+        @Override
+        public Optional<Instrument> validateSymbol(String symbol) {
+            return Optional.empty();
+        }
+    }
+}
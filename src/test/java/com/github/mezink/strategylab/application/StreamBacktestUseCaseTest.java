@@ -0,0 +1,145 @@
+package com.github.mezink.strategylab.application;
+
+import com.github.mezink.strategylab.domain.engine.BacktestEngine;
+import com.github.mezink.strategylab.domain.exception.MarketDataFetchException;
+import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import com.github.mezink.strategylab.domain.model.BacktestResult;
+import com.github.mezink.strategylab.domain.model.Candle;
+import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.port.MarketDataProvider;
+import com.github.mezink.strategylab.domain.strategy.BuyAndHoldStrategy;
+import com.github.mezink.strategylab.domain.strategy.config.BuyAndHoldConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamBacktestUseCaseTest {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Test
+    void reportsEveryResultWithItsIndex() {
+        StreamBacktestUseCase useCase = new StreamBacktestUseCase(new StubProvider(), new BacktestEngine(), 3);
+        RecordingListener listener = new RecordingListener();
+
+        useCase.execute(List.of(config("SPY"), config("AAPL"), config("MSFT")), listener);
+
+        assertEquals(3, listener.results.size());
+        assertEquals("SPY", listener.results.get(0).symbol());
+        assertEquals("AAPL", listener.results.get(1).symbol());
+        assertEquals("MSFT", listener.results.get(2).symbol());
+        assertTrue(listener.errors.isEmpty());
+    }
+
+    @Test
+    void failedBacktestIsReportedWithoutStoppingOthers() {
+        StreamBacktestUseCase useCase = new StreamBacktestUseCase(new StubProvider(), new BacktestEngine(), 2);
+        RecordingListener listener = new RecordingListener();
+
+        useCase.execute(List.of(config("SPY"), config("FAIL"), config("MSFT")), listener);
+
+        assertEquals(2, listener.results.size());
+        assertEquals(1, listener.errors.size());
+        assertTrue(listener.errors.get(1).getMessage().contains("FAIL"));
+    }
+
+    @Test
+    void limitsConcurrentBacktests() {
+        StreamBacktestUseCase useCase = new StreamBacktestUseCase(new StubProvider(), new BacktestEngine(), 2);
+        List<BacktestConfig> configs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            configs.add(config("SYM" + i));
+        }
+
+        useCase.execute(configs, new RecordingListener());
+
+        assertTrue(maxInFlight.get() <= 2, "At most 2 fetches should overlap, saw " + maxInFlight.get());
+    }
+
+    @Test
+    void listenerFailureAbortsStream() {
+        StreamBacktestUseCase useCase = new StreamBacktestUseCase(new StubProvider(), new BacktestEngine(), 1);
+        AtomicInteger calls = new AtomicInteger();
+        StreamBacktestUseCase.Listener failing = new StreamBacktestUseCase.Listener() {
+            @Override
+            public void onResult(int index, BacktestResult result) {
+                calls.incrementAndGet();
+                throw new IllegalStateException("client disconnected");
+            }
+
+            @Override
+            public void onError(int index, RuntimeException error) {
+                calls.incrementAndGet();
+            }
+        };
+
+        List<BacktestConfig> configs = List.of(config("SPY"), config("AAPL"), config("MSFT"));
+        assertThrows(IllegalStateException.class, () -> useCase.execute(configs, failing));
+        assertEquals(1, calls.get(), "No further results should be delivered after the listener fails");
+    }
+
+    private static BacktestConfig config(String symbol) {
+        return new BacktestConfig(symbol, START, START.plusDays(9),
+                BigDecimal.valueOf(10000), new BuyAndHoldStrategy(new BuyAndHoldConfig()));
+    }
+
+    private static class RecordingListener implements StreamBacktestUseCase.Listener {
+
+        private final Map<Integer, BacktestResult> results = new ConcurrentHashMap<>();
+        private final Map<Integer, RuntimeException> errors = new ConcurrentHashMap<>();
+
+        @Override
+        public void onResult(int index, BacktestResult result) {
+            results.put(index, result);
+        }
+
+        @Override
+        public void onError(int index, RuntimeException error) {
+            errors.put(index, error);
+        }
+    }
+
+    private class StubProvider implements MarketDataProvider {
+
+        @Override
+        public TimeSeries getDailySeries(String symbol, LocalDate start, LocalDate end) {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(10);
+                if (symbol.equals("FAIL")) {
+                    throw new MarketDataFetchException("Symbol 'FAIL' not found");
+                }
+                List<Candle> candles = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    BigDecimal price = BigDecimal.valueOf(100 + i);
+                    candles.add(new Candle(start.plusDays(i), price, price, price, price, 1000));
+                }
+                return new TimeSeries(new Instrument(symbol, symbol, "EQUITY"), candles);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public Optional<Instrument> validateSymbol(String symbol) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.mezink.strategylab.application;
+
+import com.github.mezink.strategylab.domain.exception.UpstreamUnavailableException;
+import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.port.MarketDataProvider;
+import com.github.mezink.strategylab.infrastructure.catalog.InMemoryInstrumentCatalog;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidateInstrumentUseCaseTest {
+
+    private final InMemoryInstrumentCatalog catalog = new InMemoryInstrumentCatalog();
+
+    @Test
+    void validatesBatchConcurrentlyInRequestOrder() {
+        CountDownLatch allStarted = new CountDownLatch(3);
+        AtomicInteger calls = new AtomicInteger();
+        MarketDataProvider provider = new StubProvider() {
+            @Override
+            public Optional<Instrument> validateSymbol(String symbol) {
+                calls.incrementAndGet();
+                allStarted.countDown();
+                try {
+                    // Only returns if all three lookups are in flight together
+                    assertTrue(allStarted.await(5, TimeUnit.SECONDS), "Lookups ran sequentially");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return switch (symbol) {
+                    case "NOPE" -> Optional.empty();
+                    case "DOWN" -> throw new UpstreamUnavailableException("yahoo down", null);
+                    default -> Optional.of(new Instrument(symbol, symbol, "EQUITY"));
+                };
+            }
+        };
+
+        List<SymbolValidation> results = new ValidateInstrumentUseCase(provider, catalog)
+                .executeAll(List.of("spy", "NOPE", " SPY ", "DOWN", ""));
+
+        assertEquals(3, calls.get());
+        assertEquals(List.of("SPY", "NOPE", "DOWN"), results.stream().map(SymbolValidation::symbol).toList());
+        assertEquals(List.of(SymbolValidation.Status.VALID, SymbolValidation.Status.UNKNOWN,
+                        SymbolValidation.Status.UNAVAILABLE),
+                results.stream().map(SymbolValidation::status).toList());
+        assertEquals("SPY", results.getFirst().instrument().symbol());
+        assertNull(results.get(1).instrument());
+        assertEquals(List.of("SPY"), catalog.search("SP", 10).stream().map(Instrument::symbol).toList(),
+                "Validated symbols are added to the catalog");
+    }
+
+    @Test
+    void addsBatchToCatalogInOneUpdate() {
+        List<Collection<Instrument>> updates = new ArrayList<>();
+        InMemoryInstrumentCatalog recording = new InMemoryInstrumentCatalog() {
+            @Override
+            public void addAll(Collection<Instrument> instruments) {
+                updates.add(List.copyOf(instruments));
+                super.addAll(instruments);
+            }
+        };
+        MarketDataProvider provider = new StubProvider() {
+            @Override
+            public Optional<Instrument> validateSymbol(String symbol) {
+                return symbol.equals("NOPE") ? Optional.empty() : Optional.of(new Instrument(symbol, symbol, "EQUITY"));
+            }
+        };
+
+        new ValidateInstrumentUseCase(provider, recording).executeAll(List.of("SPY", "NOPE", "QQQ", "IWM"));
+
+        assertEquals(1, updates.size());
+        assertEquals(List.of("SPY", "QQQ", "IWM"), updates.getFirst().stream().map(Instrument::symbol).toList());
+        assertEquals(3, recording.size());
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() {
+        ValidateInstrumentUseCase useCase = new ValidateInstrumentUseCase(new StubProvider(), catalog);
+
+        assertThrows(IllegalArgumentException.class, () -> useCase.executeAll(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> useCase.executeAll(List.of(" ")));
+
+        List<String> tooMany = IntStream.rangeClosed(0, ValidateInstrumentUseCase.MAX_BATCH_SIZE)
+                .mapToObj(i -> "S" + i)
+                .toList();
+        assertThrows(IllegalArgumentException.class, () -> useCase.executeAll(tooMany));
+    }
+
+    private static class StubProvider implements MarketDataProvider {
+
+        @Override
+        public TimeSeries getDailySeries(String symbol, LocalDate start, LocalDate end) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Instrument> validateSymbol(String symbol) {
+            return Optional.empty();
+        }
+    }
+}
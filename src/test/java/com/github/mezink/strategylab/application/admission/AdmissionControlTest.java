@@ -0,0 +1,96 @@
+package com.github.mezink.strategylab.application.admission;
+
+import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import com.github.mezink.strategylab.domain.model.Deadline;
+import com.github.mezink.strategylab.domain.strategy.BuyAndHoldStrategy;
+import com.github.mezink.strategylab.domain.strategy.config.BuyAndHoldConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlTest {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    private final AdmissionListener listener = new AdmissionListener() {
+        @Override
+        public void admitted(long estimatedCost, Duration waited) {
+            events.add("admitted " + estimatedCost);
+        }
+
+        @Override
+        public void rejected(long estimatedCost, AdmissionControl.Rejection reason) {
+            events.add("rejected " + reason);
+        }
+
+        @Override
+        public void completed(long estimatedCost, long actualCost) {
+            events.add("completed " + estimatedCost + "/" + actualCost);
+        }
+    };
+
+    @Test
+    void rejectsInteractiveRequestsOverBudgetButQueuesBackgroundOnes() {
+        // One year of daily candles is about 253 candle steps
+        AdmissionControl admission = new AdmissionControl(new BacktestCostModel(), 500, 1_000, Duration.ZERO, listener);
+        List<BacktestConfig> threeYears = List.of(config(3));
+
+        assertThrows(CostLimitExceededException.class, () -> admission.checkBudget(threeYears));
+        assertThrows(CostLimitExceededException.class, () -> admission.admit(threeYears, Deadline.after(Duration.ofSeconds(5))));
+        try (AdmissionControl.Permit permit = admission.admit(threeYears, Deadline.NONE)) {
+            assertEquals(permit.estimatedCost(), admission.inFlightCost());
+        }
+        assertEquals(0, admission.inFlightCost());
+        assertEquals("rejected OVER_BUDGET", events.getFirst());
+    }
+
+    @Test
+    void interactiveRequestsWaitForCapacityUpToTheQueueTimeout() throws InterruptedException {
+        AdmissionControl admission = new AdmissionControl(new BacktestCostModel(), 1_000, 1_000, Duration.ofMillis(200),
+                listener);
+        AdmissionControl.Permit first = admission.admit(List.of(config(1)), Deadline.NONE);
+
+        assertThrows(CapacityExceededException.class,
+                () -> admission.admit(List.of(config(1)), Deadline.after(Duration.ofSeconds(5))));
+        assertTrue(events.contains("rejected QUEUE_TIMEOUT"));
+
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException _) {
+                Thread.currentThread().interrupt();
+            }
+            first.close();
+        });
+        AdmissionControl.Permit second = admission.admit(List.of(config(1)), Deadline.after(Duration.ofSeconds(5)));
+        second.close();
+        second.close();
+
+        assertEquals(List.of("admitted 253", "rejected QUEUE_TIMEOUT", "completed 253/0", "admitted 253",
+                "completed 253/0"), events);
+    }
+
+    @Test
+    void unlimitedStillReportsCosts() {
+        AdmissionControl admission = AdmissionControl.unlimited(listener);
+
+        try (AdmissionControl.Permit permit = admission.admit(List.of(config(50), config(50)),
+                Deadline.after(Duration.ofSeconds(5)))) {
+            assertTrue(permit.estimatedCost() > 25_000);
+        }
+        assertEquals(2, events.size());
+    }
+
+    private static BacktestConfig config(int years) {
+        return new BacktestConfig("SPY", START, START.plusYears(years).minusDays(1), BigDecimal.valueOf(10_000),
+                new BuyAndHoldStrategy(new BuyAndHoldConfig()));
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.mezink.strategylab.application.admission;
+
+import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import com.github.mezink.strategylab.domain.model.Candle;
+import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.model.Interval;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.strategy.BuyAndHoldStrategy;
+import com.github.mezink.strategylab.domain.strategy.MaCrossoverStrategy;
+import com.github.mezink.strategylab.domain.strategy.RuleStrategy;
+import com.github.mezink.strategylab.domain.strategy.Strategy;
+import com.github.mezink.strategylab.domain.strategy.config.BuyAndHoldConfig;
+import com.github.mezink.strategylab.domain.strategy.config.MaCrossoverConfig;
+import com.github.mezink.strategylab.domain.strategy.config.RuleConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BacktestCostModelTest {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+    private static final LocalDate END = LocalDate.of(2020, 12, 31);
+    private static final Strategy BUY_AND_HOLD = new BuyAndHoldStrategy(new BuyAndHoldConfig());
+
+    private final BacktestCostModel model = new BacktestCostModel();
+
+    @Test
+    void estimatesCandlesFromRangeAndInterval() {
+        assertEquals(253, model.estimateCandles(config(BUY_AND_HOLD, Interval.ONE_DAY)));
+        assertEquals(253 * 390, model.estimateCandles(config(BUY_AND_HOLD, Interval.ONE_MINUTE)));
+        assertEquals(253 * 7, model.estimateCandles(config(BUY_AND_HOLD, Interval.ONE_HOUR)));
+        assertEquals(53, model.estimateCandles(config(BUY_AND_HOLD, Interval.ONE_WEEK)));
+        assertEquals(5, model.estimateCandles(config(BUY_AND_HOLD, Interval.ONE_QUARTER)));
+    }
+
+    @Test
+    void weighsStrategiesByPassesOverTheCandles() {
+        Strategy crossover = new MaCrossoverStrategy(new MaCrossoverConfig(5, 15));
+        Strategy rule = new RuleStrategy(RuleConfig.fromParams(Map.of("entryRule", "close > sma(5) and rsi(14) < 70")));
+
+        assertEquals(253, model.estimate(config(BUY_AND_HOLD, Interval.ONE_DAY)));
+        assertEquals(3 * 253, model.estimate(config(crossover, Interval.ONE_DAY)));
+        // close, sma(5) and rsi(14), shared by the entry rule and its negation
+        assertEquals(4 * 253, model.estimate(config(rule, Interval.ONE_DAY)));
+        assertEquals(4 * 253 * 390, model.estimate(List.of(
+                config(crossover, Interval.ONE_MINUTE), config(BUY_AND_HOLD, Interval.ONE_MINUTE))));
+    }
+
+    @Test
+    void actualCostCountsFetchedCandles() {
+        List<Candle> candles = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            candles.add(new Candle(START.plusDays(i), BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, 1));
+        }
+        TimeSeries series = new TimeSeries(new Instrument("SPY", "SPY", "ETF"), candles);
+
+        assertEquals(30, model.actual(config(new MaCrossoverStrategy(new MaCrossoverConfig(2, 4)), Interval.ONE_DAY),
+                series));
+    }
+
+    private static BacktestConfig config(Strategy strategy, Interval interval) {
+        return new BacktestConfig("SPY", START, END, BigDecimal.valueOf(10_000), strategy, interval);
+    }
+}
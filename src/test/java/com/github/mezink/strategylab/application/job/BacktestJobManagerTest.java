@@ -0,0 +1,203 @@
+package com.github.mezink.strategylab.application.job;
+
+import com.github.mezink.strategylab.application.RunBacktestUseCase;
+import com.github.mezink.strategylab.domain.engine.BacktestEngine;
+import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import com.github.mezink.strategylab.domain.model.BacktestResult;
+import com.github.mezink.strategylab.domain.model.Candle;
+import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.port.MarketDataProvider;
+import com.github.mezink.strategylab.domain.strategy.BuyAndHoldStrategy;
+import com.github.mezink.strategylab.domain.strategy.config.BuyAndHoldConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BacktestJobManagerTest {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch fetchStarted = new CountDownLatch(1);
+    private volatile boolean blockFetches;
+    private volatile String blockedSymbol;
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+    private final MutableClock clock = new MutableClock();
+    private BacktestJobManager manager;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (manager != null) {
+            manager.close();
+        }
+    }
+
+    @Test
+    void completesJobAndReportsProgress() throws Exception {
+        manager = newManager(2, 4);
+
+        BacktestJob job = manager.submit(List.of(config("SPY"), config("AAPL")));
+        awaitTerminal(job);
+
+        assertEquals(JobStatus.COMPLETED, job.status());
+        assertEquals(2, job.completed());
+        assertEquals(2, job.total());
+        assertEquals("SPY", job.results().getFirst().symbol());
+        assertSame(job, manager.get(job.id()));
+    }
+
+    @Test
+    void exposesResultsCompletedSoFar() throws Exception {
+        blockedSymbol = "AAPL";
+        manager = newManager(1, 1);
+
+        BacktestJob job = manager.submit(List.of(config("SPY"), config("AAPL")));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (job.completed() < 1) {
+            assertTrue(System.nanoTime() < deadline, "First result did not arrive in time");
+            Thread.sleep(5);
+        }
+
+        assertEquals(JobStatus.RUNNING, job.status());
+        assertEquals(List.of("SPY"), job.results().stream().map(BacktestResult::symbol).toList());
+
+        release.countDown();
+        awaitTerminal(job);
+        assertEquals(JobStatus.COMPLETED, job.status());
+        assertEquals(2, job.results().size());
+    }
+
+    @Test
+    void rejectsWhenWorkersAndQueueAreFull() throws Exception {
+        blockFetches = true;
+        manager = newManager(1, 1);
+
+        manager.submit(List.of(config("SPY")));
+        assertTrue(fetchStarted.await(5, TimeUnit.SECONDS));
+        BacktestJob queued = manager.submit(List.of(config("SPY")));
+
+        assertThrows(JobRejectedException.class, () -> manager.submit(List.of(config("SPY"))));
+        assertEquals(JobStatus.QUEUED, queued.status());
+    }
+
+    @Test
+    void cancelInterruptsRunningJob() throws Exception {
+        blockFetches = true;
+        manager = newManager(1, 1);
+
+        BacktestJob job = manager.submit(List.of(config("SPY"), config("AAPL")));
+        assertTrue(fetchStarted.await(5, TimeUnit.SECONDS));
+
+        manager.cancel(job.id());
+        awaitTerminal(job);
+
+        assertEquals(JobStatus.CANCELLED, job.status());
+        assertEquals(0, job.completed());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "Worker should have been interrupted");
+    }
+
+    @Test
+    void dropsFinishedJobsAfterRetention() throws Exception {
+        manager = newManager(1, 1);
+
+        BacktestJob job = manager.submit(List.of(config("SPY")));
+        awaitTerminal(job);
+        clock.advance(Duration.ofMinutes(59));
+        assertSame(job, manager.get(job.id()));
+
+        clock.advance(Duration.ofMinutes(2));
+        assertThrows(JobNotFoundException.class, () -> manager.get(job.id()));
+    }
+
+    @Test
+    void unknownJobIsNotFound() {
+        manager = newManager(1, 1);
+        assertThrows(JobNotFoundException.class, () -> manager.cancel("missing"));
+    }
+
+    private BacktestJobManager newManager(int workers, int queueCapacity) {
+        RunBacktestUseCase useCase = new RunBacktestUseCase(new StubProvider(), new BacktestEngine());
+        return new BacktestJobManager(useCase, workers, queueCapacity, Duration.ofHours(1), clock);
+    }
+
+    private static void awaitTerminal(BacktestJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!job.status().isTerminal()) {
+            assertTrue(System.nanoTime() < deadline, "Job did not finish in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private static BacktestConfig config(String symbol) {
+        return new BacktestConfig(symbol, START, START.plusDays(9),
+                BigDecimal.valueOf(10000), new BuyAndHoldStrategy(new BuyAndHoldConfig()));
+    }
+
+    private class StubProvider implements MarketDataProvider {
+
+        @Override
+        public TimeSeries getDailySeries(String symbol, LocalDate start, LocalDate end) {
+            if (blockFetches || symbol.equals(blockedSymbol)) {
+                fetchStarted.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted", e);
+                }
+            }
+            List<Candle> candles = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                BigDecimal price = BigDecimal.valueOf(100 + i);
+                candles.add(new Candle(start.plusDays(i), price, price, price, price, 1000));
+            }
+            return new TimeSeries(new Instrument(symbol, symbol, "EQUITY"), candles);
+        }
+
+        @Override
+        public Optional<Instrument> validateSymbol(String symbol) {
+            return Optional.empty();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.mezink.strategylab.domain.engine;
 
+import com.github.mezink.strategylab.domain.exception.AmountOutOfRangeException;
 import com.github.mezink.strategylab.domain.model.*;
 import com.github.mezink.strategylab.domain.strategy.config.BuyAndHoldConfig;
 import com.github.mezink.strategylab.domain.strategy.BuyAndHoldStrategy;
@@ -42,6 +43,43 @@ class BacktestEngineTest {
         assertEquals(1, result.metrics().numberOfTrades());
     }
 
+    @Test
+    void amountsGrowingPastMoneyRangeAreRejected() {
+        TimeSeries series = createTrendingSeries(100, 1.0, 10.0);
+        BacktestConfig config = new BacktestConfig(
+                TEST_SYMBOL, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 4, 9),
+                Money.MAX_INPUT, new BuyAndHoldStrategy(new BuyAndHoldConfig())
+        );
+
+        AmountOutOfRangeException e = assertThrows(AmountOutOfRangeException.class, () -> engine.run(series, config));
+        assertInstanceOf(ArithmeticException.class, e.getCause());
+    }
+
+    @Test
+    void projectionSkipsMetricsAndPagesCurveAndTrades() {
+        TimeSeries series = createTrendingSeries(100, 100.0, 0.5);
+        BacktestConfig full = new BacktestConfig(
+                TEST_SYMBOL, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 4, 9),
+                BigDecimal.valueOf(10000), new BuyAndHoldStrategy(new BuyAndHoldConfig())
+        );
+        BacktestResult expected = engine.run(series, full);
+
+        BacktestResult metricsOnly = engine.run(series, full.withProjection(
+                new ResultProjection(true, false, false, Page.ALL, Page.ALL)));
+        assertEquals(expected.metrics(), metricsOnly.metrics());
+        assertNull(metricsOnly.equityCurve());
+        assertNull(metricsOnly.trades());
+        assertEquals(100, metricsOnly.equityCurveSize());
+        assertEquals(1, metricsOnly.tradeCount());
+
+        BacktestResult paged = engine.run(series, full.withProjection(
+                new ResultProjection(false, true, true, new Page(90, 20), new Page(1, 5))));
+        assertNull(paged.metrics());
+        assertEquals(expected.equityCurve().subList(90, 100), paged.equityCurve());
+        assertTrue(paged.trades().isEmpty());
+        assertEquals(100, paged.equityCurveSize());
+    }
+
     @Test
     void runDcaComputesTotalContributions() {
         TimeSeries series = createConstantPriceSeries(30, 100.0);
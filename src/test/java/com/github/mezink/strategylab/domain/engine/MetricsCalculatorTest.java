@@ -73,6 +73,23 @@ class MetricsCalculatorTest {
         assertTrue(vol.doubleValue() > 0, "Volatility for varying prices should be positive");
     }
 
+    @Test
+    void annualizesByCurvePointsPerYear() {
+        List<EquityPoint> curve = List.of(
+                new EquityPoint(LocalDate.of(2020, 1, 3), bd(100)),
+                new EquityPoint(LocalDate.of(2020, 1, 10), bd(103)),
+                new EquityPoint(LocalDate.of(2020, 1, 17), bd(101)),
+                new EquityPoint(LocalDate.of(2020, 1, 24), bd(106))
+        );
+        List<Double> returns = MetricsCalculator.computeDailyReturns(curve);
+
+        BacktestMetrics weekly = MetricsCalculator.compute(curve, bd(100), 1, 52);
+
+        assertEquals(MetricsCalculator.annualizedVolatilityFrom(returns).doubleValue() * Math.sqrt(52.0 / 252),
+                weekly.annualizedVolatility().doubleValue(), 1e-5);
+        assertEquals(MetricsCalculator.sharpeFrom(returns, 52), weekly.sharpeRatio());
+    }
+
     @Test
     void sharpeIsZeroWhenReturnsAreConstant() {
         // When all daily returns are the same, stddev = 0, so Sharpe should be 0.
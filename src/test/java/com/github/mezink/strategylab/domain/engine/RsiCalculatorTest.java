@@ -0,0 +1,43 @@
+package com.github.mezink.strategylab.domain.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RsiCalculatorTest {
+
+    @Test
+    void warmUpIndicesAreNaN() {
+        double[] rsi = RsiCalculator.compute(new double[]{1, 2, 3, 4}, 3);
+
+        assertEquals(4, rsi.length);
+        assertTrue(Double.isNaN(rsi[0]));
+        assertTrue(Double.isNaN(rsi[2]));
+        assertFalse(Double.isNaN(rsi[3]));
+    }
+
+    @Test
+    void onlyGainsGiveMaximumRsi() {
+        double[] rsi = RsiCalculator.compute(new double[]{1, 2, 3, 4, 5}, 3);
+        assertEquals(100.0, rsi[4], 1e-9);
+    }
+
+    @Test
+    void equalGainsAndLossesGiveFifty() {
+        // Changes: +1, -1 => avgGain = avgLoss = 0.5
+        double[] rsi = RsiCalculator.compute(new double[]{10, 11, 10}, 2);
+        assertEquals(50.0, rsi[2], 1e-9);
+    }
+
+    @Test
+    void flatPricesAreNeutral() {
+        double[] rsi = RsiCalculator.compute(new double[]{5, 5, 5, 5}, 3);
+        assertEquals(50.0, rsi[3], 1e-9);
+    }
+
+    @Test
+    void throwsForWindowLargerThanData() {
+        double[] prices = {1, 2, 3};
+        assertThrows(IllegalArgumentException.class, () -> RsiCalculator.compute(prices, 3));
+    }
+}
@@ -57,6 +57,24 @@ class SmaCalculatorTest {
         assertThrows(IllegalArgumentException.class, () -> SmaCalculator.compute(prices, 0));
     }
 
+    @Test
+    void primitiveSmaMatchesBigDecimalSma() {
+        double[] sma = SmaCalculator.compute(new double[]{1, 2, 3, 4, 5}, 3);
+
+        assertEquals(5, sma.length);
+        assertTrue(Double.isNaN(sma[0]));
+        assertTrue(Double.isNaN(sma[1]));
+        assertEquals(2.0, sma[2], 1e-9);
+        assertEquals(3.0, sma[3], 1e-9);
+        assertEquals(4.0, sma[4], 1e-9);
+    }
+
+    @Test
+    void primitiveSmaThrowsForWindowLargerThanData() {
+        double[] prices = {1, 2};
+        assertThrows(IllegalArgumentException.class, () -> SmaCalculator.compute(prices, 5));
+    }
+
     private static BigDecimal bd(double val) {
         return BigDecimal.valueOf(val);
     }
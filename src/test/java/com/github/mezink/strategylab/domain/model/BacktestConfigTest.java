@@ -46,4 +46,17 @@ class BacktestConfigTest {
                         new BuyAndHoldStrategy(new BuyAndHoldConfig())
                 ));
     }
+
+    @Test
+    void rejectsCapitalBeyondMoneyRange() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                new BacktestConfig(
+                        "SPY",
+                        LocalDate.of(2023, 1, 1),
+                        LocalDate.of(2024, 1, 1),
+                        new BigDecimal("100000000000"),
+                        new BuyAndHoldStrategy(new BuyAndHoldConfig())
+                ));
+        assertTrue(e.getMessage().contains("initialCapital"));
+    }
 }
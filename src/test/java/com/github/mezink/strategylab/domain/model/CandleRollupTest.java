@@ -0,0 +1,101 @@
+package com.github.mezink.strategylab.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandleRollupTest {
+
+    private static final Instrument INSTRUMENT = new Instrument("TEST", "Test", "STOCK");
+
+    @Test
+    void rollsWeekdaysIntoMondayToFridayWeeks() {
+        // Wednesday 2024-01-03 to Tuesday 2024-01-16
+        TimeSeries daily = weekdays(LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 16));
+
+        TimeSeries weekly = daily.rollUp(Interval.ONE_WEEK);
+
+        assertEquals(Interval.ONE_WEEK, weekly.interval());
+        assertEquals(3, weekly.size());
+        Candle first = weekly.candles().getFirst();
+        assertEquals(LocalDate.of(2024, 1, 5), first.date(), "dated by the last trading day");
+        assertEquals(daily.candles().get(0).open(), first.open());
+        assertEquals(daily.candles().get(2).close(), first.close());
+        assertEquals(daily.candles().get(2).high(), first.high());
+        assertEquals(daily.candles().get(0).low(), first.low());
+        assertEquals(300, first.volume());
+        Candle second = weekly.candles().get(1);
+        assertEquals(LocalDate.of(2024, 1, 12), second.date());
+        assertEquals(500, second.volume());
+        assertEquals(LocalDate.of(2024, 1, 16), weekly.endDate());
+    }
+
+    @Test
+    void rollsIntoCalendarMonthsAndQuarters() {
+        TimeSeries daily = weekdays(LocalDate.of(2023, 11, 15), LocalDate.of(2024, 4, 2));
+
+        TimeSeries monthly = daily.rollUp(Interval.ONE_MONTH);
+        TimeSeries quarterly = daily.rollUp(Interval.ONE_QUARTER);
+
+        assertEquals(List.of(LocalDate.of(2023, 11, 30), LocalDate.of(2023, 12, 29), LocalDate.of(2024, 1, 31),
+                        LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 29), LocalDate.of(2024, 4, 2)),
+                monthly.candles().stream().map(Candle::date).toList());
+        assertEquals(List.of(LocalDate.of(2023, 12, 29), LocalDate.of(2024, 3, 29), LocalDate.of(2024, 4, 2)),
+                quarterly.candles().stream().map(Candle::date).toList());
+        assertEquals(daily.candles().stream().mapToLong(Candle::volume).sum(),
+                quarterly.candles().stream().mapToLong(Candle::volume).sum());
+        assertEquals(daily.candles().getLast().close(), quarterly.candles().getLast().close());
+    }
+
+    @Test
+    void rollsIntradayBarsIntoDays() {
+        long monday = LocalDate.of(2024, 3, 4).toEpochDay() * 86_400;
+        CompactCandleColumns bars = CompactCandleColumns.builder(4)
+                .add(monday + 52_200, 10, 12, 9.5, 11, 100)
+                .add(monday + 55_800, 11, 11.5, 9, 10, 200)
+                .add(monday + 138_600, 10, 10.5, 9.75, 10.25, 300)
+                .add(monday + 142_200, 10.25, 13, 10, 12.5, 400)
+                .build();
+
+        TimeSeries daily = TimeSeries.of(INSTRUMENT, Interval.ONE_HOUR, bars).rollUp(Interval.ONE_DAY);
+
+        assertEquals(2, daily.size());
+        Candle tuesday = daily.candles().getLast();
+        assertEquals(LocalDate.of(2024, 3, 5), tuesday.date());
+        assertEquals(0, new BigDecimal("10").compareTo(tuesday.open()));
+        assertEquals(0, new BigDecimal("13").compareTo(tuesday.high()));
+        assertEquals(0, new BigDecimal("9.75").compareTo(tuesday.low()));
+        assertEquals(0, new BigDecimal("12.5").compareTo(tuesday.close()));
+        assertEquals(700, tuesday.volume());
+    }
+
+    @Test
+    void rejectsIntervalsThatAreNotLonger() {
+        TimeSeries weekly = weekdays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1)).rollUp(Interval.ONE_WEEK);
+
+        assertThrows(IllegalArgumentException.class, () -> weekly.rollUp(Interval.ONE_DAY));
+        assertThrows(IllegalArgumentException.class, () -> weekly.rollUp(Interval.ONE_WEEK));
+        assertEquals(Interval.ONE_MONTH, weekly.rollUp(Interval.ONE_MONTH).interval());
+    }
+
+    private static TimeSeries weekdays(LocalDate from, LocalDate to) {
+        List<Candle> candles = new ArrayList<>();
+        int n = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            BigDecimal open = BigDecimal.valueOf(100 + n);
+            candles.add(new Candle(date, open, open.add(BigDecimal.TWO), open.subtract(BigDecimal.ONE),
+                    open.add(BigDecimal.ONE), 100));
+            n++;
+        }
+        return new TimeSeries(INSTRUMENT, candles);
+    }
+}
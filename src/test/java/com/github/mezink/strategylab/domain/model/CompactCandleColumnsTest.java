@@ -0,0 +1,105 @@
+package com.github.mezink.strategylab.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactCandleColumnsTest {
+
+    private static final long MONDAY = LocalDate.of(2024, 3, 4).toEpochDay() * 86_400;
+
+    @Test
+    void keepsPricesToFourDecimalPlaces() {
+        CompactCandleColumns bars = CompactCandleColumns.builder(2)
+                .add(MONDAY + 52_200, 472.16, 473.67, 470.49, 472.65, 123_623_700)
+                .add(MONDAY + 52_500, 472.65, 472.7, 471.123456, 471.9999, 5_000_000_000L)
+                .build();
+
+        assertEquals(4, bars.scale());
+        assertEquals(2, bars.size());
+        assertEquals(472.16, bars.open(0));
+        assertEquals(471.1235, bars.low(1));
+        assertEquals(new BigDecimal("471.9999"), bars.closePrice(1));
+        assertEquals(5_000_000_000L, bars.volume(1));
+        assertEquals(MONDAY + 52_500, bars.epochSecond(1));
+        assertEquals(LocalDate.of(2024, 3, 4), bars.date(1));
+        assertEquals(new BigDecimal("473.6700"), bars.candle(0).high());
+    }
+
+    @Test
+    void coarsensScaleForLargePrices() {
+        CompactCandleColumns bars = CompactCandleColumns.builder(1)
+                .add(MONDAY, 612_345.67, 615_000.5, 611_000.25, 614_321.98, 10)
+                .build();
+
+        assertEquals(3, bars.scale());
+        assertEquals(614_321.98, bars.close(0));
+    }
+
+    @Test
+    void refinesScaleForSubCentPrices() {
+        CompactCandleColumns bars = CompactCandleColumns.builder(2)
+                .add(MONDAY, 0.00001234, 0.00001299, 0.00001101, 0.00001201, 1_000_000)
+                .add(MONDAY + 60, 0.00001201, 0.0015, 0.000012, 0.00145678, 2_000_000)
+                .build();
+
+        assertEquals(8, bars.scale());
+        assertEquals(0.00001101, bars.low(0));
+        assertEquals(new BigDecimal("0.00145678"), bars.closePrice(1));
+    }
+
+    @Test
+    void rejectsPricesTooFarApartForOneScale() {
+        CompactCandleColumns.Builder builder = CompactCandleColumns.builder(2)
+                .add(MONDAY, 50_000, 50_000, 50_000, 50_000, 1)
+                .add(MONDAY + 60, 0.00004, 0.00004, 0.00004, 0.00004, 1);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void groupsBarsByUtcDay() {
+        CompactCandleColumns bars = CompactCandleColumns.builder(4)
+                .add(MONDAY + 80_000, 1, 1, 1, 1, 1)
+                .add(MONDAY + 86_399, 1, 1, 1, 1, 1)
+                .add(MONDAY + 86_400, 1, 1, 1, 1, 1)
+                .add(MONDAY + 90_000, 1, 1, 1, 1, 1)
+                .build();
+
+        assertFalse(bars.endsDay(0));
+        assertTrue(bars.endsDay(1));
+        assertEquals(bars.epochDay(1) + 1, bars.epochDay(2));
+        assertTrue(bars.endsDay(3));
+    }
+
+    @Test
+    void rejectsUnorderedOrNonPositiveBars() {
+        CompactCandleColumns.Builder builder = CompactCandleColumns.builder(2).add(MONDAY, 1, 1, 1, 1, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> builder.add(MONDAY, 1, 1, 1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> builder.add(MONDAY + 60, 1, 1, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> CompactCandleColumns.builder(1).build());
+    }
+
+    @Test
+    void backsIntradayTimeSeries() {
+        CompactCandleColumns bars = CompactCandleColumns.builder(3)
+                .add(MONDAY + 52_200, 10, 11, 9, 10.5, 100)
+                .add(MONDAY + 52_260, 10.5, 11, 10, 10.75, 100)
+                .add(MONDAY + 138_600, 10.75, 12, 10, 11.5, 100)
+                .build();
+        Instrument instrument = new Instrument("SPY", "SPY", "ETF");
+
+        TimeSeries series = TimeSeries.of(instrument, Interval.ONE_MINUTE, bars);
+        TimeSeries tuesday = series.slice(LocalDate.of(2024, 3, 5), LocalDate.of(2024, 3, 5));
+
+        assertEquals(Interval.ONE_MINUTE, tuesday.interval());
+        assertEquals(1, tuesday.size());
+        assertEquals(11.5, tuesday.columns().close(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeSeries(instrument, series.candles().subList(0, 1).stream().toList(), Interval.ONE_MINUTE));
+    }
+}
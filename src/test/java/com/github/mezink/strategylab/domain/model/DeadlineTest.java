@@ -0,0 +1,55 @@
+package com.github.mezink.strategylab.domain.model;
+
+import com.github.mezink.strategylab.domain.exception.DeadlineExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineTest {
+
+    @Test
+    void capsTimeoutsToTimeLeft() {
+        Deadline deadline = Deadline.after(Duration.ofSeconds(2));
+
+        assertEquals(Duration.ofMillis(500), deadline.cap(Duration.ofMillis(500)));
+        assertTrue(deadline.cap(Duration.ofMinutes(1)).compareTo(Duration.ofSeconds(2)) <= 0);
+        assertEquals(Duration.ofMinutes(1), Deadline.NONE.cap(Duration.ofMinutes(1)));
+        assertTrue(Deadline.NONE.remaining().isEmpty());
+    }
+
+    @Test
+    void failsOnceExpired() throws InterruptedException {
+        Deadline deadline = Deadline.after(Duration.ofMillis(20));
+        Thread.sleep(30);
+
+        assertTrue(deadline.isExpired());
+        assertEquals(Duration.ZERO, deadline.remaining().orElseThrow());
+        assertThrows(DeadlineExceededException.class, deadline::check);
+        assertThrows(DeadlineExceededException.class, () -> deadline.cap(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void checksEveryThousandTwentyFourthStep() {
+        Deadline deadline = Deadline.after(Duration.ofMinutes(1));
+        deadline.cancel();
+
+        assertDoesNotThrow(() -> deadline.check(1_023));
+        assertThrows(CancellationException.class, () -> deadline.check(2_048));
+    }
+
+    @Test
+    void stopsOnInterruptButNoneCannotBeCancelled() {
+        Deadline.NONE.cancel();
+        assertDoesNotThrow(() -> Deadline.NONE.check());
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> Deadline.NONE.check());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.mezink.strategylab.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EquityCurveTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 2);
+
+    @Test
+    void builderRoundsToCentsAndGrows() {
+        EquityCurve.Builder builder = new EquityCurve.Builder(1);
+        for (int i = 0; i < 5; i++) {
+            builder.add(START.toEpochDay() + i, Money.of(new BigDecimal("100.005").add(BigDecimal.valueOf(i))));
+        }
+        EquityCurve curve = builder.build();
+
+        assertEquals(5, curve.size());
+        assertEquals(10_001, curve.cents(0));
+        assertEquals(new BigDecimal("104.01"), curve.portfolioValue(4));
+        assertEquals(new EquityPoint(START.plusDays(2), new BigDecimal("102.01")), curve.point(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> curve.cents(5));
+    }
+
+    @Test
+    void materializesOnlyRequestedPage() {
+        EquityCurve curve = EquityCurve.of(List.of(
+                new EquityPoint(START, new BigDecimal("100")),
+                new EquityPoint(START.plusDays(1), new BigDecimal("101.50")),
+                new EquityPoint(START.plusDays(2), new BigDecimal("99.994"))));
+
+        assertEquals(List.of(new EquityPoint(START.plusDays(1), new BigDecimal("101.50")),
+                new EquityPoint(START.plusDays(2), new BigDecimal("99.99"))), curve.points(new Page(1, 5)));
+        assertTrue(curve.points(new Page(3, 1)).isEmpty());
+        assertEquals(curve.points(Page.ALL), curve.asList());
+    }
+
+    @Test
+    void listViewIsReadOnly() {
+        List<EquityPoint> view = EquityCurve.of(List.of(new EquityPoint(START, BigDecimal.TEN))).asList();
+
+        assertEquals(1, view.size());
+        assertThrows(UnsupportedOperationException.class, () -> view.add(view.getFirst()));
+    }
+}
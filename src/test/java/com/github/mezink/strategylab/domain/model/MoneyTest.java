@@ -0,0 +1,86 @@
+package com.github.mezink.strategylab.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void convertsQuotedPricesExactly() {
+        assertEquals(Money.of(new BigDecimal("123.45")), Money.ofPrice(123.45));
+        assertEquals(Money.of(new BigDecimal("0.1")), Money.ofPrice(0.1));
+        assertEquals(Money.of(new BigDecimal("123456789.12345678")), Money.ofPrice(123456789.12345678));
+        assertEquals(new BigDecimal("0.00000001"), Money.of(new BigDecimal("0.000000005")).toBigDecimal());
+        assertThrows(ArithmeticException.class, () -> Money.ofPrice(Double.NaN));
+    }
+
+    @Test
+    void multipliesAndDividesLikeBigDecimal() {
+        Random random = new Random(7);
+        RoundingMode[] modes = {RoundingMode.DOWN, RoundingMode.UP, RoundingMode.FLOOR, RoundingMode.CEILING,
+                RoundingMode.HALF_UP, RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN};
+        for (int i = 0; i < 20_000; i++) {
+            // Up to about a million either way, with 8 decimals
+            Money a = new Money(random.nextLong(-100_000_000_000_000L, 100_000_000_000_000L));
+            Money b = new Money(random.nextLong(-100_000_000_000_000L, 100_000_000_000_000L));
+            RoundingMode mode = modes[i % modes.length];
+
+            assertSameAs(a.toBigDecimal().multiply(b.toBigDecimal()).setScale(Money.SCALE, mode),
+                    () -> a.multiply(b, mode));
+            if (!b.isZero()) {
+                assertSameAs(a.toBigDecimal().divide(b.toBigDecimal(), Money.SCALE, mode), () -> a.divide(b, mode));
+            }
+        }
+    }
+
+    /**
+     * {@code actual} equals {@code expected}, or overflows exactly when {@code expected} does not fit.
+     */
+    private static void assertSameAs(BigDecimal expected, Supplier<Money> actual) {
+        if (expected.unscaledValue().bitLength() > 63) {
+            assertThrows(ArithmeticException.class, actual::get, expected::toPlainString);
+        } else {
+            assertEquals(expected, actual.get().toBigDecimal());
+        }
+    }
+
+    @Test
+    void detectsOverflowInsteadOfWrapping() {
+        Money billion = Money.of(new BigDecimal("1000000000"));
+
+        assertThrows(ArithmeticException.class, () -> billion.multiply(billion, RoundingMode.HALF_UP));
+        assertThrows(ArithmeticException.class, () -> new Money(Long.MAX_VALUE).add(new Money(1)));
+        assertThrows(ArithmeticException.class, () -> billion.divide(Money.of(new BigDecimal("0.001")), RoundingMode.DOWN));
+        assertThrows(ArithmeticException.class, () -> billion.divide(Money.ZERO, RoundingMode.DOWN));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1e12")));
+    }
+
+    @Test
+    void roundsForReporting() {
+        Money value = Money.of(new BigDecimal("-2.345"));
+
+        assertEquals(new BigDecimal("-2.35"), value.toBigDecimal(2, RoundingMode.HALF_UP));
+        assertEquals(new BigDecimal("-2.34"), value.toBigDecimal(2, RoundingMode.HALF_EVEN));
+        assertEquals(new BigDecimal("-2.35"), value.toBigDecimal(2, RoundingMode.FLOOR));
+        assertEquals(new BigDecimal("-2.3450000000"), value.toBigDecimal(10, RoundingMode.UNNECESSARY));
+        assertThrows(ArithmeticException.class, () -> value.toBigDecimal(2, RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    void purchaseRoundedDownNeverExceedsCash() {
+        Money cash = Money.of(new BigDecimal("10000"));
+        Money price = Money.ofPrice(333.33);
+
+        Money shares = cash.divide(price, RoundingMode.DOWN);
+        Money left = cash.subtract(shares.multiply(price, RoundingMode.HALF_UP));
+
+        assertEquals(new BigDecimal("30.00030000"), shares.toBigDecimal());
+        assertTrue(left.signum() >= 0 && left.compareTo(price) < 0);
+    }
+}
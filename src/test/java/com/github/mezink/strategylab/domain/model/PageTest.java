@@ -0,0 +1,40 @@
+package com.github.mezink.strategylab.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageTest {
+
+    private static final List<Integer> LIST = List.of(0, 1, 2, 3, 4);
+
+    @Test
+    void selectsWindowOfList() {
+        assertEquals(List.of(1, 2), new Page(1, 2).of(LIST));
+        assertEquals(List.of(3, 4), new Page(3, 10).of(LIST), "limit past the end is cut short");
+        assertEquals(LIST, Page.ALL.of(LIST));
+        assertEquals(List.of(), new Page(0, 0).of(LIST));
+    }
+
+    @Test
+    void offsetPastEndGivesEmptyPage() {
+        Page page = new Page(7, 2);
+
+        assertEquals(5, page.from(5));
+        assertEquals(5, page.to(5));
+        assertTrue(page.of(LIST).isEmpty());
+    }
+
+    @Test
+    void largeLimitDoesNotOverflow() {
+        assertEquals(5, new Page(3, Integer.MAX_VALUE).to(5));
+    }
+
+    @Test
+    void rejectsNegativeValues() {
+        assertThrows(IllegalArgumentException.class, () -> new Page(-1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Page(0, -1));
+    }
+}
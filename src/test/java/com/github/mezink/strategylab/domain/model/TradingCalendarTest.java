@@ -0,0 +1,91 @@
+package com.github.mezink.strategylab.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradingCalendarTest {
+
+    @Test
+    void skipsNyseHolidaysAndWeekends() {
+        TradingCalendar nyse = TradingCalendar.NYSE;
+
+        assertFalse(nyse.isTradingDay(day(2024, 1, 15)), "MLK day");
+        assertFalse(nyse.isTradingDay(day(2024, 3, 29)), "Good Friday");
+        assertFalse(nyse.isTradingDay(day(2024, 6, 19)), "Juneteenth");
+        assertTrue(nyse.isTradingDay(day(2021, 6, 18)), "Juneteenth before 2022");
+        assertFalse(nyse.isTradingDay(day(2024, 11, 28)), "Thanksgiving");
+        assertFalse(nyse.isTradingDay(day(2022, 12, 26)), "Christmas on Sunday, observed Monday");
+        assertFalse(nyse.isTradingDay(day(2020, 7, 3)), "July 4 on Saturday, observed Friday");
+        assertTrue(nyse.isTradingDay(day(2021, 12, 31)), "New Year on Saturday is not observed");
+        assertFalse(nyse.isTradingDay(day(2024, 7, 6)), "Saturday");
+        assertTrue(nyse.isTradingDay(day(2024, 7, 5)));
+    }
+
+    @Test
+    void appliesHolidayRulesOfTheirTime() {
+        TradingCalendar nyse = TradingCalendar.NYSE;
+
+        assertFalse(nyse.isTradingDay(day(1970, 2, 23)), "Washington's Birthday, Feb 22 on Sunday");
+        assertTrue(nyse.isTradingDay(day(1970, 2, 16)), "3rd Monday of February before 1971");
+        assertFalse(nyse.isTradingDay(day(1968, 5, 30)), "Memorial Day on May 30");
+        assertTrue(nyse.isTradingDay(day(1968, 5, 27)), "Last Monday of May before 1971");
+        assertFalse(nyse.isTradingDay(day(1971, 2, 15)), "Presidents' Day from 1971");
+        assertFalse(nyse.isTradingDay(day(1971, 5, 31)), "Memorial Day from 1971");
+        assertThrows(IllegalArgumentException.class, () -> nyse.isTradingDay(day(1952, 12, 31)));
+        assertFalse(nyse.covers(day(1952, 12, 31)));
+        assertTrue(TradingCalendar.WEEKDAYS.covers(day(1927, 1, 3)));
+    }
+
+    @Test
+    void numbersTradingDaysDensely() {
+        TradingCalendar nyse = TradingCalendar.NYSE;
+        int wednesday = nyse.ordinalOnOrBefore(day(2024, 7, 3));
+
+        assertEquals(wednesday, nyse.ordinalOnOrBefore(day(2024, 7, 4)));
+        assertEquals(wednesday + 1, nyse.ordinalOnOrAfter(day(2024, 7, 4)));
+        assertEquals(day(2024, 7, 5), nyse.epochDay(wednesday + 1));
+        assertEquals(day(2024, 7, 8), nyse.epochDay(wednesday + 2));
+        assertEquals(252, nyse.tradingDaysBetween(day(2023, 12, 31), day(2024, 12, 31)));
+        assertEquals(262, TradingCalendar.WEEKDAYS.tradingDaysBetween(day(2023, 12, 31), day(2024, 12, 31)));
+        assertThrows(IllegalArgumentException.class, () -> nyse.ordinalOnOrBefore(day(1899, 12, 31)));
+    }
+
+    @Test
+    void buildsCalendarFromTradingDays() {
+        TradingCalendar calendar = TradingCalendar.ofTradingDays(day(2024, 1, 2), day(2024, 1, 2), day(2024, 1, 5));
+
+        assertEquals(2, calendar.size());
+        assertEquals(-1, calendar.ordinalOnOrBefore(day(2024, 1, 1)));
+        assertEquals(0, calendar.ordinalOnOrBefore(day(2024, 1, 4)));
+        assertEquals(1, calendar.ordinalOnOrAfter(day(2024, 1, 3)));
+        assertEquals(1, calendar.ordinalOnOrBefore(day(2030, 1, 1)));
+        assertEquals(2, calendar.ordinalOnOrAfter(day(2030, 1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> TradingCalendar.ofTradingDays(day(2024, 1, 5), day(2024, 1, 2)));
+    }
+
+    @Test
+    void seriesUseTheirExchangeCalendar() {
+        Candle candle = new Candle(LocalDate.of(2024, 7, 5), BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE,
+                BigDecimal.ONE, 1);
+
+        assertSame(TradingCalendar.NYSE,
+                new TimeSeries(new Instrument("SPY", "SPY", "ETF", "pcx"), List.of(candle)).calendar());
+        assertSame(TradingCalendar.WEEKDAYS,
+                new TimeSeries(new Instrument("X", "X", "EQUITY"), List.of(candle)).calendar());
+        Candle early = new Candle(LocalDate.of(1930, 1, 2), BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE,
+                BigDecimal.ONE, 1);
+        assertSame(TradingCalendar.WEEKDAYS,
+                new TimeSeries(new Instrument("^DJI", "Dow", "INDEX", "DJI"), List.of(early, candle)).calendar(),
+                "NYSE rules do not cover the Saturday-session era");
+        assertTrue(TradingCalendar.forExchange("LSE").isEmpty());
+    }
+
+    private static long day(int year, int month, int day) {
+        return LocalDate.of(year, month, day).toEpochDay();
+    }
+}
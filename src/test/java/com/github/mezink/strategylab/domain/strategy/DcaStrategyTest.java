@@ -1,8 +1,10 @@
 package com.github.mezink.strategylab.domain.strategy;
 
 import com.github.mezink.strategylab.domain.model.Candle;
+import com.github.mezink.strategylab.domain.model.CompactCandleColumns;
 import com.github.mezink.strategylab.domain.model.EquityPoint;
 import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.model.Interval;
 import com.github.mezink.strategylab.domain.model.TimeSeries;
 import com.github.mezink.strategylab.domain.model.Trade;
 import com.github.mezink.strategylab.domain.model.TradeAction;
@@ -79,6 +81,81 @@ class DcaStrategyTest {
         assertEquals(0, bd(2000).compareTo(total));
     }
 
+    @Test
+    void countsTradingDaysOnIntradaySeries() {
+        // 11 weekdays of 7 hourly bars: same trades as the daily series, one curve point per day
+        CompactCandleColumns.Builder bars = CompactCandleColumns.builder(77);
+        List<LocalDate> days = weekdaysFrom(LocalDate.of(2024, 1, 1), 11);
+        for (int day = 0; day < days.size(); day++) {
+            for (int hour = 0; hour < 7; hour++) {
+                double price = 100 + day + hour / 10.0;
+                bars.add(days.get(day).toEpochDay() * 86_400 + (14 + hour) * 3_600L, price, price, price, price, 1000);
+            }
+        }
+        TimeSeries series = TimeSeries.of(new Instrument("TEST", "Test", "STOCK"), Interval.ONE_HOUR, bars.build());
+
+        StrategyExecution result = new DcaStrategy(new DcaConfig(bd(500), 5)).execute(series, bd(1000));
+
+        assertEquals(3, result.trades().size());
+        assertEquals(LocalDate.of(2024, 1, 8), result.trades().get(1).date());
+        assertEquals(0, bd(105).compareTo(result.trades().get(1).price()), "buys at the day's first bar");
+        assertEquals(11, result.equityCurve().size());
+        assertEquals(LocalDate.of(2024, 1, 15), result.equityCurve().getLast().date());
+    }
+
+    @Test
+    void countsExchangeTradingDaysAcrossHolidaysAndGaps() {
+        // NYSE days from Mon 2024-07-01: 07-04 is a holiday and 07-09 has no bar
+        Instrument inst = new Instrument("TEST", "Test Stock", "EQUITY", "NMS");
+        List<Candle> candles = new ArrayList<>();
+        for (int day : new int[]{1, 2, 3, 5, 8, 10, 11}) {
+            BigDecimal p = bd(100 + day);
+            candles.add(new Candle(LocalDate.of(2024, 7, day), p, p, p, p, 1000L));
+        }
+
+        StrategyExecution result = new DcaStrategy(new DcaConfig(bd(500), 3))
+                .execute(new TimeSeries(inst, candles), bd(1000));
+
+        assertEquals(List.of(LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 5), LocalDate.of(2024, 7, 10)),
+                result.trades().stream().map(Trade::date).toList());
+    }
+
+    @Test
+    void countsTradingDaysWhateverTheExchangeOrInterval() {
+        // Weekdays from Wed 2020-01-01, as daily bars and rolled up into weeks
+        List<Candle> candles = new ArrayList<>();
+        for (LocalDate date : weekdaysFrom(LocalDate.of(2020, 1, 1), 40)) {
+            candles.add(new Candle(date, bd(100), bd(100), bd(100), bd(100), 1000L));
+        }
+        DcaStrategy strategy = new DcaStrategy(new DcaConfig(bd(500), 10));
+
+        List<LocalDate> unknown = tradeDates(strategy, new TimeSeries(new Instrument("X", "X", "EQUITY"), candles));
+        List<LocalDate> nyse = tradeDates(strategy, new TimeSeries(new Instrument("X", "X", "EQUITY", "NMS"), candles));
+        List<LocalDate> weekly = tradeDates(strategy,
+                new TimeSeries(new Instrument("X", "X", "EQUITY"), candles).rollUp(Interval.ONE_WEEK));
+
+        // Ten weekdays apart; NYSE trading days also skip MLK day (01-20)
+        assertEquals(List.of(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 15), LocalDate.of(2020, 1, 29),
+                LocalDate.of(2020, 2, 12)), unknown);
+        assertEquals(List.of(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 15), LocalDate.of(2020, 1, 30),
+                LocalDate.of(2020, 2, 13)), nyse);
+        assertEquals(4, weekly.size(), "Ten trading days are two weekly bars, not ten");
+    }
+
+    private static List<LocalDate> tradeDates(DcaStrategy strategy, TimeSeries series) {
+        return strategy.execute(series, bd(1000)).trades().stream().map(Trade::date).toList();
+    }
+
+    private static List<LocalDate> weekdaysFrom(LocalDate start, int count) {
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate date = start; days.size() < count; date = date.plusDays(1)) {
+            if (date.getDayOfWeek().getValue() <= 5) {
+                days.add(date);
+            }
+        }
+        return days;
+    }
+
     private static TimeSeries createSeries(int days) {
         return createConstantPriceSeries(days, 100.0);
     }
@@ -86,11 +163,9 @@ class DcaStrategyTest {
     private static TimeSeries createConstantPriceSeries(int days, double price) {
         Instrument inst = new Instrument("TEST", "Test Stock", "EQUITY");
         List<Candle> candles = new ArrayList<>();
-        LocalDate date = LocalDate.of(2020, 1, 1);
-        for (int i = 0; i < days; i++) {
+        for (LocalDate date : weekdaysFrom(LocalDate.of(2020, 1, 1), days)) {
             BigDecimal p = bd(price);
             candles.add(new Candle(date, p, p, p, p, 1000L));
-            date = date.plusDays(1);
         }
         return new TimeSeries(inst, candles);
     }
@@ -0,0 +1,103 @@
+package com.github.mezink.strategylab.domain.strategy;
+
+import com.github.mezink.strategylab.domain.model.Candle;
+import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.model.Trade;
+import com.github.mezink.strategylab.domain.model.TradeAction;
+import com.github.mezink.strategylab.domain.strategy.config.MaCrossoverConfig;
+import com.github.mezink.strategylab.domain.strategy.config.RuleConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleStrategyTest {
+
+    @Test
+    void idAndMetadata() {
+        RuleStrategy strategy = new RuleStrategy(RuleConfig.fromParams(Map.of("entryRule", "close > sma(5)")));
+        assertEquals(StrategyId.RULE, strategy.id());
+        assertFalse(StrategyId.RULE.parameterDescriptors().isEmpty());
+    }
+
+    @Test
+    void exitRuleDefaultsToNegatedEntry() {
+        RuleConfig config = RuleConfig.fromParams(Map.of("entryRule", "close > sma(5)"));
+        assertEquals("(not (close > sma(5)))", config.exitRule().normalized());
+    }
+
+    @Test
+    void throwsForMissingEntryRule() {
+        Map<String, String> params = Map.of("exitRule", "close < 5");
+        assertThrows(IllegalArgumentException.class, () -> RuleConfig.fromParams(params));
+    }
+
+    @Test
+    void createdThroughStrategyId() {
+        Strategy strategy = StrategyId.RULE.createStrategy(Map.of(
+                "entryRule", "sma(5) > sma(15)",
+                "exitRule", "sma(5) < sma(15)"));
+        assertInstanceOf(RuleStrategy.class, strategy);
+    }
+
+    @Test
+    void matchesHandWrittenMaCrossover() {
+        List<Double> prices = new ArrayList<>();
+        for (int i = 0; i < 30; i++) prices.add(50.0 + i * 2);
+        for (int i = 0; i < 30; i++) prices.add(108.0 - i * 3);
+        for (int i = 0; i < 30; i++) prices.add(20.0 + i * 2);
+        TimeSeries series = createSeriesFromPrices(prices);
+
+        StrategyExecution expected = new MaCrossoverStrategy(new MaCrossoverConfig(5, 15))
+                .execute(series, bd(10000));
+        StrategyExecution actual = new RuleStrategy(RuleConfig.fromParams(Map.of("entryRule", "sma(5) > sma(15)")))
+                .execute(series, bd(10000));
+
+        assertEquals(expected.trades().size(), actual.trades().size());
+        for (int i = 0; i < expected.trades().size(); i++) {
+            Trade want = expected.trades().get(i);
+            Trade got = actual.trades().get(i);
+            assertEquals(want.date(), got.date());
+            assertEquals(want.action(), got.action());
+        }
+        assertEquals(0, expected.equityCurve().getLast().portfolioValue()
+                .compareTo(actual.equityCurve().getLast().portfolioValue()));
+    }
+
+    @Test
+    void tradesHaveReasonStrings() {
+        TimeSeries series = createSeriesFromPrices(List.of(10.0, 11.0, 12.0, 9.0, 8.0, 13.0));
+        RuleStrategy strategy = new RuleStrategy(RuleConfig.fromParams(Map.of(
+                "entryRule", "close > 10.5",
+                "exitRule", "close < 10")));
+        StrategyExecution result = strategy.execute(series, bd(1000));
+
+        assertEquals(3, result.trades().size());
+        assertEquals(TradeAction.BUY, result.trades().get(0).action());
+        assertTrue(result.trades().get(0).reason().contains("close > 10.5"));
+        assertEquals(TradeAction.SELL, result.trades().get(1).action());
+        assertTrue(result.trades().get(1).reason().contains("close < 10"));
+    }
+
+    private static TimeSeries createSeriesFromPrices(List<Double> closePrices) {
+        Instrument inst = new Instrument("TEST", "Test Stock", "EQUITY");
+        List<Candle> candles = new ArrayList<>();
+        LocalDate date = LocalDate.of(2020, 1, 1);
+        for (double close : closePrices) {
+            BigDecimal p = bd(close);
+            candles.add(new Candle(date, p, p, p, p, 1000L));
+            date = date.plusDays(1);
+        }
+        return new TimeSeries(inst, candles);
+    }
+
+    private static BigDecimal bd(double val) {
+        return BigDecimal.valueOf(val);
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.mezink.strategylab.domain.strategy.rule;
+
+import com.github.mezink.strategylab.domain.model.Candle;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleCompilerTest {
+
+    @Test
+    void normalizesWhitespaceCaseAndPrecedence() {
+        CompiledRule rule = RuleCompiler.compile("SMA(20)  >  sma(50) AND rsi(14)<70");
+        assertEquals("((sma(20) > sma(50)) and (rsi(14) < 70))", rule.normalized());
+    }
+
+    @Test
+    void equivalentTextSharesCachedCompilation() {
+        CompiledRule first = RuleCompiler.compile("close > sma(10)");
+        CompiledRule second = RuleCompiler.compile("  CLOSE>SMA(10) ");
+        assertSame(first, second);
+    }
+
+    @Test
+    void deduplicatesInputColumns() {
+        CompiledRule rule = RuleCompiler.compile("close > sma(3) and close < sma(3) * 2");
+        assertEquals(2, rule.inputs().size());
+    }
+
+    @Test
+    void evaluatesComparisonsPerCandle() {
+        IndicatorColumns columns = columnsOf(1, 2, 3, 4, 5);
+        CompiledRule.Bound rule = RuleCompiler.compile("close >= 3").bind(columns);
+
+        assertFalse(rule.test(0));
+        assertFalse(rule.test(1));
+        assertTrue(rule.test(2));
+        assertTrue(rule.test(4));
+    }
+
+    @Test
+    void evaluatesArithmeticWithPrecedence() {
+        IndicatorColumns columns = columnsOf(10);
+        assertTrue(RuleCompiler.compile("close + 2 * 5 >= 20").bind(columns).test(0));
+        assertFalse(RuleCompiler.compile("(close + 2) * 5 < 60").bind(columns).test(0));
+        assertTrue(RuleCompiler.compile("-close < 0").bind(columns).test(0));
+    }
+
+    @Test
+    void logicalOperatorsShortCircuitAndNegate() {
+        IndicatorColumns columns = columnsOf(10);
+        assertTrue(RuleCompiler.compile("close > 5 or close / 0 > 1").bind(columns).test(0));
+        assertFalse(RuleCompiler.compile("close > 50 and close > 5").bind(columns).test(0));
+        assertTrue(RuleCompiler.compile("not close > 50").bind(columns).test(0));
+    }
+
+    @Test
+    void comparisonsAgainstUnwarmedIndicatorsAreFalse() {
+        IndicatorColumns columns = columnsOf(1, 2, 3, 4);
+        CompiledRule.Bound above = RuleCompiler.compile("close > sma(3)").bind(columns);
+        CompiledRule.Bound below = RuleCompiler.compile("close <= sma(3)").bind(columns);
+
+        assertFalse(above.test(0));
+        assertFalse(below.test(0));
+        assertTrue(above.test(3));
+    }
+
+    @Test
+    void rejectsUnknownIndicator() {
+        assertThrows(RuleSyntaxException.class, () -> RuleCompiler.compile("macd(12) > 0"));
+    }
+
+    @Test
+    void rejectsNumericRule() {
+        assertThrows(RuleSyntaxException.class, () -> RuleCompiler.compile("sma(20) + 5"));
+    }
+
+    @Test
+    void rejectsTypeMismatch() {
+        assertThrows(RuleSyntaxException.class, () -> RuleCompiler.compile("close and close > 1"));
+        assertThrows(RuleSyntaxException.class, () -> RuleCompiler.compile("(close > 1) > 2"));
+    }
+
+    @Test
+    void rejectsMalformedText() {
+        assertThrows(RuleSyntaxException.class, () -> RuleCompiler.compile("sma(20 > 5"));
+        assertThrows(RuleSyntaxException.class, () -> RuleCompiler.compile("sma(2.5) > 5"));
+        assertThrows(RuleSyntaxException.class, () -> RuleCompiler.compile("sma(0) > 5"));
+        assertThrows(RuleSyntaxException.class, () -> RuleCompiler.compile("close > 5 extra"));
+        assertThrows(RuleSyntaxException.class, () -> RuleCompiler.compile(" "));
+    }
+
+    private static IndicatorColumns columnsOf(double... closes) {
+        List<Candle> candles = new ArrayList<>();
+        LocalDate date = LocalDate.of(2020, 1, 1);
+        for (double close : closes) {
+            BigDecimal p = BigDecimal.valueOf(close);
+            candles.add(new Candle(date, p, p, p, p, 1000L));
+            date = date.plusDays(1);
+        }
+        return new IndicatorColumns(candles);
+    }
+}
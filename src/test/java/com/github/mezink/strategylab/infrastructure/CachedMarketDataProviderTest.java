@@ -2,15 +2,28 @@ package com.github.mezink.strategylab.infrastructure;
 
 import com.github.mezink.strategylab.domain.model.Candle;
 import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.model.Interval;
 import com.github.mezink.strategylab.domain.model.TimeSeries;
 import com.github.mezink.strategylab.domain.port.MarketDataProvider;
+import com.github.mezink.strategylab.domain.port.SeriesRequest;
 import com.github.mezink.strategylab.infrastructure.cache.CachedMarketDataProvider;
+import com.github.mezink.strategylab.infrastructure.cache.SeriesStorage;
+import com.github.mezink.strategylab.infrastructure.offheap.OffHeapCandleStore;
+import com.github.mezink.strategylab.infrastructure.synthetic.SyntheticMarketDataProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -105,4 +118,323 @@ class CachedMarketDataProviderTest {
         cached.getDailySeries("AAPL", start, end);
         assertEquals(2, fetchCount.get(), "Different symbols should each call delegate");
     }
+
+    @Test
+    void cachesEachIntervalSeparately() {
+        List<Interval> fetched = new CopyOnWriteArrayList<>();
+        MarketDataProvider delegate = new SyntheticMarketDataProvider(42) {
+            @Override
+            public TimeSeries getSeries(String symbol, LocalDate start, LocalDate end, Interval interval) {
+                fetched.add(interval);
+                return super.getSeries(symbol, start, end, interval);
+            }
+        };
+        CachedMarketDataProvider cached = new CachedMarketDataProvider(delegate, new SimpleMeterRegistry());
+        LocalDate start = LocalDate.of(2024, 3, 1);
+        LocalDate end = LocalDate.of(2024, 3, 31);
+
+        TimeSeries daily = cached.getDailySeries("SPY", start, end);
+        TimeSeries bars = cached.getSeries("SPY", start, end, Interval.FIVE_MINUTES);
+        TimeSeries week = cached.getSeries("SPY", LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 8),
+                Interval.FIVE_MINUTES);
+        TimeSeries dailyWeek = cached.getDailySeries("SPY", LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 8));
+
+        assertEquals(List.of(Interval.ONE_DAY, Interval.FIVE_MINUTES), fetched, "sub-ranges are served by slicing");
+        assertEquals(Interval.ONE_DAY, daily.interval());
+        assertEquals(daily.size() * 78, bars.size());
+        assertEquals(Interval.FIVE_MINUTES, week.interval());
+        assertEquals(5 * 78, week.size());
+        assertEquals(Interval.ONE_DAY, dailyWeek.interval());
+        assertEquals(5, dailyWeek.size());
+    }
+
+    @Test
+    void rollsUpCachedDailySeries() {
+        List<Interval> fetched = new CopyOnWriteArrayList<>();
+        MarketDataProvider delegate = new SyntheticMarketDataProvider(42) {
+            @Override
+            public TimeSeries getSeries(String symbol, LocalDate start, LocalDate end, Interval interval) {
+                fetched.add(interval);
+                return super.getSeries(symbol, start, end, interval);
+            }
+        };
+        CachedMarketDataProvider cached = new CachedMarketDataProvider(delegate, new SimpleMeterRegistry());
+        LocalDate start = LocalDate.of(2015, 1, 1);
+        LocalDate end = LocalDate.of(2024, 12, 31);
+
+        TimeSeries weekly = cached.getSeries("SPY", start, end, Interval.ONE_WEEK);
+        TimeSeries monthly = cached.getSeriesBatch(List.of(
+                new SeriesRequest("SPY", start, end, Interval.ONE_MONTH))).getFirst().join();
+
+        assertEquals(List.of(Interval.ONE_DAY), fetched);
+        assertSame(weekly, cached.getSeries("SPY", start, end, Interval.ONE_WEEK));
+        assertSame(monthly, cached.getSeriesBatch(List.of(
+                new SeriesRequest("SPY", start, end, Interval.ONE_MONTH))).getFirst().join());
+        assertEquals(cached.getDailySeries("SPY", start, end).rollUp(Interval.ONE_WEEK), weekly);
+        assertEquals(120, monthly.size());
+        assertEquals(List.of(Interval.ONE_DAY), fetched);
+    }
+
+    @Test
+    void publishesHitMissAndFailureMetrics() {
+        AtomicInteger fetchCount = new AtomicInteger(0);
+
+        MarketDataProvider delegate = new MarketDataProvider() {
+            @Override
+            public TimeSeries getDailySeries(String symbol, LocalDate start, LocalDate end) {
+                fetchCount.incrementAndGet();
+                if (symbol.equals("FAIL")) {
+                    throw new IllegalStateException("upstream down");
+                }
+                Instrument inst = new Instrument(symbol, symbol, EQUITY_TYPE);
+                Candle candle = new Candle(start, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, 100);
+                return new TimeSeries(inst, List.of(candle));
+            }
+
+            @Override
+            public Optional<Instrument> validateSymbol(String symbol) {
+                return Optional.empty();
+            }
+        };
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CachedMarketDataProvider cached = new CachedMarketDataProvider(delegate, registry);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        LocalDate end = LocalDate.of(2020, 1, 31);
+
+        cached.getDailySeries("SPY", start, end);
+        cached.getDailySeries("SPY", start, end);
+        assertThrows(IllegalStateException.class, () -> cached.getDailySeries("FAIL", start, end));
+
+        assertEquals(1, registry.get("strategylab.cache.requests")
+                .tags("cache", "series", "result", "hit").counter().count());
+        assertEquals(2, registry.get("strategylab.cache.requests")
+                .tags("cache", "series", "result", "miss").counter().count());
+        assertEquals(1, registry.get("strategylab.cache.load.failures")
+                .tag("cache", "series").counter().count());
+        assertEquals(1, registry.get("strategylab.cache.size").tag("cache", "series").gauge().value(),
+                "Failed loads must not be cached");
+    }
+
+    @Test
+    void batchServesHitsFromCacheAndFetchesMissesOnce() {
+        AtomicInteger fetchCount = new AtomicInteger(0);
+
+        MarketDataProvider delegate = new MarketDataProvider() {
+            @Override
+            public TimeSeries getDailySeries(String symbol, LocalDate start, LocalDate end) {
+                fetchCount.incrementAndGet();
+                Instrument inst = new Instrument(symbol, symbol, EQUITY_TYPE);
+                Candle candle = new Candle(start, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, 100);
+                return new TimeSeries(inst, List.of(candle));
+            }
+
+            @Override
+            public Optional<Instrument> validateSymbol(String symbol) {
+                return Optional.empty();
+            }
+        };
+
+        CachedMarketDataProvider cached = new CachedMarketDataProvider(delegate);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        LocalDate end = LocalDate.of(2020, 1, 31);
+        TimeSeries spy = cached.getDailySeries("SPY", start, end);
+
+        List<CompletableFuture<TimeSeries>> batch = cached.getSeriesBatch(List.of(
+                new SeriesRequest("SPY", start, end),
+                new SeriesRequest("QQQ", start, end),
+                new SeriesRequest("QQQ", start, end)));
+
+        assertSame(spy, batch.get(0).join());
+        assertSame(batch.get(1).join(), batch.get(2).join(), "Duplicate requests must share one fetch");
+        assertEquals(2, fetchCount.get());
+        assertSame(batch.get(1).join(), cached.getDailySeries("QQQ", start, end));
+        assertEquals(2, fetchCount.get());
+    }
+
+    @Test
+    void servesSubrangeFromCachedCoveringSeries() {
+        AtomicInteger fetchCount = new AtomicInteger(0);
+
+        MarketDataProvider delegate = new MarketDataProvider() {
+            @Override
+            public TimeSeries getDailySeries(String symbol, LocalDate start, LocalDate end) {
+                fetchCount.incrementAndGet();
+                Instrument inst = new Instrument(symbol, symbol, EQUITY_TYPE);
+                List<Candle> candles = start.datesUntil(end.plusDays(1))
+                        .map(date -> new Candle(date, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, 100))
+                        .toList();
+                return new TimeSeries(inst, candles);
+            }
+
+            @Override
+            public Optional<Instrument> validateSymbol(String symbol) {
+                return Optional.empty();
+            }
+        };
+
+        CachedMarketDataProvider cached = new CachedMarketDataProvider(delegate);
+        cached.getDailySeries("SPY", LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31));
+
+        TimeSeries march = cached.getDailySeries("spy", LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 31));
+        TimeSeries batched = cached.getSeriesBatch(List.of(
+                new SeriesRequest("SPY", LocalDate.of(2020, 6, 1), LocalDate.of(2020, 6, 30)))).getFirst().join();
+
+        assertEquals(1, fetchCount.get(), "Subranges must be served from the covering series");
+        assertEquals(31, march.size());
+        assertEquals(LocalDate.of(2020, 3, 1), march.startDate());
+        assertEquals(30, batched.size());
+
+        cached.getDailySeries("SPY", LocalDate.of(2019, 12, 1), LocalDate.of(2020, 1, 31));
+        assertEquals(2, fetchCount.get(), "Ranges extending past the cached one must be fetched");
+    }
+
+    @Test
+    void unknownSymbolsExpireAfterNegativeTtl() {
+        AtomicInteger fetchCount = new AtomicInteger(0);
+
+        MarketDataProvider delegate = new MarketDataProvider() {
+            @Override
+            public TimeSeries getDailySeries(String symbol, LocalDate start, LocalDate end) {
+                return null;
+            }
+
+            @Override
+            public Optional<Instrument> validateSymbol(String symbol) {
+                // Unknown on the first lookup, listed afterwards
+                return fetchCount.incrementAndGet() == 1
+                        ? Optional.empty()
+                        : Optional.of(new Instrument(symbol, symbol, EQUITY_TYPE));
+            }
+        };
+
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        CachedMarketDataProvider cached = new CachedMarketDataProvider(
+                delegate, new SimpleMeterRegistry(), Duration.ofMinutes(10), clock);
+
+        assertTrue(cached.validateSymbol("NEWCO").isEmpty());
+        clock.now = clock.now.plus(Duration.ofMinutes(9));
+        assertTrue(cached.validateSymbol("NEWCO").isEmpty(), "Unknown result is cached within the TTL");
+        assertEquals(1, fetchCount.get());
+
+        clock.now = clock.now.plus(Duration.ofMinutes(2));
+        assertTrue(cached.validateSymbol("NEWCO").isPresent());
+        clock.now = clock.now.plus(Duration.ofDays(1));
+        assertTrue(cached.validateSymbol("NEWCO").isPresent(), "Known symbols do not expire");
+        assertEquals(2, fetchCount.get());
+    }
+
+    @Test
+    void validationReusesCachedSeries() {
+        AtomicInteger validateCount = new AtomicInteger(0);
+
+        MarketDataProvider delegate = new MarketDataProvider() {
+            @Override
+            public TimeSeries getDailySeries(String symbol, LocalDate start, LocalDate end) {
+                Instrument inst = new Instrument(symbol, "SPDR S&P 500", "ETF");
+                Candle candle = new Candle(start, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, 100);
+                return new TimeSeries(inst, List.of(candle));
+            }
+
+            @Override
+            public Optional<Instrument> validateSymbol(String symbol) {
+                validateCount.incrementAndGet();
+                return Optional.empty();
+            }
+        };
+
+        CachedMarketDataProvider cached = new CachedMarketDataProvider(delegate);
+        cached.getDailySeries("SPY", LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 31));
+
+        Optional<Instrument> instrument = cached.validateSymbol("spy");
+
+        assertEquals(0, validateCount.get());
+        assertEquals("SPDR S&P 500", instrument.orElseThrow().name());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedSeriesOverCandleBudget() {
+        AtomicInteger fetchCount = new AtomicInteger(0);
+
+        MarketDataProvider delegate = new MarketDataProvider() {
+            @Override
+            public TimeSeries getDailySeries(String symbol, LocalDate start, LocalDate end) {
+                fetchCount.incrementAndGet();
+                Instrument inst = new Instrument(symbol, symbol, EQUITY_TYPE);
+                List<Candle> candles = start.datesUntil(end.plusDays(1))
+                        .map(date -> new Candle(date, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, 100))
+                        .toList();
+                return new TimeSeries(inst, candles);
+            }
+
+            @Override
+            public Optional<Instrument> validateSymbol(String symbol) {
+                return Optional.empty();
+            }
+        };
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // Room for two 31-candle months
+        CachedMarketDataProvider cached = new CachedMarketDataProvider(delegate, registry, Duration.ofMinutes(10),
+                Clock.systemUTC(), SeriesStorage.HEAP, 62);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        LocalDate end = LocalDate.of(2020, 1, 31);
+
+        cached.getDailySeries("SPY", start, end);
+        cached.getDailySeries("QQQ", start, end);
+        cached.getDailySeries("SPY", start, end);
+        cached.getDailySeries("IWM", start, end);
+        assertEquals(3, fetchCount.get());
+        assertEquals(1.0, registry.get("strategylab.cache.evictions").counter().count());
+        assertEquals(62.0, registry.get("strategylab.cache.candles").gauge().value());
+
+        cached.getDailySeries("SPY", start.plusDays(5), end);
+        assertEquals(3, fetchCount.get(), "Recently used SPY must survive and serve slices");
+        cached.getDailySeries("QQQ", start, end);
+        assertEquals(4, fetchCount.get(), "Least recently used QQQ must have been evicted");
+    }
+
+    @Test
+    void evictedOffHeapSeriesIsFreedOnceNoCallerReadsIt() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CachedMarketDataProvider cached = new CachedMarketDataProvider(new SyntheticMarketDataProvider(42), registry,
+                Duration.ofMinutes(10), Clock.systemUTC(), new OffHeapCandleStore(null, registry), 1);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        LocalDate end = LocalDate.of(2020, 1, 31);
+
+        TimeSeries spy = cached.getDailySeries("SPY", start, end);
+        cached.getDailySeries("QQQ", start, end).release();
+        assertEquals(1.0, registry.get("strategylab.cache.evictions").counter().count());
+        assertEquals(2.0, registry.get("strategylab.cache.offheap.segments").gauge().value(),
+                "Evicted SPY is still being read");
+        assertTrue(spy.columns().close(0) > 0);
+
+        spy.release();
+        assertEquals(1.0, registry.get("strategylab.cache.offheap.segments").gauge().value());
+        assertThrows(IllegalStateException.class, () -> spy.columns().close(0));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
 }
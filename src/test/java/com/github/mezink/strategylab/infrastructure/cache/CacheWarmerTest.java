@@ -0,0 +1,93 @@
+package com.github.mezink.strategylab.infrastructure.cache;
+
+import com.github.mezink.strategylab.domain.model.Candle;
+import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.port.MarketDataProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheWarmerTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-06-30T12:00:00Z"), ZoneOffset.UTC);
+
+    private final Set<String> fetched = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile Set<String> blocked = Set.of();
+
+    private final MarketDataProvider delegate = new MarketDataProvider() {
+        @Override
+        public TimeSeries getDailySeries(String symbol, LocalDate start, LocalDate end) {
+            if (blocked.contains(symbol)) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (symbol.equals("FAIL")) {
+                throw new IllegalStateException("upstream down");
+            }
+            fetched.add(symbol);
+            Candle candle = new Candle(end, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, 100);
+            return new TimeSeries(new Instrument(symbol, symbol, "EQUITY"), List.of(candle));
+        }
+
+        @Override
+        public Optional<Instrument> validateSymbol(String symbol) {
+            return Optional.empty();
+        }
+    };
+
+    @Test
+    void loadsAllSymbolsIntoCacheAndReportsProgress() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CachedMarketDataProvider cache = new CachedMarketDataProvider(delegate, registry);
+        CacheWarmer warmer = new CacheWarmer(cache, List.of("SPY", " QQQ ", "FAIL", "SPY"), Period.ofYears(1),
+                Duration.ofSeconds(5), CLOCK, registry);
+
+        assertTrue(warmer.warmUp());
+
+        assertEquals(Set.of("SPY", "QQQ"), fetched);
+        assertEquals(1.0, registry.get("strategylab.cache.warmup.progress").gauge().value());
+        assertEquals(2, registry.get("strategylab.cache.warmup.symbols").tag("state", "loaded").gauge().value());
+        assertEquals(1, registry.get("strategylab.cache.warmup.symbols").tag("state", "failed").gauge().value());
+
+        // A later backtest inside the warmed range is a cache hit
+        cache.getDailySeries("SPY", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30));
+        assertEquals(1, registry.get("strategylab.cache.requests")
+                .tags("cache", "series", "result", "hit").counter().count());
+    }
+
+    @Test
+    void givesUpWaitingAtDeadline() {
+        blocked = Set.of("SLOW");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CacheWarmer warmer = new CacheWarmer(delegate, List.of("SPY", "SLOW"), Period.ofYears(1),
+                Duration.ofMillis(200), CLOCK, registry);
+
+        long start = System.nanoTime();
+        assertFalse(warmer.warmUp());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(2)) < 0, "Warm-up ignored its deadline: " + elapsed);
+        assertEquals(0.5, registry.get("strategylab.cache.warmup.progress").gauge().value());
+        release.countDown();
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.mezink.strategylab.infrastructure.catalog;
+
+import com.github.mezink.strategylab.domain.model.Instrument;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryInstrumentCatalogTest {
+
+    private final InMemoryInstrumentCatalog catalog = new InMemoryInstrumentCatalog(List.of(
+            new Instrument("AAPL", "Apple Inc.", "EQUITY"),
+            new Instrument("AAL", "American Airlines Group Inc.", "EQUITY"),
+            new Instrument("AMZN", "Amazon.com, Inc.", "EQUITY"),
+            new Instrument("SPY", "SPDR S&P 500 ETF Trust", "ETF"),
+            new Instrument("SPYG", "SPDR Portfolio S&P 500 Growth ETF", "ETF"),
+            new Instrument("QQQ", "Invesco QQQ Trust", "ETF"),
+            new Instrument("MSFT", "Microsoft Corporation", "EQUITY")
+    ));
+
+    @Test
+    void ranksExactSymbolThenSymbolPrefixThenNameWords() {
+        assertEquals(List.of("SPY", "SPYG"), symbols(catalog.search("spy", 10)));
+        assertEquals(List.of("AAL", "AAPL"), symbols(catalog.search("aa", 10)));
+        // "am" matches AMZN by symbol, then American Airlines and Amazon by name
+        assertEquals(List.of("AMZN", "AAL"), symbols(catalog.search("Am", 10)));
+        assertEquals(List.of("MSFT"), symbols(catalog.search("micro", 10)));
+    }
+
+    @Test
+    void respectsLimit() {
+        assertEquals(1, catalog.search("a", 1).size());
+        assertTrue(catalog.search("", 10).isEmpty());
+    }
+
+    @Test
+    void fallsBackToFuzzySymbolMatches() {
+        assertEquals(List.of("AAPL"), symbols(catalog.search("APPL", 10)));
+        assertEquals(List.of("MSFT"), symbols(catalog.search("MSFY", 10)));
+        assertTrue(catalog.search("XYZ", 10).isEmpty());
+        // Closest first across symbol lengths
+        assertEquals(List.of("SPYG", "SPY"), symbols(catalog.search("SPYGX", 10)));
+        assertTrue(catalog.search("SPYGLASSES", 10).isEmpty());
+        // Misspelt name words
+        assertEquals(List.of("MSFT"), symbols(catalog.search("Microsft", 10)));
+        assertEquals(List.of("QQQ"), symbols(catalog.search("invsco", 10)));
+    }
+
+    @Test
+    void addReplacesEntryAndNormalizesSymbol() {
+        catalog.add(new Instrument("nvda", "NVIDIA Corporation", "EQUITY"));
+        catalog.add(new Instrument("AAPL", "Apple Incorporated", "EQUITY"));
+
+        assertEquals("NVIDIA Corporation", catalog.find("NVDA").orElseThrow().name());
+        assertEquals("Apple Incorporated", catalog.find("aapl").orElseThrow().name());
+        assertEquals(8, catalog.size());
+        assertEquals(List.of("AAPL"), symbols(catalog.search("incorporated", 10)));
+    }
+
+    @Test
+    void boundedDistanceStopsEarly() {
+        assertEquals(1, InMemoryInstrumentCatalog.boundedDistance("APPL", "AAPL", 2));
+        assertEquals(2, InMemoryInstrumentCatalog.boundedDistance("SPY", "SPYGX", 2));
+        assertEquals(2, InMemoryInstrumentCatalog.boundedDistance("ABCDEF", "UVWXYZ", 1));
+    }
+
+    @Test
+    void readsQuotedCsvAndJsonSeeds() {
+        String csv = """
+                assetType,symbol,name
+                # comment
+                EQUITY,AMZN,"Amazon.com, Inc."
+                ETF,SPY,"SPDR ""S&P 500"" ETF"
+                """;
+        List<Instrument> fromCsv = InstrumentSeedReader.read("seed.csv", stream(csv), new ObjectMapper());
+        assertEquals(List.of(
+                new Instrument("AMZN", "Amazon.com, Inc.", "EQUITY"),
+                new Instrument("SPY", "SPDR \"S&P 500\" ETF", "ETF")), fromCsv);
+
+        String json = """
+                [{"symbol":"QQQ","name":"Invesco QQQ Trust","assetType":"ETF"}]
+                """;
+        assertEquals(List.of(new Instrument("QQQ", "Invesco QQQ Trust", "ETF")),
+                InstrumentSeedReader.read("seed.json", stream(json), new ObjectMapper()));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> InstrumentSeedReader.read("seed.csv", stream("symbol,name\nSPY,x"), new ObjectMapper()));
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> symbols(List<Instrument> instruments) {
+        return instruments.stream().map(Instrument::symbol).toList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.mezink.strategylab.infrastructure.metrics;
+
+import com.github.mezink.strategylab.domain.model.BacktestConfig;
+import com.github.mezink.strategylab.domain.model.BacktestResult;
+import com.github.mezink.strategylab.domain.model.Candle;
+import com.github.mezink.strategylab.domain.model.Instrument;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.strategy.BuyAndHoldStrategy;
+import com.github.mezink.strategylab.domain.strategy.StrategyId;
+import com.github.mezink.strategylab.domain.strategy.config.BuyAndHoldConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedBacktestEngineTest {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    @Test
+    void recordsTimersTaggedByStrategy() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InstrumentedBacktestEngine engine = new InstrumentedBacktestEngine(registry);
+
+        BacktestResult result = engine.run(createSeries(10), buyAndHold());
+
+        assertEquals(StrategyId.BUY_AND_HOLD, result.strategyId());
+        String strategy = StrategyId.BUY_AND_HOLD.name();
+        assertEquals(1, registry.get(InstrumentedBacktestEngine.RUN_TIMER).tag("strategy", strategy).timer().count());
+        assertEquals(1, registry.get(InstrumentedBacktestEngine.EXECUTE_TIMER).tag("strategy", strategy).timer().count());
+        assertEquals(1, registry.get(InstrumentedBacktestEngine.METRICS_TIMER).timer().count());
+        assertEquals(0, registry.get(InstrumentedBacktestEngine.RUN_TIMER).tag("strategy", StrategyId.DCA.name())
+                .timer().count());
+    }
+
+    @Test
+    void emitsJfrEventsForExecutionAndMetrics(@TempDir Path dir) throws Exception {
+        InstrumentedBacktestEngine engine = new InstrumentedBacktestEngine(new SimpleMeterRegistry());
+        Path file = dir.resolve("backtest.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("com.github.mezink.strategylab.StrategyExecution");
+            recording.enable("com.github.mezink.strategylab.MetricsCompute");
+            recording.start();
+            engine.run(createSeries(10), buyAndHold());
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent execution = events.stream()
+                .filter(e -> e.getEventType().getName().endsWith("StrategyExecution"))
+                .findFirst().orElseThrow();
+        assertEquals("TEST", execution.getString("symbol"));
+        assertEquals(StrategyId.BUY_AND_HOLD.name(), execution.getString("strategyId"));
+        assertEquals(10, execution.getInt("candleCount"));
+        assertEquals(1, execution.getInt("tradeCount"));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().endsWith("MetricsCompute")));
+    }
+
+    private static BacktestConfig buyAndHold() {
+        return new BacktestConfig("TEST", START, START.plusDays(9),
+                BigDecimal.valueOf(10000), new BuyAndHoldStrategy(new BuyAndHoldConfig()));
+    }
+
+    private static TimeSeries createSeries(int days) {
+        List<Candle> candles = new ArrayList<>();
+        for (int i = 0; i < days; i++) {
+            BigDecimal price = BigDecimal.valueOf(100 + i);
+            candles.add(new Candle(START.plusDays(i), price, price, price, price, 1000));
+        }
+        return new TimeSeries(new Instrument("TEST", "Test", "EQUITY"), candles);
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.mezink.strategylab.infrastructure.offheap;
+
+import com.github.mezink.strategylab.domain.model.CandleColumns;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.infrastructure.synthetic.SyntheticMarketDataProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapCandleStoreTest {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+    private static final LocalDate END = LocalDate.of(2020, 12, 31);
+
+    private final TimeSeries series = new SyntheticMarketDataProvider(42).getDailySeries("SPY", START, END);
+
+    @Test
+    void storedSeriesHasSameCandles() {
+        OffHeapCandleStore store = new OffHeapCandleStore(null, new SimpleMeterRegistry());
+
+        TimeSeries stored = store.store(series);
+
+        assertColumnsEqual(series.columns(), stored.columns());
+        assertEquals(series.instrument(), stored.instrument());
+        assertEquals(series.candles().get(10).close().compareTo(stored.candles().get(10).close()), 0);
+        assertEquals(series.size() * SegmentCandleColumns.BYTES_PER_CANDLE, store.residentBytes());
+    }
+
+    @Test
+    void fileBackedStorageLeavesNoFiles(@TempDir Path directory) throws Exception {
+        OffHeapCandleStore store = new OffHeapCandleStore(directory, new SimpleMeterRegistry());
+
+        TimeSeries stored = store.store(series);
+
+        assertColumnsEqual(series.columns(), stored.columns());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void accessorsAreBoundsChecked() {
+        CandleColumns columns = new OffHeapCandleStore(null, new SimpleMeterRegistry()).store(series).columns();
+
+        // Index size would otherwise read the first open from the next column
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.epochDay(columns.size()));
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.close(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.slice(0, 10).close(10));
+    }
+
+    @Test
+    void slicesWithoutCopying() {
+        TimeSeries stored = new OffHeapCandleStore(null, new SimpleMeterRegistry()).store(series);
+        LocalDate from = LocalDate.of(2020, 3, 1);
+        LocalDate to = LocalDate.of(2020, 3, 31);
+
+        TimeSeries march = stored.slice(from, to);
+
+        assertEquals(series.slice(from, to).size(), march.size());
+        assertColumnsEqual(series.slice(from, to).columns(), march.columns());
+    }
+
+    @Test
+    void memoryIsFreedWhenLastReferenceIsReleased() {
+        OffHeapCandleStore store = new OffHeapCandleStore(null, new SimpleMeterRegistry());
+        TimeSeries stored = store.store(series);
+        TimeSeries march = stored.slice(LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 31));
+
+        assertTrue(march.acquire(), "A reader of a slice references the whole series");
+        stored.release();
+        assertEquals(1, store.residentSegments());
+        assertEquals(series.slice(LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 31)).columns().close(0),
+                march.columns().close(0));
+
+        march.release();
+        assertEquals(0, store.residentSegments());
+        assertEquals(0, store.residentBytes());
+        assertFalse(stored.acquire(), "Freed memory cannot be referenced again");
+        assertThrows(IllegalStateException.class, () -> stored.columns().close(0));
+        assertThrows(IllegalStateException.class, stored::release);
+    }
+
+    private static void assertColumnsEqual(CandleColumns expected, CandleColumns actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.epochDay(i), actual.epochDay(i));
+            assertEquals(expected.open(i), actual.open(i));
+            assertEquals(expected.high(i), actual.high(i));
+            assertEquals(expected.low(i), actual.low(i));
+            assertEquals(expected.close(i), actual.close(i));
+            assertEquals(expected.volume(i), actual.volume(i));
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.mezink.strategylab.infrastructure.resilience;
+
+import com.github.mezink.strategylab.domain.exception.DeadlineExceededException;
+import com.github.mezink.strategylab.domain.exception.MarketDataFetchException;
+import com.github.mezink.strategylab.domain.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamGuardTest {
+
+    private static final Duration NO_WAIT = Duration.ZERO;
+
+    @Test
+    void tokenBucketAllowsBurstThenRefills() {
+        AtomicLong now = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(10, 2, now::get);
+
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(-1, bucket.reserve(0), "Burst exhausted");
+        assertEquals(100_000_000, bucket.reserve(Long.MAX_VALUE), "Next token is 100ms away at 10/s");
+
+        now.addAndGet(300_000_000);
+        assertEquals(0, bucket.reserve(0));
+    }
+
+    @Test
+    void circuitBreakerOpensAndRecoversThroughHalfOpen() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofSeconds(10), now::get);
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertTrue(breaker.tryAcquire(), "Trial call after open duration");
+        assertFalse(breaker.tryAcquire(), "Only one trial at a time");
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void retryPolicyHonoursRetryAfterAndGivesUp() {
+        RetryPolicy policy = new RetryPolicy(3, Duration.ofMillis(100), Duration.ofSeconds(1), Duration.ofSeconds(5));
+
+        Duration first = policy.delayBefore(1, Optional.empty()).orElseThrow();
+        assertTrue(first.compareTo(Duration.ofMillis(100)) <= 0);
+        assertEquals(Duration.ofSeconds(2), policy.delayBefore(1, Optional.of(Duration.ofSeconds(2))).orElseThrow());
+        assertTrue(policy.delayBefore(1, Optional.of(Duration.ofSeconds(30))).isEmpty(), "Retry-After too long");
+        assertTrue(policy.delayBefore(3, Optional.empty()).isEmpty(), "Attempts exhausted");
+    }
+
+    @Test
+    void retryAfterParsesSecondsAndHttpDates() {
+        Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+        assertEquals(Duration.ofSeconds(7), RetryAfter.parse("7", clock));
+        assertEquals(Duration.ofSeconds(30), RetryAfter.parse("Mon, 01 Jan 2024 00:00:30 GMT", clock));
+        assertNull(RetryAfter.parse("soon", clock));
+        assertNull(RetryAfter.parse(null, clock));
+    }
+
+    @Test
+    void retriesTransientFailuresOnly() {
+        UpstreamGuard guard = guard(5, new CircuitBreaker(10, Duration.ofSeconds(30)));
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = guard.call(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new UpstreamUnavailableException("503", null);
+            }
+            return "ok";
+        });
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+
+        calls.set(0);
+        assertThrows(MarketDataFetchException.class, () -> guard.call(() -> {
+            calls.incrementAndGet();
+            throw new MarketDataFetchException("Symbol 'X' not found");
+        }));
+        assertEquals(1, calls.get(), "Permanent failures are not retried");
+    }
+
+    @Test
+    void openCircuitFailsFastWithoutCallingUpstream() {
+        UpstreamGuard guard = guard(1, new CircuitBreaker(2, Duration.ofMinutes(1)));
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(UpstreamUnavailableException.class, () -> guard.call(() -> {
+                calls.incrementAndGet();
+                throw new UpstreamUnavailableException("503", null);
+            }));
+        }
+        UpstreamUnavailableException e = assertThrows(UpstreamUnavailableException.class,
+                () -> guard.call(() -> calls.incrementAndGet()));
+
+        assertEquals(2, calls.get());
+        assertTrue(e.retryAfter().orElseThrow().compareTo(Duration.ZERO) > 0);
+    }
+
+    @Test
+    void deadlineOutcomesLeaveCircuitAsItWas() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofSeconds(10), now::get);
+        UpstreamGuard guard = guard(1, breaker);
+        Supplier<String> unavailable = () -> {
+            throw new UpstreamUnavailableException("503", null);
+        };
+        Supplier<String> timedOut = () -> {
+            throw new DeadlineExceededException("deadline");
+        };
+
+        assertThrows(UpstreamUnavailableException.class, () -> guard.call(unavailable));
+        assertThrows(DeadlineExceededException.class, () -> guard.call(timedOut));
+        assertThrows(UpstreamUnavailableException.class, () -> guard.call(unavailable));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state(), "Deadline did not reset the failure count");
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThrows(DeadlineExceededException.class, () -> guard.call(timedOut));
+        assertNotEquals(CircuitBreaker.State.CLOSED, breaker.state(), "Trial past its deadline must not close");
+        assertThrows(UpstreamUnavailableException.class, () -> guard.call(unavailable));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state(), "Next call was the trial and reopened it");
+    }
+
+    @Test
+    void errorInHalfOpenTrialFreesTheTrial() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(10), now::get);
+        UpstreamGuard guard = guard(1, breaker);
+        breaker.onFailure();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThrows(StackOverflowError.class, () -> guard.call(() -> {
+            throw new StackOverflowError();
+        }));
+        assertEquals("ok", guard.call(() -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    private static UpstreamGuard guard(int maxAttempts, CircuitBreaker breaker) {
+        return new UpstreamGuard(
+                "test",
+                new TokenBucket(1_000, 100),
+                4,
+                NO_WAIT,
+                new RetryPolicy(maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofSeconds(2)),
+                breaker,
+                new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.mezink.strategylab.infrastructure.startup;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JitWarmupTest {
+
+    @Test
+    void stopsAfterConfiguredIterations() {
+        JitWarmup warmup = new JitWarmup(new ObjectMapper(), true, 3, Duration.ofMinutes(1));
+
+        assertEquals(3, warmup.warmUp());
+    }
+
+    @Test
+    void stopsAtDeadline() {
+        JitWarmup warmup = new JitWarmup(new ObjectMapper(), true, Integer.MAX_VALUE, Duration.ofMillis(300));
+
+        long start = System.nanoTime();
+        int passes = warmup.warmUp();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertTrue(passes >= 1, "passes " + passes);
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(5)) < 0, "Took " + elapsed);
+    }
+}
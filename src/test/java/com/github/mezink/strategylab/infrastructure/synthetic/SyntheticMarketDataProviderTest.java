@@ -0,0 +1,117 @@
+package com.github.mezink.strategylab.infrastructure.synthetic;
+
+import com.github.mezink.strategylab.domain.exception.MarketDataFetchException;
+import com.github.mezink.strategylab.domain.model.Candle;
+import com.github.mezink.strategylab.domain.model.CandleColumns;
+import com.github.mezink.strategylab.domain.model.Interval;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticMarketDataProviderTest {
+
+    private static final LocalDate START = LocalDate.of(2015, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 31);
+
+    private final SyntheticMarketDataProvider provider = new SyntheticMarketDataProvider(42);
+
+    @Test
+    void sameSeedAndSymbolGiveSameSeries() {
+        TimeSeries first = provider.getDailySeries("SPY", START, END);
+        TimeSeries second = new SyntheticMarketDataProvider(42).getDailySeries("spy", START, END);
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void seedAndSymbolChangeTheSeries() {
+        TimeSeries spy = provider.getDailySeries("SPY", START, END);
+
+        assertNotEquals(spy.candles(), provider.getDailySeries("QQQ", START, END).candles());
+        assertNotEquals(spy.candles(), new SyntheticMarketDataProvider(7).getDailySeries("SPY", START, END).candles());
+    }
+
+    @Test
+    void subrangeMatchesSliceOfLongerRange() {
+        LocalDate from = LocalDate.of(2020, 3, 2);
+        LocalDate to = LocalDate.of(2020, 6, 30);
+
+        assertEquals(provider.getDailySeries("SPY", START, END).slice(from, to),
+                provider.getDailySeries("SPY", from, to));
+    }
+
+    @Test
+    void candlesAreConsistentWeekdayBars() {
+        TimeSeries series = provider.getDailySeries("AAPL", START, END);
+
+        // ~252 trading days a year
+        assertTrue(series.size() > 2_500 && series.size() < 2_700, "size " + series.size());
+        for (Candle candle : series.candles()) {
+            DayOfWeek day = candle.date().getDayOfWeek();
+            assertTrue(day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY, candle.date().toString());
+            assertTrue(candle.high().compareTo(candle.open().max(candle.close())) >= 0, candle.toString());
+            assertTrue(candle.low().compareTo(candle.open().min(candle.close())) <= 0, candle.toString());
+            assertTrue(candle.low().signum() > 0, candle.toString());
+            assertTrue(candle.volume() > 0, candle.toString());
+        }
+    }
+
+    @Test
+    void intradayBarsSpanEachDailyCandle() {
+        LocalDate from = LocalDate.of(2024, 3, 4);
+        LocalDate to = LocalDate.of(2024, 3, 8);
+        TimeSeries daily = provider.getDailySeries("SPY", from, to);
+        CandleColumns bars = provider.getSeries("SPY", from, to, Interval.FIVE_MINUTES).columns();
+
+        // 6.5 hour sessions
+        assertEquals(daily.size() * 78, bars.size());
+        int first = 0;
+        for (Candle day : daily.candles()) {
+            int last = first + 77;
+            assertEquals(day.date(), bars.date(first));
+            assertTrue(bars.endsDay(last));
+            assertEquals(day.open().doubleValue(), bars.open(first), 1e-4);
+            assertEquals(day.close().doubleValue(), bars.close(last), 1e-4);
+            for (int i = first; i <= last; i++) {
+                assertTrue(bars.high(i) <= day.high().doubleValue() + 1e-4, "high above daily high at " + i);
+                assertTrue(bars.low(i) >= day.low().doubleValue() - 1e-4, "low below daily low at " + i);
+                assertTrue(bars.high(i) >= Math.max(bars.open(i), bars.close(i)), "inconsistent bar " + i);
+            }
+            first = last + 1;
+        }
+    }
+
+    @Test
+    void intradaySubrangeMatchesLongerRange() {
+        CandleColumns week = provider.getSeries("SPY", LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 8),
+                Interval.ONE_HOUR).columns();
+        CandleColumns day = provider.getSeries("SPY", LocalDate.of(2024, 3, 6), LocalDate.of(2024, 3, 6),
+                Interval.ONE_HOUR).columns();
+
+        assertEquals(7, day.size());
+        for (int i = 0; i < day.size(); i++) {
+            assertEquals(week.epochSecond(14 + i), day.epochSecond(i));
+            assertEquals(week.close(14 + i), day.close(i));
+        }
+    }
+
+    @Test
+    void rangeBeforeOriginStartsAtOrigin() {
+        TimeSeries series = provider.getDailySeries("SPY", LocalDate.of(1960, 1, 1), LocalDate.of(1970, 2, 1));
+
+        assertEquals(SyntheticMarketDataProvider.ORIGIN, series.startDate());
+        assertThrows(MarketDataFetchException.class,
+                () -> provider.getDailySeries("SPY", LocalDate.of(1960, 1, 1), LocalDate.of(1969, 1, 1)));
+    }
+
+    @Test
+    void validatesTickerShapedSymbols() {
+        assertEquals("BRK.B", provider.validateSymbol("brk.b").orElseThrow().symbol());
+        assertTrue(provider.validateSymbol("not a ticker").isEmpty());
+        assertThrows(MarketDataFetchException.class, () -> provider.getDailySeries("not a ticker", START, END));
+    }
+}
@@ -0,0 +1,209 @@
+package com.github.mezink.strategylab.infrastructure.yahoo;
+
+import com.github.mezink.strategylab.domain.exception.DeadlineExceededException;
+import com.github.mezink.strategylab.domain.exception.MarketDataFetchException;
+import com.github.mezink.strategylab.domain.exception.UpstreamUnavailableException;
+import com.github.mezink.strategylab.domain.model.Deadline;
+import com.github.mezink.strategylab.domain.model.Interval;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.port.SeriesRequest;
+import com.github.mezink.strategylab.infrastructure.resilience.CircuitBreaker;
+import com.github.mezink.strategylab.infrastructure.resilience.RetryPolicy;
+import com.github.mezink.strategylab.infrastructure.resilience.TokenBucket;
+import com.github.mezink.strategylab.infrastructure.resilience.UpstreamGuard;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the HttpClient provider against a local stub of the chart API, checking compression
+ * negotiation, concurrent batch fetches and error mapping.
+ */
+class HttpClientYahooMarketDataProviderTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 2);
+    private static final LocalDate END = LocalDate.of(2024, 1, 3);
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final Queue<String> acceptEncodings = new ConcurrentLinkedQueue<>();
+    private volatile IntFunction<Integer> statusForRequest = _ -> 200;
+    private volatile String contentEncoding = null;
+    private volatile long responseDelayMillis = 0;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/v8/finance/chart/", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void requestsAndDecodesGzip() {
+        contentEncoding = "gzip";
+
+        TimeSeries series = provider(guard(4, 1)).getDailySeries("SPY", START, END);
+
+        assertEquals(2, series.size());
+        assertEquals("gzip, deflate", acceptEncodings.peek());
+    }
+
+    @Test
+    void decodesDeflate() {
+        contentEncoding = "deflate";
+
+        assertEquals(2, provider(guard(4, 1)).getDailySeries("SPY", START, END).size());
+    }
+
+    @Test
+    void batchFetchesConcurrentlyWithinGuardLimit() throws Exception {
+        responseDelayMillis = 100;
+        HttpClientYahooMarketDataProvider provider = provider(guard(4, 1));
+        List<SeriesRequest> batch = List.of("SPY", "QQQ", "IWM", "DIA", "VTI", "EFA", "AGG", "GLD").stream()
+                .map(symbol -> new SeriesRequest(symbol, START, END))
+                .toList();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<TimeSeries>> futures = provider.getSeriesBatch(batch);
+        for (CompletableFuture<TimeSeries> future : futures) {
+            assertEquals(2, future.get().size());
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals(8, requests.get());
+        assertTrue(maxInFlight.get() > 1, "Batch was fetched sequentially");
+        assertTrue(maxInFlight.get() <= 4, "Upstream saw %d concurrent requests".formatted(maxInFlight.get()));
+        assertTrue(elapsed.compareTo(Duration.ofMillis(800)) < 0, "Batch took " + elapsed);
+    }
+
+    @Test
+    void batchFailuresAreIndependent() {
+        statusForRequest = n -> n == 1 ? 404 : 200;
+        HttpClientYahooMarketDataProvider provider = provider(guard(1, 1));
+
+        List<CompletableFuture<TimeSeries>> futures = provider.getSeriesBatch(List.of(
+                new SeriesRequest("NOPE", START, END), new SeriesRequest("SPY", START, END)));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> futures.getFirst().get());
+        assertInstanceOf(MarketDataFetchException.class, e.getCause());
+        assertEquals(2, futures.get(1).join().size());
+    }
+
+    @Test
+    void serverErrorsAreRetriedAsUnavailable() {
+        statusForRequest = _ -> 503;
+        HttpClientYahooMarketDataProvider provider = provider(guard(4, 2));
+
+        assertThrows(UpstreamUnavailableException.class, () -> provider.getDailySeries("SPY", START, END));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void capsRequestTimeoutToDeadline() {
+        responseDelayMillis = 2_000;
+        HttpClientYahooMarketDataProvider provider = provider(guard(4, 3));
+
+        long start = System.nanoTime();
+        assertThrows(DeadlineExceededException.class, () -> provider.getSeries("SPY", START, END, Interval.ONE_DAY,
+                Deadline.after(Duration.ofMillis(200))));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals(1, requests.get(), "no retry after the deadline");
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(1)) < 0, "Fetch took " + elapsed);
+    }
+
+    private HttpClientYahooMarketDataProvider provider(UpstreamGuard guard) {
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        return new HttpClientYahooMarketDataProvider(new ObjectMapper(), new SimpleMeterRegistry(), baseUrl, guard,
+                Duration.ofSeconds(2), Duration.ofSeconds(5));
+    }
+
+    private static UpstreamGuard guard(int maxConcurrent, int maxAttempts) {
+        return new UpstreamGuard(
+                "yahoo",
+                new TokenBucket(1_000, 100),
+                maxConcurrent,
+                Duration.ofSeconds(10),
+                new RetryPolicy(maxAttempts, Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofSeconds(5)),
+                new CircuitBreaker(10, Duration.ofMinutes(1)),
+                new SimpleMeterRegistry());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int n = requests.incrementAndGet();
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        String accept = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (accept != null) {
+            acceptEncodings.add(accept);
+        }
+        try {
+            if (responseDelayMillis > 0) {
+                Thread.sleep(responseDelayMillis);
+            }
+            int status = statusForRequest.apply(n);
+            byte[] body = (status == 200 ? CHART : "{}").getBytes(StandardCharsets.UTF_8);
+            String encoding = contentEncoding;
+            if (encoding != null) {
+                body = compress(body, encoding);
+                exchange.getResponseHeaders().add("Content-Encoding", encoding);
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static byte[] compress(byte[] body, String encoding) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = encoding.equals("gzip") ? new GZIPOutputStream(bytes) : new DeflaterOutputStream(bytes)) {
+            out.write(body);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static final String CHART = """
+            {"chart":{"result":[{"meta":{"symbol":"SPY","shortName":"SPDR S&P 500","instrumentType":"ETF"},
+            "timestamp":[1704205800,1704292200],
+            "indicators":{"quote":[{"open":[472.16,470.43],"high":[473.67,471.19],"low":[470.49,468.17],
+            "close":[472.65,468.79],"volume":[123623700,103585900]}]}}],"error":null}}
+            """;
+}
@@ -0,0 +1,234 @@
+package com.github.mezink.strategylab.infrastructure.yahoo;
+
+import com.github.mezink.strategylab.domain.exception.DeadlineExceededException;
+import com.github.mezink.strategylab.domain.exception.MarketDataFetchException;
+import com.github.mezink.strategylab.domain.exception.UpstreamUnavailableException;
+import com.github.mezink.strategylab.domain.model.Deadline;
+import com.github.mezink.strategylab.domain.model.Interval;
+import com.github.mezink.strategylab.domain.model.TimeSeries;
+import com.github.mezink.strategylab.domain.model.TradingCalendar;
+import com.github.mezink.strategylab.infrastructure.resilience.CircuitBreaker;
+import com.github.mezink.strategylab.infrastructure.resilience.RetryPolicy;
+import com.github.mezink.strategylab.infrastructure.resilience.TokenBucket;
+import com.github.mezink.strategylab.infrastructure.resilience.UpstreamGuard;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the provider against a local stub of the chart API to check its behaviour under burst.
+ */
+class YahooFinanceMarketDataProviderTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 2);
+    private static final LocalDate END = LocalDate.of(2024, 1, 3);
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile IntFunction<Integer> statusForRequest = _ -> 200;
+    private volatile String retryAfter = "0";
+    private volatile long responseDelayMillis = 0;
+    private volatile String lastQuery;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/v8/finance/chart/", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void capsConcurrentRequestsUnderBurst() throws Exception {
+        responseDelayMillis = 50;
+        YahooFinanceMarketDataProvider provider = provider(guard(1_000, 100, 3, 3, 5));
+
+        try (ExecutorService burst = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<TimeSeries>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(burst.submit(() -> provider.getDailySeries("SPY", START, END)));
+            }
+            for (Future<TimeSeries> future : futures) {
+                assertEquals(2, future.get().size());
+            }
+        }
+
+        assertEquals(20, requests.get());
+        assertTrue(maxInFlight.get() <= 3, "Upstream saw %d concurrent requests".formatted(maxInFlight.get()));
+    }
+
+    @Test
+    void rateLimitSpacesOutBurst() {
+        YahooFinanceMarketDataProvider provider = provider(guard(20, 2, 8, 1, 5));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            provider.getDailySeries("SPY", START, END);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // 2 immediate, then 4 more at 20/s = at least 200ms
+        assertTrue(elapsed.compareTo(Duration.ofMillis(180)) >= 0, "Took only " + elapsed);
+    }
+
+    @Test
+    void retriesThrottledRequestAfterRetryAfter() {
+        statusForRequest = n -> n <= 2 ? 429 : 200;
+        retryAfter = "1";
+        YahooFinanceMarketDataProvider provider = provider(guard(1_000, 100, 4, 3, 5));
+
+        long start = System.nanoTime();
+        TimeSeries series = provider.getDailySeries("SPY", START, END);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals(2, series.size());
+        assertEquals(3, requests.get());
+        assertTrue(elapsed.compareTo(Duration.ofMillis(1_900)) >= 0, "Retry-After ignored, took " + elapsed);
+    }
+
+    @Test
+    void unknownSymbolIsNotRetried() {
+        statusForRequest = _ -> 404;
+        YahooFinanceMarketDataProvider provider = provider(guard(1_000, 100, 4, 3, 5));
+
+        MarketDataFetchException e = assertThrows(MarketDataFetchException.class,
+                () -> provider.getDailySeries("NOPE", START, END));
+
+        assertFalse(e instanceof UpstreamUnavailableException);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void circuitOpensAfterRepeatedServerErrors() {
+        statusForRequest = _ -> 503;
+        YahooFinanceMarketDataProvider provider = provider(guard(1_000, 100, 4, 1, 3));
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(UpstreamUnavailableException.class, () -> provider.getDailySeries("SPY", START, END));
+        }
+        assertEquals(3, requests.get());
+
+        assertThrows(UpstreamUnavailableException.class, () -> provider.getDailySeries("SPY", START, END));
+        assertThrows(UpstreamUnavailableException.class, () -> provider.validateSymbol("SPY"));
+        assertEquals(3, requests.get(), "Open circuit must not reach upstream");
+    }
+
+    @Test
+    void validationRequestsSingleDayChart() {
+        YahooFinanceMarketDataProvider provider = provider(guard(1_000, 100, 4, 1, 5));
+
+        assertEquals("SPY", provider.validateSymbol("SPY").orElseThrow().symbol());
+        assertEquals(YahooFinanceMarketDataProvider.VALIDATION_QUERY, lastQuery);
+
+        provider.getDailySeries("SPY", START, END);
+        assertTrue(lastQuery.startsWith("period1="), lastQuery);
+    }
+
+    @Test
+    void requestsIntradayBarsIntoCompactColumns() {
+        YahooFinanceMarketDataProvider provider = provider(guard(1_000, 100, 4, 1, 5));
+
+        TimeSeries series = provider.getSeries("SPY", START, END, Interval.FIVE_MINUTES);
+
+        assertTrue(lastQuery.endsWith("&interval=5m"), lastQuery);
+        assertEquals(Interval.FIVE_MINUTES, series.interval());
+        assertEquals(1704292200L, series.columns().epochSecond(1));
+        assertEquals(468.79, series.columns().close(1));
+        assertEquals("PCX", series.instrument().exchange());
+        assertSame(TradingCalendar.NYSE, series.calendar());
+    }
+
+    @Test
+    void capsReadTimeoutToDeadline() {
+        responseDelayMillis = 2_000;
+        YahooFinanceMarketDataProvider provider = provider(guard(1_000, 100, 4, 3, 5));
+
+        long start = System.nanoTime();
+        assertThrows(DeadlineExceededException.class, () -> provider.getSeries("SPY", START, END, Interval.ONE_DAY,
+                Deadline.after(Duration.ofMillis(200))));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals(1, requests.get(), "no retry after the deadline");
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(1)) < 0, "Fetch took " + elapsed);
+    }
+
+    private YahooFinanceMarketDataProvider provider(UpstreamGuard guard) {
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        return new YahooFinanceMarketDataProvider(
+                RestClient.builder(), new ObjectMapper(), new SimpleMeterRegistry(), baseUrl, guard,
+                Duration.ofSeconds(2), Duration.ofSeconds(5));
+    }
+
+    private static UpstreamGuard guard(double rate, int burst, int maxConcurrent, int maxAttempts,
+                                       int failureThreshold) {
+        return new UpstreamGuard(
+                "yahoo",
+                new TokenBucket(rate, burst),
+                maxConcurrent,
+                Duration.ofSeconds(10),
+                new RetryPolicy(maxAttempts, Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofSeconds(5)),
+                new CircuitBreaker(failureThreshold, Duration.ofMinutes(1)),
+                new SimpleMeterRegistry());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int n = requests.incrementAndGet();
+        lastQuery = exchange.getRequestURI().getQuery();
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            if (responseDelayMillis > 0) {
+                Thread.sleep(responseDelayMillis);
+            }
+            int status = statusForRequest.apply(n);
+            byte[] body = (status == 200 ? CHART : "{}").getBytes(StandardCharsets.UTF_8);
+            if (status == 429) {
+                exchange.getResponseHeaders().add("Retry-After", retryAfter);
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static final String CHART = """
+            {"chart":{"result":[{"meta":{"symbol":"SPY","shortName":"SPDR S&P 500","instrumentType":"ETF",
+            "exchangeName":"PCX"},"timestamp":[1704205800,1704292200],
+            "indicators":{"quote":[{"open":[472.16,470.43],"high":[473.67,471.19],"low":[470.49,468.17],
+            "close":[472.65,468.79],"volume":[123623700,103585900]}]}}],"error":null}}
+            """;
+}
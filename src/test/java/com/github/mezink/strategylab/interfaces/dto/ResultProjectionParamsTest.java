@@ -0,0 +1,49 @@
+package com.github.mezink.strategylab.interfaces.dto;
+
+import com.github.mezink.strategylab.domain.model.Page;
+import com.github.mezink.strategylab.domain.model.ResultProjection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultProjectionParamsTest {
+
+    @Test
+    void defaultsToEverything() {
+        ResultProjection projection = new ResultProjectionParams(null, null, " ", null, null).toDomain();
+
+        assertEquals(new ResultProjection(true, true, true, Page.ALL, Page.ALL), projection);
+    }
+
+    @Test
+    void parsesPartsCaseInsensitivelyAndPages() {
+        ResultProjection projection = new ResultProjectionParams(" Metrics, equityCurve ,", "10", "20", null, " 5 ")
+                .toDomain();
+
+        assertTrue(projection.metrics());
+        assertTrue(projection.equityCurve());
+        assertFalse(projection.trades());
+        assertEquals(new Page(10, 20), projection.curvePage());
+        assertEquals(new Page(0, 5), projection.tradePage());
+    }
+
+    @Test
+    void rejectsUnknownPart() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new ResultProjectionParams("metrics,drawdown", null, null, null, null).toDomain());
+        assertTrue(e.getMessage().contains("drawdown"), e.getMessage());
+    }
+
+    @Test
+    void rejectsNegativeOrNonNumericPaging() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ResultProjectionParams(null, "-1", null, null, null).toDomain());
+        assertThrows(IllegalArgumentException.class,
+                () -> new ResultProjectionParams(null, null, null, null, "-5").toDomain());
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new ResultProjectionParams(null, null, "ten", null, null).toDomain());
+        assertTrue(e.getMessage().contains("curveLimit"), e.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> new ResultProjectionParams(null, null, null, "1.5", null).toDomain());
+    }
+}
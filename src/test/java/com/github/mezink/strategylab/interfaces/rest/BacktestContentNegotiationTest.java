@@ -0,0 +1,86 @@
+package com.github.mezink.strategylab.interfaces.rest;
+
+import com.github.mezink.strategylab.interfaces.dto.BacktestResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("synthetic")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BacktestContentNegotiationTest {
+
+    private static final String BODY = """
+            {"backtests": [{"symbol": "SPY", "startDate": "2020-01-01", "endDate": "2020-12-31",
+              "initialCapital": 10000, "strategyId": "MA_CROSSOVER",
+              "strategyParams": {"shortWindow": "10", "longWindow": "30"}}]}
+            """;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void binaryFormatsDecodeToSameResponseAsJson() throws Exception {
+        HttpResponse<byte[]> json = post("application/json");
+        HttpResponse<byte[]> cbor = post("application/cbor");
+        HttpResponse<byte[]> smile = post(ResponseFormats.SMILE_VALUE);
+
+        assertEquals(200, cbor.statusCode());
+        assertEquals(200, smile.statusCode());
+        assertContentType("application/cbor", cbor);
+        assertContentType(ResponseFormats.SMILE_VALUE, smile);
+        BacktestResponse expected = decode(new JsonMapper(), json);
+        assertFalse(expected.results().isEmpty());
+        assertEquals(expected, decode(new CBORMapper(), cbor));
+        assertEquals(expected, decode(new SmileMapper(), smile));
+    }
+
+    @Test
+    void jsonIsTheDefault() throws Exception {
+        HttpResponse<byte[]> noAccept = post(null);
+        HttpResponse<byte[]> anything = post("*/*");
+
+        assertEquals(200, noAccept.statusCode());
+        assertContentType("application/json", noAccept);
+        assertContentType("application/json", anything);
+        assertEquals(decode(new JsonMapper(), noAccept), decode(new JsonMapper(), anything));
+    }
+
+    @Test
+    void unsupportedAcceptIsNotAcceptable() throws Exception {
+        assertEquals(406, post("application/xml").statusCode());
+    }
+
+    private HttpResponse<byte[]> post(String accept) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/backtest"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(BODY));
+        if (accept != null) {
+            request.header("Accept", accept);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static BacktestResponse decode(ObjectMapper mapper, HttpResponse<byte[]> response) {
+        return mapper.readValue(response.body(), BacktestResponse.class);
+    }
+
+    private static void assertContentType(String expected, HttpResponse<?> response) {
+        String contentType = response.headers().firstValue("Content-Type").orElse("");
+        assertTrue(contentType.startsWith(expected), contentType);
+    }
+}
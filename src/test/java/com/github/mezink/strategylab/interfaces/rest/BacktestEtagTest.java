@@ -0,0 +1,76 @@
+package com.github.mezink.strategylab.interfaces.rest;
+
+import com.github.mezink.strategylab.domain.model.ResultProjection;
+import com.github.mezink.strategylab.interfaces.dto.BacktestRequest;
+import com.github.mezink.strategylab.interfaces.dto.BacktestRequestItem;
+import com.github.mezink.strategylab.interfaces.dto.ResultProjectionParams;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BacktestEtagTest {
+
+    private static final String JSON = "application/json";
+
+    @Test
+    void equivalentRequestsShareTag() {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("fast", "10");
+        params.put("slow", "50");
+        Map<String, String> reordered = new LinkedHashMap<>();
+        reordered.put("slow", "50");
+        reordered.put("fast", "10");
+
+        String a = BacktestEtag.of(request("spy", "10000", params), "v1", JSON);
+        String b = BacktestEtag.of(request("SPY ", "10000.00", reordered), "v1", JSON);
+
+        assertEquals(a, b);
+        assertTrue(a.startsWith("W/\""), a);
+    }
+
+    @Test
+    void tagChangesWithDataVersionAndFormat() {
+        BacktestRequest request = request("SPY", "10000", Map.of());
+        String tag = BacktestEtag.of(request, "v1", JSON);
+
+        assertNotEquals(tag, BacktestEtag.of(request, "v2", JSON));
+        assertNotEquals(tag, BacktestEtag.of(request, "v1", "application/cbor"));
+        assertNotEquals(tag, BacktestEtag.of(request("SPY", "20000", Map.of()), "v1", JSON));
+    }
+
+    @Test
+    void tagChangesWithProjection() {
+        BacktestRequest request = request("SPY", "10000", Map.of());
+        ResultProjection defaults = new ResultProjectionParams(null, null, null, null, null).toDomain();
+        ResultProjection metricsOnly = new ResultProjectionParams("metrics", null, null, null, null).toDomain();
+        ResultProjection paged = new ResultProjectionParams(null, "0", "10", null, null).toDomain();
+
+        assertEquals(BacktestEtag.of(request, "v1", JSON), BacktestEtag.of(request, defaults, "v1", JSON));
+        assertNotEquals(BacktestEtag.of(request, "v1", JSON), BacktestEtag.of(request, metricsOnly, "v1", JSON));
+        assertNotEquals(BacktestEtag.of(request, "v1", JSON), BacktestEtag.of(request, paged, "v1", JSON));
+    }
+
+    @Test
+    void matchesUsesWeakComparison() {
+        String tag = BacktestEtag.of(request("SPY", "10000", Map.of()), "v1", JSON);
+        String strong = tag.substring(2);
+
+        assertTrue(BacktestEtag.matches(tag, tag));
+        assertTrue(BacktestEtag.matches(strong, tag));
+        assertTrue(BacktestEtag.matches("\"other\", " + tag, tag));
+        assertFalse(BacktestEtag.matches("*", tag), "a wildcard must not skip a POST");
+        assertFalse(BacktestEtag.matches("\"other\"", tag));
+        assertFalse(BacktestEtag.matches(null, tag));
+    }
+
+    private static BacktestRequest request(String symbol, String capital, Map<String, String> params) {
+        return new BacktestRequest(List.of(new BacktestRequestItem(symbol, LocalDate.of(2020, 1, 1),
+                LocalDate.of(2021, 1, 1), new BigDecimal(capital), "SMA_CROSSOVER", params)));
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.mezink.strategylab.interfaces.rest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("synthetic")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BacktestJobResultsTest {
+
+    private static final String BODY = """
+            {"backtests": [
+              {"symbol": "SPY", "startDate": "2020-01-01", "endDate": "2020-12-31",
+               "initialCapital": 10000, "strategyId": "MA_CROSSOVER",
+               "strategyParams": {"shortWindow": "10", "longWindow": "30"}},
+              {"symbol": "QQQ", "startDate": "2020-01-01", "endDate": "2020-12-31",
+               "initialCapital": 10000, "strategyId": "MA_CROSSOVER",
+               "strategyParams": {"shortWindow": "10", "longWindow": "30"}}]}
+            """;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final JsonMapper mapper = new JsonMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void partialResultsAreServedWhateverTheStatus() throws Exception {
+        String id = mapper.readTree(submit().body()).path("id").asString();
+
+        HttpResponse<String> partial = get("/" + id + "/results?partial=true");
+        assertEquals(200, partial.statusCode());
+        String status = partial.headers().firstValue(BacktestJobController.JOB_STATUS_HEADER).orElseThrow();
+        int count = mapper.readTree(partial.body()).path("results").size();
+        assertTrue(count <= 2, partial.body());
+        if (status.equals("COMPLETED")) {
+            assertEquals(2, count);
+        }
+
+        awaitCompleted(id);
+        HttpResponse<String> partialOfCompleted = get("/" + id + "/results?partial=true");
+        HttpResponse<String> full = get("/" + id + "/results");
+        assertEquals("COMPLETED",
+                partialOfCompleted.headers().firstValue(BacktestJobController.JOB_STATUS_HEADER).orElseThrow());
+        assertEquals(200, full.statusCode());
+        JsonNode results = mapper.readTree(full.body()).path("results");
+        assertEquals("SPY", results.get(0).path("symbol").asString());
+        assertEquals("QQQ", results.get(1).path("symbol").asString());
+        assertEquals(results, mapper.readTree(partialOfCompleted.body()).path("results"));
+    }
+
+    @Test
+    void unknownJobIsNotFound() throws Exception {
+        assertEquals(404, get("/missing/results?partial=true").statusCode());
+    }
+
+    private void awaitCompleted(String id) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            String status = mapper.readTree(get("/" + id).body()).path("status").asString();
+            if (status.equals("COMPLETED")) {
+                return;
+            }
+            assertNotEquals("FAILED", status, "Job failed");
+            assertTrue(System.nanoTime() < deadline, "Job did not complete in time");
+            Thread.sleep(20);
+        }
+    }
+
+    private HttpResponse<String> submit() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(""))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(BODY))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/api/backtest/jobs" + path);
+    }
+}
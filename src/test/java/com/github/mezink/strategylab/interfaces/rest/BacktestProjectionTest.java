@@ -0,0 +1,72 @@
+package com.github.mezink.strategylab.interfaces.rest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("synthetic")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BacktestProjectionTest {
+
+    private static final String BODY = """
+            {"backtests": [{"symbol": "SPY", "startDate": "2020-01-01", "endDate": "2020-12-31",
+              "initialCapital": 10000, "strategyId": "MA_CROSSOVER",
+              "strategyParams": {"shortWindow": "10", "longWindow": "30"}}]}
+            """;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final JsonMapper mapper = new JsonMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void excludedPartsAreLeftOutOfTheResponse() throws Exception {
+        HttpResponse<String> response = post("?include=metrics");
+
+        assertEquals(200, response.statusCode());
+        JsonNode result = mapper.readTree(response.body()).path("results").get(0);
+        assertTrue(result.has("metrics"));
+        assertFalse(result.has("equityCurve"), result.toString());
+        assertFalse(result.has("trades"), result.toString());
+        assertTrue(result.path("equityCurveSize").asInt() > 0);
+        assertTrue(result.has("tradeCount"));
+    }
+
+    @Test
+    void pagesTheEquityCurve() throws Exception {
+        JsonNode result = mapper.readTree(post("?include=equityCurve&curveOffset=5&curveLimit=3").body())
+                .path("results").get(0);
+
+        assertEquals(3, result.path("equityCurve").size());
+        assertFalse(result.has("metrics"));
+        assertTrue(result.path("equityCurveSize").asInt() > 8);
+    }
+
+    @Test
+    void invalidProjectionIsBadRequest() throws Exception {
+        assertEquals(400, post("?include=drawdown").statusCode());
+        assertEquals(400, post("?curveOffset=-1").statusCode());
+        assertEquals(400, post("?tradesLimit=ten").statusCode());
+    }
+
+    private HttpResponse<String> post(String query) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/backtest" + query))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(BODY))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}